@@ -0,0 +1,22 @@
+package com.virtualtryon.admin.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 비동기 응답 설정
+ * 내보내기(StreamingResponseBody)는 수백만 행을 보내는 동안 컨테이너 기본 제한시간(30초)을 넘기므로 늘림
+ */
+@Configuration
+public class AdminWebConfig implements WebMvcConfigurer {
+
+    @Value("${admin.export.async-timeout-ms:1800000}")
+    private long asyncTimeoutMs;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncTimeoutMs);
+    }
+}
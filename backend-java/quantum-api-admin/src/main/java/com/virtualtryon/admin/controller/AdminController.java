@@ -1,27 +1,49 @@
 package com.virtualtryon.admin.controller;
 
+import com.virtualtryon.core.dto.knowledge.KnowledgeLawSummary;
 import com.virtualtryon.core.entity.DartCorpCode;
+import com.virtualtryon.core.entity.DartHarvestWindow;
 import com.virtualtryon.core.entity.Knowledge;
 import com.virtualtryon.core.entity.KnowledgeBok;
 import com.virtualtryon.core.entity.KnowledgeDart;
 import com.virtualtryon.core.entity.KnowledgeFetchHistory;
-import com.virtualtryon.core.entity.KnowledgeLaw;
+import com.virtualtryon.core.entity.KnowledgeLawArticle;
+import com.virtualtryon.core.http.ExternalHttpClient;
+import com.virtualtryon.core.http.HostLatencyStats;
+import com.virtualtryon.core.http.SourceRateStats;
+import com.virtualtryon.core.ingest.BatchWriterStats;
+import com.virtualtryon.core.ingest.SourceTableBatchWriterFactory;
 import com.virtualtryon.core.repository.DartCorpCodeRepository;
 import com.virtualtryon.core.repository.KnowledgeBokRepository;
 import com.virtualtryon.core.repository.KnowledgeDartRepository;
 import com.virtualtryon.core.repository.KnowledgeFetchHistoryRepository;
 import com.virtualtryon.core.repository.KnowledgeLawRepository;
+import com.virtualtryon.core.search.SearchHit;
+import com.virtualtryon.core.timeseries.TimeSeriesResult;
 import com.virtualtryon.admin.service.BokEcosApiService;
+import com.virtualtryon.admin.service.BokSeriesCache;
 import com.virtualtryon.admin.service.DartApiService;
+import com.virtualtryon.admin.service.DartFilingHarvester;
+import com.virtualtryon.admin.service.ExternalApiGuard;
+import com.virtualtryon.admin.service.IngestionJobService;
+import com.virtualtryon.admin.service.KnowledgeLexicalIndex;
 import com.virtualtryon.admin.service.KnowledgeService;
+import com.virtualtryon.admin.service.KnowledgeVectorIndex;
 import com.virtualtryon.admin.service.LawApiService;
+import com.virtualtryon.admin.service.ResponseDiskCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 /**
  * 관리자용 지식 베이스 관리 컨트롤러
@@ -40,6 +62,15 @@ public class AdminController {
     private final LawApiService lawApiService;
     private final BokEcosApiService bokEcosApiService;
     private final DartApiService dartApiService;
+    private final DartFilingHarvester dartFilingHarvester;
+    private final SourceTableBatchWriterFactory batchWriterFactory;
+    private final IngestionJobService ingestionJobService;
+    private final ExternalHttpClient externalHttpClient;
+    private final ExternalApiGuard externalApiGuard;
+    private final ResponseDiskCache responseDiskCache;
+    private final BokSeriesCache bokSeriesCache;
+    private final KnowledgeLexicalIndex lexicalIndex;
+    private final KnowledgeVectorIndex vectorIndex;
 
     public AdminController(KnowledgeService knowledgeService,
                            KnowledgeFetchHistoryRepository fetchHistoryRepository,
@@ -49,7 +80,16 @@ public class AdminController {
                            DartCorpCodeRepository dartCorpCodeRepository,
                            LawApiService lawApiService,
                            BokEcosApiService bokEcosApiService,
-                           DartApiService dartApiService) {
+                           DartApiService dartApiService,
+                           DartFilingHarvester dartFilingHarvester,
+                           SourceTableBatchWriterFactory batchWriterFactory,
+                           IngestionJobService ingestionJobService,
+                           ExternalHttpClient externalHttpClient,
+                           ExternalApiGuard externalApiGuard,
+                           ResponseDiskCache responseDiskCache,
+                           BokSeriesCache bokSeriesCache,
+                           KnowledgeLexicalIndex lexicalIndex,
+                           KnowledgeVectorIndex vectorIndex) {
         this.knowledgeService = knowledgeService;
         this.fetchHistoryRepository = fetchHistoryRepository;
         this.knowledgeBokRepository = knowledgeBokRepository;
@@ -59,24 +99,70 @@ public class AdminController {
         this.lawApiService = lawApiService;
         this.bokEcosApiService = bokEcosApiService;
         this.dartApiService = dartApiService;
+        this.dartFilingHarvester = dartFilingHarvester;
+        this.batchWriterFactory = batchWriterFactory;
+        this.ingestionJobService = ingestionJobService;
+        this.externalHttpClient = externalHttpClient;
+        this.externalApiGuard = externalApiGuard;
+        this.responseDiskCache = responseDiskCache;
+        this.bokSeriesCache = bokSeriesCache;
+        this.lexicalIndex = lexicalIndex;
+        this.vectorIndex = vectorIndex;
     }
 
     /**
-     * 금감원 DART 공시 정보 수집
+     * 금감원 DART 공시 정보 수집 (비동기 작업 접수, 202 + 작업 정보)
+     * 진행 상황은 GET /api/admin/knowledge/jobs/{id}
      */
     @PostMapping("/fetch-dart")
-    public ResponseEntity<List<Knowledge>> fetchDartData(@RequestParam(required = false) String corpName) {
-        List<Knowledge> data = dartApiService.fetchCompanyReports(corpName);
-        return ResponseEntity.ok(data);
+    public ResponseEntity<?> fetchDartData(@RequestParam(required = false) String corpName) {
+        return submitJob(() -> ingestionJobService.submit("fss_dart",
+                job -> dartApiService.fetchCompanyReports(corpName, job)));
     }
 
     /**
-     * 한국은행 API를 통한 경제 지표 수집
+     * DART 공시 기간 수집 (비동기 작업 접수): 회사 × 기간 구간으로 나눠 병렬 수집
+     * POST /api/admin/knowledge/fetch-dart/harvest?corpName={회사명 또는 고유번호}&bgnDe=YYYYMMDD&endDe=YYYYMMDD
+     * - corpName 없음: 회사 지정 없이 3개월 구간으로 분할
+     * - 작업 id = harvestId (구간 상태 조회·재시도 기준)
+     */
+    @PostMapping("/fetch-dart/harvest")
+    public ResponseEntity<?> harvestDart(@RequestParam(required = false) String corpName,
+                                         @RequestParam String bgnDe,
+                                         @RequestParam(required = false) String endDe) {
+        return submitJob(() -> ingestionJobService.submit("fss_dart",
+                job -> dartFilingHarvester.harvest(corpName, bgnDe, endDe, job)));
+    }
+
+    /**
+     * DART 공시 수집 실패 구간 재시도 (비동기 작업 접수)
+     * POST /api/admin/knowledge/fetch-dart/harvest/{harvestId}/retry
+     */
+    @PostMapping("/fetch-dart/harvest/{harvestId}/retry")
+    public ResponseEntity<?> retryDartHarvest(@PathVariable UUID harvestId) {
+        return submitJob(() -> ingestionJobService.submit("fss_dart",
+                job -> dartFilingHarvester.retry(harvestId, job)));
+    }
+
+    /**
+     * DART 공시 수집 구간별 상태 (PENDING/RUNNING/SUCCESS/FAILED, 페이지·건수·오류)
+     * GET /api/admin/knowledge/fetch-dart/harvest/{harvestId}/windows
+     */
+    @GetMapping("/fetch-dart/harvest/{harvestId}/windows")
+    public ResponseEntity<List<DartHarvestWindow>> getDartHarvestWindows(@PathVariable UUID harvestId) {
+        return ResponseEntity.ok(dartFilingHarvester.getWindows(harvestId));
+    }
+
+    /**
+     * 한국은행 API를 통한 경제 지표 수집 (비동기 작업 접수, 202 + 작업 정보)
+     * POST /api/admin/knowledge/fetch-bok?series={statCode/cycle/itemCode1/start[/end],...}
+     * - series 없음: 설정 카탈로그(external.bok-ecos.series) 수집
+     * - 계열별로 마지막 저장 시점 이후만 수집
      */
     @PostMapping("/fetch-bok")
-    public ResponseEntity<List<Knowledge>> fetchBokData() {
-        List<Knowledge> data = bokEcosApiService.fetchBaseInterestRate();
-        return ResponseEntity.ok(data);
+    public ResponseEntity<?> fetchBokData(@RequestParam(required = false) String series) {
+        return submitJob(() -> ingestionJobService.submit("bok_ecos",
+                job -> bokEcosApiService.fetchCatalog(series, job)));
     }
 
     /**
@@ -167,28 +253,88 @@ public class AdminController {
     }
 
     /**
-     * 국가법령 API를 통한 지식 수집 및 저장
+     * 국가법령 API를 통한 지식 수집 및 저장 (비동기 작업 접수, 202 + 작업 정보)
      * - lawName 있음: 해당 법령명 검색(target=law)
      * - lawName 없음: 전체 법령 수집(target=lsStmd, 페이지네이션)
-     * 실패 시 400/503 + { "error": "원인 메시지" } 반환
+     * 수집 실패 원인은 작업 조회(GET /jobs/{id})의 errorMessage로 확인
      */
     @PostMapping("/fetch-law")
     public ResponseEntity<?> fetchAndSaveLaw(@RequestParam(required = false) String lawName) {
-        try {
-            List<Knowledge> laws;
-            if (lawName != null && !lawName.trim().isEmpty()) {
-                laws = lawApiService.updateLawManually(lawName.trim());
+        String name = lawName != null ? lawName.trim() : "";
+        return submitJob(() -> ingestionJobService.submit("law_api", job -> {
+            if (!name.isEmpty()) {
+                lawApiService.updateLawManually(name, job);
             } else {
-                laws = lawApiService.fetchAllLawsManually();
+                lawApiService.fetchAllLawsManually(job);
             }
-            return ResponseEntity.ok(laws);
-        } catch (IllegalStateException e) {
-            return ResponseEntity.status(503).body(Map.of("error", e.getMessage() != null ? e.getMessage() : "알 수 없음"));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage() != null ? e.getMessage() : "알 수 없음"));
+        }));
+    }
+
+    /**
+     * 전체 법령 수집 재개: 체크포인트(마지막 커밋 페이지) 다음 페이지부터 이어서 수집 (비동기 작업 접수)
+     * POST /api/admin/knowledge/fetch-law/resume?historyId={id}
+     * - historyId 없음: 체크포인트가 있는 가장 최근 전체 수집에서 재개
+     * 재개 대상 없음/이미 완료 시 작업이 FAILED로 종료되며 errorMessage에 원인 기록
+     */
+    @PostMapping("/fetch-law/resume")
+    public ResponseEntity<?> resumeFetchLaw(@RequestParam(required = false) String historyId) {
+        UUID fromId = null;
+        if (historyId != null && !historyId.isBlank()) {
+            try {
+                fromId = UUID.fromString(historyId.trim());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", "잘못된 historyId 형식입니다."));
+            }
+        }
+        UUID resumeFrom = fromId;
+        return submitJob(() -> ingestionJobService.submit("law_api",
+                job -> lawApiService.resumeAllLawsManually(resumeFrom, job)));
+    }
+
+    /**
+     * 법령 증분 동기화 (비동기 작업 접수): 활성 법령 중 버전(MST·공포일자·시행일자)·본문 hash가 바뀐 법령만 갱신
+     * POST /api/admin/knowledge/fetch-law/sync
+     * 결과: 작업의 itemCount=갱신 건수, skippedCount=건너뛴 건수
+     */
+    @PostMapping("/fetch-law/sync")
+    public ResponseEntity<?> syncLaw() {
+        return submitJob(() -> ingestionJobService.submit("law_api",
+                job -> lawApiService.syncLawsIncrementally(job)));
+    }
+
+    /**
+     * 수집 작업 상태 조회 (진행률·건수·오류·취소 여부)
+     * GET /api/admin/knowledge/jobs/{id}
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<?> getJob(@PathVariable UUID id) {
+        if (id == null) return ResponseEntity.badRequest().build();
+        return ingestionJobService.get(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(404).body(Map.of("error", "해당 작업을 찾을 수 없습니다.")));
+    }
+
+    /**
+     * 수집 작업 취소 요청 (실행 중이면 다음 페이지 경계에서 중단, 이미 커밋된 페이지는 유지)
+     * POST /api/admin/knowledge/jobs/{id}/cancel
+     */
+    @PostMapping("/jobs/{id}/cancel")
+    public ResponseEntity<?> cancelJob(@PathVariable UUID id) {
+        if (id == null) return ResponseEntity.badRequest().build();
+        return ingestionJobService.cancel(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(404).body(Map.of("error", "해당 작업을 찾을 수 없습니다.")));
+    }
+
+    /** 작업 접수 공통: 202 + 작업 정보, 소스별 제한·대기 큐 초과 시 429 */
+    private ResponseEntity<?> submitJob(Supplier<?> submit) {
+        try {
+            return ResponseEntity.accepted().body(submit.get());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(429).body(Map.of("error", e.getMessage() != null ? e.getMessage() : "작업 접수 불가"));
         } catch (Exception e) {
-            return ResponseEntity.status(502).body(Map.of(
-                "error", "법령 API 호출 실패: " + (e.getMessage() != null ? e.getMessage() : "알 수 없음")
+            return ResponseEntity.status(500).body(Map.of(
+                "error", "작업 접수 실패: " + (e.getMessage() != null ? e.getMessage() : "알 수 없음")
             ));
         }
     }
@@ -213,6 +359,83 @@ public class AdminController {
         ));
     }
 
+    /**
+     * 메모리 BM25 색인 상위 k건 (한국어 글자 n-gram, 관련도순)
+     * GET /api/admin/knowledge/search/lexical?q=소득세 공제&k=20
+     * - tookMicros: 색인 검색 시간 (제목·카테고리 조회 제외)
+     */
+    @GetMapping("/search/lexical")
+    public ResponseEntity<?> searchLexical(@RequestParam String q,
+                                           @RequestParam(defaultValue = "20") int k) {
+        long start = System.nanoTime();
+        List<SearchHit> hits = lexicalIndex.search(q, Math.min(Math.max(1, k), 100));
+        long tookMicros = (System.nanoTime() - start) / 1000;
+        return ResponseEntity.ok(Map.of(
+                "hits", knowledgeService.describeHits(hits),
+                "tookMicros", tookMicros
+        ));
+    }
+
+    /**
+     * BM25 색인 상태 (문서·용어 수, 포스팅 용량, 구축 시간)
+     * GET /api/admin/knowledge/search/lexical/stats
+     */
+    @GetMapping("/search/lexical/stats")
+    public ResponseEntity<Map<String, Object>> getLexicalIndexStats() {
+        return ResponseEntity.ok(lexicalIndex.getStats());
+    }
+
+    /**
+     * BM25 색인 전체 재구축 (구축 중이면 409)
+     * POST /api/admin/knowledge/search/lexical/rebuild
+     */
+    @PostMapping("/search/lexical/rebuild")
+    public ResponseEntity<?> rebuildLexicalIndex() {
+        if (!lexicalIndex.rebuild()) {
+            return ResponseEntity.status(409).body(Map.of("error", "색인을 재구축할 수 없습니다 (이미 구축 중이거나 실패)."));
+        }
+        return ResponseEntity.ok(lexicalIndex.getStats());
+    }
+
+    /**
+     * 벡터 색인(HNSW) 의미 검색 상위 k건 (점수 = 코사인 유사도)
+     * GET /api/admin/knowledge/search/semantic?q=근로소득 비과세 한도&k=10&ef=64
+     * - ef: 탐색 후보 수 (생략 시 설정값), tookMicros: 임베딩 + 색인 검색 시간
+     */
+    @GetMapping("/search/semantic")
+    public ResponseEntity<?> searchSemantic(@RequestParam String q,
+                                            @RequestParam(defaultValue = "10") int k,
+                                            @RequestParam(defaultValue = "0") int ef) {
+        long start = System.nanoTime();
+        List<SearchHit> hits = vectorIndex.search(q, Math.min(Math.max(1, k), 100), Math.min(ef, 1000));
+        long tookMicros = (System.nanoTime() - start) / 1000;
+        return ResponseEntity.ok(Map.of(
+                "hits", knowledgeService.describeHits(hits),
+                "tookMicros", tookMicros
+        ));
+    }
+
+    /**
+     * 벡터 색인 상태 (벡터·삭제 노드 수, 층 수, 매핑 용량)
+     * GET /api/admin/knowledge/search/semantic/stats
+     */
+    @GetMapping("/search/semantic/stats")
+    public ResponseEntity<Map<String, Object>> getVectorIndexStats() {
+        return ResponseEntity.ok(vectorIndex.getStats());
+    }
+
+    /**
+     * 벡터 색인 전체 재구축 + 디스크 저장 (삭제 노드 정리, 구축 중이면 409)
+     * POST /api/admin/knowledge/search/semantic/rebuild
+     */
+    @PostMapping("/search/semantic/rebuild")
+    public ResponseEntity<?> rebuildVectorIndex() {
+        if (!vectorIndex.rebuild()) {
+            return ResponseEntity.status(409).body(Map.of("error", "벡터 색인을 재구축할 수 없습니다 (준비 전·구축 중이거나 실패)."));
+        }
+        return ResponseEntity.ok(vectorIndex.getStats());
+    }
+
     /**
      * 지식 카테고리 목록 (필터용)
      */
@@ -235,6 +458,42 @@ public class AdminController {
         }
     }
 
+    /**
+     * 원천 테이블 일괄 writer 통계 (테이블별 마지막 수집 기준 처리량·flush 지연)
+     * GET /api/admin/knowledge/writer-stats
+     */
+    @GetMapping("/writer-stats")
+    public ResponseEntity<Map<String, BatchWriterStats>> getWriterStats() {
+        return ResponseEntity.ok(batchWriterFactory.getLastStats());
+    }
+
+    /**
+     * 외부 API 호스트별 호출 통계 (요청 수·오류·동시 요청·지연)
+     * GET /api/admin/knowledge/http-stats
+     */
+    @GetMapping("/http-stats")
+    public ResponseEntity<Map<String, HostLatencyStats>> getHttpStats() {
+        return ResponseEntity.ok(externalHttpClient.getHostStats());
+    }
+
+    /**
+     * 외부 API 소스별 속도 제한·재시도 통계 (현재 호출 속도, 재시도·한도 초과·재시도 소진 건수)
+     * GET /api/admin/knowledge/rate-limit-stats
+     */
+    @GetMapping("/rate-limit-stats")
+    public ResponseEntity<Map<String, SourceRateStats>> getRateLimitStats() {
+        return ResponseEntity.ok(externalApiGuard.getSourceStats());
+    }
+
+    /**
+     * 외부 API 응답 디스크 캐시 통계 (항목 수·용량·적중/미스·LRU 삭제)
+     * GET /api/admin/knowledge/response-cache-stats
+     */
+    @GetMapping("/response-cache-stats")
+    public ResponseEntity<Map<String, Object>> getResponseCacheStats() {
+        return ResponseEntity.ok(responseDiskCache.getStats());
+    }
+
     /**
      * 단일 지식 세부 조회 (세부 페이지용)
      * 잘못된 UUID면 400, 없으면 404, 기타 예외는 500 + error 메시지
@@ -260,6 +519,19 @@ public class AdminController {
         }
     }
 
+    /**
+     * 지식 본문 조회 (목록 응답에서 뺀 content·article_body)
+     * GET /api/admin/knowledge/{id}/body
+     */
+    @GetMapping("/{id}/body")
+    public ResponseEntity<?> getKnowledgeBody(@PathVariable UUID id) {
+        try {
+            return ResponseEntity.ok(knowledgeService.getKnowledgeBody(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage() != null ? e.getMessage() : "해당 지식을 찾을 수 없습니다.", "code", "NOT_FOUND"));
+        }
+    }
+
     /**
      * 지식 데이터 삭제
      */
@@ -278,6 +550,46 @@ public class AdminController {
         return ResponseEntity.ok(knowledgeBokRepository.findAllByOrderByTimeDesc(PageRequest.of(0, Math.min(size, 200))));
     }
 
+    /**
+     * ECOS 시계열 구간 조회 (서버 다운샘플링, 열 단위 숫자 배열)
+     * GET /api/admin/knowledge/bok/series?statCode=722Y001&itemCode1=0101000&cycle=D&from=20200101&to=20241231&buckets=500
+     * - 범위 안 점이 buckets보다 많으면 버킷별 min/max/avg/count로 집계
+     * - time은 epoch ms (시점 시작일, UTC)
+     */
+    @GetMapping("/bok/series")
+    public ResponseEntity<?> getBokSeries(@RequestParam String statCode,
+                                          @RequestParam(required = false) String itemCode1,
+                                          @RequestParam(defaultValue = "D") String cycle,
+                                          @RequestParam(required = false) String from,
+                                          @RequestParam(required = false) String to,
+                                          @RequestParam(defaultValue = "500") int buckets) {
+        LocalDate fromDate;
+        LocalDate toDate;
+        try {
+            fromDate = from != null && !from.isBlank() ? LocalDate.parse(from.trim(), DateTimeFormatter.BASIC_ISO_DATE) : null;
+            toDate = to != null && !to.isBlank() ? LocalDate.parse(to.trim(), DateTimeFormatter.BASIC_ISO_DATE) : null;
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "from/to 형식 오류 (YYYYMMDD)"));
+        }
+        TimeSeriesResult result = bokSeriesCache.query(
+                new BokSeriesCache.SeriesKey(statCode, itemCode1 != null && !itemCode1.isBlank() ? itemCode1 : null,
+                        cycle.toUpperCase()),
+                fromDate, toDate, buckets);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 조회 가능한 ECOS 시계열 목록 (통계표·항목·주기별 점 수와 기간) + 캐시 통계
+     * GET /api/admin/knowledge/bok/series/catalog
+     */
+    @GetMapping("/bok/series/catalog")
+    public ResponseEntity<Map<String, Object>> getBokSeriesCatalog() {
+        return ResponseEntity.ok(Map.of(
+                "series", bokSeriesCache.listSeries(),
+                "cache", bokSeriesCache.getStats()
+        ));
+    }
+
     /** 한국은행 경제지표 단건 조회 */
     @GetMapping("/bok/{id}")
     public ResponseEntity<?> getBok(@PathVariable UUID id) {
@@ -302,10 +614,10 @@ public class AdminController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    /** 법령 정보 목록 조회 */
+    /** 법령 정보 목록 조회 (본문 컬럼 제외, 본문은 /law/{id}/body) */
     @GetMapping("/law")
-    public ResponseEntity<List<KnowledgeLaw>> listLaw(@RequestParam(defaultValue = "50") int size) {
-        return ResponseEntity.ok(knowledgeLawRepository.findAllByOrderByProclamationDateDesc(PageRequest.of(0, Math.min(size, 200))));
+    public ResponseEntity<List<KnowledgeLawSummary>> listLaw(@RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(knowledgeLawRepository.findSummaries(PageRequest.of(0, Math.min(size, 200))));
     }
 
     /** 법령 정보 단건 조회 */
@@ -317,9 +629,57 @@ public class AdminController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    /** 법령 본문 조회 (content·article_body) */
+    @GetMapping("/law/{id}/body")
+    public ResponseEntity<?> getLawBody(@PathVariable UUID id) {
+        if (id == null) return ResponseEntity.badRequest().build();
+        return knowledgeLawRepository.findBodyById(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 법령 조문 검색 (일치 조문만, 관련도순)
+     * GET /api/admin/knowledge/law/articles/search?q=가산세&mst=253527&size=20
+     */
+    @GetMapping("/law/articles/search")
+    public ResponseEntity<List<KnowledgeLawArticle>> searchLawArticles(@RequestParam String q,
+                                                                       @RequestParam(required = false) String mst,
+                                                                       @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(lawApiService.searchLawArticles(q, mst, size));
+    }
+
+    /**
+     * 법령 1건의 조문 목록 (MST 기준, 응답 순서)
+     * GET /api/admin/knowledge/law/253527/articles
+     */
+    @GetMapping("/law/{mst}/articles")
+    public ResponseEntity<List<KnowledgeLawArticle>> getLawArticles(@PathVariable String mst) {
+        return ResponseEntity.ok(lawApiService.getLawArticles(mst));
+    }
+
     /** DART 기업 코드 목록 조회 */
     @GetMapping("/dart/corp-codes")
     public ResponseEntity<List<DartCorpCode>> listDartCorpCodes(@RequestParam(defaultValue = "100") int size) {
         return ResponseEntity.ok(dartCorpCodeRepository.findAll(PageRequest.of(0, Math.min(size, 500))).getContent());
     }
+
+    /**
+     * DART 고유번호 전체 적재 (비동기 작업 접수): corpCode.zip 스트리밍 해제·파싱 → COPY → dart_corp_code 병합
+     * POST /api/admin/knowledge/dart/corp-codes/load?path={로컬 zip/xml 파일 이름}
+     * - path 없음: DART API에서 내려받음
+     * - path 있음: external.dart.corp-code-dir 아래 파일 사용 (오프라인 테스트, 디렉터리 밖 경로는 400)
+     * 결과: 작업의 itemCount=신규·변경 건수, skippedCount=변경 없는 건수
+     */
+    @PostMapping("/dart/corp-codes/load")
+    public ResponseEntity<?> loadDartCorpCodes(@RequestParam(required = false) String path) {
+        Path localFile;
+        try {
+            localFile = dartApiService.resolveCorpCodeFile(path);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        return submitJob(() -> ingestionJobService.submit("fss_dart",
+                job -> dartApiService.loadCorpCodes(localFile, job)));
+    }
 }
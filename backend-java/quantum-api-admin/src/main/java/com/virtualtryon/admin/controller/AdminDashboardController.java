@@ -1,10 +1,13 @@
 package com.virtualtryon.admin.controller;
 
 import com.virtualtryon.admin.dto.dashboard.AdminDashboardDto;
+import com.virtualtryon.admin.dto.dashboard.LiveRevenueDto;
 import com.virtualtryon.admin.service.AdminDashboardService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 /** 관리자 매출 대시보드 API */
 @RestController
 @RequestMapping("/api/admin/dashboard")
@@ -24,4 +27,23 @@ public class AdminDashboardController {
     ) {
         return ResponseEntity.ok(adminDashboardService.getRevenueStats(period));
     }
+
+    /**
+     * 실시간(오늘) 매출: 오늘 합계·플랜별 + 최근 minutes분 분별 (payments 미조회, 스냅샷 주기만큼 지연)
+     * GET /api/admin/dashboard/revenue/live?minutes=60
+     */
+    @GetMapping("/revenue/live")
+    public ResponseEntity<LiveRevenueDto> getLiveRevenue(
+            @RequestParam(required = false, defaultValue = "60") int minutes
+    ) {
+        return ResponseEntity.ok(adminDashboardService.getLiveRevenue(minutes));
+    }
+
+    /** 매출 집계(revenue_daily_rollup) 재구축: 결제 전체로 다시 적재 (백필·정합성 복구) */
+    @PostMapping("/revenue/rollup/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildRevenueRollup() {
+        long start = System.currentTimeMillis();
+        int rows = adminDashboardService.rebuildRevenueRollup();
+        return ResponseEntity.ok(Map.of("rows", rows, "elapsedMs", System.currentTimeMillis() - start));
+    }
 }
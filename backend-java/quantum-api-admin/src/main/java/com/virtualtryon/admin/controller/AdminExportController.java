@@ -0,0 +1,116 @@
+package com.virtualtryon.admin.controller;
+
+import com.virtualtryon.admin.service.AdminExportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 관리자 데이터 내보내기 API (CSV / NDJSON 스트리밍 다운로드)
+ * format=csv|ndjson, gzip=true면 .gz 파일로 압축해 전송
+ */
+@RestController
+@RequestMapping("/api/admin/export")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+public class AdminExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final AdminExportService adminExportService;
+
+    public AdminExportController(AdminExportService adminExportService) {
+        this.adminExportService = adminExportService;
+    }
+
+    /**
+     * 결제 내보내기 (fromDate, toDate: YYYY-MM-DD, 생성일 기준)
+     * GET /api/admin/export/payments?format=csv&gzip=true&fromDate=2026-01-01&toDate=2026-03-31
+     */
+    @GetMapping("/payments")
+    public ResponseEntity<?> exportPayments(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) String fromDate,
+            @RequestParam(required = false) String toDate
+    ) {
+        LocalDateTime from;
+        LocalDateTime to;
+        try {
+            from = fromDate != null && !fromDate.isBlank() ? LocalDate.parse(fromDate.trim()).atStartOfDay() : null;
+            to = toDate != null && !toDate.isBlank() ? LocalDateTime.of(LocalDate.parse(toDate.trim()), LocalTime.MAX) : null;
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "fromDate/toDate 형식 오류 (YYYY-MM-DD)"));
+        }
+        return download("payments", format, gzip, (out, f) -> adminExportService.exportPayments(out, f, from, to));
+    }
+
+    /**
+     * 회원 내보내기
+     * GET /api/admin/export/members?format=ndjson&includeDeleted=false
+     */
+    @GetMapping("/members")
+    public ResponseEntity<?> exportMembers(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(defaultValue = "false") boolean includeDeleted
+    ) {
+        return download("members", format, gzip, (out, f) -> adminExportService.exportMembers(out, f, includeDeleted));
+    }
+
+    /**
+     * 지식 내보내기 (활성 지식, includeBody=true면 조문 본문 포함)
+     * GET /api/admin/export/knowledge?format=ndjson&gzip=true&category=LAW_TAX&includeBody=true
+     */
+    @GetMapping("/knowledge")
+    public ResponseEntity<?> exportKnowledge(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(defaultValue = "false") boolean includeBody
+    ) {
+        return download("knowledge", format, gzip,
+                (out, f) -> adminExportService.exportKnowledge(out, f, category, includeBody));
+    }
+
+    @FunctionalInterface
+    private interface Exporter {
+        void export(OutputStream out, AdminExportService.Format format) throws IOException;
+    }
+
+    /** 첨부 파일 응답 (본문은 MVC 비동기 스레드에서 스트리밍) */
+    private ResponseEntity<?> download(String name, String formatParam, boolean gzip, Exporter exporter) {
+        AdminExportService.Format format;
+        try {
+            format = AdminExportService.Format.parse(formatParam);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        String filename = name + "-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE) + "." + format.extension()
+                + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gz = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                exporter.export(gz, format);
+                gz.finish();
+            } else {
+                exporter.export(out, format);
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.contentType()))
+                .body(body);
+    }
+}
@@ -33,6 +33,22 @@ public class AdminMemberController {
         return ResponseEntity.ok(adminMemberService.findAll(pageable));
     }
 
+    /**
+     * 회원 목록 keyset 페이지 (탈퇴 제외, 가입일 최신순, COUNT 없음)
+     * GET /api/admin/members/cursor?size=50&cursor={nextCursor}
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<?> listByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        try {
+            return ResponseEntity.ok(adminMemberService.findPageAfter(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage() != null ? e.getMessage() : "잘못된 커서입니다."));
+        }
+    }
+
     /** 회원 상세 */
     @GetMapping("/{id}")
     public ResponseEntity<?> get(@PathVariable String id) {
@@ -53,6 +53,30 @@ public class AdminPaymentController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * 결제 목록 keyset 페이지 (생성일 최신순, COUNT 없음 → 페이지 깊이와 무관하게 일정한 응답 시간)
+     * GET /api/admin/payments/cursor?size=50&cursor={nextCursor}&userId=
+     * 결제 완료일 범위 조회는 기존 목록(page) 사용
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<?> listByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String userId
+    ) {
+        UUID uid = null;
+        if (userId != null && !userId.isBlank()) {
+            Optional<UUID> uuidOpt = parseUuid(userId);
+            if (uuidOpt.isEmpty()) return ResponseEntity.badRequest().body(Map.of("error", "잘못된 ID"));
+            uid = uuidOpt.get();
+        }
+        try {
+            return ResponseEntity.ok(adminPaymentService.findPageAfter(cursor, size, uid));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage() != null ? e.getMessage() : "잘못된 커서입니다."));
+        }
+    }
+
     private static LocalDateTime parseDate(String s, LocalTime time) {
         if (s == null || s.isBlank()) return null;
         try {
@@ -45,6 +45,29 @@ public class AdminSubscriptionController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * 구독 목록 keyset 페이지 (생성일 최신순, COUNT 없음)
+     * GET /api/admin/subscriptions/cursor?size=50&cursor={nextCursor}&userId=
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<?> listByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String userId
+    ) {
+        UUID uid = null;
+        if (userId != null && !userId.isBlank()) {
+            Optional<UUID> uuidOpt = parseUuid(userId);
+            if (uuidOpt.isEmpty()) return ResponseEntity.badRequest().body(Map.of("error", "잘못된 ID"));
+            uid = uuidOpt.get();
+        }
+        try {
+            return ResponseEntity.ok(adminSubscriptionService.findPageAfter(cursor, size, uid));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage() != null ? e.getMessage() : "잘못된 커서입니다."));
+        }
+    }
+
     /** 구독 상세 */
     @GetMapping("/{id}")
     public ResponseEntity<?> get(@PathVariable String id) {
@@ -0,0 +1,25 @@
+package com.virtualtryon.admin.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * keyset 페이지 응답 (전체 건수 없음)
+ *
+ * @param nextCursor 다음 페이지 요청에 그대로 전달, 마지막 페이지면 null
+ */
+public record CursorPage<T>(List<T> content, int size, boolean hasNext, String nextCursor) {
+
+    /**
+     * size + 1건으로 조회한 행 → 페이지 (남는 1건으로 다음 페이지 여부 판단)
+     *
+     * @param cursorOf 마지막 행의 커서
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, KeysetCursor> cursorOf,
+                                          Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        String next = hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(page.stream().map(mapper).toList(), size, hasNext, next);
+    }
+}
@@ -0,0 +1,50 @@
+package com.virtualtryon.admin.dto.dashboard;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** 관리자 대시보드 실시간(오늘) 매출 DTO */
+public class LiveRevenueDto {
+
+    private Long todayRevenue;
+    private Long todayCount;
+    private List<AdminDashboardDto.RevenueByPlan> byPlan;
+    /** 최근 N분 분별 매출 (오래된 순, 결제 없는 분은 0) */
+    private List<MinuteItem> minutes;
+    /** 마지막 스냅샷 반영 시각 (API 서버 반영 주기만큼 지연) */
+    private LocalDateTime lastUpdatedAt;
+
+    public LiveRevenueDto() {}
+
+    public Long getTodayRevenue() { return todayRevenue; }
+    public void setTodayRevenue(Long todayRevenue) { this.todayRevenue = todayRevenue; }
+    public Long getTodayCount() { return todayCount; }
+    public void setTodayCount(Long todayCount) { this.todayCount = todayCount; }
+    public List<AdminDashboardDto.RevenueByPlan> getByPlan() { return byPlan; }
+    public void setByPlan(List<AdminDashboardDto.RevenueByPlan> byPlan) { this.byPlan = byPlan; }
+    public List<MinuteItem> getMinutes() { return minutes; }
+    public void setMinutes(List<MinuteItem> minutes) { this.minutes = minutes; }
+    public LocalDateTime getLastUpdatedAt() { return lastUpdatedAt; }
+    public void setLastUpdatedAt(LocalDateTime lastUpdatedAt) { this.lastUpdatedAt = lastUpdatedAt; }
+
+    /** 분별 매출 */
+    public static class MinuteItem {
+        private LocalDateTime minute;
+        private Long revenue;
+        private Long count;
+
+        public MinuteItem() {}
+        public MinuteItem(LocalDateTime minute, Long revenue, Long count) {
+            this.minute = minute;
+            this.revenue = revenue;
+            this.count = count;
+        }
+
+        public LocalDateTime getMinute() { return minute; }
+        public void setMinute(LocalDateTime minute) { this.minute = minute; }
+        public Long getRevenue() { return revenue; }
+        public void setRevenue(Long revenue) { this.revenue = revenue; }
+        public Long getCount() { return count; }
+        public void setCount(Long count) { this.count = count; }
+    }
+}
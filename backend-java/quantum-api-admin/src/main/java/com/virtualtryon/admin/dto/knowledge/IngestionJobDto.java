@@ -0,0 +1,60 @@
+package com.virtualtryon.admin.dto.knowledge;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** 지식 수집 작업 상태 DTO (GET /api/admin/knowledge/jobs/{id}) */
+public class IngestionJobDto {
+
+    private UUID id;
+    private String sourceType;
+    private String status;
+    private Integer itemCount;
+    private Integer skippedCount;
+    private Integer progressCurrent;
+    private Integer progressTotal;
+    private boolean cancelRequested;
+    private String errorMessage;
+    private String paramsJson;
+    private Integer detailCount;
+    private Integer detailFailedCount;
+    private Integer checkpointPage;
+    private LocalDateTime queuedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public IngestionJobDto() {}
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    public String getSourceType() { return sourceType; }
+    public void setSourceType(String sourceType) { this.sourceType = sourceType; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public Integer getItemCount() { return itemCount; }
+    public void setItemCount(Integer itemCount) { this.itemCount = itemCount; }
+    public Integer getSkippedCount() { return skippedCount; }
+    public void setSkippedCount(Integer skippedCount) { this.skippedCount = skippedCount; }
+    public Integer getProgressCurrent() { return progressCurrent; }
+    public void setProgressCurrent(Integer progressCurrent) { this.progressCurrent = progressCurrent; }
+    public Integer getProgressTotal() { return progressTotal; }
+    public void setProgressTotal(Integer progressTotal) { this.progressTotal = progressTotal; }
+    public boolean isCancelRequested() { return cancelRequested; }
+    public void setCancelRequested(boolean cancelRequested) { this.cancelRequested = cancelRequested; }
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    public String getParamsJson() { return paramsJson; }
+    public void setParamsJson(String paramsJson) { this.paramsJson = paramsJson; }
+    public Integer getDetailCount() { return detailCount; }
+    public void setDetailCount(Integer detailCount) { this.detailCount = detailCount; }
+    public Integer getDetailFailedCount() { return detailFailedCount; }
+    public void setDetailFailedCount(Integer detailFailedCount) { this.detailFailedCount = detailFailedCount; }
+    public Integer getCheckpointPage() { return checkpointPage; }
+    public void setCheckpointPage(Integer checkpointPage) { this.checkpointPage = checkpointPage; }
+    public LocalDateTime getQueuedAt() { return queuedAt; }
+    public void setQueuedAt(LocalDateTime queuedAt) { this.queuedAt = queuedAt; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -1,29 +1,51 @@
 package com.virtualtryon.admin.service;
 
 import com.virtualtryon.admin.dto.dashboard.AdminDashboardDto;
-import com.virtualtryon.core.entity.Payment;
+import com.virtualtryon.admin.dto.dashboard.LiveRevenueDto;
 import com.virtualtryon.core.repository.PaymentRepository;
+import com.virtualtryon.core.repository.RevenueLiveRepository;
+import com.virtualtryon.core.repository.RevenueLiveRepository.MinuteRevenue;
+import com.virtualtryon.core.repository.RevenueRollupRepository;
+import com.virtualtryon.core.repository.RevenueRollupRepository.DailyRevenue;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-
+import java.time.temporal.ChronoUnit;
 import java.time.temporal.IsoFields;
-import java.time.temporal.WeekFields;
 import java.util.*;
 import java.util.function.BiFunction;
-import java.util.stream.Collectors;
 
-/** 관리자 대시보드 서비스 */
+/**
+ * 관리자 대시보드 서비스
+ * 매출 집계는 모두 DB에서 (표시 구간 버킷·플랜별 GROUP BY) → JVM으로 결제 행을 가져오지 않음
+ *
+ * - admin.dashboard.revenue-source=rollup(기본): revenue_daily_rollup(일별·플랜별 집계)
+ * - admin.dashboard.revenue-source=payments: payments 직접 집계 (집계 테이블 미사용·불일치 시, (status, completed_at) 인덱스 범위 스캔)
+ * - 실시간(오늘) 타일: API 서버 메모리 카운터의 분 단위 스냅샷(revenue_live_minute)만 읽음
+ */
 @Service
 public class AdminDashboardService {
 
+    private final RevenueRollupRepository revenueRollupRepository;
     private final PaymentRepository paymentRepository;
+    private final RevenueLiveRepository revenueLiveRepository;
+
+    @Value("${admin.dashboard.revenue-source:rollup}")
+    private String revenueSource;
 
-    public AdminDashboardService(PaymentRepository paymentRepository) {
+    public AdminDashboardService(RevenueRollupRepository revenueRollupRepository, PaymentRepository paymentRepository,
+                                 RevenueLiveRepository revenueLiveRepository) {
+        this.revenueRollupRepository = revenueRollupRepository;
         this.paymentRepository = paymentRepository;
+        this.revenueLiveRepository = revenueLiveRepository;
     }
 
     /** 매출 통계 조회 (period: week, month, quarter, half) */
+    @Transactional(readOnly = true)
     public AdminDashboardDto getRevenueStats(String period) {
         String p = (period != null && !period.isBlank()) ? period.toLowerCase() : "month";
         if (!Set.of("week", "month", "quarter", "half").contains(p)) {
@@ -32,50 +54,37 @@ public class AdminDashboardService {
 
         AdminDashboardDto dto = new AdminDashboardDto();
         dto.setPeriod(p);
+        boolean fromPayments = "payments".equalsIgnoreCase(revenueSource);
 
-        List<Payment> completed = paymentRepository.findAllCompletedWithCompletedAt();
-        Long total = completed.stream().mapToLong(Payment::getAmount).sum();
+        Long total = fromPayments ? paymentRepository.sumCompletedAmount() : Long.valueOf(revenueRollupRepository.sumRevenue());
         dto.setTotalRevenue(total != null ? total : 0L);
 
         // 기존 월별/플랜별 (호환)
-        Map<String, Long> byMonth = completed.stream()
-                .collect(Collectors.groupingBy(
-                        pay -> pay.getCompletedAt().getYear() + "-" + String.format("%02d", pay.getCompletedAt().getMonthValue()),
-                        Collectors.summingLong(Payment::getAmount)
-                ));
-
-        List<AdminDashboardDto.RevenueByMonth> revenueByMonth = byMonth.entrySet().stream()
-                .map(e -> {
-                    String[] parts = e.getKey().split("-");
-                    return new AdminDashboardDto.RevenueByMonth(
-                            Integer.parseInt(parts[0]),
-                            Integer.parseInt(parts[1]),
-                            e.getValue()
-                    );
-                })
-                .sorted((a, b) -> {
-                    int c = Integer.compare(b.getYear(), a.getYear());
-                    return c != 0 ? c : Integer.compare(b.getMonth(), a.getMonth());
-                })
-                .limit(12)
-                .toList();
-        dto.setRevenueByMonth(revenueByMonth);
-
-        Map<String, List<Payment>> byPlan = completed.stream()
-                .collect(Collectors.groupingBy(pay -> pay.getPlanId() != null ? pay.getPlanId() : "unknown"));
-
-        List<AdminDashboardDto.RevenueByPlan> revenueByPlan = byPlan.entrySet().stream()
-                .map(e -> new AdminDashboardDto.RevenueByPlan(
-                        e.getKey(),
-                        e.getValue().stream().mapToLong(Payment::getAmount).sum(),
-                        (long) e.getValue().size()
-                ))
-                .sorted((a, b) -> Long.compare(b.getRevenue(), a.getRevenue()))
-                .toList();
+        List<DailyRevenue> months = fromPayments
+                ? toRevenueRows(paymentRepository.sumCompletedByMonth(12))
+                : revenueRollupRepository.sumByMonth(12);
+        dto.setRevenueByMonth(months.stream()
+                .map(m -> new AdminDashboardDto.RevenueByMonth(m.day().getYear(), m.day().getMonthValue(), m.revenue()))
+                .toList());
+
+        List<AdminDashboardDto.RevenueByPlan> revenueByPlan = fromPayments
+                ? paymentRepository.sumCompletedByPlan().stream()
+                        .map(r -> new AdminDashboardDto.RevenueByPlan(r.getPlanId(), r.getRevenue(), r.getPaymentCount()))
+                        .toList()
+                : revenueRollupRepository.sumByPlan().stream()
+                        .map(r -> new AdminDashboardDto.RevenueByPlan(r.planId(), r.revenue(), r.paymentCount()))
+                        .toList();
         dto.setRevenueByPlan(revenueByPlan);
 
-        // 시계열 (당기 vs 전기) + 구독별
-        List<AdminDashboardDto.RevenueTimeSeriesItem> timeSeries = buildTimeSeries(completed, p);
+        // 시계열 (당기 vs 전기) + 구독별: 표시 구간만, 버킷·플랜별로 DB에서 집계
+        List<String> orderedKeys = getOrderedPeriodKeys(p);
+        LocalDate today = LocalDate.now();
+        LocalDate from = periodStart(today, p, periodCount(p) - 1);
+        String unit = bucketUnit(p);
+        List<DailyRevenue> buckets = fromPayments
+                ? toRevenueRows(paymentRepository.sumCompletedByBucket(unit, from.atStartOfDay(), today.plusDays(1).atStartOfDay()))
+                : revenueRollupRepository.sumByBucket(unit, from, today);
+        List<AdminDashboardDto.RevenueTimeSeriesItem> timeSeries = buildTimeSeries(buckets, orderedKeys, p);
         dto.setTimeSeries(timeSeries);
 
         long prevTotal = timeSeries.stream()
@@ -86,24 +95,76 @@ public class AdminDashboardService {
         return dto;
     }
 
-    private List<AdminDashboardDto.RevenueTimeSeriesItem> buildTimeSeries(List<Payment> completed, String period) {
+    /**
+     * 실시간(오늘) 매출: 오늘 합계·플랜별 + 최근 minutes분 분별 매출
+     *
+     * @param minutes 분별 구간 길이 (1~1440)
+     */
+    @Transactional(readOnly = true)
+    public LiveRevenueDto getLiveRevenue(int minutes) {
+        int window = Math.min(Math.max(minutes, 1), 1440);
+        LocalDateTime todayStart = LocalDate.now().atStartOfDay();
+        LocalDateTime currentMinute = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime from = currentMinute.minusMinutes(window - 1);
+
+        LiveRevenueDto dto = new LiveRevenueDto();
+        List<AdminDashboardDto.RevenueByPlan> byPlan = revenueLiveRepository.sumByPlanSince(todayStart).stream()
+                .map(r -> new AdminDashboardDto.RevenueByPlan(r.planId(), r.revenue(), r.paymentCount()))
+                .toList();
+        dto.setByPlan(byPlan);
+        dto.setTodayRevenue(byPlan.stream().mapToLong(AdminDashboardDto.RevenueByPlan::getRevenue).sum());
+        dto.setTodayCount(byPlan.stream().mapToLong(AdminDashboardDto.RevenueByPlan::getCount).sum());
+
+        Map<LocalDateTime, MinuteRevenue> byMinute = new HashMap<>();
+        for (MinuteRevenue m : revenueLiveRepository.sumByMinuteSince(from)) byMinute.put(m.minute(), m);
+        List<LiveRevenueDto.MinuteItem> items = new ArrayList<>(window);
+        for (LocalDateTime at = from; !at.isAfter(currentMinute); at = at.plusMinutes(1)) {
+            MinuteRevenue m = byMinute.get(at);
+            items.add(new LiveRevenueDto.MinuteItem(at, m != null ? m.revenue() : 0L, m != null ? m.paymentCount() : 0L));
+        }
+        dto.setMinutes(items);
+        dto.setLastUpdatedAt(revenueLiveRepository.findLastUpdatedAt());
+        return dto;
+    }
+
+    /**
+     * 일별 집계 재구축 (payments 전체 기준 백필·정합성 복구)
+     *
+     * @return 적재된 (일, 플랜) 행 수
+     */
+    @Transactional
+    public int rebuildRevenueRollup() {
+        return revenueRollupRepository.rebuildFromPayments();
+    }
+
+    private static List<DailyRevenue> toRevenueRows(List<PaymentRepository.RevenueBucket> rows) {
+        return rows.stream()
+                .map(r -> new DailyRevenue(r.getBucket(), r.getPlanId(),
+                        r.getRevenue() != null ? r.getRevenue() : 0L,
+                        r.getPaymentCount() != null ? r.getPaymentCount() : 0L))
+                .toList();
+    }
+
+    /**
+     * 버킷 집계 → 표시 기간별 시계열
+     *
+     * @param buckets 버킷 시작일·플랜별 집계 (반기는 분기 버킷을 합산)
+     */
+    private List<AdminDashboardDto.RevenueTimeSeriesItem> buildTimeSeries(List<DailyRevenue> buckets,
+                                                                          List<String> orderedKeys, String period) {
         Map<String, Long> revenueByKey = new HashMap<>();
         Map<String, Map<String, Long>> byPlanByKey = new HashMap<>();
 
-        for (Payment p : completed) {
-            LocalDateTime at = Objects.requireNonNull(p.getCompletedAt(), "Payment completedAt must not be null");
-            Long amount = Objects.requireNonNull(p.getAmount(), "Payment amount must not be null");
-            String planId = p.getPlanId() != null ? p.getPlanId() : "unknown";
-
-            String key = toPeriodKey(at, period);
+        for (DailyRevenue d : buckets) {
+            if (d.paymentCount() == 0) continue; // 완료 후 모두 취소된 (버킷, 플랜)
+            String key = toPeriodKey(d.day().atStartOfDay(), period);
             BiFunction<Long, Long, Long> safeSum = (a, b) -> (a != null ? a : 0L) + (b != null ? b : 0L);
-            revenueByKey.merge(key, amount, safeSum);
+            revenueByKey.merge(key, d.revenue(), safeSum);
             byPlanByKey
                     .computeIfAbsent(key, k -> new HashMap<>())
-                    .merge(planId, amount, safeSum);
+                    .merge(d.planId(), d.revenue(), safeSum);
         }
 
-        List<String> orderedKeys = getOrderedPeriodKeys(period);
         List<AdminDashboardDto.RevenueTimeSeriesItem> result = new ArrayList<>();
 
         for (int i = 0; i < orderedKeys.size(); i++) {
@@ -134,8 +195,10 @@ public class AdminDashboardService {
         int y = at.getYear();
         switch (period) {
             case "week":
-                int w = at.get(WeekFields.ISO.weekOfYear());
-                return y + "-W" + String.format("%02d", w);
+                // ISO 주 기준 연도 (연말·연초에 걸친 주도 DB date_trunc('week') 버킷과 같은 키 1개)
+                int wy = at.get(IsoFields.WEEK_BASED_YEAR);
+                int w = at.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+                return wy + "-W" + String.format("%02d", w);
             case "quarter":
                 int q = at.get(IsoFields.QUARTER_OF_YEAR);
                 return y + "-Q" + q;
@@ -165,10 +228,38 @@ public class AdminDashboardService {
         }
     }
 
+    /** 표시할 기간 수 */
+    private int periodCount(String period) {
+        return period.equals("week") ? 12 : (period.equals("half") ? 4 : 6);
+    }
+
+    /** DB 버킷 단위 (date_trunc). 반기는 분기 버킷 2개를 합산 */
+    private String bucketUnit(String period) {
+        return period.equals("week") ? "week" : (period.equals("month") ? "month" : "quarter");
+    }
+
+    /** today에서 back 기간 전 기간의 시작일 (조회 범위 시작 = 가장 오래된 표시 기간의 첫날) */
+    private LocalDate periodStart(LocalDate today, String period, int back) {
+        LocalDate at = today;
+        for (int i = 0; i < back; i++) {
+            at = prevPeriod(at.atStartOfDay(), period).toLocalDate();
+        }
+        switch (period) {
+            case "week":
+                return at.with(DayOfWeek.MONDAY);
+            case "quarter":
+                return LocalDate.of(at.getYear(), (at.get(IsoFields.QUARTER_OF_YEAR) - 1) * 3 + 1, 1);
+            case "half":
+                return LocalDate.of(at.getYear(), at.getMonthValue() <= 6 ? 1 : 7, 1);
+            default:
+                return at.withDayOfMonth(1);
+        }
+    }
+
     private List<String> getOrderedPeriodKeys(String period) {
         LocalDateTime now = LocalDateTime.now();
         List<String> keys = new ArrayList<>();
-        int count = period.equals("week") ? 12 : (period.equals("half") ? 4 : 6);
+        int count = periodCount(period);
 
         for (int i = 0; i < count; i++) {
             keys.add(toPeriodKey(now, period));
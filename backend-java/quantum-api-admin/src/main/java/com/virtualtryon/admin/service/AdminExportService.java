@@ -0,0 +1,141 @@
+package com.virtualtryon.admin.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 관리자 데이터 내보내기 (결제·회원·지식 → CSV / NDJSON 스트리밍)
+ *
+ * - 읽기 전용 트랜잭션 안에서 forward-only 커서 + fetchSize로 읽음 (PostgreSQL은 autocommit이 꺼져 있어야 서버 커서 사용)
+ * - 행을 읽는 대로 출력 스트림에 씀 → 건수와 관계없이 메모리 일정
+ */
+@Service
+public class AdminExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminExportService.class);
+    /** 커서 1회 왕복당 행 수 */
+    private static final int FETCH_SIZE = 1000;
+
+    public enum Format {
+        CSV("csv", "text/csv; charset=UTF-8"),
+        NDJSON("ndjson", "application/x-ndjson");
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String extension() { return extension; }
+        public String contentType() { return contentType; }
+
+        /** csv / ndjson (대소문자 무시), 그 외 IllegalArgumentException */
+        public static Format parse(String s) {
+            if (s == null || s.isBlank()) return CSV;
+            for (Format f : values()) {
+                if (f.extension.equalsIgnoreCase(s.trim())) return f;
+            }
+            throw new IllegalArgumentException("지원하지 않는 형식입니다: " + s + " (csv, ndjson)");
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AdminExportService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 결제 내보내기 (생성일 최신순, from/to: 생성일 범위, null이면 제한 없음)
+     *
+     * @return 출력 행 수
+     */
+    @Transactional(readOnly = true)
+    public long exportPayments(OutputStream out, Format format, LocalDateTime from, LocalDateTime to) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, user_id, subscription_id, plan_id, payment_method, amount, status, pg_provider, " +
+                "pg_transaction_id, created_at, completed_at, cancelled_at FROM payments WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (from != null) {
+            sql.append(" AND created_at >= ?");
+            params.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND created_at <= ?");
+            params.add(Timestamp.valueOf(to));
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC");
+        return stream("payments", out, format, sql.toString(), params);
+    }
+
+    /**
+     * 회원 내보내기 (가입일 최신순, 비밀번호·토큰 컬럼 제외)
+     *
+     * @param includeDeleted 탈퇴 회원 포함 여부
+     */
+    @Transactional(readOnly = true)
+    public long exportMembers(OutputStream out, Format format, boolean includeDeleted) {
+        String sql = "SELECT id, email, name, provider, subscription, created_at, suspended_at, deleted_at FROM users" +
+                (includeDeleted ? "" : " WHERE deleted_at IS NULL") +
+                " ORDER BY created_at DESC, id DESC";
+        return stream("members", out, format, sql, List.of());
+    }
+
+    /**
+     * 지식 내보내기 (활성 지식, 수정일 최신순)
+     *
+     * @param includeBody article_body(조문 본문) 포함 여부
+     */
+    @Transactional(readOnly = true)
+    public long exportKnowledge(OutputStream out, Format format, List<String> categories, boolean includeBody) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, category, title, content, " + (includeBody ? "article_body, " : "") +
+                "source_url, source_type, external_id, created_at, updated_at FROM knowledge_base WHERE is_active = TRUE");
+        List<Object> params = new ArrayList<>();
+        if (categories != null && !categories.isEmpty()) {
+            sql.append(" AND category IN (").append(String.join(", ", Collections.nCopies(categories.size(), "?"))).append(")");
+            params.addAll(categories);
+        }
+        sql.append(" ORDER BY updated_at DESC NULLS LAST, id");
+        return stream("knowledge", out, format, sql.toString(), params);
+    }
+
+    private long stream(String name, OutputStream out, Format format, String sql, List<Object> params) {
+        long start = System.currentTimeMillis();
+        Long rows = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < params.size(); i++) ps.setObject(i + 1, params.get(i));
+            return ps;
+        }, rs -> {
+            try {
+                TabularExportWriter writer = new TabularExportWriter(out, format);
+                writer.header(rs.getMetaData());
+                while (rs.next()) writer.row(rs);
+                writer.flush();
+                return writer.rows();
+            } catch (IOException e) {
+                // 클라이언트 연결 끊김 등: 커서를 닫고 트랜잭션 종료
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.info("내보내기 완료: {} ({}), {}건, {}ms", name, format.extension(), rows, System.currentTimeMillis() - start);
+        return rows != null ? rows : 0;
+    }
+}
@@ -1,5 +1,7 @@
 package com.virtualtryon.admin.service;
 
+import com.virtualtryon.admin.dto.CursorPage;
+import com.virtualtryon.admin.dto.KeysetCursor;
 import com.virtualtryon.admin.dto.member.AdminMemberDto;
 import com.virtualtryon.core.entity.User;
 import com.virtualtryon.core.repository.PaymentRepository;
@@ -11,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -18,6 +21,9 @@ import java.util.UUID;
 @Service
 public class AdminMemberService {
 
+    /** keyset 페이지 최대 크기 */
+    private static final int MAX_CURSOR_PAGE_SIZE = 200;
+
     private final UserRepository userRepository;
     private final PaymentRepository paymentRepository;
     private final SubscriptionRepository subscriptionRepository;
@@ -35,6 +41,20 @@ public class AdminMemberService {
             .map(this::toDto);
     }
 
+    /**
+     * 회원 목록 keyset 페이지 (탈퇴 제외, 가입일 최신순, 전체 건수 없음)
+     *
+     * @param cursor 이전 응답의 nextCursor, 없으면 첫 페이지
+     */
+    public CursorPage<AdminMemberDto> findPageAfter(String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = Math.min(Math.max(1, size), MAX_CURSOR_PAGE_SIZE) + 1;
+        List<User> rows = after == null
+                ? userRepository.findFirstActiveKeysetPage(limit)
+                : userRepository.findActiveKeysetPageAfter(after.createdAt(), after.id(), limit);
+        return CursorPage.of(rows, limit - 1, u -> new KeysetCursor(u.getCreatedAt(), u.getId()), this::toDto);
+    }
+
     /** 회원 상세 */
     public AdminMemberDto findById(UUID userId) {
         UUID validId = Objects.requireNonNull(userId, "userId must not be null");
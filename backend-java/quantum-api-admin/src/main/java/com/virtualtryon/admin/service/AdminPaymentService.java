@@ -1,8 +1,13 @@
 package com.virtualtryon.admin.service;
 
+import com.virtualtryon.admin.dto.CursorPage;
+import com.virtualtryon.admin.dto.KeysetCursor;
 import com.virtualtryon.admin.dto.payment.AdminPaymentDto;
 import com.virtualtryon.core.entity.Payment;
 import com.virtualtryon.core.repository.PaymentRepository;
+import com.virtualtryon.core.repository.RevenueLiveRepository;
+import com.virtualtryon.core.repository.RevenueLiveRepository.MinuteRevenue;
+import com.virtualtryon.core.repository.RevenueRollupRepository;
 import org.springframework.data.domain.Page;
 
 import org.springframework.data.domain.Pageable;
@@ -10,6 +15,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -17,10 +24,18 @@ import java.util.UUID;
 @Service
 public class AdminPaymentService {
 
+    /** keyset 페이지 최대 크기 */
+    private static final int MAX_CURSOR_PAGE_SIZE = 200;
+
     private final PaymentRepository paymentRepository;
+    private final RevenueRollupRepository revenueRollupRepository;
+    private final RevenueLiveRepository revenueLiveRepository;
 
-    public AdminPaymentService(PaymentRepository paymentRepository) {
+    public AdminPaymentService(PaymentRepository paymentRepository, RevenueRollupRepository revenueRollupRepository,
+                               RevenueLiveRepository revenueLiveRepository) {
         this.paymentRepository = paymentRepository;
+        this.revenueRollupRepository = revenueRollupRepository;
+        this.revenueLiveRepository = revenueLiveRepository;
     }
 
     /** 전체 결제 목록 (페이징, from/to: 결제 완료일 필터) */
@@ -40,6 +55,28 @@ public class AdminPaymentService {
         return paymentRepository.findByUserIdOrderByCreatedAtDesc(validUserId, pageable).map(this::toDto);
     }
 
+    /**
+     * 결제 목록 keyset 페이지 (생성일 최신순, 전체 건수 없음)
+     *
+     * @param cursor 이전 응답의 nextCursor, 없으면 첫 페이지
+     * @param userId null이면 전체
+     */
+    public CursorPage<AdminPaymentDto> findPageAfter(String cursor, int size, UUID userId) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = Math.min(Math.max(1, size), MAX_CURSOR_PAGE_SIZE) + 1;
+        List<Payment> rows;
+        if (userId != null) {
+            rows = after == null
+                    ? paymentRepository.findFirstKeysetPageByUserId(userId, limit)
+                    : paymentRepository.findKeysetPageByUserIdAfter(userId, after.createdAt(), after.id(), limit);
+        } else {
+            rows = after == null
+                    ? paymentRepository.findFirstKeysetPage(limit)
+                    : paymentRepository.findKeysetPageAfter(after.createdAt(), after.id(), limit);
+        }
+        return CursorPage.of(rows, limit - 1, p -> new KeysetCursor(p.getCreatedAt(), p.getId()), this::toDto);
+    }
+
     /** 결제 상세 */
     public AdminPaymentDto findById(UUID id) {
         UUID validId = Objects.requireNonNull(id, "id must not be null");
@@ -59,12 +96,28 @@ public class AdminPaymentService {
         if ("failed".equals(payment.getStatus())) {
             throw new IllegalArgumentException("실패한 결제는 취소할 수 없습니다.");
         }
+        if ("completed".equals(payment.getStatus())) {
+            revenueRollupRepository.removeCompleted(payment);
+            removeLiveRevenue(payment);
+        }
         payment.setStatus("cancelled");
         payment.setCancelledAt(LocalDateTime.now());
         paymentRepository.save(payment);
         return toDto(payment);
     }
 
+    /**
+     * 실시간 매출 스냅샷에서 차감 (완료 시각 분에 음수 증분)
+     * API 서버 메모리 카운터에는 닿지 않으므로 revenue_live_minute에 직접, 취소와 같은 트랜잭션으로 반영
+     */
+    private void removeLiveRevenue(Payment payment) {
+        if (payment.getAmount() == null) return;
+        LocalDateTime completedAt = payment.getCompletedAt() != null ? payment.getCompletedAt() : LocalDateTime.now();
+        String planId = payment.getPlanId() != null ? payment.getPlanId() : RevenueRollupRepository.UNKNOWN_PLAN;
+        revenueLiveRepository.addAll(List.of(new MinuteRevenue(
+                completedAt.truncatedTo(ChronoUnit.MINUTES), planId, -payment.getAmount(), -1)));
+    }
+
     private AdminPaymentDto toDto(Payment p) {
         AdminPaymentDto d = new AdminPaymentDto();
         d.setId(p.getId());
@@ -1,5 +1,7 @@
 package com.virtualtryon.admin.service;
 
+import com.virtualtryon.admin.dto.CursorPage;
+import com.virtualtryon.admin.dto.KeysetCursor;
 import com.virtualtryon.admin.dto.subscription.AdminSubscriptionDto;
 import com.virtualtryon.core.entity.Subscription;
 import com.virtualtryon.core.repository.SubscriptionRepository;
@@ -9,6 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -16,6 +19,9 @@ import java.util.UUID;
 @Service
 public class AdminSubscriptionService {
 
+    /** keyset 페이지 최대 크기 */
+    private static final int MAX_CURSOR_PAGE_SIZE = 200;
+
     private final SubscriptionRepository subscriptionRepository;
 
     public AdminSubscriptionService(SubscriptionRepository subscriptionRepository) {
@@ -33,6 +39,28 @@ public class AdminSubscriptionService {
         return subscriptionRepository.findByUserIdOrderByCreatedAtDesc(validUserId, pageable).map(this::toDto);
     }
 
+    /**
+     * 구독 목록 keyset 페이지 (생성일 최신순, 전체 건수 없음)
+     *
+     * @param cursor 이전 응답의 nextCursor, 없으면 첫 페이지
+     * @param userId null이면 전체
+     */
+    public CursorPage<AdminSubscriptionDto> findPageAfter(String cursor, int size, UUID userId) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = Math.min(Math.max(1, size), MAX_CURSOR_PAGE_SIZE) + 1;
+        List<Subscription> rows;
+        if (userId != null) {
+            rows = after == null
+                    ? subscriptionRepository.findFirstKeysetPageByUserId(userId, limit)
+                    : subscriptionRepository.findKeysetPageByUserIdAfter(userId, after.createdAt(), after.id(), limit);
+        } else {
+            rows = after == null
+                    ? subscriptionRepository.findFirstKeysetPage(limit)
+                    : subscriptionRepository.findKeysetPageAfter(after.createdAt(), after.id(), limit);
+        }
+        return CursorPage.of(rows, limit - 1, s -> new KeysetCursor(s.getCreatedAt(), s.getId()), this::toDto);
+    }
+
     /** 구독 상세 */
     public AdminSubscriptionDto findById(UUID id) {
         UUID validId = Objects.requireNonNull(id, "id must not be null");
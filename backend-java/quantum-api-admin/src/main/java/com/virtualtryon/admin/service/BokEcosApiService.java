@@ -3,11 +3,19 @@ package com.virtualtryon.admin.service;
 import com.virtualtryon.core.entity.Knowledge;
 import com.virtualtryon.core.entity.KnowledgeBok;
 import com.virtualtryon.core.entity.KnowledgeFetchHistory;
+import com.virtualtryon.core.http.ExternalHttpClient;
+import com.virtualtryon.core.http.RetryableApiException;
+import com.virtualtryon.core.ingest.BatchWriterStats;
+import com.virtualtryon.core.ingest.JsonRecordStreamReader;
+import com.virtualtryon.core.ingest.SourceTableBatchWriter;
+import com.virtualtryon.core.ingest.SourceTableBatchWriterFactory;
+import com.virtualtryon.core.ingest.SourceTableMappings;
 import com.virtualtryon.core.repository.KnowledgeBokRepository;
 import com.virtualtryon.core.repository.KnowledgeFetchHistoryRepository;
+import com.virtualtryon.core.timeseries.EcosPeriods;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -16,7 +24,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * 한국은행 경제통계시스템(ECOS) API 연동 서비스
@@ -25,141 +44,345 @@ import java.util.List;
 public class BokEcosApiService {
 
     private final KnowledgeFetchHistoryRepository fetchHistoryRepository;
-    private final KnowledgeBokRepository knowledgeBokRepository;
+    private final SourceTableBatchWriterFactory batchWriterFactory;
     private final KnowledgeService knowledgeService;
+    private final KnowledgeBokRepository knowledgeBokRepository;
+    private final BokSeriesCache seriesCache;
     private final RestTemplate restTemplate;
+    private final ExternalApiGuard apiGuard;
     private final ObjectMapper objectMapper;
+    private final JsonRecordStreamReader streamReader;
 
     @Value("${external.bok-ecos-key:}")
     private String bokEcosKey;
 
+    /** 수집 카탈로그 (EcosSeries 형식, 콤마 구분). 기본: 기준금리 일별 */
+    @Value("${external.bok-ecos.series:722Y001/D/0101000/20240101}")
+    private String seriesCatalog;
+
+    /** 동시에 수집할 계열 수 */
+    @Value("${external.bok-ecos.concurrency:3}")
+    private int concurrency;
+
     private static final Logger log = LoggerFactory.getLogger(BokEcosApiService.class);
 
     private static final String BASE_URL = "https://ecos.bok.or.kr/api/StatisticSearch";
+    private static final String ITEM_LIST_URL = "https://ecos.bok.or.kr/api/StatisticItemList";
     private static final String SOURCE_TYPE = "bok_ecos";
+    private static final String BASE_RATE_STAT_CODE = "722Y001"; // 기준금리
+    /** ECOS 1회 요청 최대 행 수 */
+    private static final int PAGE_SIZE = 1000;
+    /** INFO-200: 해당하는 데이터가 없음 */
+    private static final String NO_DATA_RESULT_CODE = "INFO-200";
+    private static final Set<String> ROW_RECORD_PATHS = Set.of("StatisticSearch.row");
+    private static final Set<String> ROW_SCALAR_PATHS = Set.of(
+            "StatisticSearch.list_total_count", "RESULT.CODE", "RESULT.MESSAGE");
+    /** 재시도 대상 결과 코드: 602 과도한 호출, 500/600/601 서버·DB 오류 */
+    private static final Set<String> RETRYABLE_RESULT_CODES = Set.of("ERROR-500", "ERROR-600", "ERROR-601", "ERROR-602");
+    private static final String THROTTLED_RESULT_CODE = "ERROR-602";
+    private static final Set<String> ITEM_RECORD_PATHS = Set.of("StatisticItemList.row");
+    private static final Set<String> ITEM_SCALAR_PATHS = Set.of(
+            "StatisticItemList.list_total_count", "RESULT.CODE", "RESULT.MESSAGE");
+    /** StatisticItemList의 항목코드1 그룹 */
+    private static final String ITEM_GROUP1 = "Group1";
 
     public BokEcosApiService(KnowledgeFetchHistoryRepository fetchHistoryRepository,
+                             SourceTableBatchWriterFactory batchWriterFactory,
+                             KnowledgeService knowledgeService,
                              KnowledgeBokRepository knowledgeBokRepository,
-                             KnowledgeService knowledgeService) {
+                             BokSeriesCache seriesCache,
+                             ExternalHttpClient externalHttpClient,
+                             ExternalApiGuard apiGuard) {
         this.fetchHistoryRepository = fetchHistoryRepository;
-        this.knowledgeBokRepository = knowledgeBokRepository;
+        this.batchWriterFactory = batchWriterFactory;
         this.knowledgeService = knowledgeService;
-        this.restTemplate = new RestTemplate();
+        this.knowledgeBokRepository = knowledgeBokRepository;
+        this.seriesCache = seriesCache;
+        this.restTemplate = externalHttpClient.restTemplate();
+        this.apiGuard = apiGuard;
         this.objectMapper = new ObjectMapper();
+        this.streamReader = new JsonRecordStreamReader(objectMapper);
     }
 
+    /** 계열별 수집 결과 (관리자 조회·로그용) */
+    public record SeriesResult(String series, String fromTime, String toTime, int fetched, int written, String error) {}
+
     /**
-     * 한국은행 API를 통해 특정 통계 수집 (예: 기준금리)
-     * 호출 예시: /0000001/JSON/kr/1/1/722Y001/D/20240101/20240131/0101000
+     * ECOS 카탈로그 수집: 계열마다 마지막 저장 시점 이후만 받아 upsert
+     * 호출 예시: /{key}/JSON/kr/1/1000/722Y001/D/20240101/20241231/0101000
+     *
+     * - 계열별로 1000행 단위 페이지 수집 (list_total_count까지)
+     * - 여러 계열을 external.bok-ecos.concurrency개씩 동시 수집, 호출 속도는 ExternalApiGuard(bok_ecos)가 제한
+     * - knowledge_bok에 이미 있는 마지막 time 이하 시점은 건너뜀 (마지막 시점부터 조회해 그보다 새로운 행만 저장)
+     *
+     * @param catalog 계열 목록 (EcosSeries 형식). 없으면 external.bok-ecos.series
+     * @param job     비동기 작업 핸들 (진행률=완료 계열 수). 없으면 null
      */
-    @Transactional
-    @SuppressWarnings("null")
-    public List<Knowledge> fetchBaseInterestRate() {
+    public List<SeriesResult> fetchCatalog(String catalog, IngestionJob job) {
         if (bokEcosKey == null || bokEcosKey.isEmpty()) {
             throw new IllegalStateException("한국은행 API 키가 설정되지 않았습니다.");
         }
+        List<EcosSeries> series = EcosSeries.parseCatalog(catalog != null && !catalog.isBlank() ? catalog : seriesCatalog);
+        if (series.isEmpty()) {
+            throw new IllegalArgumentException("수집할 ECOS 계열이 없습니다.");
+        }
 
-        // 한국은행 기준금리 통계 코드: 722Y001 (ECOS API 최대 1000건/요청)
-        String url = String.format("%s/%s/JSON/kr/1/1000/722Y001/D/20240101/20241231/0101000", 
-                                    BASE_URL, bokEcosKey);
-        log.info("한국은행 ECOS API 호출: statCode=722Y001, 건수=1~1000 (기준금리)");
-
-        KnowledgeFetchHistory history = new KnowledgeFetchHistory();
+        KnowledgeFetchHistory history = job != null ? job.getHistory() : new KnowledgeFetchHistory();
         history.setSourceType(SOURCE_TYPE);
         history.setStatus("RUNNING");
+        history.setParamsJson("{\"series\":[" + series.stream().map(x -> "\"" + x.key() + "\"")
+                .collect(Collectors.joining(",")) + "]}");
         try {
             history = fetchHistoryRepository.save(history);
         } catch (Exception ex) {
             log.warn("수집 히스토리 저장 실패(테이블 없을 수 있음): {}", ex.getMessage());
         }
+        log.info("한국은행 ECOS 수집 시작: 계열 {}개, 동시 {}개", series.size(), Math.min(series.size(), Math.max(1, concurrency)));
 
+        List<SeriesResult> results = new ArrayList<>(series.size());
+        AtomicInteger done = new AtomicInteger();
+        IngestionJob.report(job, 0, series.size());
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(series.size(), Math.max(1, concurrency)));
         try {
-            String response = restTemplate.getForObject(url, String.class);
-            if (response == null) {
-                if (history.getId() != null) {
-                    history.setStatus("FAILED");
-                    history.setErrorMessage("API 응답 없음");
-                    try { fetchHistoryRepository.save(history); } catch (Exception ignored) {}
-                }
-                return new ArrayList<>();
+            List<Future<SeriesResult>> futures = new ArrayList<>(series.size());
+            for (EcosSeries s : series) {
+                futures.add(pool.submit(() -> {
+                    SeriesResult r = ingestSeries(s, job);
+                    IngestionJob.report(job, done.incrementAndGet(), series.size());
+                    return r;
+                }));
+            }
+            for (Future<SeriesResult> f : futures) {
+                results.add(f.get());
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("한국은행 수집 대기 중 중단되었습니다.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException re ? re : new IllegalStateException(cause);
+        } finally {
+            pool.shutdownNow();
+        }
 
-            JsonNode root = objectMapper.readTree(response);
-            JsonNode row = root.path("StatisticSearch").path("row");
-            int rowCount = row.isArray() ? row.size() : 0;
-            log.info("한국은행 API 응답: row 건수={}", rowCount);
+        int written = results.stream().mapToInt(SeriesResult::written).sum();
+        int skipped = results.stream().mapToInt(r -> r.fetched() - r.written()).sum();
+        List<String> failed = results.stream().filter(r -> r.error() != null)
+                .map(r -> r.series() + ": " + r.error()).toList();
+        log.info("한국은행 ECOS 수집 완료: 저장 {}건, 기존 시점 건너뜀 {}건, 실패 계열 {}개", written, skipped, failed.size());
+        if (history.getId() != null) {
+            history.setStatus(failed.isEmpty() ? "SUCCESS" : "FAILED");
+            history.setItemCount(written);
+            history.setSkippedCount(skipped);
+            if (!failed.isEmpty()) history.setErrorMessage(String.join("\n", failed));
+            try { fetchHistoryRepository.save(history); } catch (Exception ignored) {}
+        }
+        return results;
+    }
 
-            List<Knowledge> results = new ArrayList<>();
-            List<KnowledgeBok> bokSaved = new ArrayList<>();
-            String statCode = "722Y001"; // 기본값 (기준금리)
+    /**
+     * 계열 1개 수집: 마지막 저장 시점부터 종료 시점까지 1000행씩 받아 새 시점만 저장 (페이지마다 반영)
+     * 항목 전체 계열은 항목별 마지막 시점 중 가장 이른 시점부터 받고, 행마다 해당 항목의 마지막 시점과 비교한다.
+     * 저장된 데이터가 없는 항목(새로 생긴 항목 등)이 있으면 설정한 시작 시점부터 받는다.
+     * 취소 외 오류는 결과의 error로 돌려줌 (다른 계열은 계속 수집). 오류·취소 시에도 writer에 남은 행은 반영
+     */
+    private SeriesResult ingestSeries(EcosSeries s, IngestionJob job) {
+        Map<String, String> latestByItem = new HashMap<>();
+        for (KnowledgeBokRepository.ItemLatestTime t : knowledgeBokRepository.findLatestTimes(s.statCode(), s.itemCode1(), s.cycle())) {
+            if (t.getLatestTime() != null) latestByItem.put(itemKey(t.getItemCode1()), t.getLatestTime());
+        }
+        String from = s.startTime();
+        if (!latestByItem.isEmpty() && !hasItemWithoutData(s, latestByItem, job)) {
+            String latest = Collections.min(latestByItem.values());
+            if (latest.compareTo(from) > 0) from = latest;
+        }
+        String to = s.resolvedEndTime();
+        if (from.compareTo(to) > 0) {
+            return new SeriesResult(s.key(), from, to, 0, 0, null);
+        }
+
+        int fetched = 0;
+        int written = 0;
+        try (SourceTableBatchWriter<KnowledgeBok> bokWriter = batchWriterFactory.open(SourceTableMappings.BOK)) {
+            int total = Integer.MAX_VALUE;
+            for (int startRow = 1; startRow <= total; startRow += PAGE_SIZE) {
+                IngestionJob.checkCancelled(job);
+                String url = String.format("%s/%s/JSON/kr/%d/%d/%s/%s/%s/%s%s", BASE_URL, bokEcosKey,
+                        startRow, startRow + PAGE_SIZE - 1, s.statCode(), s.cycle(), from, to,
+                        s.itemCode1() != null ? "/" + s.itemCode1() : "");
 
-            if (row.isArray()) {
-                for (JsonNode node : row) {
-                    if (statCode.equals("722Y001")) {
-                        String sc = getNodeText(node, "STAT_CODE", "차트코드");
-                        if (!sc.isEmpty()) statCode = sc;
+                // 응답 스트림에서 row 레코드를 한 건씩 파싱 (전체 응답 트리 미생성)
+                // 429/5xx, ERROR-602(과도한 호출)·서버 오류 코드는 페이지 버퍼를 비우고 다시 호출
+                List<KnowledgeBok> pageRows = new ArrayList<>(PAGE_SIZE);
+                List<Knowledge> pageKnowledge = new ArrayList<>(PAGE_SIZE);
+                JsonRecordStreamReader.Result parsed = apiGuard.execute(SOURCE_TYPE, () -> {
+                    pageRows.clear();
+                    pageKnowledge.clear();
+                    JsonRecordStreamReader.Result r = restTemplate.execute(url, HttpMethod.GET, null,
+                            response -> streamReader.read(response.getBody(), ROW_RECORD_PATHS, ROW_SCALAR_PATHS,
+                                    (path, node) -> {
+                                        collectRow(node, s.statCode(), latestByItem, pageRows, pageKnowledge);
+                                        return true;
+                                    }));
+                    String code = r != null ? r.scalar("RESULT.CODE") : "";
+                    if (RETRYABLE_RESULT_CODES.contains(code)) {
+                        throw new RetryableApiException(SOURCE_TYPE, code,
+                                "한국은행 API 오류: " + code + ", " + r.scalar("RESULT.MESSAGE"), THROTTLED_RESULT_CODE.equals(code));
                     }
-                    String dataValue = getNodeText(node, "DATA_VALUE", "데이터값");
-                    String time = getNodeText(node, "TIME", "시점");
-                    String statName = getNodeText(node, "STAT_NAME", "차트이름");
-                    String itemCode1 = getNodeText(node, "ITEM_CODE1", "항목코드1");
-                    String itemName1 = getNodeText(node, "ITEM_NAME1", "항목명1");
-                    String itemCode2 = getNodeText(node, "ITEM_CODE2", "항목코드2");
-                    String itemName2 = getNodeText(node, "ITEM_NAME2", "항목명2");
-                    String unitName = getNodeText(node, "UNIT_NAME", "단위");
-
-                    if (dataValue.isEmpty() || time.isEmpty()) continue;
-
-                    // knowledge_bok 테이블에 아이템별 저장 (진짜 지식)
-                    KnowledgeBok bok = knowledgeBokRepository.findByStatCodeAndItemCode1AndTime(statCode, orNull(itemCode1), time)
-                            .orElse(new KnowledgeBok());
-                    bok.setStatCode(statCode);
-                    bok.setStatName(statName);
-                    bok.setItemCode1(orNull(itemCode1));
-                    bok.setItemName1(orNull(itemName1));
-                    bok.setItemCode2(orNull(itemCode2));
-                    bok.setItemName2(orNull(itemName2));
-                    bok.setTime(time);
-                    bok.setDataValue(dataValue);
-                    bok.setUnitName(orNull(unitName));
-                    KnowledgeBok savedBok = knowledgeBokRepository.save(bok);
-                    bokSaved.add(savedBok);
-
-                    // knowledge_base에도 저장 (RAG 연동용)
-                    String extId = "bok_" + statCode + "_" + (itemCode1 != null ? itemCode1 : "x") + "_" + time;
-                    Knowledge k = Knowledge.builder()
-                            .category("FINANCE_ECONOMY")
-                            .title(itemName1 != null && !itemName1.isEmpty() ? itemName1 : "한국은행 기준금리")
-                            .content(String.format("기준금리 %s%% (기준일자: %s). 기업 조달 금리·재무 분석의 기준 지표.", dataValue, time))
-                            .sourceUrl("https://ecos.bok.or.kr")
-                            .sourceType(SOURCE_TYPE)
-                            .externalId(extId)
-                            .build();
-                    Knowledge saved = knowledgeService.saveOrUpdateKnowledge(k);
-                    if (saved != null) results.add(saved);
+                    return r;
+                });
+                if (parsed == null || parsed.empty()) {
+                    throw new IllegalStateException("API 응답 없음");
+                }
+                String code = parsed.scalar("RESULT.CODE");
+                if (NO_DATA_RESULT_CODE.equals(code)) break;
+                if (!code.isEmpty() && !code.startsWith("INFO-000")) {
+                    throw new IllegalStateException("한국은행 API 오류: " + code + ", " + parsed.scalar("RESULT.MESSAGE"));
                 }
-            }
-
-            int itemCount = Math.max(results.size(), bokSaved.size());
-            log.info("한국은행 수집 완료: knowledge={}, knowledge_bok={}건 저장", results.size(), bokSaved.size());
 
-            if (history.getId() != null) {
-                history.setStatus("SUCCESS");
-                history.setItemCount(itemCount);
-                try { fetchHistoryRepository.save(history); } catch (Exception ignored) {}
+                total = parseIntSafe(parsed.scalar("StatisticSearch.list_total_count"), parsed.recordCount());
+                fetched += parsed.recordCount();
+                bokWriter.addAll(pageRows);
+                // knowledge_base 일괄 upsert (페이지 단위, 항목별 조회+저장 왕복 제거)
+                knowledgeService.saveOrUpdateAll(pageKnowledge);
+                written += pageRows.size();
+                if (parsed.recordCount() < PAGE_SIZE) break;
             }
-            return results;
+            bokWriter.flush();
+            BatchWriterStats bokStats = bokWriter.getStats();
+            log.info("한국은행 계열 수집: {} {}~{}, 응답 {}행, 새 시점 {}건 ({}행/초)",
+                    s.key(), from, to, fetched, written, String.format("%.0f", bokStats.rowsPerSecond()));
+            return new SeriesResult(s.key(), from, to, fetched, written, null);
+        } catch (CancellationException e) {
+            throw e;
         } catch (Exception e) {
-            if (history.getId() != null) {
-                history.setStatus("FAILED");
-                history.setErrorMessage(e.getMessage());
-                try { fetchHistoryRepository.save(history); } catch (Exception ignored) {}
+            log.error("한국은행 계열 수집 실패: {} - {}", s.key(), e.getMessage() != null ? e.getMessage() : "알 수 없음", e);
+            return new SeriesResult(s.key(), from, to, fetched, written,
+                    e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            if (written > 0) seriesCache.invalidate(s.statCode());
+        }
+    }
+
+    /**
+     * 항목 전체 계열에서 저장된 데이터가 없는 항목이 있는지 (StatisticItemList의 항목코드1·주기 기준)
+     * 단일 항목 계열은 false, 항목 목록 조회 실패 시 true (시작 시점부터 받는 쪽으로)
+     */
+    private boolean hasItemWithoutData(EcosSeries s, Map<String, String> latestByItem, IngestionJob job) {
+        if (s.itemCode1() != null) return false;
+        try {
+            for (int startRow = 1, total = Integer.MAX_VALUE; startRow <= total; startRow += PAGE_SIZE) {
+                IngestionJob.checkCancelled(job);
+                String url = String.format("%s/%s/JSON/kr/%d/%d/%s", ITEM_LIST_URL, bokEcosKey,
+                        startRow, startRow + PAGE_SIZE - 1, s.statCode());
+                boolean[] missing = {false};
+                JsonRecordStreamReader.Result parsed = apiGuard.execute(SOURCE_TYPE, () -> {
+                    missing[0] = false;
+                    JsonRecordStreamReader.Result r = restTemplate.execute(url, HttpMethod.GET, null,
+                            response -> streamReader.read(response.getBody(), ITEM_RECORD_PATHS, ITEM_SCALAR_PATHS,
+                                    (path, node) -> {
+                                        String group = getNodeText(node, "GRP_CODE", "그룹코드");
+                                        String cycle = getNodeText(node, "CYCLE", "주기");
+                                        String itemCode = getNodeText(node, "ITEM_CODE", "항목코드");
+                                        String endTime = getNodeText(node, "END_TIME", "수록종료일자");
+                                        boolean inRange = endTime.isEmpty() || endTime.compareTo(s.startTime()) >= 0;
+                                        if ((group.isEmpty() || ITEM_GROUP1.equals(group)) && s.cycle().equals(cycle)
+                                                && !itemCode.isEmpty() && inRange && !latestByItem.containsKey(itemCode)) {
+                                            missing[0] = true;
+                                            return false;
+                                        }
+                                        return true;
+                                    }));
+                    String code = r != null ? r.scalar("RESULT.CODE") : "";
+                    if (RETRYABLE_RESULT_CODES.contains(code)) {
+                        throw new RetryableApiException(SOURCE_TYPE, code,
+                                "한국은행 API 오류: " + code + ", " + r.scalar("RESULT.MESSAGE"), THROTTLED_RESULT_CODE.equals(code));
+                    }
+                    return r;
+                });
+                if (missing[0]) return true;
+                if (parsed == null || parsed.empty() || parsed.recordCount() < PAGE_SIZE) return false;
+                total = parseIntSafe(parsed.scalar("StatisticItemList.list_total_count"), parsed.recordCount());
             }
-            log.error("한국은행 API 호출 실패: {}", e.getMessage() != null ? e.getMessage() : "알 수 없음", e);
-            return new ArrayList<>();
+            return false;
+        } catch (CancellationException e) {
+            throw e;
+        } catch (Exception e) {
+            log.warn("한국은행 항목 목록 조회 실패, 시작 시점부터 수집: {} - {}", s.key(), e.getMessage());
+            return true;
+        }
+    }
+
+    private static String itemKey(String itemCode1) {
+        return itemCode1 != null ? itemCode1 : "";
+    }
+
+    private static int parseIntSafe(String s, int fallback) {
+        try {
+            return s == null || s.isEmpty() ? fallback : Integer.parseInt(s.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
         }
     }
 
+    /**
+     * StatisticSearch.row 레코드 1건 → knowledge_bok 행 + knowledge_base 항목
+     * (값·시점 없거나 해당 항목의 이미 저장된 마지막 시점 이하면 건너뜀)
+     *
+     * @param latestByItem 항목코드1(없으면 "")별 마지막 저장 시점
+     */
+    private void collectRow(JsonNode node, String requestedStatCode, Map<String, String> latestByItem,
+                            List<KnowledgeBok> bokRows, List<Knowledge> pending) {
+        String statCode = getNodeText(node, "STAT_CODE", "차트코드");
+        if (statCode.isEmpty()) statCode = requestedStatCode;
+        String dataValue = getNodeText(node, "DATA_VALUE", "데이터값");
+        String time = getNodeText(node, "TIME", "시점");
+        String statName = getNodeText(node, "STAT_NAME", "차트이름");
+        String itemCode1 = getNodeText(node, "ITEM_CODE1", "항목코드1");
+        String itemName1 = getNodeText(node, "ITEM_NAME1", "항목명1");
+        String itemCode2 = getNodeText(node, "ITEM_CODE2", "항목코드2");
+        String itemName2 = getNodeText(node, "ITEM_NAME2", "항목명2");
+        String unitName = getNodeText(node, "UNIT_NAME", "단위");
+
+        if (dataValue.isEmpty() || time.isEmpty()) return;
+        String latest = latestByItem.get(itemKey(itemCode1));
+        if (latest != null && time.compareTo(latest) <= 0) return;
+
+        // knowledge_bok 테이블에 아이템별 저장 (진짜 지식, (stat_code, item_code1, time) 기준 일괄 upsert)
+        KnowledgeBok bok = new KnowledgeBok();
+        bok.setStatCode(statCode);
+        bok.setStatName(statName);
+        bok.setItemCode1(orNull(itemCode1));
+        bok.setItemName1(orNull(itemName1));
+        bok.setItemCode2(orNull(itemCode2));
+        bok.setItemName2(orNull(itemName2));
+        bok.setTime(time);
+        bok.setDataValue(dataValue);
+        bok.setUnitName(orNull(unitName));
+        bok.setNumericValue(EcosPeriods.numericValue(dataValue));
+        bok.setPeriodStart(EcosPeriods.periodStart(time));
+        bok.setPeriodCycle(EcosPeriods.cycleOf(time));
+        bokRows.add(bok);
+
+        // knowledge_base에도 저장 (RAG 연동용)
+        String extId = "bok_" + statCode + "_" + (itemCode1 != null ? itemCode1 : "x") + "_" + time;
+        String content = BASE_RATE_STAT_CODE.equals(statCode)
+                ? String.format("기준금리 %s%% (기준일자: %s). 기업 조달 금리·재무 분석의 기준 지표.", dataValue, time)
+                : String.format("%s %s%s (시점: %s). 한국은행 ECOS 통계표 %s %s.",
+                        !itemName1.isEmpty() ? itemName1 : statName, dataValue,
+                        unitName.isEmpty() ? "" : " " + unitName, time, statCode, statName);
+        String title = !itemName1.isEmpty() ? itemName1 : !statName.isEmpty() ? statName : "한국은행 " + statCode;
+        Knowledge k = Knowledge.builder()
+                .category("FINANCE_ECONOMY")
+                .title(title)
+                .content(content)
+                .sourceUrl("https://ecos.bok.or.kr")
+                .sourceType(SOURCE_TYPE)
+                .externalId(extId)
+                .build();
+        pending.add(k);
+    }
+
     private String getNodeText(JsonNode node, String enKey, String koKey) {
         if (node == null) return "";
         String v = node.path(enKey).asText("");
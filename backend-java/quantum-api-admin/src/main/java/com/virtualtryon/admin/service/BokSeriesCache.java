@@ -0,0 +1,241 @@
+package com.virtualtryon.admin.service;
+
+import com.virtualtryon.core.timeseries.TimeSeriesResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * knowledge_bok 시계열 메모리 캐시 + 구간 조회·다운샘플링
+ *
+ * - 계열(stat_code, item_code1, period_cycle)마다 시점 오름차순 long[] epoch ms + double[] 값으로 보관
+ * - 조회: 이진 탐색으로 범위를 자른 뒤 버킷별 min/max/avg 집계 (엔티티·행 객체 생성 없음)
+ * - 적재 후 invalidate(statCode)로 해당 통계표 계열을 비움, 다음 조회 때 DB에서 다시 읽음
+ *   (통계표별 세대 번호: 읽는 도중 무효화되면 읽은 결과는 캐시에 넣지 않음)
+ * - 점이 없는 계열(없는 코드 등)은 캐시하지 않음
+ * - 계열 수 상한 초과 시 가장 오래 조회하지 않은 계열부터 제거 (LRU)
+ */
+@Component
+public class BokSeriesCache {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    /** 다운샘플링 버킷 수 상한 */
+    public static final int MAX_BUCKETS = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${knowledge.timeseries.cache-max-series:256}")
+    private int maxSeries;
+
+    /** 계열 키 → 시계열 (접근 순서 = LRU) */
+    private final LinkedHashMap<SeriesKey, Series> cache = new LinkedHashMap<>(64, 0.75f, true);
+    /** 통계표 → 무효화 세대 (invalidate마다 증가) */
+    private final Map<String, Long> generations = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+
+    public BokSeriesCache(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** 계열 식별자 (itemCode1은 null 허용) */
+    public record SeriesKey(String statCode, String itemCode1, String cycle) {}
+
+    /** 시점 오름차순 원시 배열 시계열 (불변) */
+    static final class Series {
+        final long[] time;
+        final double[] value;
+        final String itemName;
+        final String unitName;
+
+        Series(long[] time, double[] value, String itemName, String unitName) {
+            this.time = time;
+            this.value = value;
+            this.itemName = itemName;
+            this.unitName = unitName;
+        }
+    }
+
+    /**
+     * 구간 조회
+     *
+     * @param from    시작일 (null이면 처음부터)
+     * @param to      종료일 (포함, null이면 끝까지)
+     * @param buckets 최대 점 수 (1~MAX_BUCKETS). 범위 안 점이 더 많으면 같은 시간 폭 버킷으로 집계
+     */
+    public TimeSeriesResult query(SeriesKey key, LocalDate from, LocalDate to, int buckets) {
+        Series s = get(key);
+        int n = Math.max(1, Math.min(buckets, MAX_BUCKETS));
+        long fromMs = from != null ? from.toEpochDay() * MILLIS_PER_DAY : Long.MIN_VALUE;
+        long toMs = to != null ? to.toEpochDay() * MILLIS_PER_DAY : Long.MAX_VALUE;
+
+        int lo = lowerBound(s.time, fromMs);
+        int hi = upperBound(s.time, toMs); // exclusive
+        int points = Math.max(0, hi - lo);
+
+        if (points <= n) {
+            long[] t = Arrays.copyOfRange(s.time, lo, lo + points);
+            double[] v = Arrays.copyOfRange(s.value, lo, lo + points);
+            int[] c = new int[points];
+            Arrays.fill(c, 1);
+            return new TimeSeriesResult(key.statCode(), key.itemCode1(), key.cycle(), s.itemName, s.unitName,
+                    points, false, t, v, v.clone(), v.clone(), c);
+        }
+
+        // 실제 데이터 범위 기준으로 버킷 폭 결정 (요청 범위가 넓어도 빈 버킷만 생기지 않게)
+        long start = s.time[lo];
+        long span = s.time[hi - 1] - start + 1;
+        long[] bt = new long[n];
+        double[] bmin = new double[n];
+        double[] bmax = new double[n];
+        double[] bsum = new double[n];
+        int[] bcnt = new int[n];
+        for (int i = lo; i < hi; i++) {
+            int b = (int) Math.min(n - 1, (s.time[i] - start) * n / span);
+            double v = s.value[i];
+            if (bcnt[b] == 0) {
+                bt[b] = s.time[i];
+                bmin[b] = v;
+                bmax[b] = v;
+            } else {
+                if (v < bmin[b]) bmin[b] = v;
+                if (v > bmax[b]) bmax[b] = v;
+            }
+            bsum[b] += v;
+            bcnt[b]++;
+        }
+
+        // 빈 버킷 제거
+        int filled = 0;
+        for (int b = 0; b < n; b++) if (bcnt[b] > 0) filled++;
+        long[] t = new long[filled];
+        double[] min = new double[filled];
+        double[] max = new double[filled];
+        double[] avg = new double[filled];
+        int[] cnt = new int[filled];
+        for (int b = 0, j = 0; b < n; b++) {
+            if (bcnt[b] == 0) continue;
+            t[j] = bt[b];
+            min[j] = bmin[b];
+            max[j] = bmax[b];
+            avg[j] = bsum[b] / bcnt[b];
+            cnt[j] = bcnt[b];
+            j++;
+        }
+        return new TimeSeriesResult(key.statCode(), key.itemCode1(), key.cycle(), s.itemName, s.unitName,
+                points, true, t, min, max, avg, cnt);
+    }
+
+    /** 통계표의 캐시 계열 제거 (적재 후 호출) */
+    public synchronized void invalidate(String statCode) {
+        generations.merge(statCode, 1L, Long::sum);
+        cache.keySet().removeIf(k -> Objects.equals(k.statCode(), statCode));
+    }
+
+    /** 조회 가능한 계열 목록 (점 수·기간) */
+    public List<Map<String, Object>> listSeries() {
+        return jdbcTemplate.queryForList(
+                "SELECT stat_code AS \"statCode\", item_code1 AS \"itemCode1\", period_cycle AS \"cycle\", " +
+                "MAX(stat_name) AS \"statName\", MAX(item_name1) AS \"itemName\", COUNT(*) AS \"points\", " +
+                "MIN(period_start) AS \"from\", MAX(period_start) AS \"to\" " +
+                "FROM knowledge_bok WHERE period_start IS NOT NULL AND numeric_value IS NOT NULL " +
+                "GROUP BY stat_code, item_code1, period_cycle ORDER BY stat_code, item_code1, period_cycle");
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long points = 0;
+        for (Series s : cache.values()) points += s.time.length;
+        stats.put("series", cache.size());
+        stats.put("maxSeries", maxSeries);
+        stats.put("points", points);
+        stats.put("hits", hits.get());
+        stats.put("loads", loads.get());
+        return stats;
+    }
+
+    private Series get(SeriesKey key) {
+        long generation;
+        synchronized (this) {
+            Series cached = cache.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            generation = generations.getOrDefault(key.statCode(), 0L);
+        }
+        // DB 읽기는 락 밖에서 (동시에 같은 계열을 읽으면 나중 결과로 덮어씀)
+        Series loaded = load(key);
+        loads.incrementAndGet();
+        synchronized (this) {
+            // 읽는 사이 무효화됐으면 이전 데이터일 수 있으므로, 빈 계열은 LRU를 밀어내지 않도록 캐시하지 않음
+            if (loaded.time.length == 0 || generations.getOrDefault(key.statCode(), 0L) != generation) {
+                return loaded;
+            }
+            cache.put(key, loaded);
+            Iterator<SeriesKey> it = cache.keySet().iterator();
+            while (cache.size() > Math.max(1, maxSeries) && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        return loaded;
+    }
+
+    /** 계열 전체를 시점 순으로 읽어 원시 배열에 채움 (행 객체 없이 ResultSet에서 바로) */
+    private Series load(SeriesKey key) {
+        long[][] time = {new long[256]};
+        double[][] value = {new double[256]};
+        int[] size = {0};
+        String[] names = {null, null};
+        jdbcTemplate.query(
+                "SELECT period_start, numeric_value, item_name1, unit_name FROM knowledge_bok " +
+                "WHERE stat_code = ? AND item_code1 IS NOT DISTINCT FROM ? AND period_cycle IS NOT DISTINCT FROM ? " +
+                "AND period_start IS NOT NULL AND numeric_value IS NOT NULL ORDER BY period_start",
+                rs -> {
+                    int i = size[0];
+                    if (i == time[0].length) {
+                        time[0] = Arrays.copyOf(time[0], i * 2);
+                        value[0] = Arrays.copyOf(value[0], i * 2);
+                    }
+                    time[0][i] = rs.getObject(1, LocalDate.class).toEpochDay() * MILLIS_PER_DAY;
+                    value[0][i] = rs.getDouble(2);
+                    size[0] = i + 1;
+                    if (names[0] == null) names[0] = rs.getString(3);
+                    if (names[1] == null) names[1] = rs.getString(4);
+                },
+                key.statCode(), key.itemCode1(), key.cycle());
+        return new Series(Arrays.copyOf(time[0], size[0]), Arrays.copyOf(value[0], size[0]), names[0], names[1]);
+    }
+
+    /** time[i] >= target 인 첫 인덱스 */
+    private static int lowerBound(long[] time, long target) {
+        int lo = 0, hi = time.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (time[mid] < target) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    /** time[i] > target 인 첫 인덱스 */
+    private static int upperBound(long[] time, long target) {
+        int lo = 0, hi = time.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (time[mid] <= target) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -3,17 +3,36 @@ package com.virtualtryon.admin.service;
 import com.virtualtryon.core.entity.Knowledge;
 import com.virtualtryon.core.entity.KnowledgeDart;
 import com.virtualtryon.core.entity.KnowledgeFetchHistory;
-import com.virtualtryon.core.repository.KnowledgeDartRepository;
+import com.virtualtryon.core.http.ExternalHttpClient;
+import com.virtualtryon.core.http.RetryableApiException;
+import com.virtualtryon.core.ingest.JsonRecordStreamReader;
+import com.virtualtryon.core.ingest.SourceTableBatchWriter;
+import com.virtualtryon.core.ingest.SourceTableBatchWriterFactory;
+import com.virtualtryon.core.ingest.SourceTableMappings;
 import com.virtualtryon.core.repository.KnowledgeFetchHistoryRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * 금융감독원 DART 오픈 API 연동 서비스
@@ -22,41 +41,179 @@ import java.util.List;
 public class DartApiService {
 
     private final KnowledgeFetchHistoryRepository fetchHistoryRepository;
-    private final KnowledgeDartRepository knowledgeDartRepository;
+    private final SourceTableBatchWriterFactory batchWriterFactory;
     private final KnowledgeService knowledgeService;
     private final RestTemplate restTemplate;
+    private final ExternalApiGuard apiGuard;
     private final ObjectMapper objectMapper;
+    private final JsonRecordStreamReader streamReader;
+    private final DartCorpCodeBulkLoader corpCodeLoader;
 
     @Value("${external.fss-dart-key:}")
     private String dartApiKey;
 
     private static final String BASE_URL = "https://opendart.fss.or.kr/api";
     private static final String SOURCE_TYPE = "fss_dart";
+    private static final Set<String> LIST_RECORD_PATHS = Set.of("list");
+    private static final Set<String> LIST_SCALAR_PATHS = Set.of("status", "message", "total_page");
+    /** 재시도 대상 status: 020 요청 제한 초과, 800 서비스 점검, 900 정의되지 않은 오류 */
+    private static final Set<String> RETRYABLE_STATUS = Set.of("020", "800", "900");
+    private static final String THROTTLED_STATUS = "020";
+    /** 무한루프 방지 (최대 50페이지 = 5000건) */
+    private static final int MAX_PAGES = 50;
+
+    /** 로컬 고유번호 파일(corpCode.zip/xml)을 둘 디렉터리. 비어 있으면 로컬 파일 적재 비활성화 */
+    @Value("${external.dart.corp-code-dir:}")
+    private String corpCodeDir;
+
+    /** 저장보다 앞서 미리 받아 둘 페이지 수 (파이프라인 큐 크기) */
+    @Value("${external.dart.prefetch-pages:2}")
+    private int prefetchPages;
 
     public DartApiService(KnowledgeFetchHistoryRepository fetchHistoryRepository,
-                          KnowledgeDartRepository knowledgeDartRepository,
-                          KnowledgeService knowledgeService) {
+                          SourceTableBatchWriterFactory batchWriterFactory,
+                          KnowledgeService knowledgeService,
+                          ExternalHttpClient externalHttpClient,
+                          ExternalApiGuard apiGuard,
+                          DartCorpCodeBulkLoader corpCodeLoader) {
         this.fetchHistoryRepository = fetchHistoryRepository;
-        this.knowledgeDartRepository = knowledgeDartRepository;
+        this.batchWriterFactory = batchWriterFactory;
         this.knowledgeService = knowledgeService;
-        this.restTemplate = new RestTemplate();
+        this.restTemplate = externalHttpClient.restTemplate();
+        this.apiGuard = apiGuard;
         this.objectMapper = new ObjectMapper();
+        this.streamReader = new JsonRecordStreamReader(objectMapper);
+        this.corpCodeLoader = corpCodeLoader;
+    }
+
+    /**
+     * DART 고유번호 전체(corpCode.zip, 약 10만 건)를 dart_corp_code에 일괄 적재
+     *
+     * 응답 본문을 내려받는 동시에 zip 해제 → StAX 파싱 → COPY로 흘려 넣으므로 파일 전체를 메모리·디스크에 두지 않는다.
+     *
+     * @param localFile 로컬 corpCode.zip(또는 CORPCODE.xml) 경로 (resolveCorpCodeFile 결과). 있으면 API 대신 파일 사용 (오프라인 테스트용)
+     * @param job       비동기 작업 핸들 (적재는 한 트랜잭션이라 시작 전에만 취소 확인). 없으면 null
+     */
+    public DartCorpCodeBulkLoader.Result loadCorpCodes(Path localFile, IngestionJob job) {
+        boolean local = localFile != null;
+        if (!local && (dartApiKey == null || dartApiKey.isEmpty())) {
+            throw new IllegalStateException("DART API 키가 설정되지 않았습니다.");
+        }
+        KnowledgeFetchHistory history = job != null ? job.getHistory() : new KnowledgeFetchHistory();
+        history.setSourceType(SOURCE_TYPE);
+        history.setStatus("RUNNING");
+        history.setParamsJson(local ? "{\"corpCodeFile\":\"" + localFile.getFileName().toString().replace("\"", "") + "\"}" : "{\"corpCode\":\"api\"}");
+        try {
+            history = fetchHistoryRepository.save(history);
+        } catch (Exception ex) {
+            System.err.println("⚠️ 수집 히스토리 저장 실패(테이블 없을 수 있음): " + ex.getMessage());
+        }
+        IngestionJob.checkCancelled(job);
+
+        DartCorpCodeBulkLoader.Result result;
+        if (local) {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(localFile), 64 * 1024)) {
+                result = corpCodeLoader.load(in, isZip(in));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            // 전송 중 연결 오류·5xx는 적재 트랜잭션이 롤백된 뒤 처음부터 다시 받음
+            String url = BASE_URL + "/corpCode.xml?crtfc_key=" + dartApiKey;
+            result = apiGuard.execute(SOURCE_TYPE, () -> restTemplate.execute(url, HttpMethod.GET, null, response -> {
+                InputStream in = new BufferedInputStream(response.getBody(), 64 * 1024);
+                if (!isZip(in)) {
+                    // 키 오류·한도 초과 등은 zip 대신 <result><status>…</status> XML로 응답
+                    String body = new String(in.readNBytes(2048), StandardCharsets.UTF_8);
+                    String st = extractTag(body, "status");
+                    String msg = extractTag(body, "message");
+                    if (RETRYABLE_STATUS.contains(st)) {
+                        throw new RetryableApiException(SOURCE_TYPE, st,
+                                "DART API 오류: status=" + st + ", " + msg, THROTTLED_STATUS.equals(st));
+                    }
+                    throw new IllegalStateException("DART 고유번호 API 오류: status=" + st + ", " + msg);
+                }
+                return corpCodeLoader.load(in, true);
+            }));
+        }
+
+        IngestionJob.report(job, 1, 1);
+        if (history.getId() != null) {
+            history.setStatus("SUCCESS");
+            history.setItemCount((int) result.upserted());
+            history.setSkippedCount((int) (result.parsed() - result.upserted()));
+            try { fetchHistoryRepository.save(history); } catch (Exception ignored) {}
+        }
+        System.out.println("✅ DART 고유번호 적재: 파싱 " + result.parsed() + "건, 반영 " + result.upserted()
+                + "건 (" + result.elapsedMs() + "ms)");
+        return result;
+    }
+
+
+    /**
+     * 로컬 고유번호 파일 이름 → external.dart.corp-code-dir 아래 실제 경로
+     *
+     * 디렉터리 밖을 가리키는 이름(경로 구분자, .., 심볼릭 링크)은 거부한다.
+     *
+     * @param fileName 파일 이름 (예: corpCode.zip). 비어 있으면 null (API에서 내려받음)
+     * @throws IllegalArgumentException 디렉터리 미설정, 허용 범위 밖 경로, 파일 없음
+     */
+    public Path resolveCorpCodeFile(String fileName) {
+        if (fileName == null || fileName.isBlank()) return null;
+        if (corpCodeDir == null || corpCodeDir.isBlank()) {
+            throw new IllegalArgumentException("로컬 고유번호 파일 적재가 비활성화되어 있습니다 (external.dart.corp-code-dir 미설정).");
+        }
+        String name = fileName.trim();
+        if (name.contains("/") || name.contains("\\")) {
+            throw new IllegalArgumentException("고유번호 파일은 이름만 지정하세요: " + name);
+        }
+        try {
+            Path dir = Paths.get(corpCodeDir).toRealPath();
+            Path file = dir.resolve(name).normalize();
+            if (!file.startsWith(dir) || file.equals(dir) || !Files.isRegularFile(file)) {
+                throw new IllegalArgumentException("고유번호 파일이 없습니다: " + name);
+            }
+            Path real = file.toRealPath();
+            if (!real.startsWith(dir)) {
+                throw new IllegalArgumentException("고유번호 파일이 허용된 디렉터리 밖에 있습니다: " + name);
+            }
+            return real;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("고유번호 파일을 열 수 없습니다: " + name);
+        }
+    }
+    /** zip 시그니처(PK\003\004) 확인 (스트림 위치는 되돌림) */
+    private static boolean isZip(InputStream in) throws IOException {
+        in.mark(4);
+        byte[] head = in.readNBytes(4);
+        in.reset();
+        return head.length == 4 && head[0] == 'P' && head[1] == 'K' && head[2] == 3 && head[3] == 4;
+    }
+
+    private static String extractTag(String xml, String tag) {
+        int s = xml.indexOf("<" + tag + ">");
+        int e = xml.indexOf("</" + tag + ">");
+        return s >= 0 && e > s ? xml.substring(s + tag.length() + 2, e).trim() : "";
     }
 
     /**
      * 특정 기업의 공시 요약 정보를 수집하여 지식화
      * (예시: 삼성전자 등 주요 기업의 최근 공시 목록)
+     *
+     * 수집(HTTP+파싱)과 저장(DB)을 파이프라인으로 겹쳐 실행: 페이지 N 저장 중에 N+1.. 페이지를 미리 받는다.
+     *
+     * @param job 비동기 작업 핸들 (진행률=페이지, 페이지 경계에서 취소 확인). 없으면 null
      */
     @Transactional
     @SuppressWarnings("null")
-    public List<Knowledge> fetchCompanyReports(String corpName) {
+    public List<Knowledge> fetchCompanyReports(String corpName, IngestionJob job) {
         if (dartApiKey == null || dartApiKey.isEmpty()) {
             throw new IllegalStateException("DART API 키가 설정되지 않았습니다.");
         }
 
         // list.json API: bgn_de, end_de 필수. corp_code 없으면 검색기간 3개월 제한. 페이지네이션으로 전건 수집
         int pageCount = 100;
-        KnowledgeFetchHistory history = new KnowledgeFetchHistory();
+        KnowledgeFetchHistory history = job != null ? job.getHistory() : new KnowledgeFetchHistory();
         history.setSourceType(SOURCE_TYPE);
         history.setStatus("RUNNING");
         history.setParamsJson(corpName != null ? "{\"corpName\":\"" + corpName + "\"}" : "{}");
@@ -67,13 +224,21 @@ public class DartApiService {
         }
 
         List<Knowledge> results = new ArrayList<>();
+        SourceTableBatchWriter<KnowledgeDart> dartWriter = batchWriterFactory.open(SourceTableMappings.DART);
+        // 파이프라인: 수집 스레드가 다음 페이지를 미리 받아 파싱(prefetch), 현재 스레드(트랜잭션)는 저장만 담당
+        // 큐가 차면 수집 스레드가 대기 → DB가 느릴 때 메모리에 페이지가 무한정 쌓이지 않음
+        BlockingQueue<DartPage> queue = new ArrayBlockingQueue<>(Math.max(1, prefetchPages));
+        AtomicBoolean stop = new AtomicBoolean(false);
+        Thread fetcher = Thread.ofVirtual().name("dart-fetcher").start(() -> producePages(queue, stop, pageCount));
         try {
-            int pageNo = 1;
             while (true) {
-                String url = String.format("%s/list.json?crtfc_key=%s&bgn_de=20250101&end_de=20250331&page_no=%d&page_count=%d",
-                        BASE_URL, dartApiKey, pageNo, pageCount);
-                String response = restTemplate.getForObject(url, String.class);
-                if (response == null) {
+                IngestionJob.checkCancelled(job);
+                DartPage page = queue.take();
+                if (page == DartPage.END) break;
+                if (page.error() != null) throw page.error();
+
+                JsonRecordStreamReader.Result parsed = page.parsed();
+                if (parsed == null || parsed.empty()) {
                     if (history.getId() != null) {
                         history.setStatus("FAILED");
                         history.setErrorMessage("API 응답 없음");
@@ -82,10 +247,10 @@ public class DartApiService {
                     return new ArrayList<>();
                 }
 
-                JsonNode root = objectMapper.readTree(response);
-                String status = root.path("status").asText("");
+                String status = parsed.scalar("status");
                 if (!"000".equals(status)) {
-                    String msg = root.path("message").asText("API 오류");
+                    String msg = parsed.scalar("message");
+                    if (msg.isEmpty()) msg = "API 오류";
                     if (history.getId() != null) {
                         history.setStatus("FAILED");
                         history.setErrorMessage(msg);
@@ -95,48 +260,19 @@ public class DartApiService {
                     return new ArrayList<>();
                 }
 
-                JsonNode list = root.path("list");
-                if (!list.isArray() || list.size() == 0) break;
-
-                for (JsonNode node : list) {
-                    String reportNm = node.path("report_nm").asText("");
-                    String itemCorpName = node.path("corp_name").asText("");
-                    String rceptDt = node.path("rcept_dt").asText("");
-                    String rceptNo = node.path("rcept_no").asText("");
-                    String corpCode = node.path("corp_code").asText("");
-                    String flrNm = node.path("flr_nm").asText("");
-                    String rm = node.path("rm").asText("");
-
-                    if (rceptNo.isEmpty()) continue;
-
-                    // knowledge_dart 테이블에 아이템별 저장 (진짜 지식)
-                    KnowledgeDart dart = knowledgeDartRepository.findByRceptNo(rceptNo)
-                            .orElse(new KnowledgeDart());
-                    dart.setCorpCode(corpCode.isEmpty() ? "UNKNOWN" : corpCode);
-                    dart.setCorpName(itemCorpName);
-                    dart.setRceptNo(rceptNo);
-                    dart.setRceptDt(rceptDt);
-                    dart.setReportNm(reportNm);
-                    dart.setFlrNm(flrNm.length() > 100 ? flrNm.substring(0, 100) : flrNm);
-                    dart.setRm(rm.length() > 500 ? rm.substring(0, 500) : rm);
-                    knowledgeDartRepository.save(dart);
-
-                    // knowledge_base에도 저장 (RAG 연동용)
-                    Knowledge k = Knowledge.builder()
-                            .category("FINANCE_DART")
-                            .title(String.format("[%s] %s", itemCorpName, reportNm))
-                            .content(String.format("기업 %s의 공시 보고서. 접수일자: %s, 보고서명: %s. 상세 내용은 DART에서 확인 가능.", itemCorpName, rceptDt, reportNm))
-                            .sourceUrl("https://dart.fss.or.kr/dsaf001/main.do?rcpNo=" + rceptNo)
-                            .sourceType(SOURCE_TYPE)
-                            .externalId(rceptNo)
-                            .build();
-                    Knowledge saved = knowledgeService.saveOrUpdateKnowledge(k);
-                    if (saved != null) results.add(saved);
+                if (parsed.recordCount() == 0) break;
+
+                dartWriter.addAll(page.dartRows());
+                // 페이지 단위 일괄 upsert (항목별 조회+저장 왕복 제거)
+                dartWriter.flush();
+                knowledgeService.saveOrUpdateAll(page.knowledge());
+                for (Knowledge saved : page.knowledge()) {
+                    if (saved.getId() != null) results.add(saved);
                 }
-                if (list.size() < pageCount) break;
-                pageNo++;
-                if (pageNo > 50) break; // 무한루프 방지 (최대 50페이지 = 5000건)
+                int totalPage = parseIntSafe(parsed.scalar("total_page"));
+                IngestionJob.report(job, page.pageNo(), totalPage > 0 ? Math.min(totalPage, MAX_PAGES) : null);
             }
+            dartWriter.close();
 
             if (history.getId() != null) {
                 history.setStatus("SUCCESS");
@@ -144,6 +280,9 @@ public class DartApiService {
                 try { fetchHistoryRepository.save(history); } catch (Exception ignored) {}
             }
             return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("DART 수집 대기 중 중단되었습니다.");
         } catch (Exception e) {
             if (history.getId() != null) {
                 history.setStatus("FAILED");
@@ -152,6 +291,129 @@ public class DartApiService {
             }
             System.err.println("❌ DART API 호출 실패: " + e.getMessage());
             return new ArrayList<>();
+        } finally {
+            stop.set(true);
+            fetcher.interrupt();
+        }
+    }
+
+    /** 수집 스레드가 넘기는 페이지 (파싱 완료된 버퍼). error가 있으면 수집 실패, END는 종료 표시 */
+    public record DartPage(int pageNo, JsonRecordStreamReader.Result parsed,
+                            List<KnowledgeDart> dartRows, List<Knowledge> knowledge, RuntimeException error) {
+        static final DartPage END = new DartPage(0, null, List.of(), List.of(), null);
+    }
+
+    /**
+     * 수집 단계: 페이지를 차례로 받아 파싱해 큐에 넣는다 (큐가 가득 차면 대기)
+     * 오류·빈 응답·status 오류·마지막 페이지에서 멈추고, 정상 종료면 END를 넣는다.
+     */
+    private void producePages(BlockingQueue<DartPage> queue, AtomicBoolean stop, int pageCount) {
+        try {
+            for (int pageNo = 1; pageNo <= MAX_PAGES && !stop.get(); pageNo++) {
+                DartPage page;
+                try {
+                    page = fetchPage(pageNo, pageCount);
+                } catch (RuntimeException e) {
+                    queue.put(new DartPage(pageNo, null, List.of(), List.of(), e));
+                    return;
+                }
+                queue.put(page);
+                JsonRecordStreamReader.Result parsed = page.parsed();
+                if (parsed == null || parsed.empty() || !"000".equals(parsed.scalar("status"))
+                        || parsed.recordCount() < pageCount) {
+                    break;
+                }
+            }
+            queue.put(DartPage.END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // 저장 단계가 먼저 끝남 (오류·취소)
         }
     }
+
+    /** list.json 1페이지 호출 + 파싱 (속도 제한·재시도 적용) */
+    private DartPage fetchPage(int pageNo, int pageCount) {
+        return fetchFilingPage(null, "20250101", "20250331", pageNo, pageCount);
+    }
+
+    /**
+     * list.json 1페이지 호출 + 파싱 (속도 제한·재시도 적용, DartFilingHarvester와 공용)
+     *
+     * @param corpCode 고유번호 (null이면 회사 지정 없음 → 기간은 호출부가 3개월 이내로 제한)
+     * @param bgnDe    검색 시작일 YYYYMMDD
+     * @param endDe    검색 종료일 YYYYMMDD
+     */
+    public DartPage fetchFilingPage(String corpCode, String bgnDe, String endDe, int pageNo, int pageCount) {
+        if (dartApiKey == null || dartApiKey.isEmpty()) {
+            throw new IllegalStateException("DART API 키가 설정되지 않았습니다.");
+        }
+        String url = String.format("%s/list.json?crtfc_key=%s%s&bgn_de=%s&end_de=%s&page_no=%d&page_count=%d",
+                BASE_URL, dartApiKey, corpCode != null ? "&corp_code=" + corpCode : "", bgnDe, endDe, pageNo, pageCount);
+
+        // 응답 스트림에서 list 레코드를 한 건씩 파싱 (status 확인 전까지는 페이지 버퍼에만 보관)
+        // 429/5xx, status 020(한도 초과)·800·900은 버퍼를 비우고 다시 호출
+        List<KnowledgeDart> pageDart = new ArrayList<>(pageCount);
+        List<Knowledge> pageKnowledge = new ArrayList<>(pageCount);
+        JsonRecordStreamReader.Result parsed = apiGuard.execute(SOURCE_TYPE, () -> {
+            pageDart.clear();
+            pageKnowledge.clear();
+            JsonRecordStreamReader.Result r = restTemplate.execute(url, HttpMethod.GET, null,
+                    response -> streamReader.read(response.getBody(), LIST_RECORD_PATHS, LIST_SCALAR_PATHS,
+                            (path, node) -> {
+                                collectFiling(node, pageDart, pageKnowledge);
+                                return true;
+                            }));
+            String st = r != null ? r.scalar("status") : "";
+            if (RETRYABLE_STATUS.contains(st)) {
+                throw new RetryableApiException(SOURCE_TYPE, st,
+                        "DART API 오류: status=" + st + ", " + r.scalar("message"), THROTTLED_STATUS.equals(st));
+            }
+            return r;
+        });
+        return new DartPage(pageNo, parsed, pageDart, pageKnowledge, null);
+    }
+
+    public static int parseIntSafe(String s) {
+        try {
+            return s == null || s.isEmpty() ? 0 : Integer.parseInt(s.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 공시 목록 레코드 1건 → knowledge_dart 행 + knowledge_base 항목 (rcept_no 없으면 건너뜀)
+     */
+    private void collectFiling(JsonNode node, List<KnowledgeDart> dartRows, List<Knowledge> knowledgeRows) {
+        String reportNm = node.path("report_nm").asText("");
+        String itemCorpName = node.path("corp_name").asText("");
+        String rceptDt = node.path("rcept_dt").asText("");
+        String rceptNo = node.path("rcept_no").asText("");
+        String corpCode = node.path("corp_code").asText("");
+        String flrNm = node.path("flr_nm").asText("");
+        String rm = node.path("rm").asText("");
+
+        if (rceptNo.isEmpty()) return;
+
+        // knowledge_dart 테이블에 아이템별 저장 (진짜 지식, rcept_no 기준 일괄 upsert)
+        KnowledgeDart dart = new KnowledgeDart();
+        dart.setCorpCode(corpCode.isEmpty() ? "UNKNOWN" : corpCode);
+        dart.setCorpName(itemCorpName);
+        dart.setRceptNo(rceptNo);
+        dart.setRceptDt(rceptDt);
+        dart.setReportNm(reportNm);
+        dart.setFlrNm(flrNm.length() > 100 ? flrNm.substring(0, 100) : flrNm);
+        dart.setRm(rm.length() > 500 ? rm.substring(0, 500) : rm);
+        dartRows.add(dart);
+
+        // knowledge_base에도 저장 (RAG 연동용)
+        Knowledge k = Knowledge.builder()
+                .category("FINANCE_DART")
+                .title(String.format("[%s] %s", itemCorpName, reportNm))
+                .content(String.format("기업 %s의 공시 보고서. 접수일자: %s, 보고서명: %s. 상세 내용은 DART에서 확인 가능.", itemCorpName, rceptDt, reportNm))
+                .sourceUrl("https://dart.fss.or.kr/dsaf001/main.do?rcpNo=" + rceptNo)
+                .sourceType(SOURCE_TYPE)
+                .externalId(rceptNo)
+                .build();
+        knowledgeRows.add(k);
+    }
 }
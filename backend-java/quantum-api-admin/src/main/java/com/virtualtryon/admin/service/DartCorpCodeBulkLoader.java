@@ -0,0 +1,252 @@
+package com.virtualtryon.admin.service;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * DART 고유번호 파일(corpCode.zip → CORPCODE.xml) 일괄 적재
+ *
+ * - zip 스트림을 풀면서 StAX로 <list> 단위 파싱 (파일·XML 전체를 메모리에 올리지 않음)
+ * - 파싱한 행을 바로 PostgreSQL COPY로 임시 스테이징 테이블에 흘려 넣음
+ * - 스테이징 → dart_corp_code 병합 (corp_code 기준 INSERT … ON CONFLICT, 바뀐 행만 갱신)
+ * - 스테이징 생성·COPY·병합을 한 트랜잭션으로 처리 (실패 시 기존 데이터 유지)
+ */
+@Component
+public class DartCorpCodeBulkLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(DartCorpCodeBulkLoader.class);
+
+    private static final String STAGING_TABLE = "dart_corp_code_staging";
+    /** COPY로 한 번에 보낼 버퍼 크기 */
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+
+    private final DataSource dataSource;
+
+    public DartCorpCodeBulkLoader(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * 적재 결과
+     *
+     * @param parsed   파일에서 읽은 회사 수
+     * @param upserted 신규 + 변경되어 반영된 행 수
+     */
+    public record Result(long parsed, long upserted, long elapsedMs) {}
+
+    /**
+     * corpCode.zip(또는 CORPCODE.xml) 스트림 적재. 스트림은 호출부가 닫는다.
+     *
+     * @param in     DART corpCode.xml API 응답 본문 또는 로컬 파일
+     * @param zipped true면 zip 안의 첫 번째 .xml 항목을 읽음
+     */
+    public Result load(InputStream in, boolean zipped) throws IOException {
+        long start = System.nanoTime();
+        try (Connection conn = dataSource.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                try (Statement st = conn.createStatement()) {
+                    st.execute("CREATE TEMP TABLE " + STAGING_TABLE + " (" +
+                            "corp_code VARCHAR(8), corp_name VARCHAR(255), corp_name_eng VARCHAR(255), " +
+                            "stock_code VARCHAR(6), modify_date VARCHAR(8)) ON COMMIT DROP");
+                }
+
+                CopyIn copy = conn.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                        "COPY " + STAGING_TABLE + " (corp_code, corp_name, corp_name_eng, stock_code, modify_date) " +
+                        "FROM STDIN WITH (FORMAT text)");
+                long parsed;
+                try {
+                    parsed = copyRows(zipped ? openXmlEntry(in) : in, copy);
+                    copy.endCopy();
+                } finally {
+                    if (copy.isActive()) copy.cancelCopy();
+                }
+
+                long upserted;
+                try (Statement st = conn.createStatement()) {
+                    // 같은 corp_code가 여러 번 나오면 최종변경일자가 가장 늦은 행 사용
+                    upserted = st.executeUpdate(
+                            "INSERT INTO dart_corp_code (corp_code, corp_name, corp_name_eng, stock_code, modify_date) " +
+                            "SELECT DISTINCT ON (corp_code) corp_code, corp_name, corp_name_eng, stock_code, modify_date " +
+                            "FROM " + STAGING_TABLE + " WHERE corp_code IS NOT NULL " +
+                            "ORDER BY corp_code, modify_date DESC NULLS LAST " +
+                            "ON CONFLICT (corp_code) DO UPDATE SET " +
+                            "corp_name = EXCLUDED.corp_name, corp_name_eng = EXCLUDED.corp_name_eng, " +
+                            "stock_code = EXCLUDED.stock_code, modify_date = EXCLUDED.modify_date " +
+                            "WHERE (dart_corp_code.corp_name, dart_corp_code.corp_name_eng, dart_corp_code.stock_code, dart_corp_code.modify_date) " +
+                            "IS DISTINCT FROM (EXCLUDED.corp_name, EXCLUDED.corp_name_eng, EXCLUDED.stock_code, EXCLUDED.modify_date)");
+                }
+                conn.commit();
+
+                long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+                log.info("DART 고유번호 적재 완료: 파싱 {}건, 반영 {}건, {}ms", parsed, upserted, elapsedMs);
+                return new Result(parsed, upserted, elapsedMs);
+            } catch (SQLException | IOException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IOException("DART 고유번호 적재 실패: " + e.getMessage(), e);
+        }
+    }
+
+    /** zip 스트림에서 첫 번째 .xml 항목 위치로 이동 (항목 스트림 close는 zip을 닫지 않음) */
+    private static InputStream openXmlEntry(InputStream in) throws IOException {
+        ZipInputStream zip = new ZipInputStream(in);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            if (!entry.isDirectory() && entry.getName().toLowerCase(Locale.ROOT).endsWith(".xml")) {
+                return new FilterInputStream(zip) {
+                    @Override
+                    public void close() {
+                        // 호출부가 원본 스트림을 닫음
+                    }
+                };
+            }
+        }
+        throw new IOException("corpCode.zip에 XML 항목이 없습니다.");
+    }
+
+    /**
+     * CORPCODE.xml을 StAX로 읽어 <list> 1건마다 COPY text 형식 한 줄로 전송
+     *
+     * @return 전송한 행 수
+     */
+    private static long copyRows(InputStream xml, CopyIn copy) throws IOException, SQLException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        CopyBuffer out = new CopyBuffer(copy);
+        long rows = 0;
+        XMLStreamReader reader = null;
+        try {
+            reader = factory.createXMLStreamReader(xml, StandardCharsets.UTF_8.name());
+            String corpCode = null, corpName = null, corpNameEng = null, stockCode = null, modifyDate = null;
+            boolean inList = false;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if ("list".equals(name)) {
+                        inList = true;
+                        corpCode = corpName = corpNameEng = stockCode = modifyDate = null;
+                        continue;
+                    }
+                    if (!inList) continue;
+                    switch (name) {
+                        case "corp_code" -> corpCode = text(reader);
+                        case "corp_name" -> corpName = text(reader);
+                        case "corp_eng_name", "corp_name_eng" -> corpNameEng = text(reader);
+                        case "stock_code" -> stockCode = text(reader);
+                        case "modify_date" -> modifyDate = text(reader);
+                        default -> { }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "list".equals(reader.getLocalName())) {
+                    inList = false;
+                    if (corpCode == null) continue;
+                    out.field(truncate(corpCode, 8)).tab()
+                            .field(truncate(corpName, 255)).tab()
+                            .field(truncate(corpNameEng, 255)).tab()
+                            .field(truncate(stockCode, 6)).tab()
+                            .field(truncate(modifyDate, 8)).newline();
+                    rows++;
+                }
+            }
+            out.flush();
+            return rows;
+        } catch (XMLStreamException e) {
+            throw new IOException("CORPCODE.xml 파싱 실패 (" + rows + "건 처리 후): " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try { reader.close(); } catch (XMLStreamException ignored) {}
+            }
+        }
+    }
+
+    /** 요소 텍스트 (공백 제거, 비어 있으면 null) */
+    private static String text(XMLStreamReader reader) throws XMLStreamException {
+        String v = reader.getElementText().trim();
+        return v.isEmpty() ? null : v;
+    }
+
+    private static String truncate(String v, int max) {
+        return v != null && v.length() > max ? v.substring(0, max) : v;
+    }
+
+    /** COPY text 형식 인코더 + 버퍼 (가득 차면 writeToCopy) */
+    private static final class CopyBuffer {
+        private final CopyIn copy;
+        private final StringBuilder line = new StringBuilder(256);
+        private byte[] buf = new byte[COPY_BUFFER_BYTES];
+        private int len;
+
+        CopyBuffer(CopyIn copy) {
+            this.copy = copy;
+        }
+
+        CopyBuffer field(String v) {
+            if (v == null) {
+                line.append("\\N");
+                return this;
+            }
+            for (int i = 0; i < v.length(); i++) {
+                char c = v.charAt(i);
+                switch (c) {
+                    case '\\' -> line.append("\\\\");
+                    case '\t' -> line.append("\\t");
+                    case '\n' -> line.append("\\n");
+                    case '\r' -> line.append("\\r");
+                    default -> line.append(c);
+                }
+            }
+            return this;
+        }
+
+        CopyBuffer tab() {
+            line.append('\t');
+            return this;
+        }
+
+        void newline() throws SQLException {
+            line.append('\n');
+            byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+            line.setLength(0);
+            if (len + bytes.length > buf.length) {
+                flush();
+                if (bytes.length > buf.length) buf = new byte[bytes.length];
+            }
+            System.arraycopy(bytes, 0, buf, len, bytes.length);
+            len += bytes.length;
+        }
+
+        void flush() throws SQLException {
+            if (len > 0) {
+                copy.writeToCopy(buf, 0, len);
+                len = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.virtualtryon.admin.service;
+
+import com.virtualtryon.core.entity.DartCorpCode;
+import com.virtualtryon.core.entity.DartHarvestWindow;
+import com.virtualtryon.core.entity.Knowledge;
+import com.virtualtryon.core.entity.KnowledgeDart;
+import com.virtualtryon.core.entity.KnowledgeFetchHistory;
+import com.virtualtryon.core.ingest.JsonRecordStreamReader;
+import com.virtualtryon.core.ingest.SourceTableBatchWriter;
+import com.virtualtryon.core.ingest.SourceTableBatchWriterFactory;
+import com.virtualtryon.core.ingest.SourceTableMappings;
+import com.virtualtryon.core.repository.DartCorpCodeRepository;
+import com.virtualtryon.core.repository.DartHarvestWindowRepository;
+import com.virtualtryon.core.repository.KnowledgeFetchHistoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DART 공시 병렬 수집기 (회사 × 기간 구간)
+ *
+ * - 회사: dart_corp_code에서 고유번호로 조회 (corpName은 8자리 고유번호 또는 회사명 일부)
+ * - 기간: 임의 범위를 구간으로 분할 (회사 지정 없음 3개월, 회사 지정 시 external.dart.harvest-window-months)
+ * - (회사, 구간) 조합을 고정 크기 작업자 풀에서 병렬 수집, 호출 속도는 ExternalApiGuard(fss_dart)가 제한
+ * - 같은 수집 안에서 rcept_no 중복 제거, DB는 rcept_no 기준 upsert
+ * - 구간별 완료 여부를 dart_harvest_window에 기록 → 실패 구간만 retry
+ * - 페이지 상한을 넘는 구간은 반으로 나눠 이어서 수집 (하루짜리 구간도 넘으면 FAILED)
+ */
+@Service
+public class DartFilingHarvester {
+
+    private static final Logger log = LoggerFactory.getLogger(DartFilingHarvester.class);
+
+    private static final String SOURCE_TYPE = "fss_dart";
+    private static final DateTimeFormatter YMD = DateTimeFormatter.BASIC_ISO_DATE;
+    /** list.json page_count 최대값 */
+    private static final int PAGE_COUNT = 100;
+    /** 구간당 최대 페이지 (넘으면 구간을 반으로 나눠 다시 수집) */
+    private static final int MAX_PAGES_PER_WINDOW = 100;
+    /** 회사 지정 없이 조회할 때 DART 검색기간 제한 */
+    private static final int UNSCOPED_WINDOW_MONTHS = 3;
+    /** 013: 조회된 데이터가 없음 */
+    private static final String NO_DATA_STATUS = "013";
+
+    private final DartApiService dartApiService;
+    private final DartCorpCodeRepository corpCodeRepository;
+    private final DartHarvestWindowRepository windowRepository;
+    private final KnowledgeFetchHistoryRepository fetchHistoryRepository;
+    private final SourceTableBatchWriterFactory batchWriterFactory;
+    private final KnowledgeService knowledgeService;
+
+    /** 동시에 수집할 (회사, 구간) 수 */
+    @Value("${external.dart.harvest-workers:4}")
+    private int workers;
+
+    /** 회사 지정 시 구간 길이(개월) */
+    @Value("${external.dart.harvest-window-months:12}")
+    private int corpWindowMonths;
+
+    /** 회사명 검색 결과 중 수집할 최대 회사 수 (상장사 우선) */
+    @Value("${external.dart.harvest-max-corps:50}")
+    private int maxCorps;
+
+    public DartFilingHarvester(DartApiService dartApiService,
+                               DartCorpCodeRepository corpCodeRepository,
+                               DartHarvestWindowRepository windowRepository,
+                               KnowledgeFetchHistoryRepository fetchHistoryRepository,
+                               SourceTableBatchWriterFactory batchWriterFactory,
+                               KnowledgeService knowledgeService) {
+        this.dartApiService = dartApiService;
+        this.corpCodeRepository = corpCodeRepository;
+        this.windowRepository = windowRepository;
+        this.fetchHistoryRepository = fetchHistoryRepository;
+        this.batchWriterFactory = batchWriterFactory;
+        this.knowledgeService = knowledgeService;
+    }
+
+    /** 수집 결과 (구간 단위) */
+    public record HarvestResult(UUID harvestId, int windows, int succeeded, int failed, int items) {}
+
+    /**
+     * 기간 범위 공시 수집
+     *
+     * @param corpName 고유번호(8자리) 또는 회사명 일부. 없으면 회사 지정 없이 전체 공시
+     * @param bgnDe    시작일 YYYYMMDD
+     * @param endDe    종료일 YYYYMMDD (없으면 오늘)
+     * @param job      비동기 작업 핸들 (진행률=완료 구간 수)
+     */
+    public HarvestResult harvest(String corpName, String bgnDe, String endDe, IngestionJob job) {
+        LocalDate from = parseDate(bgnDe, "bgnDe");
+        LocalDate to = endDe == null || endDe.isBlank() ? LocalDate.now() : parseDate(endDe, "endDe");
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("bgnDe가 endDe보다 늦습니다.");
+        }
+
+        List<DartCorpCode> corps = resolveCorps(corpName);
+        KnowledgeFetchHistory history = startHistory(job,
+                "{\"corpName\":\"" + (corpName != null ? corpName.replace("\"", "") : "") + "\",\"bgnDe\":\""
+                        + from.format(YMD) + "\",\"endDe\":\"" + to.format(YMD) + "\",\"corps\":" + Math.max(1, corps.size()) + "}");
+
+        List<DartHarvestWindow> windows = new ArrayList<>();
+        if (corps.isEmpty()) {
+            for (LocalDate[] w : split(from, to, UNSCOPED_WINDOW_MONTHS)) {
+                windows.add(newWindow(history.getId(), null, null, w));
+            }
+        } else {
+            int months = Math.max(1, corpWindowMonths);
+            for (DartCorpCode corp : corps) {
+                for (LocalDate[] w : split(from, to, months)) {
+                    windows.add(newWindow(history.getId(), corp.getCorpCode(), corp.getCorpName(), w));
+                }
+            }
+        }
+        windows = windowRepository.saveAll(windows);
+        log.info("DART 공시 수집 시작: harvest={}, 회사 {}개, 구간 {}개, 작업자 {}",
+                history.getId(), Math.max(1, corps.size()), windows.size(), workers);
+        return runWindows(history.getId(), history, windows, job);
+    }
+
+    /**
+     * 실패·미완료 구간만 다시 수집
+     *
+     * @param harvestId 최초 수집 작업 id
+     */
+    public HarvestResult retry(UUID harvestId, IngestionJob job) {
+        List<DartHarvestWindow> windows = windowRepository.findByHarvestIdAndStatusNot(harvestId, "SUCCESS");
+        KnowledgeFetchHistory history = startHistory(job, "{\"retryOf\":\"" + harvestId + "\"}");
+        log.info("DART 공시 수집 재시도: harvest={}, 남은 구간 {}개", harvestId, windows.size());
+        return runWindows(harvestId, history, windows, job);
+    }
+
+    /** 구간 진행 상태 (관리자 조회용) */
+    public List<DartHarvestWindow> getWindows(UUID harvestId) {
+        return windowRepository.findByHarvestIdOrderByCorpCodeAscBgnDeAsc(harvestId);
+    }
+
+    private HarvestResult runWindows(UUID harvestId, KnowledgeFetchHistory history,
+                                     List<DartHarvestWindow> windows, IngestionJob job) {
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        AtomicInteger done = new AtomicInteger();
+        AtomicInteger items = new AtomicInteger();
+        IngestionJob.report(job, 0, windows.size());
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, workers));
+        int succeeded = 0;
+        int failed = 0;
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>(windows.size());
+            for (DartHarvestWindow window : windows) {
+                futures.add(pool.submit(() -> {
+                    boolean ok = harvestWindow(window, seen, items, job);
+                    IngestionJob.report(job, done.incrementAndGet(), windows.size());
+                    return ok;
+                }));
+            }
+            for (Future<Boolean> f : futures) {
+                if (f.get()) succeeded++; else failed++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("DART 공시 수집 대기 중 중단되었습니다.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException re ? re : new IllegalStateException(cause);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        if (history.getId() != null) {
+            history.setItemCount(items.get());
+            if (failed > 0) {
+                history.setStatus("FAILED");
+                history.setErrorMessage(failed + "개 구간 실패 (POST /fetch-dart/harvest/" + harvestId + "/retry로 재시도)");
+            } else {
+                history.setStatus("SUCCESS");
+            }
+            try { fetchHistoryRepository.save(history); } catch (Exception ignored) {}
+        }
+        log.info("DART 공시 수집 종료: harvest={}, 구간 성공 {} / 실패 {}, 공시 {}건",
+                harvestId, succeeded, failed, items.get());
+        return new HarvestResult(harvestId, windows.size(), succeeded, failed, items.get());
+    }
+
+    /**
+     * 구간 1개 수집: 전 페이지를 받은 뒤 일괄 저장 (구간 중간 실패 시 해당 구간은 저장하지 않고 FAILED)
+     *
+     * 페이지 상한까지 받아도 남은 페이지가 있으면 받은 공시를 버리고 구간을 반으로 나눠 같은 작업자에서 이어서 수집한다
+     * (앞쪽 절반은 이 구간 행을 줄여 재사용, 뒤쪽 절반은 새 구간 행).
+     *
+     * @return 구간 성공 여부 (나눈 경우 모든 하위 구간 성공 여부)
+     * @throws CancellationException 취소 요청 (남은 구간은 PENDING 유지)
+     */
+    private boolean harvestWindow(DartHarvestWindow window, Set<String> seen, AtomicInteger items, IngestionJob job) {
+        IngestionJob.checkCancelled(job);
+        window.setStatus("RUNNING");
+        window.setAttempts(window.getAttempts() != null ? window.getAttempts() + 1 : 1);
+        window.setErrorMessage(null);
+        window = windowRepository.save(window);
+
+        LocalDate[][] halves;
+        try {
+            List<KnowledgeDart> dartRows = new ArrayList<>();
+            List<Knowledge> knowledge = new ArrayList<>();
+            int pages = 0;
+            boolean complete = false;
+            for (int pageNo = 1; pageNo <= MAX_PAGES_PER_WINDOW; pageNo++) {
+                IngestionJob.checkCancelled(job);
+                DartApiService.DartPage page = dartApiService.fetchFilingPage(
+                        window.getCorpCode(), window.getBgnDe(), window.getEndDe(), pageNo, PAGE_COUNT);
+                pages++;
+                JsonRecordStreamReader.Result parsed = page.parsed();
+                String status = parsed != null ? parsed.scalar("status") : "";
+                if (NO_DATA_STATUS.equals(status)) {
+                    complete = true;
+                    break;
+                }
+                if (!"000".equals(status)) {
+                    String msg = parsed != null ? parsed.scalar("message") : "API 응답 없음";
+                    throw new IllegalStateException("DART API 오류: status=" + status + ", " + msg);
+                }
+                // 같은 수집 안에서 이미 받은 rcept_no는 제외 (knowledge_dart·knowledge_base 항목이 1:1이라 같은 위치로 거름)
+                for (int i = 0; i < page.dartRows().size(); i++) {
+                    KnowledgeDart row = page.dartRows().get(i);
+                    if (seen.add(row.getRceptNo())) {
+                        dartRows.add(row);
+                        knowledge.add(page.knowledge().get(i));
+                    }
+                }
+                int totalPage = DartApiService.parseIntSafe(parsed.scalar("total_page"));
+                if (parsed.recordCount() < PAGE_COUNT || pageNo >= totalPage) {
+                    complete = true;
+                    break;
+                }
+            }
+
+            if (!complete) {
+                // 상한 초과: 받은 공시는 하위 구간에서 다시 받으므로 중복 제거 목록에서 되돌림
+                for (KnowledgeDart row : dartRows) seen.remove(row.getRceptNo());
+                halves = halve(window);
+                if (halves == null) {
+                    throw new IllegalStateException("구간 페이지 상한(" + MAX_PAGES_PER_WINDOW
+                            + "페이지) 초과: 하루 공시가 너무 많아 더 나눌 수 없습니다.");
+                }
+                log.info("DART 구간 페이지 상한 도달, 구간 분할: corp={}, {}~{} → {}~{} / {}~{}",
+                        window.getCorpCode(), window.getBgnDe(), window.getEndDe(),
+                        halves[0][0].format(YMD), halves[0][1].format(YMD),
+                        halves[1][0].format(YMD), halves[1][1].format(YMD));
+            } else {
+                SourceTableBatchWriter<KnowledgeDart> writer = batchWriterFactory.open(SourceTableMappings.DART);
+                writer.addAll(dartRows);
+                writer.close();
+                knowledgeService.saveOrUpdateAll(knowledge);
+                items.addAndGet(dartRows.size());
+
+                window.setStatus("SUCCESS");
+                window.setPageCount(pages);
+                window.setItemCount(dartRows.size());
+                windowRepository.save(window);
+                return true;
+            }
+        } catch (CancellationException e) {
+            window.setStatus("PENDING");
+            windowRepository.save(window);
+            throw e;
+        } catch (Exception e) {
+            log.warn("DART 구간 수집 실패: corp={}, {}~{} - {}",
+                    window.getCorpCode(), window.getBgnDe(), window.getEndDe(), e.getMessage());
+            window.setStatus("FAILED");
+            window.setErrorMessage(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            try { windowRepository.save(window); } catch (Exception ignored) {}
+            return false;
+        }
+
+        DartHarvestWindow second = windowRepository.save(
+                newWindow(window.getHarvestId(), window.getCorpCode(), window.getCorpName(), halves[1]));
+        window.setEndDe(halves[0][1].format(YMD));
+        window.setStatus("PENDING");
+        window = windowRepository.save(window);
+        boolean firstOk = harvestWindow(window, seen, items, job);
+        boolean secondOk = harvestWindow(second, seen, items, job);
+        return firstOk && secondOk;
+    }
+
+    /** 구간을 날짜 기준 반으로 나눔. 하루짜리 구간이면 null */
+    private static LocalDate[][] halve(DartHarvestWindow window) {
+        LocalDate bgn = LocalDate.parse(window.getBgnDe(), YMD);
+        LocalDate end = LocalDate.parse(window.getEndDe(), YMD);
+        if (!bgn.isBefore(end)) return null;
+        LocalDate mid = bgn.plusDays(ChronoUnit.DAYS.between(bgn, end) / 2);
+        return new LocalDate[][]{{bgn, mid}, {mid.plusDays(1), end}};
+    }
+
+    /**
+     * 회사 해석: 8자리 숫자면 고유번호, 아니면 회사명 부분 일치 (정확히 같은 이름 → 상장사 → 이름순)
+     *
+     * @return 비어 있으면 회사 지정 없음
+     */
+    private List<DartCorpCode> resolveCorps(String corpName) {
+        if (corpName == null || corpName.isBlank()) return List.of();
+        String q = corpName.trim();
+        if (q.matches("\\d{8}")) {
+            return corpCodeRepository.findByCorpCode(q).map(List::of)
+                    .orElseThrow(() -> new IllegalArgumentException("고유번호가 없습니다: " + q));
+        }
+        List<DartCorpCode> found = new ArrayList<>(corpCodeRepository.findByCorpNameContaining(q));
+        if (found.isEmpty()) {
+            throw new IllegalArgumentException("회사를 찾을 수 없습니다: " + q
+                    + " (고유번호 미적재 시 POST /dart/corp-codes/load 먼저 실행)");
+        }
+        found.sort(Comparator
+                .comparing((DartCorpCode c) -> !q.equals(c.getCorpName()))
+                .thenComparing(c -> c.getStockCode() == null || c.getStockCode().isBlank())
+                .thenComparing(DartCorpCode::getCorpName, Comparator.nullsLast(Comparator.naturalOrder())));
+        return found.size() > maxCorps ? found.subList(0, Math.max(1, maxCorps)) : found;
+    }
+
+    /** [from, to]를 months개월 단위 구간으로 분할 (양끝 포함) */
+    static List<LocalDate[]> split(LocalDate from, LocalDate to, int months) {
+        List<LocalDate[]> windows = new ArrayList<>();
+        LocalDate start = from;
+        while (!start.isAfter(to)) {
+            LocalDate end = start.plusMonths(months).minusDays(1);
+            if (end.isAfter(to)) end = to;
+            windows.add(new LocalDate[]{start, end});
+            start = end.plusDays(1);
+        }
+        return windows;
+    }
+
+    private static DartHarvestWindow newWindow(UUID harvestId, String corpCode, String corpName, LocalDate[] range) {
+        DartHarvestWindow w = new DartHarvestWindow();
+        w.setHarvestId(harvestId);
+        w.setCorpCode(corpCode);
+        w.setCorpName(corpName);
+        w.setBgnDe(range[0].format(YMD));
+        w.setEndDe(range[1].format(YMD));
+        return w;
+    }
+
+    private KnowledgeFetchHistory startHistory(IngestionJob job, String paramsJson) {
+        KnowledgeFetchHistory history = job != null ? job.getHistory() : new KnowledgeFetchHistory();
+        history.setSourceType(SOURCE_TYPE);
+        history.setStatus("RUNNING");
+        history.setParamsJson(paramsJson);
+        return fetchHistoryRepository.save(history);
+    }
+
+    private static LocalDate parseDate(String value, String name) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(name + "가 필요합니다 (YYYYMMDD).");
+        }
+        try {
+            return LocalDate.parse(value.trim(), YMD);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " 형식 오류 (YYYYMMDD): " + value);
+        }
+    }
+}
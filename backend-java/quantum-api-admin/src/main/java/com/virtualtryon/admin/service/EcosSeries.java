@@ -0,0 +1,69 @@
+package com.virtualtryon.admin.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ECOS StatisticSearch 수집 대상 계열 (통계표 코드 + 주기 + 항목코드 + 기간)
+ *
+ * 카탈로그 문자열 형식: {statCode}/{cycle}/{itemCode1}/{startTime}[/{endTime}], 여러 계열은 콤마로 구분
+ * 예) 722Y001/D/0101000/20200101, 901Y009/M/0/202001
+ * - itemCode1이 비어 있거나 "?"면 통계표의 전체 항목
+ * - endTime 생략 시 오늘 기준 (주기 형식으로 변환)
+ *
+ * @param cycle     A(연), S(반년), Q(분기), M(월), D(일)
+ * @param startTime 주기 형식 시점 (A=YYYY, S=YYYYS1, Q=YYYYQ1, M=YYYYMM, D=YYYYMMDD)
+ * @param endTime   null이면 오늘
+ */
+public record EcosSeries(String statCode, String cycle, String itemCode1, String startTime, String endTime) {
+
+    private static final Set<String> CYCLES = Set.of("A", "S", "Q", "M", "D");
+
+    public EcosSeries {
+        if (statCode == null || statCode.isBlank()) throw new IllegalArgumentException("ECOS 통계표 코드가 없습니다.");
+        if (!CYCLES.contains(cycle)) throw new IllegalArgumentException("지원하지 않는 ECOS 주기: " + cycle);
+        if (startTime == null || startTime.isBlank()) throw new IllegalArgumentException("ECOS 시작 시점이 없습니다: " + statCode);
+        if (itemCode1 != null && (itemCode1.isBlank() || "?".equals(itemCode1))) itemCode1 = null;
+    }
+
+    /** 카탈로그 문자열 → 계열 목록 */
+    public static List<EcosSeries> parseCatalog(String catalog) {
+        List<EcosSeries> series = new ArrayList<>();
+        if (catalog == null) return series;
+        for (String entry : catalog.split(",")) {
+            String e = entry.trim();
+            if (e.isEmpty()) continue;
+            String[] p = e.split("/", -1);
+            if (p.length < 4 || p.length > 5) {
+                throw new IllegalArgumentException("ECOS 계열 형식 오류 (statCode/cycle/itemCode1/start[/end]): " + e);
+            }
+            series.add(new EcosSeries(p[0].trim(), p[1].trim().toUpperCase(), p[2].trim(), p[3].trim(),
+                    p.length == 5 && !p[4].isBlank() ? p[4].trim() : null));
+        }
+        return series;
+    }
+
+    /** 종료 시점 (설정 없으면 오늘을 주기 형식으로) */
+    public String resolvedEndTime() {
+        return endTime != null ? endTime : formatPeriod(cycle, LocalDate.now());
+    }
+
+    /** 로그·오류 메시지용 식별자 */
+    public String key() {
+        return statCode + "/" + cycle + "/" + (itemCode1 != null ? itemCode1 : "?");
+    }
+
+    /** 날짜 → 주기 형식 시점 */
+    static String formatPeriod(String cycle, LocalDate date) {
+        return switch (cycle) {
+            case "A" -> String.valueOf(date.getYear());
+            case "S" -> date.getYear() + "S" + (date.getMonthValue() <= 6 ? 1 : 2);
+            case "Q" -> date.getYear() + "Q" + ((date.getMonthValue() - 1) / 3 + 1);
+            case "M" -> date.format(DateTimeFormatter.ofPattern("yyyyMM"));
+            default -> date.format(DateTimeFormatter.BASIC_ISO_DATE);
+        };
+    }
+}
@@ -0,0 +1,219 @@
+package com.virtualtryon.admin.service;
+
+import com.virtualtryon.core.http.RetryableApiException;
+import com.virtualtryon.core.http.SourceRateStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 외부 API 호출 가드: 소스별 토큰 버킷 속도 제한 + 지수 백오프(지터) 재시도
+ *
+ * - 소스(law_api, fss_dart, bok_ecos …)마다 초당 호출 수 제한 (external.rate-limit.{source}.permits-per-second)
+ * - 재시도 대상: 429, 5xx, 연결/타임아웃 오류, RetryableApiException (API 결과 코드 오류)
+ * - 429·한도 초과 결과 코드를 받으면 해당 소스 속도를 절반으로 낮추고, 성공이 이어지면 설정값까지 천천히 복구
+ * - 429의 Retry-After 헤더가 있으면 백오프 대신 그 시간만큼 대기
+ */
+@Component
+public class ExternalApiGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(ExternalApiGuard.class);
+
+    private final Environment environment;
+    private final Map<String, SourceLimiter> limiters = new ConcurrentHashMap<>();
+
+    /** 소스별 설정이 없을 때 초당 호출 수 */
+    @Value("${external.rate-limit.default-permits-per-second:10}")
+    private double defaultPermitsPerSecond;
+
+    /** 최초 호출 포함 최대 시도 횟수 */
+    @Value("${external.retry.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${external.retry.base-delay-ms:500}")
+    private long baseDelayMs;
+
+    @Value("${external.retry.max-delay-ms:30000}")
+    private long maxDelayMs;
+
+    public ExternalApiGuard(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * 속도 제한·재시도를 적용해 호출
+     *
+     * call은 시도마다 다시 실행되므로, 응답을 모으는 버퍼는 call 안에서 초기화해야 한다.
+     *
+     * @param source 소스 구분 (속도 제한 단위)
+     * @param call   외부 호출 (재시도 대상 오류는 예외로 던짐)
+     * @throws CancellationException 대기 중 인터럽트
+     */
+    public <T> T execute(String source, Supplier<T> call) {
+        SourceLimiter limiter = limiters.computeIfAbsent(source, this::newLimiter);
+        int attempts = Math.max(1, maxAttempts);
+        for (int attempt = 1; ; attempt++) {
+            limiter.acquire();
+            limiter.calls.incrementAndGet();
+            try {
+                T result = call.get();
+                limiter.onSuccess();
+                return result;
+            } catch (RuntimeException e) {
+                Retry retry = classify(e);
+                if (retry == null) throw e;
+                if (retry.throttled()) limiter.onThrottle();
+                if (attempt >= attempts) {
+                    limiter.gaveUp.incrementAndGet();
+                    log.warn("외부 API 재시도 소진: source={}, {}회 시도 - {}", source, attempt, e.getMessage());
+                    throw e;
+                }
+                long delayMs = retry.retryAfterMs() > 0
+                        ? Math.min(retry.retryAfterMs(), maxDelayMs)
+                        : backoffMs(attempt);
+                limiter.retries.incrementAndGet();
+                log.info("외부 API 재시도 대기: source={}, 시도 {}/{}, {}ms 후 ({}) - {}",
+                        source, attempt, attempts, delayMs, retry.throttled() ? "한도 초과" : "일시 오류", e.getMessage());
+                sleep(delayMs);
+            }
+        }
+    }
+
+    /** 소스별 속도·재시도 통계 */
+    public Map<String, SourceRateStats> getSourceStats() {
+        Map<String, SourceRateStats> result = new TreeMap<>();
+        limiters.forEach((source, l) -> result.put(source, l.snapshot(source)));
+        return result;
+    }
+
+    /** 재시도 대상이면 분류 결과, 아니면 null */
+    private Retry classify(RuntimeException e) {
+        if (e instanceof RetryableApiException rae) {
+            return new Retry(rae.isThrottled(), 0L);
+        }
+        if (e instanceof HttpStatusCodeException http) {
+            int status = http.getStatusCode().value();
+            if (status == 429) return new Retry(true, retryAfterMs(http.getResponseHeaders()));
+            if (status >= 500) return new Retry(false, 0L);
+            return null;
+        }
+        if (e instanceof ResourceAccessException) {
+            return new Retry(false, 0L);
+        }
+        return null;
+    }
+
+    private record Retry(boolean throttled, long retryAfterMs) {}
+
+    private static long retryAfterMs(HttpHeaders headers) {
+        String value = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (value == null) return 0L;
+        try {
+            return Long.parseLong(value.trim()) * 1000L;
+        } catch (NumberFormatException e) {
+            return 0L; // HTTP-date 형식은 백오프로 대체
+        }
+    }
+
+    /** 지수 백오프 + 지터: [d/2, d] (d = base * 2^(attempt-1), 상한 maxDelayMs) */
+    private long backoffMs(int attempt) {
+        long delay = baseDelayMs << Math.min(attempt - 1, 20);
+        delay = Math.min(Math.max(1L, delay), maxDelayMs);
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("외부 API 호출 대기 중 중단되었습니다.");
+        }
+    }
+
+    private SourceLimiter newLimiter(String source) {
+        Double configured = environment.getProperty(
+                "external.rate-limit." + source + ".permits-per-second", Double.class);
+        double rate = configured != null && configured > 0 ? configured : defaultPermitsPerSecond;
+        log.info("외부 API 속도 제한: source={}, 초당 {}회", source, rate);
+        return new SourceLimiter(rate);
+    }
+
+    /**
+     * 토큰 버킷 (버스트 = 1초 분량). 한도 초과 시 속도 절반, 성공마다 설정값의 5%씩 복구
+     */
+    private static final class SourceLimiter {
+        private static final double MIN_RATE = 0.2;
+
+        private final double configuredRate;
+        private double rate;
+        private double tokens;
+        private long lastRefillNanos;
+
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong retries = new AtomicLong();
+        final AtomicLong throttled = new AtomicLong();
+        final AtomicLong gaveUp = new AtomicLong();
+
+        SourceLimiter(double configuredRate) {
+            this.configuredRate = configuredRate;
+            this.rate = configuredRate;
+            this.tokens = Math.max(1.0, configuredRate);
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        void acquire() {
+            while (true) {
+                long waitMs;
+                synchronized (this) {
+                    refill();
+                    if (tokens >= 1.0) {
+                        tokens -= 1.0;
+                        return;
+                    }
+                    waitMs = (long) Math.ceil((1.0 - tokens) / rate * 1000.0);
+                }
+                sleep(Math.max(1L, waitMs));
+            }
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            double elapsedSec = (now - lastRefillNanos) / 1_000_000_000.0;
+            tokens = Math.min(Math.max(1.0, rate), tokens + elapsedSec * rate);
+            lastRefillNanos = now;
+        }
+
+        synchronized void onThrottle() {
+            throttled.incrementAndGet();
+            refill();
+            rate = Math.max(MIN_RATE, rate / 2.0);
+            tokens = Math.min(tokens, 0.0);
+        }
+
+        synchronized void onSuccess() {
+            if (rate < configuredRate) {
+                refill();
+                rate = Math.min(configuredRate, rate + configuredRate * 0.05);
+            }
+        }
+
+        synchronized SourceRateStats snapshot(String source) {
+            return new SourceRateStats(source, configuredRate, rate,
+                    calls.get(), retries.get(), throttled.get(), gaveUp.get());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.virtualtryon.admin.service;
+
+import com.virtualtryon.core.entity.KnowledgeFetchHistory;
+
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+
+/**
+ * 실행 중인 수집 작업 핸들 (IngestionJobService가 생성해 수집 서비스에 전달)
+ *
+ * - 진행률은 메모리에만 갱신하고, 작업 종료 시 히스토리에 반영 (GET /jobs/{id}는 메모리 값 우선)
+ * - 취소는 협조적: 수집 서비스가 페이지 경계에서 throwIfCancelled()로 확인
+ */
+public class IngestionJob {
+
+    private final UUID id;
+    private final String sourceType;
+    private final KnowledgeFetchHistory history;
+    private volatile boolean cancelRequested;
+    private volatile int progressCurrent;
+    private volatile Integer progressTotal;
+
+    IngestionJob(KnowledgeFetchHistory history) {
+        this.id = history.getId();
+        this.sourceType = history.getSourceType();
+        this.history = history;
+    }
+
+    public UUID getId() { return id; }
+    public String getSourceType() { return sourceType; }
+
+    /** 작업 레코드 (수집 서비스가 상태·파라미터·건수를 기록) */
+    public KnowledgeFetchHistory getHistory() { return history; }
+
+    public boolean isCancelRequested() { return cancelRequested; }
+    void requestCancel() { this.cancelRequested = true; }
+
+    /** 진행률 갱신 (total을 모르면 null) */
+    public void progress(int current, Integer total) {
+        this.progressCurrent = current;
+        if (total != null) this.progressTotal = total;
+    }
+
+    public int getProgressCurrent() { return progressCurrent; }
+    public Integer getProgressTotal() { return progressTotal; }
+
+    /** 취소 요청 시 CancellationException (수집 루프의 페이지 경계에서 호출) */
+    public void throwIfCancelled() {
+        if (cancelRequested) {
+            throw new CancellationException("관리자 요청으로 작업이 취소되었습니다.");
+        }
+    }
+
+    /** job이 없을 수도 있는 호출부용 (스케줄러·단건 호출) */
+    public static void checkCancelled(IngestionJob job) {
+        if (job != null) job.throwIfCancelled();
+    }
+
+    public static void report(IngestionJob job, int current, Integer total) {
+        if (job != null) job.progress(current, total);
+    }
+}
@@ -0,0 +1,295 @@
+package com.virtualtryon.admin.service;
+
+import com.virtualtryon.admin.dto.knowledge.IngestionJobDto;
+import com.virtualtryon.core.entity.KnowledgeFetchHistory;
+import com.virtualtryon.core.repository.KnowledgeFetchHistoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 지식 수집 비동기 작업 엔진
+ *
+ * fetch-* 요청은 작업 id만 즉시 반환하고, 실제 수집은 전용 스레드 풀에서 실행한다.
+ * - 풀 크기·대기 큐 크기 고정 (큐가 차면 RejectedExecutionException)
+ * - 소스별(law_api, fss_dart, bok_ecos) 실행+대기 작업 수 제한
+ * - 작업 레코드는 knowledge_fetch_history (QUEUED → RUNNING → SUCCESS/FAILED/CANCELLED)
+ * - 작업 레코드에 접수 인스턴스·하트비트를 기록하고, 미완료 정리는 자기 소유(이전 실행 잔여)이거나
+ *   하트비트가 끊긴 작업만 대상 (여러 대·롤링 배포 시 다른 인스턴스의 실행 중 작업 보호)
+ */
+@Service
+public class IngestionJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestionJobService.class);
+
+    private final KnowledgeFetchHistoryRepository fetchHistoryRepository;
+    private final Map<UUID, IngestionJob> activeJobs = new ConcurrentHashMap<>();
+    private final Map<String, Semaphore> sourcePermits = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+    private ScheduledExecutorService heartbeat;
+    private String instanceId;
+
+    /** 동시 실행 작업 수 */
+    @Value("${knowledge.jobs.pool-size:3}")
+    private int poolSize;
+
+    /** 실행 대기 큐 크기 */
+    @Value("${knowledge.jobs.queue-capacity:20}")
+    private int queueCapacity;
+
+    /** 소스별 실행+대기 작업 상한 */
+    @Value("${knowledge.jobs.per-source-limit:1}")
+    private int perSourceLimit;
+
+    /** 인스턴스 식별자 (비우면 호스트명:포트) */
+    @Value("${knowledge.jobs.instance-id:}")
+    private String configuredInstanceId;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    /** 하트비트 갱신 주기(초) */
+    @Value("${knowledge.jobs.heartbeat-seconds:30}")
+    private long heartbeatSeconds;
+
+    /** 하트비트가 이 시간(초) 이상 끊긴 미완료 작업은 중단된 것으로 정리 */
+    @Value("${knowledge.jobs.stale-after-seconds:120}")
+    private long staleAfterSeconds;
+
+    public IngestionJobService(KnowledgeFetchHistoryRepository fetchHistoryRepository) {
+        this.fetchHistoryRepository = fetchHistoryRepository;
+    }
+
+    @PostConstruct
+    void init() {
+        AtomicInteger seq = new AtomicInteger();
+        int threads = Math.max(1, poolSize);
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "knowledge-job-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.instanceId = resolveInstanceId();
+        // 기동 시: 이 인스턴스의 이전 실행 잔여 + 하트비트 끊긴 작업만 정리
+        failUnfinished(instanceId);
+
+        long period = Math.max(1, heartbeatSeconds);
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "knowledge-job-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        heartbeat.scheduleWithFixedDelay(this::heartbeatTick, period, period, TimeUnit.SECONDS);
+        log.info("수집 작업 엔진 시작: instance={}, 하트비트 {}초, 중단 판정 {}초", instanceId, period, staleAfterSeconds);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        activeJobs.values().forEach(IngestionJob::requestCancel);
+        executor.shutdownNow();
+    }
+
+    /** 실행·대기 중인 작업의 하트비트 갱신 + 다른 인스턴스에서 끊긴 작업 정리 */
+    private void heartbeatTick() {
+        try {
+            if (!activeJobs.isEmpty()) {
+                fetchHistoryRepository.touchHeartbeat(List.copyOf(activeJobs.keySet()));
+            }
+        } catch (Exception e) {
+            log.warn("수집 작업 하트비트 갱신 실패: {}", e.getMessage());
+        }
+        // 실행 중인 자기 작업은 방금 갱신했으므로 소유자 조건 없이 하트비트 기준으로만 정리
+        failUnfinished("");
+    }
+
+    private void failUnfinished(String owner) {
+        try {
+            int cleaned = fetchHistoryRepository.failUnfinished("서버 재시작 또는 하트비트 중단으로 작업이 중단되었습니다.",
+                    owner, Math.max(1, staleAfterSeconds));
+            if (cleaned > 0) log.warn("미완료 수집 작업 {}건을 FAILED로 정리했습니다.", cleaned);
+        } catch (Exception e) {
+            log.warn("미완료 수집 작업 정리 실패(테이블 없을 수 있음): {}", e.getMessage());
+        }
+    }
+
+    private String resolveInstanceId() {
+        if (configuredInstanceId != null && !configuredInstanceId.isBlank()) return configuredInstanceId.trim();
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = Optional.ofNullable(System.getenv("HOSTNAME")).orElse("unknown");
+        }
+        String id = host + ":" + serverPort;
+        return id.length() > 100 ? id.substring(0, 100) : id;
+    }
+
+    /**
+     * 수집 작업 접수
+     *
+     * @param sourceType 소스 구분 (소스별 동시 작업 제한 단위)
+     * @param task       수집 본문 (IngestionJob으로 진행률 보고·취소 확인)
+     * @return 접수된 작업 (status=QUEUED)
+     * @throws RejectedExecutionException 소스별 제한 또는 대기 큐 초과
+     */
+    public IngestionJobDto submit(String sourceType, Consumer<IngestionJob> task) {
+        Semaphore permits = sourcePermits.computeIfAbsent(sourceType, k -> new Semaphore(Math.max(1, perSourceLimit)));
+        if (!permits.tryAcquire()) {
+            throw new RejectedExecutionException(sourceType + " 수집 작업이 이미 실행 중이거나 대기 중입니다.");
+        }
+
+        IngestionJob job;
+        try {
+            KnowledgeFetchHistory history = new KnowledgeFetchHistory();
+            history.setSourceType(sourceType);
+            history.setStatus("QUEUED");
+            history.setOwnerInstance(instanceId);
+            job = new IngestionJob(fetchHistoryRepository.save(history));
+            fetchHistoryRepository.touchHeartbeat(List.of(job.getId()));
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        activeJobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, task, permits));
+        } catch (RejectedExecutionException e) {
+            activeJobs.remove(job.getId());
+            permits.release();
+            finish(job, "FAILED", "작업 대기 큐가 가득 찼습니다.");
+            throw new RejectedExecutionException("수집 작업 대기 큐가 가득 찼습니다. 잠시 후 다시 시도하세요.", e);
+        }
+        log.info("수집 작업 접수: id={}, source={}, 대기 {}건", job.getId(), sourceType, executor.getQueue().size());
+        return toDto(job.getHistory(), job);
+    }
+
+    /** 작업 상태 조회 (실행 중이면 메모리의 진행률 우선) */
+    public Optional<IngestionJobDto> get(UUID id) {
+        return fetchHistoryRepository.findById(id).map(h -> toDto(h, activeJobs.get(id)));
+    }
+
+    /**
+     * 작업 취소 요청
+     * - 대기 중: 실행 시작 시점에 바로 CANCELLED
+     * - 실행 중: 수집 루프가 다음 페이지 경계에서 중단
+     */
+    public Optional<IngestionJobDto> cancel(UUID id) {
+        IngestionJob job = activeJobs.get(id);
+        if (job != null) {
+            job.requestCancel();
+            log.info("수집 작업 취소 요청: id={}, source={}", id, job.getSourceType());
+            return get(id);
+        }
+        // 메모리에 없는데 QUEUED/RUNNING이면: 하트비트가 끊긴 작업만 바로 종료 처리
+        // (다른 인스턴스에서 실행 중인 작업은 그 인스턴스에서 취소해야 함)
+        try {
+            if (fetchHistoryRepository.cancelIfStale(id, Math.max(1, staleAfterSeconds)) > 0) {
+                log.info("중단된 수집 작업 취소 처리: id={}", id);
+            }
+        } catch (Exception e) {
+            log.warn("중단된 수집 작업 취소 처리 실패: id={} - {}", id, e.getMessage());
+        }
+        return fetchHistoryRepository.findById(id).map(h -> toDto(h, null));
+    }
+
+    private void run(IngestionJob job, Consumer<IngestionJob> task, Semaphore permits) {
+        try {
+            if (job.isCancelRequested()) {
+                finish(job, "CANCELLED", null);
+                return;
+            }
+            KnowledgeFetchHistory history = job.getHistory();
+            history.setStatus("RUNNING");
+            history.setStartedAt(LocalDateTime.now());
+            try { fetchHistoryRepository.save(history); } catch (Exception ignored) {}
+
+            task.accept(job);
+            finish(job, null, null);
+        } catch (CancellationException e) {
+            finish(job, "CANCELLED", e.getMessage());
+        } catch (Exception e) {
+            log.error("수집 작업 실패: id={}, source={} - {}", job.getId(), job.getSourceType(),
+                    e.getMessage() != null ? e.getMessage() : "알 수 없음", e);
+            finish(job, "FAILED", e.getMessage() != null ? e.getMessage() : "알 수 없음");
+        } finally {
+            activeJobs.remove(job.getId());
+            permits.release();
+        }
+    }
+
+    /**
+     * 종료 상태 기록
+     * 수집 서비스가 기록한 상태·건수(DB)를 기준으로 하고, 취소 요청·진행률·종료 시각을 덧붙인다.
+     */
+    private void finish(IngestionJob job, String forcedStatus, String message) {
+        try {
+            KnowledgeFetchHistory h = fetchHistoryRepository.findById(job.getId()).orElse(job.getHistory());
+            String status = forcedStatus != null ? forcedStatus : h.getStatus();
+            if (job.isCancelRequested() && !"SUCCESS".equals(status)) status = "CANCELLED";
+            if ("QUEUED".equals(status) || "RUNNING".equals(status)) status = "SUCCESS";
+            h.setStatus(status);
+            if (message != null && h.getErrorMessage() == null) h.setErrorMessage(message);
+            h.setProgressCurrent(job.getProgressCurrent());
+            if (job.getProgressTotal() != null) h.setProgressTotal(job.getProgressTotal());
+            h.setCancelRequested(job.isCancelRequested());
+            h.setFinishedAt(LocalDateTime.now());
+            fetchHistoryRepository.save(h);
+            log.info("수집 작업 종료: id={}, source={}, status={}, 항목 {}건",
+                    job.getId(), job.getSourceType(), status, h.getItemCount());
+        } catch (Exception e) {
+            log.warn("수집 작업 종료 기록 실패: id={} - {}", job.getId(), e.getMessage());
+        }
+    }
+
+    private IngestionJobDto toDto(KnowledgeFetchHistory h, IngestionJob live) {
+        IngestionJobDto dto = new IngestionJobDto();
+        dto.setId(h.getId());
+        dto.setSourceType(h.getSourceType());
+        dto.setStatus(h.getStatus());
+        dto.setItemCount(h.getItemCount());
+        dto.setSkippedCount(h.getSkippedCount());
+        dto.setProgressCurrent(h.getProgressCurrent());
+        dto.setProgressTotal(h.getProgressTotal());
+        dto.setCancelRequested(h.isCancelRequested());
+        dto.setErrorMessage(h.getErrorMessage());
+        dto.setParamsJson(h.getParamsJson());
+        dto.setDetailCount(h.getDetailCount());
+        dto.setDetailFailedCount(h.getDetailFailedCount());
+        dto.setCheckpointPage(h.getCheckpointPage());
+        dto.setQueuedAt(h.getFetchedAt());
+        dto.setStartedAt(h.getStartedAt());
+        dto.setFinishedAt(h.getFinishedAt());
+        if (live != null) {
+            dto.setProgressCurrent(live.getProgressCurrent());
+            if (live.getProgressTotal() != null) dto.setProgressTotal(live.getProgressTotal());
+            dto.setCancelRequested(live.isCancelRequested());
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,183 @@
+package com.virtualtryon.admin.service;
+
+import com.virtualtryon.core.entity.Knowledge;
+import com.virtualtryon.core.search.Bm25Index;
+import com.virtualtryon.core.search.SearchHit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * knowledge_base 메모리 BM25 색인 (한국어 글자 n-gram)
+ *
+ * - 기동 직후 가상 스레드에서 활성 지식 전체를 id 순 keyset 페이징으로 읽어 구축
+ * - 재구축은 새 색인에 채운 뒤 참조를 교체 (구축 중 검색은 이전 색인으로)
+ * - KnowledgeService 저장·삭제 시 커밋 후 해당 문서만 갱신 (롤백되면 색인도 그대로).
+ *   재구축 중이면 새 색인에도 반영하고, 재구축이 그 문서를 나중에 읽어도 덮어쓰지 않음
+ * - 제목은 titleWeight배로 가중, 조문 본문은 앞 maxBodyChars까지만 색인
+ */
+@Service
+public class KnowledgeLexicalIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(KnowledgeLexicalIndex.class);
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicBoolean building = new AtomicBoolean();
+    /** 검색용 색인 (재구축 완료 시 교체) */
+    private volatile Bm25Index index = new Bm25Index();
+    /** 재구축 중인 새 색인과 그 사이 커밋 후 갱신된 문서 id (rebuildLock으로 보호) */
+    private final Object rebuildLock = new Object();
+    private Bm25Index next;
+    private final Set<UUID> touchedDuringBuild = new HashSet<>();
+    private volatile boolean ready;
+    private volatile long lastBuildMs;
+
+    @Value("${knowledge.lexical-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${knowledge.lexical-index.title-weight:3}")
+    private int titleWeight;
+
+    @Value("${knowledge.lexical-index.max-body-chars:4000}")
+    private int maxBodyChars;
+
+    public KnowledgeLexicalIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) return;
+        Thread.ofVirtual().name("knowledge-lexical-index").start(this::rebuild);
+    }
+
+    /** 전체 재구축 (이미 구축 중이면 false). 새 색인에 채운 뒤 교체하므로 구축 중에도 이전 색인으로 검색 */
+    public boolean rebuild() {
+        if (!building.compareAndSet(false, true)) return false;
+        long start = System.currentTimeMillis();
+        Bm25Index fresh = new Bm25Index();
+        synchronized (rebuildLock) {
+            next = fresh;
+            touchedDuringBuild.clear();
+        }
+        try {
+            UUID after = null;
+            int total = 0;
+            while (true) {
+                List<Object[]> rows = after == null
+                        ? jdbcTemplate.query(
+                                "SELECT id, title, content, left(article_body, ?) FROM knowledge_base " +
+                                "WHERE is_active = true ORDER BY id LIMIT ?",
+                                (rs, i) -> new Object[]{rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3), rs.getString(4)},
+                                maxBodyChars, LOAD_PAGE_SIZE)
+                        : jdbcTemplate.query(
+                                "SELECT id, title, content, left(article_body, ?) FROM knowledge_base " +
+                                "WHERE is_active = true AND id > ? ORDER BY id LIMIT ?",
+                                (rs, i) -> new Object[]{rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3), rs.getString(4)},
+                                maxBodyChars, after, LOAD_PAGE_SIZE);
+                for (Object[] r : rows) {
+                    UUID id = (UUID) r[0];
+                    Map<String, Integer> terms = termsOf((String) r[1], (String) r[2], (String) r[3]);
+                    synchronized (rebuildLock) {
+                        // 읽은 뒤 커밋된 갱신이 이미 반영됐으면 읽은(이전) 값으로 덮어쓰지 않음
+                        if (!touchedDuringBuild.contains(id)) fresh.upsert(id, terms);
+                    }
+                }
+                total += rows.size();
+                if (rows.size() < LOAD_PAGE_SIZE) break;
+                after = (UUID) rows.get(rows.size() - 1)[0];
+            }
+            synchronized (rebuildLock) {
+                index = fresh;
+            }
+            lastBuildMs = System.currentTimeMillis() - start;
+            ready = true;
+            log.info("지식 BM25 색인 구축 완료: {}건, {}ms", total, lastBuildMs);
+            return true;
+        } catch (Exception e) {
+            log.error("지식 BM25 색인 구축 실패: {}", e.getMessage(), e);
+            return false;
+        } finally {
+            synchronized (rebuildLock) {
+                next = null;
+                touchedDuringBuild.clear();
+            }
+            building.set(false);
+        }
+    }
+
+    /** 저장된 지식 반영 (KnowledgeService가 커밋 후 호출) */
+    public void index(List<Knowledge> items) {
+        if (!enabled || items == null) return;
+        for (Knowledge k : items) {
+            if (k == null || k.getId() == null) continue;
+            if (!k.isActive()) {
+                remove(k.getId());
+            } else {
+                Map<String, Integer> terms = termsOf(k.getTitle(), k.getContent(), k.getArticleBody());
+                synchronized (rebuildLock) {
+                    index.upsert(k.getId(), terms);
+                    if (next != null) {
+                        next.upsert(k.getId(), terms);
+                        touchedDuringBuild.add(k.getId());
+                    }
+                }
+            }
+        }
+    }
+
+    /** 삭제된 지식 반영 (KnowledgeService가 커밋 후 호출) */
+    public void remove(UUID id) {
+        if (!enabled || id == null) return;
+        synchronized (rebuildLock) {
+            index.remove(id);
+            if (next != null) {
+                next.remove(id);
+                touchedDuringBuild.add(id);
+            }
+        }
+    }
+
+    /**
+     * 상위 k건 (id + BM25 점수)
+     * 구축 전이면 빈 목록
+     */
+    public List<SearchHit> search(String q, int k) {
+        if (!ready || q == null || q.isBlank()) return List.of();
+        Map<String, Integer> queryTerms = new HashMap<>();
+        Bm25Index.addTerms(queryTerms, q, 1, 0);
+        return index.search(queryTerms, k);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ready", ready);
+        stats.put("building", building.get());
+        stats.put("lastBuildMs", lastBuildMs);
+        stats.putAll(index.getStats());
+        return stats;
+    }
+
+    private Map<String, Integer> termsOf(String title, String content, String articleBody) {
+        Map<String, Integer> terms = new HashMap<>();
+        Bm25Index.addTerms(terms, title, titleWeight, 0);
+        Bm25Index.addTerms(terms, content, 1, 0);
+        Bm25Index.addTerms(terms, articleBody, 1, maxBodyChars);
+        return terms;
+    }
+}
@@ -1,23 +1,53 @@
 package com.virtualtryon.admin.service;
 
+import com.virtualtryon.core.dto.knowledge.KnowledgeBody;
+import com.virtualtryon.core.dto.knowledge.KnowledgeSummary;
 import com.virtualtryon.core.entity.Knowledge;
 import com.virtualtryon.core.repository.KnowledgeRepository;
+import com.virtualtryon.core.search.SearchHit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
 public class KnowledgeService {
 
+    private static final Logger log = LoggerFactory.getLogger(KnowledgeService.class);
+
+    /** knowledge_base 컬럼 길이 (V6, V9). 넘으면 다중 행 upsert 전체가 실패하므로 미리 자름 */
+    private static final int MAX_CATEGORY = 50;
+    private static final int MAX_TITLE = 255;
+    private static final int MAX_SOURCE_URL = 500;
+    private static final int MAX_SOURCE_TYPE = 50;
+    private static final int MAX_EXTERNAL_ID = 255;
+
     private final KnowledgeRepository knowledgeRepository;
+    private final KnowledgeLexicalIndex lexicalIndex;
+    private final KnowledgeVectorIndex vectorIndex;
 
-    public KnowledgeService(KnowledgeRepository knowledgeRepository) {
+    /** 일괄 upsert 시 INSERT 문 1회당 행 수 */
+    @Value("${knowledge.bulk-upsert.chunk-size:500}")
+    private int bulkUpsertChunkSize;
+
+    public KnowledgeService(KnowledgeRepository knowledgeRepository,
+                            KnowledgeLexicalIndex lexicalIndex,
+                            KnowledgeVectorIndex vectorIndex) {
         this.knowledgeRepository = knowledgeRepository;
+        this.lexicalIndex = lexicalIndex;
+        this.vectorIndex = vectorIndex;
     }
 
     /** 지식 데이터 등록 */
@@ -35,7 +65,9 @@ public class KnowledgeService {
                 .sourceUrl(sourceUrl)
                 .build();
         
-        return knowledgeRepository.save(knowledge);
+        Knowledge saved = knowledgeRepository.save(knowledge);
+        reindexAfterCommit(List.of(saved));
+        return saved;
     }
 
     /** 활성 지식 전체 목록 (수정일 내림차순) */
@@ -44,14 +76,86 @@ public class KnowledgeService {
         return knowledgeRepository.findByIsActiveTrueOrderByUpdatedAtDesc();
     }
 
-    /** 지식 검색 (카테고리·키워드, 페이징) */
+    /**
+     * 지식 검색 (카테고리·키워드, 페이징)
+     *
+     * 키워드가 있으면 전문 검색(search_tsv GIN 접두사 일치 + 제목·내용 트라이그램 중간 일치, 관련도순 + 발췌),
+     * 없으면 수정일 내림차순 목록
+     * 본문 컬럼은 읽지 않음 (본문은 getKnowledgeBody)
+     */
     @Transactional(readOnly = true)
-    public Page<Knowledge> searchKnowledge(List<String> categories, String q, int page, int size) {
+    public Page<KnowledgeSummary> searchKnowledge(List<String> categories, String q, int page, int size) {
         Pageable pageable = PageRequest.of(Math.max(0, page), Math.min(Math.max(1, size), 100));
+        String tsQuery = toPrefixTsQuery(q);
+        if (tsQuery != null) {
+            return knowledgeRepository.searchActiveFullText(categories, tsQuery, toInfixPatterns(q), pageable);
+        }
         if (categories == null || categories.isEmpty()) {
-            return knowledgeRepository.searchActiveByQuery(q != null ? q.trim() : "", pageable);
+            return knowledgeRepository.findActivePage(pageable);
+        }
+        return knowledgeRepository.findActivePageByCategories(categories, pageable);
+    }
+
+    /**
+     * 검색어 → to_tsquery 식 (공백 단위 토큰마다 접두사 매칭, AND 결합)
+     * 예) "소득세 공제" → "소득세:* & 공제:*" (조사·접미어가 붙은 "소득세법"도 일치)
+     * 복합어 중간 일치("소득공제")는 tsquery로 찾을 수 없으므로 toInfixPatterns와 함께 쓴다.
+     *
+     * @return 유효한 토큰이 없으면 null
+     */
+    static String toPrefixTsQuery(String q) {
+        List<String> tokens = searchTokens(q);
+        if (tokens.isEmpty()) return null;
+        List<String> terms = new ArrayList<>(tokens.size());
+        for (String token : tokens) terms.add(token + ":*");
+        return String.join(" & ", terms);
+    }
+
+    /**
+     * 검색어 → 토큰별 중간 일치 ILIKE 패턴 (pg_trgm GIN, V33)
+     * 예) "공제" → ["%공제%"] ("소득공제"도 일치)
+     */
+    static List<String> toInfixPatterns(String q) {
+        List<String> patterns = new ArrayList<>();
+        for (String token : searchTokens(q)) patterns.add("%" + escapeLike(token) + "%");
+        return patterns;
+    }
+
+    /**
+     * 검색어 → 토큰을 입력 순서대로 잇는 ILIKE 패턴 1개 (단일 파라미터 네이티브 쿼리용)
+     * 예) "소득 공제" → "%소득%공제%"
+     *
+     * @return 유효한 토큰이 없으면 null
+     */
+    static String toInfixPattern(String q) {
+        List<String> tokens = searchTokens(q);
+        if (tokens.isEmpty()) return null;
+        StringBuilder sb = new StringBuilder("%");
+        for (String token : tokens) sb.append(escapeLike(token)).append('%');
+        return sb.toString();
+    }
+
+    /** 검색어 → 공백 단위 토큰 (tsquery 연산자·구분 기호는 공백으로: 사용자 입력이 식 문법으로 해석되지 않게) */
+    private static List<String> searchTokens(String q) {
+        if (q == null || q.isBlank()) return List.of();
+        String cleaned = q.replaceAll("[&|!():*'\\\\<>\"]", " ").trim();
+        if (cleaned.isEmpty()) return List.of();
+        List<String> tokens = new ArrayList<>();
+        for (String token : cleaned.split("\\s+")) {
+            if (!token.isEmpty()) tokens.add(token);
         }
-        return knowledgeRepository.searchActiveByCategoriesAndQuery(categories, q != null ? q.trim() : "", pageable);
+        return tokens;
+    }
+
+    /** LIKE 와일드카드 이스케이프 (기본 이스케이프 문자 \, 역슬래시는 searchTokens에서 이미 제거) */
+    private static String escapeLike(String token) {
+        return token.replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /** 색인 검색 결과에 제목·카테고리 붙이기 (lexical·semantic 검색 응답용) */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> describeHits(List<SearchHit> hits) {
+        return knowledgeRepository.describeHits(hits);
     }
 
     /** 카테고리 목록 조회 (중복 제거) */
@@ -70,6 +174,16 @@ public class KnowledgeService {
                 .orElseThrow(() -> new IllegalArgumentException("해당 지식을 찾을 수 없습니다."));
     }
 
+    /** 지식 본문 단건 조회 (content·article_body) */
+    @Transactional(readOnly = true)
+    public KnowledgeBody getKnowledgeBody(UUID id) {
+        if (id == null) {
+            throw new IllegalArgumentException("지식 ID가 누락되었습니다.");
+        }
+        return knowledgeRepository.findBodyById(id)
+                .orElseThrow(() -> new IllegalArgumentException("해당 지식을 찾을 수 없습니다."));
+    }
+
     /** 카테고리별 지식 목록 조회 */
     @Transactional(readOnly = true)
     public List<Knowledge> getKnowledgeByCategory(String category) {
@@ -83,6 +197,10 @@ public class KnowledgeService {
             throw new IllegalArgumentException("삭제할 ID가 누락되었습니다.");
         }
         knowledgeRepository.deleteById(id);
+        afterCommit(() -> {
+            runIndexUpdate("어휘", () -> lexicalIndex.remove(id));
+            runIndexUpdate("벡터", () -> vectorIndex.remove(id));
+        });
     }
 
     /**
@@ -94,8 +212,9 @@ public class KnowledgeService {
         if (k == null) return null;
         String sourceType = k.getSourceType();
         String externalId = k.getExternalId();
+        Knowledge saved;
         if (sourceType != null && externalId != null && !externalId.isBlank()) {
-            return knowledgeRepository.findBySourceTypeAndExternalId(sourceType, externalId)
+            saved = knowledgeRepository.findBySourceTypeAndExternalId(sourceType, externalId)
                     .map(existing -> {
                         existing.setTitle(k.getTitle());
                         existing.setContent(k.getContent());
@@ -105,7 +224,111 @@ public class KnowledgeService {
                         return knowledgeRepository.save(existing);
                     })
                     .orElseGet(() -> knowledgeRepository.save(k));
+        } else {
+            saved = knowledgeRepository.save(k);
+        }
+        reindexAfterCommit(List.of(saved));
+        return saved;
+    }
+
+    /**
+     * API에서 불러온 항목 일괄 저장 (saveOrUpdateKnowledge의 집합 버전).
+     * source_type + external_id 가 있는 항목은 청크 단위 INSERT ... ON CONFLICT 로 upsert,
+     * 없는 항목은 일반 insert. 저장된 id는 각 Knowledge에도 채워진다.
+     * 한 행 때문에 청크 전체가 실패하지 않도록 저장 전에 컬럼 길이에 맞춰 자르고,
+     * 필수값(카테고리·제목·내용)이 없거나 external_id가 너무 긴 항목은 건너뛴다 (id = null).
+     *
+     * @return 입력 순서대로 저장된 항목의 id (null 항목 제외)
+     */
+    @Transactional
+    public List<UUID> saveOrUpdateAll(List<Knowledge> items) {
+        if (items == null || items.isEmpty()) return Collections.emptyList();
+
+        List<Knowledge> keyed = new ArrayList<>();
+        List<Knowledge> unkeyed = new ArrayList<>();
+        int skipped = 0;
+        for (Knowledge k : items) {
+            if (k == null) continue;
+            if (!fitColumns(k)) {
+                skipped++;
+                continue;
+            }
+            if (k.getSourceType() != null && k.getExternalId() != null && !k.getExternalId().isBlank()) {
+                keyed.add(k);
+            } else {
+                unkeyed.add(k);
+            }
+        }
+        if (!keyed.isEmpty()) {
+            knowledgeRepository.upsertAllBySourceTypeAndExternalId(keyed, bulkUpsertChunkSize);
+        }
+        if (!unkeyed.isEmpty()) {
+            knowledgeRepository.saveAll(unkeyed);
+        }
+        if (skipped > 0) {
+            log.warn("지식 일괄 저장: 필수값 누락·external_id 길이 초과 {}건 건너뜀", skipped);
+        }
+
+        reindexAfterCommit(items);
+
+        List<UUID> ids = new ArrayList<>(items.size());
+        for (Knowledge k : items) {
+            if (k != null && k.getId() != null) ids.add(k.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * 컬럼 길이 초과 값은 자르고, 저장할 수 없는 항목이면 false
+     * (external_id는 upsert 키라 자르면 다른 항목과 겹칠 수 있으므로 건너뜀)
+     */
+    private static boolean fitColumns(Knowledge k) {
+        if (k.getCategory() == null || k.getCategory().isBlank()
+                || k.getTitle() == null || k.getTitle().isBlank() || k.getContent() == null) {
+            return false;
+        }
+        if (k.getExternalId() != null && k.getExternalId().length() > MAX_EXTERNAL_ID) return false;
+        k.setCategory(truncate(k.getCategory(), MAX_CATEGORY));
+        k.setTitle(truncate(k.getTitle(), MAX_TITLE));
+        k.setSourceUrl(truncate(k.getSourceUrl(), MAX_SOURCE_URL));
+        k.setSourceType(truncate(k.getSourceType(), MAX_SOURCE_TYPE));
+        return true;
+    }
+
+    private static String truncate(String s, int max) {
+        return s != null && s.length() > max ? s.substring(0, max) : s;
+    }
+
+    /** 저장된 항목을 검색 색인(BM25·벡터)에 반영 (커밋 후, 롤백되면 반영하지 않음) */
+    private void reindexAfterCommit(List<Knowledge> items) {
+        List<Knowledge> snapshot = new ArrayList<>(items);
+        afterCommit(() -> {
+            runIndexUpdate("어휘", () -> lexicalIndex.index(snapshot));
+            runIndexUpdate("벡터", () -> vectorIndex.index(snapshot));
+        });
+    }
+
+    /**
+     * 커밋 후 색인 갱신 (DB는 이미 커밋됨: 색인 오류가 호출부로 번지지 않게 로그만 남김, 관리자 재구축으로 복구)
+     */
+    private static void runIndexUpdate(String name, Runnable update) {
+        try {
+            update.run();
+        } catch (RuntimeException e) {
+            log.warn("{} 색인 갱신 실패 (DB 반영은 완료, 재구축 필요): {}", name, e.getMessage(), e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
         }
-        return knowledgeRepository.save(k);
     }
 }
@@ -0,0 +1,309 @@
+package com.virtualtryon.admin.service;
+
+import com.virtualtryon.core.entity.Knowledge;
+import com.virtualtryon.core.search.SearchHit;
+import com.virtualtryon.core.vector.EmbeddingFunction;
+import com.virtualtryon.core.vector.HnswIndex;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * knowledge_base 의미 검색용 HNSW 벡터 색인
+ *
+ * - 기동 직후 가상 스레드에서 디스크 색인을 열고, 비어 있으면(또는 임베딩 설정이 바뀌었으면) DB 전체로 구축
+ * - KnowledgeService 저장·삭제 시 커밋 후 해당 지식만 갱신, saveEvery건마다·종료 시 디스크 저장
+ * - 저장 시 DB 시각을 체크포인트로 함께 기록. 다시 열 때 체크포인트 - replayMarginMinutes 이후 갱신된 지식을 다시 반영하고,
+ *   활성 지식 수가 색인과 다르면(저장 안 된 삭제 등) 전체 재구축
+ * - 색인 디렉터리(knowledge.vector-index.dir)는 명시해야 함. 미설정이면 색인을 쓰지 않음
+ * - 지식 1건 = 벡터 1개 (제목 + 요약 + 조문 본문 앞 maxBodyChars)
+ */
+@Service
+public class KnowledgeVectorIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(KnowledgeVectorIndex.class);
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EmbeddingFunction embedding;
+    private final AtomicBoolean building = new AtomicBoolean();
+    private final AtomicInteger unsaved = new AtomicInteger();
+    private volatile HnswIndex index;
+    private volatile boolean ready;
+    private volatile long lastBuildMs;
+
+    @Value("${knowledge.vector-index.enabled:true}")
+    private boolean enabled;
+
+    /** 색인 디렉터리 (재부팅 후에도 남는 경로). 미설정이면 색인 비활성 */
+    @Value("${knowledge.vector-index.dir:}")
+    private String dir;
+
+    @Value("${knowledge.vector-index.m:16}")
+    private int m;
+
+    @Value("${knowledge.vector-index.ef-construction:100}")
+    private int efConstruction;
+
+    @Value("${knowledge.vector-index.ef-search:64}")
+    private int efSearch;
+
+    @Value("${knowledge.vector-index.max-body-chars:4000}")
+    private int maxBodyChars;
+
+    @Value("${knowledge.vector-index.save-every:500}")
+    private int saveEvery;
+
+    /** 다시 열 때 체크포인트보다 이만큼 앞에서부터 재반영 (커밋이 늦은 트랜잭션·시계 차이 여유) */
+    @Value("${knowledge.vector-index.replay-margin-minutes:10}")
+    private int replayMarginMinutes;
+
+    public KnowledgeVectorIndex(JdbcTemplate jdbcTemplate, EmbeddingFunction embedding) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.embedding = embedding;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void openOnStartup() {
+        if (!enabled) return;
+        if (dir == null || dir.isBlank()) {
+            log.warn("벡터 색인 비활성: knowledge.vector-index.dir 미설정 (재부팅 후에도 유지되는 경로를 지정해야 함)");
+            return;
+        }
+        Thread.ofVirtual().name("knowledge-vector-index").start(() -> {
+            try {
+                index = HnswIndex.open(Paths.get(dir).toAbsolutePath(), embedding.name(), embedding.dimension(), m, efConstruction);
+            } catch (IOException e) {
+                log.error("벡터 색인 열기 실패 ({}): {}", dir, e.getMessage(), e);
+                return;
+            }
+            if (index.size() == 0 || index.checkpoint() == 0L || !catchUp()) {
+                rebuild();
+            }
+        });
+    }
+
+    /**
+     * 저장 이후 갱신분 재반영 (체크포인트 - 여유 시간 이후 updated_at)
+     *
+     * @return 재반영 후 활성 지식 수가 색인과 같으면(또는 이미 재구축 중이면) true, 다르면 호출부가 재구축
+     */
+    private boolean catchUp() {
+        HnswIndex target = index;
+        // 재반영이 끝나기 전에 새 체크포인트로 저장되지 않도록 구축 중으로 표시
+        if (!building.compareAndSet(false, true)) return true;
+        long start = System.currentTimeMillis();
+        try {
+            LocalDateTime mark = dbNow();
+            LocalDateTime since = fromCheckpoint(target.checkpoint()).minusMinutes(Math.max(0, replayMarginMinutes));
+            UUID after = null;
+            int replayed = 0;
+            while (true) {
+                List<Object[]> rows = after == null
+                        ? jdbcTemplate.query(
+                                "SELECT id, is_active, title, content, left(article_body, ?) FROM knowledge_base " +
+                                "WHERE updated_at >= ? ORDER BY id LIMIT ?",
+                                (rs, i) -> new Object[]{rs.getObject(1, UUID.class), rs.getBoolean(2), rs.getString(3), rs.getString(4), rs.getString(5)},
+                                maxBodyChars, Timestamp.valueOf(since), LOAD_PAGE_SIZE)
+                        : jdbcTemplate.query(
+                                "SELECT id, is_active, title, content, left(article_body, ?) FROM knowledge_base " +
+                                "WHERE updated_at >= ? AND id > ? ORDER BY id LIMIT ?",
+                                (rs, i) -> new Object[]{rs.getObject(1, UUID.class), rs.getBoolean(2), rs.getString(3), rs.getString(4), rs.getString(5)},
+                                maxBodyChars, Timestamp.valueOf(since), after, LOAD_PAGE_SIZE);
+                for (Object[] r : rows) {
+                    if ((Boolean) r[1]) {
+                        target.add((UUID) r[0], embedding.embed(textOf((String) r[2], (String) r[3], (String) r[4])));
+                    } else {
+                        target.remove((UUID) r[0]);
+                    }
+                }
+                replayed += rows.size();
+                if (rows.size() < LOAD_PAGE_SIZE) break;
+                after = (UUID) rows.get(rows.size() - 1)[0];
+            }
+
+            Integer active = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM knowledge_base WHERE is_active = true", Integer.class);
+            if (active == null || active != target.size()) {
+                log.info("벡터 색인 건수 불일치 (색인 {}건, DB {}건) → 재구축", target.size(), active);
+                return false;
+            }
+            if (replayed > 0) target.save(toCheckpoint(mark));
+            ready = true;
+            log.info("벡터 색인 로드: {}건, 저장 이후 {}건 재반영, {}ms ({})",
+                    target.size(), replayed, System.currentTimeMillis() - start, dir);
+            return true;
+        } catch (Exception e) {
+            log.warn("벡터 색인 재반영 실패 → 재구축: {}", e.getMessage());
+            return false;
+        } finally {
+            building.set(false);
+        }
+    }
+
+    /** 전체 재구축 후 저장 (열리기 전이거나 이미 구축 중이면 false). 구축 중에는 검색하지 않음 */
+    public boolean rebuild() {
+        HnswIndex target = index;
+        if (target == null || !building.compareAndSet(false, true)) return false;
+        long start = System.currentTimeMillis();
+        try {
+            ready = false;
+            LocalDateTime mark = dbNow();
+            target.clear();
+            UUID after = null;
+            int total = 0;
+            while (true) {
+                List<Object[]> rows = after == null
+                        ? jdbcTemplate.query(
+                                "SELECT id, title, content, left(article_body, ?) FROM knowledge_base " +
+                                "WHERE is_active = true ORDER BY id LIMIT ?",
+                                (rs, i) -> new Object[]{rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3), rs.getString(4)},
+                                maxBodyChars, LOAD_PAGE_SIZE)
+                        : jdbcTemplate.query(
+                                "SELECT id, title, content, left(article_body, ?) FROM knowledge_base " +
+                                "WHERE is_active = true AND id > ? ORDER BY id LIMIT ?",
+                                (rs, i) -> new Object[]{rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3), rs.getString(4)},
+                                maxBodyChars, after, LOAD_PAGE_SIZE);
+                for (Object[] r : rows) {
+                    target.add((UUID) r[0], embedding.embed(textOf((String) r[1], (String) r[2], (String) r[3])));
+                }
+                total += rows.size();
+                if (rows.size() < LOAD_PAGE_SIZE) break;
+                after = (UUID) rows.get(rows.size() - 1)[0];
+            }
+            target.save(toCheckpoint(mark));
+            unsaved.set(0);
+            lastBuildMs = System.currentTimeMillis() - start;
+            ready = true;
+            log.info("벡터 색인 구축 완료: {}건, {}ms", total, lastBuildMs);
+            return true;
+        } catch (Exception e) {
+            log.error("벡터 색인 구축 실패: {}", e.getMessage(), e);
+            return false;
+        } finally {
+            building.set(false);
+        }
+    }
+
+    /** 저장된 지식 반영 (KnowledgeService가 커밋 후 호출) */
+    public void index(List<Knowledge> items) {
+        HnswIndex target = index;
+        if (!enabled || target == null || items == null) return;
+        int changed = 0;
+        for (Knowledge k : items) {
+            if (k == null || k.getId() == null) continue;
+            if (!k.isActive()) {
+                target.remove(k.getId());
+            } else {
+                String body = k.getArticleBody();
+                if (body != null && body.length() > maxBodyChars) body = body.substring(0, maxBodyChars);
+                target.add(k.getId(), embedding.embed(textOf(k.getTitle(), k.getContent(), body)));
+            }
+            changed++;
+        }
+        saveIfDue(changed);
+    }
+
+    /** 삭제된 지식 반영 (KnowledgeService가 커밋 후 호출) */
+    public void remove(UUID id) {
+        HnswIndex target = index;
+        if (!enabled || target == null || id == null) return;
+        target.remove(id);
+        saveIfDue(1);
+    }
+
+    /**
+     * 질의와 의미가 가까운 상위 k건 (점수 = 코사인 유사도)
+     * 준비 전이면 빈 목록
+     *
+     * @param ef 0 이하면 설정값(ef-search)
+     */
+    public List<SearchHit> search(String q, int k, int ef) {
+        HnswIndex target = index;
+        if (!ready || target == null || q == null || q.isBlank()) return List.of();
+        return target.search(embedding.embed(q), k, ef > 0 ? ef : efSearch);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ready", ready);
+        stats.put("building", building.get());
+        stats.put("lastBuildMs", lastBuildMs);
+        stats.put("unsavedChanges", unsaved.get());
+        HnswIndex target = index;
+        if (target != null) stats.putAll(target.getStats());
+        return stats;
+    }
+
+    @PreDestroy
+    public void close() {
+        HnswIndex target = index;
+        if (target == null) return;
+        try {
+            if (unsaved.get() > 0 && !building.get()) saveWithCheckpoint(target);
+            target.close();
+        } catch (IOException e) {
+            log.warn("벡터 색인 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    private void saveIfDue(int changed) {
+        if (unsaved.addAndGet(changed) < saveEvery || building.get()) return;
+        try {
+            unsaved.set(0);
+            saveWithCheckpoint(index);
+        } catch (IOException e) {
+            log.warn("벡터 색인 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    /** 현재 DB 시각을 체크포인트로 저장 (DB 조회 실패 시 이전 체크포인트 유지 → 다음 기동 때 더 넓게 재반영) */
+    private void saveWithCheckpoint(HnswIndex target) throws IOException {
+        long checkpoint;
+        try {
+            checkpoint = toCheckpoint(dbNow());
+        } catch (RuntimeException e) {
+            checkpoint = target.checkpoint();
+        }
+        target.save(checkpoint);
+    }
+
+    /** updated_at과 같은 기준(DB 세션 시간대)의 현재 시각 */
+    private LocalDateTime dbNow() {
+        return jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", Timestamp.class).toLocalDateTime();
+    }
+
+    private static long toCheckpoint(LocalDateTime at) {
+        return at.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromCheckpoint(long checkpoint) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(checkpoint, 1000L), (int) Math.floorMod(checkpoint, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    private static String textOf(String title, String content, String articleBody) {
+        StringBuilder sb = new StringBuilder();
+        if (title != null) sb.append(title).append('\n');
+        if (content != null) sb.append(content).append('\n');
+        if (articleBody != null) sb.append(articleBody);
+        return sb.toString();
+    }
+}
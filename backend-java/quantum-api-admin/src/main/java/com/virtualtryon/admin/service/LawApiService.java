@@ -3,7 +3,16 @@ package com.virtualtryon.admin.service;
 import com.virtualtryon.core.entity.Knowledge;
 import com.virtualtryon.core.entity.KnowledgeFetchHistory;
 import com.virtualtryon.core.entity.KnowledgeLaw;
+import com.virtualtryon.core.entity.KnowledgeLawArticle;
+import com.virtualtryon.core.http.ExternalHttpClient;
+import com.virtualtryon.core.http.RetryableApiException;
+import com.virtualtryon.core.ingest.BatchWriterStats;
+import com.virtualtryon.core.ingest.JsonRecordStreamReader;
+import com.virtualtryon.core.ingest.SourceTableBatchWriter;
+import com.virtualtryon.core.ingest.SourceTableBatchWriterFactory;
+import com.virtualtryon.core.ingest.SourceTableMappings;
 import com.virtualtryon.core.repository.KnowledgeFetchHistoryRepository;
+import com.virtualtryon.core.repository.KnowledgeLawArticleRepository;
 import com.virtualtryon.core.repository.KnowledgeLawRepository;
 import com.virtualtryon.core.repository.KnowledgeRepository;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -11,17 +20,39 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * 국가법령정보센터 오픈 API 연동 서비스
@@ -39,29 +70,84 @@ public class LawApiService {
     private static final String SOURCE_TYPE = "law_api";
 
     private final KnowledgeRepository knowledgeRepository;
-    private final KnowledgeFetchHistoryRepository fetchHistoryRepository;
     private final KnowledgeLawRepository knowledgeLawRepository;
+    private final KnowledgeLawArticleRepository lawArticleRepository;
+    private final KnowledgeFetchHistoryRepository fetchHistoryRepository;
+    private final SourceTableBatchWriterFactory batchWriterFactory;
     private final KnowledgeService knowledgeService;
     private final RestTemplate restTemplate;
+    private final ExternalApiGuard apiGuard;
+    private final ResponseDiskCache responseCache;
     private final ObjectMapper objectMapper;
+    private final JsonRecordStreamReader streamReader;
+    private final TransactionTemplate transactionTemplate;
+    /** 전체 수집(lsStmd) 중복 실행 방지 */
+    private final AtomicBoolean fullCrawlRunning = new AtomicBoolean(false);
 
     @Value("${external.law-api-oc:}")
     private String lawApiOc;
 
+    /** 본문(lawService.do) 동시 조회 상한 */
+    @Value("${external.law-api.detail-concurrency:8}")
+    private int detailConcurrency;
+
+    /** 전체 수집(lsStmd) 시 본문 조회 대상 건수 (앞에서부터) */
+    @Value("${external.law-api.lsstmd-enrich-limit:30}")
+    private int lsStmdEnrichLimit;
+
+    /** 주간 배치를 증분 동기화로 실행 (false면 활성 법령 전체 재수집) */
+    @Value("${external.law-api.incremental-sync:true}")
+    private boolean incrementalSync;
+
     // 국가법령정보센터 오픈 API
     private static final String LAW_SEARCH_URL = "http://www.law.go.kr/DRF/lawSearch.do";
     private static final String LAW_SERVICE_URL = "http://www.law.go.kr/DRF/lawService.do";
 
+    // 스트리밍 파싱 경로 (JsonRecordStreamReader)
+    private static final Set<String> SEARCH_RECORD_PATHS = Set.of("LawSearch.law");
+    private static final Set<String> SEARCH_SCALAR_PATHS = Set.of(
+            "LawSearch.resultCode", "LawSearch.resultMsg", "LawSearch.totalCnt");
+    private static final Set<String> LSSTMD_RECORD_PATHS = Set.of(
+            "LawSearch.law", "LawSearch.lsStmd",
+            "LsStmdSearch.law", "LsStmdSearch.lsStmd",
+            "lsStmd.law", "lsStmd.lsStmd");
+    private static final Set<String> LSSTMD_SCALAR_PATHS = Set.of(
+            "LawSearch.resultCode", "LawSearch.totalCnt",
+            "LsStmdSearch.resultCode", "LsStmdSearch.totalCnt",
+            "lsStmd.resultCode", "lsStmd.totalCnt");
+    private static final String[] RESULT_CODE_PATHS = {
+            "LawSearch.resultCode", "LsStmdSearch.resultCode", "lsStmd.resultCode"};
+    /** 재시도 대상 resultCode: 01 어플리케이션 오류, 02 DB 오류, 04 HTTP 오류, 05 서비스 연결 실패, 22 요청 제한 초과, 99 기타 오류 */
+    private static final Set<String> RETRYABLE_RESULT_CODES = Set.of("01", "02", "04", "05", "22", "99");
+    private static final String THROTTLED_RESULT_CODE = "22";
+    private static final String DETAIL_BASIC_INFO = "기본정보";
+    private static final String DETAIL_CACHE_NAMESPACE = "law-detail";
+    private static final Set<String> DETAIL_RECORD_PATHS = Set.of(
+            "법령.기본정보", "Law.기본정보",
+            "법령.조문.조문단위", "Law.article.articleUnit");
+
     public LawApiService(KnowledgeRepository knowledgeRepository,
-                         KnowledgeFetchHistoryRepository fetchHistoryRepository,
                          KnowledgeLawRepository knowledgeLawRepository,
-                         KnowledgeService knowledgeService) {
+                         KnowledgeLawArticleRepository lawArticleRepository,
+                         KnowledgeFetchHistoryRepository fetchHistoryRepository,
+                         SourceTableBatchWriterFactory batchWriterFactory,
+                         KnowledgeService knowledgeService,
+                         PlatformTransactionManager transactionManager,
+                         ExternalHttpClient externalHttpClient,
+                         ExternalApiGuard apiGuard,
+                         ResponseDiskCache responseCache) {
         this.knowledgeRepository = Objects.requireNonNull(knowledgeRepository, "knowledgeRepository must not be null");
-        this.fetchHistoryRepository = fetchHistoryRepository;
         this.knowledgeLawRepository = knowledgeLawRepository;
+        this.lawArticleRepository = lawArticleRepository;
+        this.fetchHistoryRepository = fetchHistoryRepository;
+        this.batchWriterFactory = batchWriterFactory;
         this.knowledgeService = knowledgeService;
-        this.restTemplate = new RestTemplate();
+        this.restTemplate = externalHttpClient.restTemplate();
+        this.apiGuard = apiGuard;
+        this.responseCache = responseCache;
         this.objectMapper = new ObjectMapper();
+        this.streamReader = new JsonRecordStreamReader(objectMapper);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -97,42 +183,118 @@ public class LawApiService {
         }
     }
 
+    /** 법령 1건의 조문 목록 (응답 순서) */
+    @Transactional(readOnly = true)
+    public List<KnowledgeLawArticle> getLawArticles(String mst) {
+        if (mst == null || mst.isBlank()) {
+            throw new IllegalArgumentException("MST(법령일련번호)를 입력하세요.");
+        }
+        return lawArticleRepository.findByMstOrderBySeqAsc(mst.trim());
+    }
+
+    /**
+     * 조문 검색 (본문 전체가 아닌 일치 조문만 반환, 관련도순)
+     * 토큰 접두사 일치 또는 토큰이 입력 순서대로 들어간 조문 (복합어 중간 일치 포함)
+     *
+     * @param mst 지정하면 해당 법령 안에서만
+     */
+    @Transactional(readOnly = true)
+    public List<KnowledgeLawArticle> searchLawArticles(String q, String mst, int size) {
+        String tsQuery = KnowledgeService.toPrefixTsQuery(q);
+        if (tsQuery == null) return Collections.emptyList();
+        String infixPattern = KnowledgeService.toInfixPattern(q);
+        int limit = Math.min(Math.max(1, size), 100);
+        return mst == null || mst.isBlank()
+                ? lawArticleRepository.searchArticles(tsQuery, infixPattern, limit)
+                : lawArticleRepository.searchArticlesInLaw(mst.trim(), tsQuery, infixPattern, limit);
+    }
+
     /**
      * 전체 법령 수집: 법령 체계도(lsStmd) API로 전체 목록 페이지네이션 조회
      * query 없이 target=lsStmd 호출 → 전체 법령 목록 수집
      *
+     * 페이지마다 짧은 트랜잭션으로 커밋하고 체크포인트(페이지, MST)를 히스토리에 기록한다.
+     * 중간 실패 시 이미 커밋된 페이지는 유지되며 resumeAllLawsManually로 이어서 수집 가능.
+     *
+     * @param job 비동기 작업 핸들 (진행률=페이지, 페이지 경계에서 취소 확인). 없으면 null
      * @return 저장된 Knowledge 목록
      */
-    @Transactional
-    public List<Knowledge> fetchAllLawsManually() {
+    public List<Knowledge> fetchAllLawsManually(IngestionJob job) {
         validateApiKey();
 
-        KnowledgeFetchHistory history = new KnowledgeFetchHistory();
+        KnowledgeFetchHistory history = job != null ? job.getHistory() : new KnowledgeFetchHistory();
         history.setSourceType(SOURCE_TYPE);
         history.setStatus("RUNNING");
         history.setParamsJson("{\"mode\":\"all\",\"target\":\"lsStmd\"}");
-        try {
-            history = fetchHistoryRepository.save(history);
-        } catch (Exception ex) {
-            log.warn("수집 히스토리 저장 실패: {}", ex.getMessage());
+        return runFullCrawl(history, 1, job);
+    }
+
+    /**
+     * 전체 법령 수집 재개: 체크포인트의 다음 페이지부터 수집
+     *
+     * @param historyId 재개할 히스토리 (null이면 체크포인트가 있는 가장 최근 전체 수집)
+     * @param job       비동기 작업 핸들 (없으면 null)
+     * @return 이번 재개에서 저장된 Knowledge 목록
+     */
+    public List<Knowledge> resumeAllLawsManually(UUID historyId, IngestionJob job) {
+        validateApiKey();
+
+        KnowledgeFetchHistory from = historyId != null
+                ? fetchHistoryRepository.findById(historyId)
+                        .orElseThrow(() -> new IllegalArgumentException("수집 히스토리를 찾을 수 없습니다: " + historyId))
+                : fetchHistoryRepository.findFirstBySourceTypeAndCheckpointPageIsNotNullOrderByFetchedAtDesc(SOURCE_TYPE)
+                        .orElseThrow(() -> new IllegalArgumentException("재개할 전체 수집 체크포인트가 없습니다."));
+        if (!SOURCE_TYPE.equals(from.getSourceType()) || from.getCheckpointPage() == null) {
+            throw new IllegalArgumentException("체크포인트가 없는 히스토리입니다: " + from.getId());
+        }
+        if ("SUCCESS".equals(from.getStatus())) {
+            throw new IllegalArgumentException("이미 완료된 전체 수집입니다. 새 전체 수집을 실행하세요.");
         }
 
+        int startPage = from.getCheckpointPage() + 1;
+        log.info("법령 전체 수집 재개: from={}, page={}, 마지막 MST={}", from.getId(), startPage, from.getCheckpointMst());
+
+        KnowledgeFetchHistory history = job != null ? job.getHistory() : new KnowledgeFetchHistory();
+        history.setSourceType(SOURCE_TYPE);
+        history.setStatus("RUNNING");
+        history.setResumedFromId(from.getId());
+        // 재개 직후 실패해도 다시 같은 지점부터 재개할 수 있도록 체크포인트 승계
+        history.setCheckpointPage(from.getCheckpointPage());
+        history.setCheckpointMst(from.getCheckpointMst());
+        history.setParamsJson(String.format("{\"mode\":\"all\",\"target\":\"lsStmd\",\"resumeFrom\":\"%s\",\"startPage\":%d}",
+                from.getId(), startPage));
+        return runFullCrawl(history, startPage, job);
+    }
+
+    /** 전체 수집 공통: 중복 실행 방지 + 히스토리 상태 기록 */
+    private List<Knowledge> runFullCrawl(KnowledgeFetchHistory history, int startPage, IngestionJob job) {
+        if (!fullCrawlRunning.compareAndSet(false, true)) {
+            throw new IllegalStateException("법령 전체 수집이 이미 진행 중입니다.");
+        }
         try {
-            List<Knowledge> laws = fetchAllLawsFromLsStmd();
-            List<Knowledge> saved = saveOrUpdateLaws(laws);
-            if (history.getId() != null) {
-                history.setStatus("SUCCESS");
-                history.setItemCount(saved.size());
-                try { fetchHistoryRepository.save(history); } catch (Exception ignored) {}
+            try {
+                history = fetchHistoryRepository.save(history);
+            } catch (Exception ex) {
+                log.warn("수집 히스토리 저장 실패: {}", ex.getMessage());
             }
-            return saved;
-        } catch (Exception e) {
-            if (history.getId() != null) {
-                history.setStatus("FAILED");
-                history.setErrorMessage(e.getMessage());
-                try { fetchHistoryRepository.save(history); } catch (Exception ignored) {}
+
+            try {
+                List<Knowledge> saved = crawlLsStmd(history, startPage, job);
+                if (history.getId() != null) {
+                    history.setStatus("SUCCESS");
+                    try { fetchHistoryRepository.save(history); } catch (Exception ignored) {}
+                }
+                return saved;
+            } catch (Exception e) {
+                if (history.getId() != null) {
+                    history.setStatus("FAILED");
+                    history.setErrorMessage(e.getMessage());
+                    try { fetchHistoryRepository.save(history); } catch (Exception ignored) {}
+                }
+                throw e;
             }
-            throw e;
+        } finally {
+            fullCrawlRunning.set(false);
         }
     }
 
@@ -140,17 +302,18 @@ public class LawApiService {
      * 수동 업데이트: 특정 법령명으로 검색 및 저장
      * 
      * @param lawName 검색할 법령명 (예: "부가가치세법", "소득세법", "근로기준법")
+     * @param job     비동기 작업 핸들 (없으면 null)
      * @return 저장된 Knowledge 목록
      */
     @Transactional
-    public List<Knowledge> updateLawManually(String lawName) {
+    public List<Knowledge> updateLawManually(String lawName, IngestionJob job) {
         Objects.requireNonNull(lawName, "lawName must not be null");
         if (lawName.isBlank()) {
             throw new IllegalArgumentException("법령명이 비어있습니다.");
         }
         validateApiKey();
 
-        KnowledgeFetchHistory history = new KnowledgeFetchHistory();
+        KnowledgeFetchHistory history = job != null ? job.getHistory() : new KnowledgeFetchHistory();
         history.setSourceType(SOURCE_TYPE);
         history.setStatus("RUNNING");
         history.setParamsJson("{\"lawName\":\"" + lawName.replace("\"", "\\\"") + "\"}");
@@ -161,7 +324,7 @@ public class LawApiService {
         }
 
         try {
-            List<Knowledge> laws = searchLawFromApi(lawName);
+            List<Knowledge> laws = searchLawFromApi(lawName, history, job);
             List<Knowledge> saved = saveOrUpdateLaws(laws);
             if (history.getId() != null) {
                 history.setStatus("SUCCESS");
@@ -182,179 +345,232 @@ public class LawApiService {
     /**
      * 자동 배치 업데이트: 매주 일요일 새벽 2시에 실행
      * 기존 활성화된 법령들의 최신 버전을 체크하여 업데이트
+     * (기본: 증분 동기화, external.law-api.incremental-sync=false면 활성 법령 전체 재수집)
      */
     @Scheduled(cron = "0 0 2 * * SUN")
-    @Transactional
     public void scheduledUpdate() {
         if (lawApiOc == null || lawApiOc.isBlank()) {
             log.warn("[Batch] LAW_API_OC가 설정되지 않아 법령 배치 업데이트를 건너뜁니다.");
             return;
         }
 
+        if (incrementalSync) {
+            try {
+                syncLawsIncrementally(null);
+            } catch (Exception e) {
+                log.error("[Batch] 법령 증분 동기화 실패: {}", e.getMessage() != null ? e.getMessage() : "알 수 없음", e);
+            }
+            return;
+        }
+
         log.info("[Batch] 법령 지식 배치 업데이트 시작...");
-        List<Knowledge> activeLaws = knowledgeRepository.findByIsActiveTrueOrderByUpdatedAtDesc();
-        if (activeLaws == null || activeLaws.isEmpty()) {
+        List<String> titles = knowledgeRepository.findDistinctActiveLawTitles();
+        if (titles == null || titles.isEmpty()) {
             log.info("[Batch] 업데이트할 활성 법령이 없습니다.");
             return;
         }
 
         int updated = 0;
-        for (Knowledge law : activeLaws) {
-            String category = law.getCategory();
-            String title = law.getTitle();
+        for (String title : titles) {
+            try {
+                List<Knowledge> freshData = searchLawFromApi(title, null, null);
+                transactionTemplate.executeWithoutResult(status -> saveOrUpdateLaws(freshData));
+                updated++;
+            } catch (Exception e) {
+                log.error("[Batch] 법령 업데이트 실패: {} - {}", title,
+                        e.getMessage() != null ? e.getMessage() : "알 수 없음");
+            }
+        }
+        log.info("[Batch] 법령 지식 배치 업데이트 완료: {}건 처리", updated);
+    }
+
+    /** 증분 동기화 결과 (검색 결과 법령 수 기준) */
+    public record LawSyncResult(int checked, int refreshed, int skipped, int failed) {}
+
+    /**
+     * 법령 증분 동기화: 활성 법령명으로 검색 목록만 받아 저장된 버전과 비교하고, 바뀐 법령만 본문 조회·저장
+     *
+     * - 같은 MST가 있고 공포일자·시행일자가 같고 content_hash가 있으면 본문 조회 없이 건너뜀
+     * - 본문을 다시 받았는데 hash가 같으면 저장도 건너뜀 (메타만 바뀐 경우 포함해 skipped로 집계)
+     * - 본문 조회 실패 법령은 저장하지 않음 (다음 동기화에서 다시 조회)
+     * - 법령명 단위로 짧은 트랜잭션 커밋
+     *
+     * @param job 비동기 작업 핸들 (진행률=법령명, 법령명 경계에서 취소 확인). 없으면 null
+     */
+    public LawSyncResult syncLawsIncrementally(IngestionJob job) {
+        validateApiKey();
 
-            if (category == null || title == null) continue;
+        KnowledgeFetchHistory history = job != null ? job.getHistory() : new KnowledgeFetchHistory();
+        history.setSourceType(SOURCE_TYPE);
+        history.setStatus("RUNNING");
+        history.setParamsJson("{\"mode\":\"sync\"}");
+        try {
+            history = fetchHistoryRepository.save(history);
+        } catch (Exception ex) {
+            log.warn("수집 히스토리 저장 실패(테이블 없을 수 있음): {}", ex.getMessage());
+        }
 
-            if (category.equals("LAW") || category.startsWith("LAW_")) {
+        try {
+            List<String> titles = knowledgeRepository.findDistinctActiveLawTitles();
+            log.info("[Sync] 법령 증분 동기화 시작: 활성 법령명 {}건", titles.size());
+
+            int checked = 0, refreshed = 0, skipped = 0, failed = 0;
+            Set<String> seenMst = new HashSet<>();
+            for (int i = 0; i < titles.size(); i++) {
+                IngestionJob.checkCancelled(job);
+                String title = titles.get(i);
                 try {
-                    List<Knowledge> freshData = searchLawFromApi(title);
-                    saveOrUpdateLaws(freshData);
-                    updated++;
+                    LawSyncResult r = syncLawTitle(title, seenMst, history);
+                    checked += r.checked();
+                    refreshed += r.refreshed();
+                    skipped += r.skipped();
+                    failed += r.failed();
                 } catch (Exception e) {
-                    log.error("[Batch] 법령 업데이트 실패: {} - {}", title,
+                    log.error("[Sync] 법령 동기화 실패: {} - {}", title,
                             e.getMessage() != null ? e.getMessage() : "알 수 없음");
                 }
+                IngestionJob.report(job, i + 1, titles.size());
+            }
+
+            LawSyncResult result = new LawSyncResult(checked, refreshed, skipped, failed);
+            log.info("[Sync] 법령 증분 동기화 완료: 확인 {}건, 갱신 {}건, 건너뜀 {}건, 본문 실패 {}건",
+                    checked, refreshed, skipped, failed);
+            if (history.getId() != null) {
+                history.setStatus("SUCCESS");
+                history.setItemCount(refreshed);
+                history.setSkippedCount(skipped);
+                try { fetchHistoryRepository.save(history); } catch (Exception ignored) {}
+            }
+            return result;
+        } catch (Exception e) {
+            if (history.getId() != null) {
+                history.setStatus("FAILED");
+                history.setErrorMessage(e.getMessage());
+                try { fetchHistoryRepository.save(history); } catch (Exception ignored) {}
             }
+            throw e;
         }
-        log.info("[Batch] 법령 지식 배치 업데이트 완료: {}건 처리", updated);
     }
 
     /**
-     * 국가법령정보센터 API로 법령 검색
-     * 
-     * API: http://www.law.go.kr/DRF/lawSearch.do?OC={OC}&target=law&type=JSON&query={검색어}
+     * 법령명 1건 동기화: 검색 목록 → 버전 비교 → 바뀐 법령만 본문 조회 → hash 비교 → 저장
+     *
+     * @param seenMst 이번 동기화에서 이미 처리한 MST (여러 법령명 검색에 같은 법령이 나오는 경우 중복 방지)
      */
-    private List<Knowledge> searchLawFromApi(String lawName) {
-        if (lawName == null || lawName.isBlank()) {
-            return Collections.emptyList();
+    private LawSyncResult syncLawTitle(String title, Set<String> seenMst, KnowledgeFetchHistory history) {
+        List<Knowledge> listed = new ArrayList<>();
+        List<KnowledgeLaw> listedRows = new ArrayList<>();
+        searchLawListing(title, listed, listedRows, null);
+
+        Map<String, KnowledgeLaw> rowByMst = new HashMap<>();
+        for (KnowledgeLaw kl : listedRows) {
+            if (seenMst.add(kl.getMst())) rowByMst.put(kl.getMst(), kl);
         }
+        if (rowByMst.isEmpty()) return new LawSyncResult(0, 0, 0, 0);
 
-        List<Knowledge> results = new ArrayList<>();
+        Map<String, KnowledgeLaw> storedByMst = new HashMap<>();
+        for (KnowledgeLaw stored : knowledgeLawRepository.findByMstIn(rowByMst.keySet())) {
+            storedByMst.put(stored.getMst(), stored);
+        }
 
-        try {
-            String encodedQuery = URLEncoder.encode(lawName, StandardCharsets.UTF_8);
-            int display = 100; // API 최대 100건
-            int page = 1;
-
-            List<KnowledgeLaw> lawEntities = new ArrayList<>();
-            while (true) {
-                String url = String.format("%s?OC=%s&target=law&type=JSON&query=%s&display=%d&page=%d",
-                        LAW_SEARCH_URL, lawApiOc, encodedQuery, display, page);
-
-                String maskedUrl = maskApiKeyInUrl(url);
-                log.info("법령 검색 API 호출: query={}, page={}, url={}", lawName, page, maskedUrl);
-                String response = callExternalApi(url);
-                if (response.isBlank()) {
-                    if (page == 1) {
-                        log.warn("법령 검색 API 응답이 비어있습니다: query={}, url={}", lawName, maskedUrl);
-                    }
-                    break;
-                }
-                log.info("법령 API 응답 길이={}, 미리보기={}", response.length(),
-                    response.length() > 400 ? response.substring(0, 400) + "..." : response);
+        // 1) 버전 비교: MST·공포일자·시행일자가 같고 본문 hash가 있으면 본문 조회 생략
+        List<Knowledge> changed = new ArrayList<>();
+        int skipped = 0;
+        for (Knowledge k : listed) {
+            KnowledgeLaw row = k.getExternalId() != null ? rowByMst.remove(k.getExternalId()) : null;
+            if (row == null) continue;
+            if (isSameVersion(storedByMst.get(row.getMst()), row)) {
+                skipped++;
+            } else {
+                changed.add(k);
+                rowByMst.put(row.getMst(), row);
+            }
+        }
+        int checked = skipped + changed.size();
+        if (changed.isEmpty()) {
+            log.info("[Sync] {}: {}건 모두 변경 없음", title, checked);
+            return new LawSyncResult(checked, 0, skipped, 0);
+        }
 
-                JsonNode root = objectMapper.readTree(response);
-                if (root == null) {
-                    log.warn("법령 API JSON 파싱 결과 root=null");
-                    break;
+        // 2) 바뀐 법령만 본문 조회 → hash가 같으면 저장 생략, 본문 실패는 다음 동기화로 미룸
+        List<Knowledge> toSave = new ArrayList<>(changed.size());
+        int failed = 0;
+        try (DetailEnrichResult detail = enrichLawDetails(changed)) {
+            recordDetailStats(history, detail);
+            List<KnowledgeLaw> rowsToSave = new ArrayList<>(changed.size());
+            for (Knowledge k : changed) {
+                KnowledgeLaw row = rowByMst.get(k.getExternalId());
+                if (k.getArticleBody() == null) {
+                    failed++;
+                    continue;
                 }
-
-                JsonNode lawSearch = root.path("LawSearch");
-                String resultCode = lawSearch.path("resultCode").asText("");
-                String totalCnt = lawSearch.path("totalCnt").asText("");
-                if (page == 1) {
-                    log.info("법령 API resultCode={}, totalCnt={}", resultCode, totalCnt);
-                }
-                if (!"00".equals(resultCode)) {
-                    String resultMsg = lawSearch.path("resultMsg").asText("");
-                    log.warn("법령 API 오류: resultCode={}, resultMsg={}", resultCode, resultMsg);
-                }
-
-                JsonNode lawList = lawSearch.path("law");
-                if (lawList.isMissingNode() || lawList.isNull()) {
-                    java.util.Iterator<String> keys = lawSearch.isObject() ? lawSearch.fieldNames() : java.util.Collections.emptyIterator();
-                    StringBuilder keyList = new StringBuilder();
-                    keys.forEachRemaining(k -> keyList.append(k).append(","));
-                    log.warn("법령 API law 노드 없음 또는 null. LawSearch 하위 키: {}", keyList);
-                    break;
+                KnowledgeLaw stored = storedByMst.get(row.getMst());
+                if (stored != null && contentHash(k.getArticleBody()).equals(stored.getContentHash())
+                        && Objects.equals(stored.getProclamationDate(), row.getProclamationDate())
+                        && Objects.equals(stored.getEnforceDate(), row.getEnforceDate())) {
+                    skipped++;
+                    continue;
                 }
+                toSave.add(k);
+                rowsToSave.add(row);
+            }
 
-                // 단일 객체 또는 배열 모두 처리
-                int fetched = 0;
-                if (lawList.isArray()) {
-                    for (JsonNode lawNode : lawList) {
-                        if (lawNode == null) continue;
-                        Knowledge k = parseLawNode(lawNode);
-                        if (k != null) {
-                            results.add(k);
-                            KnowledgeLaw kl = parseLawNodeToKnowledgeLaw(lawNode);
-                            if (kl != null) {
-                                KnowledgeLaw toSave = Objects.requireNonNull(
-                                        knowledgeLawRepository.findByMst(kl.getMst())
-                                                .map(existing -> {
-                                                    existing.setLawNameKo(kl.getLawNameKo());
-                                                    existing.setLawType(kl.getLawType());
-                                                    existing.setDeptName(kl.getDeptName());
-                                                    existing.setProclamationNo(kl.getProclamationNo());
-                                                    existing.setProclamationDate(kl.getProclamationDate());
-                                                    existing.setEnforceDate(kl.getEnforceDate());
-                                                    existing.setLawId(kl.getLawId());
-                                                    existing.setContent(kl.getContent());
-                                                    existing.setSourceUrl(kl.getSourceUrl());
-                                                    return existing;
-                                                })
-                                                .orElse(kl),
-                                        "toSave must not be null");
-                                lawEntities.add(knowledgeLawRepository.save(toSave));
-                            }
-                        }
-                        fetched++;
-                    }
-                } else {
-                    Knowledge k = parseLawNode(lawList);
-                    if (k != null) {
-                        results.add(k);
-                        KnowledgeLaw kl = parseLawNodeToKnowledgeLaw(lawList);
-                        if (kl != null) {
-                            KnowledgeLaw toSave = Objects.requireNonNull(
-                                    knowledgeLawRepository.findByMst(kl.getMst())
-                                            .map(existing -> {
-                                                existing.setLawNameKo(kl.getLawNameKo());
-                                                existing.setLawType(kl.getLawType());
-                                                existing.setDeptName(kl.getDeptName());
-                                                existing.setProclamationNo(kl.getProclamationNo());
-                                                existing.setProclamationDate(kl.getProclamationDate());
-                                                existing.setEnforceDate(kl.getEnforceDate());
-                                                existing.setLawId(kl.getLawId());
-                                                existing.setContent(kl.getContent());
-                                                existing.setSourceUrl(kl.getSourceUrl());
-                                                return existing;
-                                            })
-                                            .orElse(kl),
-                                    "toSave must not be null");
-                            lawEntities.add(knowledgeLawRepository.save(toSave));
-                        }
-                    }
-                    fetched = 1;
-                }
-                if (fetched < display) break;
-                page++;
-                if (page > 20) break; // 무한루프 방지 (최대 20페이지 = 2000건)
+            if (!toSave.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    writeLawRows(rowsToSave, toSave, detail.spoolByMst());
+                    saveOrUpdateLaws(toSave);
+                });
             }
+        }
+        log.info("[Sync] {}: 확인 {}건, 갱신 {}건, 건너뜀 {}건, 본문 실패 {}건",
+                title, checked, toSave.size(), skipped, failed);
+        return new LawSyncResult(checked, toSave.size(), skipped, failed);
+    }
 
-            // 전체 결과에 대해 법령 본문(조문) 조회 및 저장
-            for (int i = 0; i < results.size(); i++) {
-                Knowledge law = safeGet(results, i);
-                if (law == null) continue;
-                enrichLawDetail(law);
-                if (i < lawEntities.size()) {
-                    KnowledgeLaw entity = safeGet(lawEntities, i);
-                    String articleBody = law.getArticleBody();
-                    if (entity != null && articleBody != null) {
-                        entity.setArticleBody(articleBody);
-                        knowledgeLawRepository.save(entity);
-                    }
-                }
+    /** 저장된 법령과 검색 결과의 버전 비교 (본문 hash가 없으면 본문 미조회 상태이므로 다름으로 봄) */
+    private static boolean isSameVersion(KnowledgeLaw stored, KnowledgeLaw listed) {
+        return stored != null
+                && stored.getContentHash() != null
+                && Objects.equals(stored.getMst(), listed.getMst())
+                && Objects.equals(emptyToNull(stored.getProclamationDate()), emptyToNull(listed.getProclamationDate()))
+                && Objects.equals(emptyToNull(stored.getEnforceDate()), emptyToNull(listed.getEnforceDate()));
+    }
+
+    private static String emptyToNull(String s) {
+        return s == null || s.isEmpty() ? null : s;
+    }
+
+    /** 본문 SHA-256 (hex) */
+    static String contentHash(String articleBody) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(articleBody.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 국가법령정보센터 API로 법령 검색 + 본문 조회 + knowledge_law 저장
+     *
+     * @param history 본문 조회 처리량을 기록할 히스토리 (없으면 null)
+     * @param job     비동기 작업 핸들 (진행률=페이지, 없으면 null)
+     */
+    private List<Knowledge> searchLawFromApi(String lawName, KnowledgeFetchHistory history, IngestionJob job) {
+        if (lawName == null || lawName.isBlank()) {
+            return Collections.emptyList();
+        }
+
+        List<Knowledge> results = new ArrayList<>();
+
+        try {
+            List<KnowledgeLaw> lawRows = new ArrayList<>();
+            searchLawListing(lawName, results, lawRows, job);
+
+            // 전체 결과에 대해 법령 본문(조문) 병렬 조회 후 knowledge_law 일괄 저장
+            try (DetailEnrichResult detail = enrichLawDetails(results)) {
+                recordDetailStats(history, detail);
+                transactionTemplate.executeWithoutResult(status -> writeLawRows(lawRows, results, detail.spoolByMst()));
             }
 
             log.info("법령 검색 완료: {}건 조회됨", results.size());
@@ -367,137 +583,247 @@ public class LawApiService {
         return results;
     }
 
+    /**
+     * 법령 검색 목록만 조회 (본문 조회·저장 없음)
+     *
+     * API: http://www.law.go.kr/DRF/lawSearch.do?OC={OC}&target=law&type=JSON&query={검색어}
+     *
+     * @param results 파싱된 Knowledge를 담을 목록
+     * @param lawRows 파싱된 knowledge_law 행을 담을 목록
+     * @param job     비동기 작업 핸들 (진행률=페이지, 없으면 null)
+     */
+    private void searchLawListing(String lawName, List<Knowledge> results, List<KnowledgeLaw> lawRows, IngestionJob job) {
+        String encodedQuery = URLEncoder.encode(lawName, StandardCharsets.UTF_8);
+        int display = 100; // API 최대 100건
+        int page = 1;
+
+        while (true) {
+            IngestionJob.checkCancelled(job);
+            String url = String.format("%s?OC=%s&target=law&type=JSON&query=%s&display=%d&page=%d",
+                    LAW_SEARCH_URL, lawApiOc, encodedQuery, display, page);
+
+            String maskedUrl = maskApiKeyInUrl(url);
+            log.info("법령 검색 API 호출: query={}, page={}, url={}", lawName, page, maskedUrl);
+
+            // 응답 스트림에서 law 레코드를 한 건씩 파싱 (단일 객체 또는 배열 모두 처리, 재시도 시 페이지 버퍼 초기화)
+            List<Knowledge> pageResults = new ArrayList<>(display);
+            List<KnowledgeLaw> pageLawRows = new ArrayList<>(display);
+            JsonRecordStreamReader.Result parsed = streamExternalApi(url, SEARCH_RECORD_PATHS, SEARCH_SCALAR_PATHS,
+                    () -> { pageResults.clear(); pageLawRows.clear(); },
+                    (path, lawNode) -> {
+                        collectLaw(parseLawNode(lawNode), parseLawNodeToKnowledgeLaw(lawNode), pageResults, pageLawRows);
+                        return true;
+                    });
+            results.addAll(pageResults);
+            lawRows.addAll(pageLawRows);
+            if (parsed.empty()) {
+                if (page == 1) {
+                    log.warn("법령 검색 API 응답이 비어있습니다: query={}, url={}", lawName, maskedUrl);
+                }
+                break;
+            }
+
+            String resultCode = parsed.scalar("LawSearch.resultCode");
+            if (page == 1) {
+                log.info("법령 API resultCode={}, totalCnt={}", resultCode, parsed.scalar("LawSearch.totalCnt"));
+            }
+            if (!"00".equals(resultCode)) {
+                log.warn("법령 API 오류: resultCode={}, resultMsg={}", resultCode, parsed.scalar("LawSearch.resultMsg"));
+            }
+
+            int fetched = parsed.recordCount();
+            int totalCnt = parseIntSafe(parsed.scalar("LawSearch.totalCnt"), 0);
+            IngestionJob.report(job, page, totalCnt > 0 ? Math.min(20, (totalCnt + display - 1) / display) : null);
+            if (fetched == 0) {
+                log.warn("법령 API law 노드 없음 또는 null: query={}, page={}", lawName, page);
+                break;
+            }
+            if (fetched < display) break;
+            page++;
+            if (page > 20) break; // 무한루프 방지 (최대 20페이지 = 2000건)
+        }
+    }
+
     /**
      * 법령 체계도(lsStmd) API로 전체 법령 목록 페이지네이션 조회
      * target=lsStmd, query 없음 → 전체 목록 (display=100, page=1,2,...)
+     *
+     * 페이지마다: 목록 파싱 → (앞에서부터 lsStmdEnrichLimit건만) 본문 병렬 조회 →
+     * knowledge_law·knowledge_law_article·knowledge_base 저장 + 체크포인트 기록을 한 트랜잭션으로 커밋.
+     * HTTP 호출은 트랜잭션 밖에서 수행해 커넥션을 오래 점유하지 않는다.
+     *
+     * @param history   체크포인트·처리량을 기록할 히스토리
+     * @param startPage 시작 페이지 (재개 시 체크포인트 + 1)
+     * @param job       비동기 작업 핸들 (진행률=페이지, 페이지 경계에서 취소 확인). 없으면 null
      */
-    private List<Knowledge> fetchAllLawsFromLsStmd() {
-        List<Knowledge> results = new ArrayList<>();
+    private List<Knowledge> crawlLsStmd(KnowledgeFetchHistory history, int startPage, IngestionJob job) {
+        List<Knowledge> saved = new ArrayList<>();
         int display = 100;
-        int page = 1;
+        int page = Math.max(1, startPage);
         int maxPages = 500; // 무한루프 방지 (최대 5만 건)
 
         try {
             while (page <= maxPages) {
+                IngestionJob.checkCancelled(job);
                 String url = String.format("%s?OC=%s&target=lsStmd&type=JSON&display=%d&page=%d",
                         LAW_SEARCH_URL, lawApiOc, display, page);
 
                 log.info("법령 전체 수집(lsStmd) API 호출: page={}", page);
-                String response = callExternalApi(url);
-                if (response.isBlank()) {
-                    if (page == 1) log.warn("법령 lsStmd API 응답이 비어있습니다.");
+
+                // 페이지 단위로 모은 뒤 resultCode 확인 후 반영 (오류 페이지는 버림)
+                List<Knowledge> pageResults = new ArrayList<>(display);
+                List<KnowledgeLaw> pageLawRows = new ArrayList<>(display);
+                JsonRecordStreamReader.Result parsed = streamExternalApi(url, LSSTMD_RECORD_PATHS, LSSTMD_SCALAR_PATHS,
+                        () -> { pageResults.clear(); pageLawRows.clear(); },
+                        (path, node) -> {
+                            collectLaw(parseLsStmdNode(node), parseLsStmdNodeToKnowledgeLaw(node), pageResults, pageLawRows);
+                            return true;
+                        });
+                if (parsed.empty()) {
+                    if (page == startPage) log.warn("법령 lsStmd API 응답이 비어있습니다: page={}", page);
                     break;
                 }
 
-                JsonNode root = objectMapper.readTree(response);
-                if (root == null) break;
-
-                JsonNode lawSearch = root.path("LawSearch");
-                if (lawSearch.isMissingNode()) lawSearch = root.path("LsStmdSearch");
-                if (lawSearch.isMissingNode()) lawSearch = root.path("lsStmd");
-                String resultCode = lawSearch.path("resultCode").asText("");
-                int totalCnt = parseIntSafe(lawSearch.path("totalCnt"), 0);
-                if (page == 1) {
+                String resultCode = parsed.firstScalar("LawSearch.resultCode", "LsStmdSearch.resultCode", "lsStmd.resultCode");
+                int totalCnt = parseIntSafe(parsed.firstScalar("LawSearch.totalCnt", "LsStmdSearch.totalCnt", "lsStmd.totalCnt"), 0);
+                if (page == startPage) {
                     log.info("법령 lsStmd API resultCode={}, totalCnt={}", resultCode, totalCnt);
                 }
                 if (!"00".equals(resultCode)) {
-                    log.warn("법령 lsStmd API 오류: resultCode={}", resultCode);
-                    break;
+                    // 결과코드 오류는 일시 장애일 수 있으므로 실패로 남겨 체크포인트부터 재개 가능하게 함
+                    throw new IllegalStateException("법령 lsStmd API 오류: resultCode=" + resultCode + ", page=" + page);
                 }
 
-                JsonNode lawList = lawSearch.path("law");
-                if (lawList.isMissingNode()) lawList = lawSearch.path("lsStmd");
-                if (lawList.isMissingNode() || lawList.isNull()) break;
-
-                int fetched = 0;
-                if (lawList.isArray()) {
-                    for (JsonNode node : lawList) {
-                        if (node == null) continue;
-                        Knowledge k = parseLsStmdNode(node);
-                        if (k != null) {
-                            results.add(k);
-                            KnowledgeLaw kl = parseLsStmdNodeToKnowledgeLaw(node);
-                            if (kl != null) {
-                                KnowledgeLaw toSave = Objects.requireNonNull(
-                                        knowledgeLawRepository.findByMst(kl.getMst())
-                                                .map(existing -> {
-                                                    existing.setLawNameKo(kl.getLawNameKo());
-                                                    existing.setLawType(kl.getLawType());
-                                                    existing.setDeptName(kl.getDeptName());
-                                                    existing.setProclamationNo(kl.getProclamationNo());
-                                                    existing.setProclamationDate(kl.getProclamationDate());
-                                                    existing.setEnforceDate(kl.getEnforceDate());
-                                                    existing.setLawId(kl.getLawId());
-                                                    existing.setContent(kl.getContent());
-                                                    existing.setSourceUrl(kl.getSourceUrl());
-                                                    return existing;
-                                                })
-                                                .orElse(kl),
-                                        "toSave must not be null");
-                                knowledgeLawRepository.save(toSave);
-                            }
-                            fetched++;
-                        }
-                    }
-                } else {
-                    Knowledge k = parseLsStmdNode(lawList);
-                    if (k != null) {
-                        results.add(k);
-                        KnowledgeLaw kl = parseLsStmdNodeToKnowledgeLaw(lawList);
-                        if (kl != null) {
-                            KnowledgeLaw toSave = Objects.requireNonNull(
-                                    knowledgeLawRepository.findByMst(kl.getMst())
-                                            .map(existing -> {
-                                                existing.setLawNameKo(kl.getLawNameKo());
-                                                existing.setLawType(kl.getLawType());
-                                                existing.setDeptName(kl.getDeptName());
-                                                existing.setProclamationNo(kl.getProclamationNo());
-                                                existing.setProclamationDate(kl.getProclamationDate());
-                                                existing.setEnforceDate(kl.getEnforceDate());
-                                                existing.setLawId(kl.getLawId());
-                                                existing.setContent(kl.getContent());
-                                                existing.setSourceUrl(kl.getSourceUrl());
-                                                return existing;
-                                            })
-                                            .orElse(kl),
-                                    "toSave must not be null");
-                            knowledgeLawRepository.save(toSave);
-                        }
-                        fetched = 1;
-                    }
+                int fetched = pageResults.size();
+                if (fetched == 0) break;
+                int totalPages = totalCnt > 0 ? Math.min(maxPages, (totalCnt + display - 1) / display) : 0;
+
+                // lsStmd: 전체 목록 기준 앞에서부터 lsStmdEnrichLimit건만 본문(조문) 병렬 enrichment (timeout 방지)
+                int offset = (page - 1) * display;
+                int enrichCount = Math.max(0, Math.min(fetched, lsStmdEnrichLimit - offset));
+                List<Knowledge> enrichTargets = new ArrayList<>(pageResults.subList(0, enrichCount));
+                int committedPage = page;
+                List<Knowledge> pageSaved;
+                try (DetailEnrichResult detail = enrichLawDetails(enrichTargets)) {
+                    recordDetailStats(history, detail);
+                    pageSaved = transactionTemplate.execute(status -> {
+                        writeLawRows(pageLawRows, enrichTargets, detail.spoolByMst());
+                        List<Knowledge> s = saveOrUpdateLaws(pageResults);
+                        saveCheckpoint(history, committedPage, lastMst(pageResults), s.size());
+                        return s;
+                    });
                 }
+                if (pageSaved != null) saved.addAll(pageSaved);
+                IngestionJob.report(job, page, totalPages > 0 ? totalPages : null);
 
-                if (fetched == 0) break;
-                if (fetched < display || results.size() >= totalCnt) break;
+                if (fetched < display || offset + fetched >= totalCnt) break;
                 page++;
             }
 
-            // lsStmd: 처음 30건에 대해 본문(조문) enrichment (전체 시 timeout 방지)
-            int lsStmdEnrichLimit = Math.min(results.size(), 30);
-            for (int i = 0; i < lsStmdEnrichLimit; i++) {
-                Knowledge k = safeGet(results, i);
-                if (k != null) {
-                    enrichLawDetail(k);
-                    String mst = k.getExternalId();
-                    if (mst != null && !mst.isBlank() && k.getArticleBody() != null) {
-                        knowledgeLawRepository.findByMst(mst).ifPresent(entity -> {
-                            entity.setArticleBody(k.getArticleBody());
-                            knowledgeLawRepository.save(entity);
-                        });
-                    }
-                }
+            log.info("법령 전체 수집 완료: {}건 (시작 페이지 {}, 마지막 페이지 {})", saved.size(), startPage, page);
+        } catch (Exception e) {
+            Integer checkpoint = history.getCheckpointPage();
+            log.error("법령 lsStmd 전체 수집 실패: page={}, 체크포인트={} - {}", page, checkpoint,
+                    e.getMessage() != null ? e.getMessage() : "알 수 없음", e);
+            String resumeHint = checkpoint != null ? " (page " + (checkpoint + 1) + "부터 재개 가능)" : "";
+            throw new RuntimeException("법령 전체 수집 실패: " + (e.getMessage() != null ? e.getMessage() : "알 수 없음") + resumeHint, e);
+        }
+
+        return saved;
+    }
+
+    /** 페이지 커밋과 같은 트랜잭션에서 체크포인트 기록 (데이터와 체크포인트가 항상 일치) */
+    private void saveCheckpoint(KnowledgeFetchHistory history, int page, String mst, int savedCount) {
+        history.setCheckpointPage(page);
+        if (mst != null) history.setCheckpointMst(mst);
+        history.setCheckpointAt(LocalDateTime.now());
+        history.setItemCount((history.getItemCount() != null ? history.getItemCount() : 0) + savedCount);
+        if (history.getId() != null) {
+            fetchHistoryRepository.save(history);
+        }
+    }
+
+    private static String lastMst(List<Knowledge> laws) {
+        for (int i = laws.size() - 1; i >= 0; i--) {
+            String mst = laws.get(i).getExternalId();
+            if (mst != null && !mst.isEmpty()) return mst;
+        }
+        return null;
+    }
+
+    /**
+     * 파싱 결과 수집: Knowledge가 있으면 결과에 추가하고, knowledge_law 행도 있으면 함께 모은다
+     *
+     * @return Knowledge가 추가되었으면 true
+     */
+    private static boolean collectLaw(Knowledge k, KnowledgeLaw kl, List<Knowledge> results, List<KnowledgeLaw> lawRows) {
+        if (k == null) return false;
+        results.add(k);
+        if (kl != null) lawRows.add(kl);
+        return true;
+    }
+
+    /**
+     * knowledge_law 일괄 저장 (mst 기준 upsert) + 본문을 받은 법령의 조문(knowledge_law_article) 교체
+     * 본문이 조회된 법령은 article_body·content_hash도 함께 반영, 조회되지 않은 법령은 기존 본문·조문 유지
+     * 호출부 트랜잭션 안에서 실행 (법령 행과 조문이 함께 커밋·롤백)
+     *
+     * @param spoolByMst 본문 조회에서 기록한 MST별 조문 스풀 (enrichLawDetails)
+     */
+    private void writeLawRows(List<KnowledgeLaw> lawRows, List<Knowledge> enriched,
+                              Map<String, LawArticleSpool> spoolByMst) {
+        if (lawRows == null || lawRows.isEmpty()) return;
+        Map<String, String> bodyByMst = new HashMap<>();
+        for (Knowledge k : enriched) {
+            if (k != null && k.getExternalId() != null && k.getArticleBody() != null) {
+                bodyByMst.put(k.getExternalId(), k.getArticleBody());
             }
-            if (lsStmdEnrichLimit > 0) {
-                log.info("법령 lsStmd 본문 enrichment: {}건", lsStmdEnrichLimit);
+        }
+        SourceTableBatchWriter<KnowledgeLaw> writer = batchWriterFactory.open(SourceTableMappings.LAW);
+        for (KnowledgeLaw kl : lawRows) {
+            String body = bodyByMst.get(kl.getMst());
+            if (body != null) {
+                kl.setArticleBody(body);
+                kl.setContentHash(contentHash(body));
             }
-
-            log.info("법령 전체 수집 완료: {}건", results.size());
-        } catch (Exception e) {
-            log.error("법령 lsStmd 전체 수집 실패: {}", e.getMessage() != null ? e.getMessage() : "알 수 없음", e);
-            throw new RuntimeException("법령 전체 수집 실패: " + (e.getMessage() != null ? e.getMessage() : "알 수 없음"), e);
+            writer.add(kl);
         }
+        writer.close();
+        BatchWriterStats stats = writer.getStats();
+        log.info("knowledge_law 일괄 저장: {}건 (신규 {}, 갱신 {}), {}행/초, flush 평균 {}ms",
+                stats.rowsWritten(), stats.inserted(), stats.updated(),
+                String.format("%.0f", stats.rowsPerSecond()), String.format("%.1f", stats.avgFlushMs()));
+        writeLawArticles(bodyByMst.keySet(), spoolByMst);
+    }
 
-        return results;
+    /**
+     * 법령별 조문 upsert 후 이번 조문 수 뒤에 남은 이전 조문 삭제
+     * 조문은 스풀에서 1건씩 읽어 writer에 넘기므로 힙에는 청크(ARTICLE_CHUNK_SIZE)만큼만 올라감
+     */
+    private void writeLawArticles(Set<String> msts, Map<String, LawArticleSpool> spoolByMst) {
+        if (spoolByMst == null || spoolByMst.isEmpty()) return;
+        SourceTableBatchWriter<KnowledgeLawArticle> writer =
+                batchWriterFactory.open(SourceTableMappings.LAW_ARTICLE, ARTICLE_CHUNK_SIZE);
+        Map<String, Integer> countByMst = new HashMap<>();
+        for (String mst : msts) {
+            LawArticleSpool spool = spoolByMst.get(mst);
+            if (spool == null || spool.size() == 0) continue;
+            try {
+                spool.drainTo(writer::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException("법령 조문 임시 파일 읽기 실패: MST=" + mst, e);
+            }
+            countByMst.put(mst, spool.size());
+        }
+        writer.close();
+        int removed = 0;
+        for (Map.Entry<String, Integer> e : countByMst.entrySet()) {
+            removed += lawArticleRepository.deleteByMstAndSeqFrom(e.getKey(), e.getValue());
+        }
+        if (!countByMst.isEmpty()) {
+            log.debug("법령 조문 적재: 법령 {}건, 조문 {}건 (이전 잔여 {}건 삭제)",
+                    countByMst.size(), writer.getStats().rowsWritten(), removed);
+        }
     }
 
     /** lsStmd 응답 형식 파싱 (법령명, 법령일련번호 등) */
@@ -633,16 +959,14 @@ public class LawApiService {
         return url.replace(lawApiOc, "***");
     }
 
-    private static <T> T safeGet(List<T> list, int index) {
-        if (list == null || index < 0 || index >= list.size()) return null;
-        return list.get(index);
-    }
-
     private int parseIntSafe(JsonNode node, int defaultValue) {
         if (node == null || node.isMissingNode()) return defaultValue;
         if (node.isNumber()) return node.asInt();
-        String s = node.asText("");
-        if (s.isEmpty()) return defaultValue;
+        return parseIntSafe(node.asText(""), defaultValue);
+    }
+
+    private int parseIntSafe(String s, int defaultValue) {
+        if (s == null || s.isEmpty()) return defaultValue;
         try {
             return Integer.parseInt(s.trim());
         } catch (NumberFormatException e) {
@@ -662,18 +986,88 @@ public class LawApiService {
         return value;
     }
 
-    /** 본문 저장 시 조문 최대 개수 */
-    private static final int MAX_ARTICLES_ENRICH = 80;
-    /** 본문 저장 시 content 최대 길이 (DB TEXT 제한 고려) */
+    /** article_body(미리보기) 최대 길이. 조문 전체는 knowledge_law_article에 상한 없이 저장 */
     private static final int MAX_CONTENT_LENGTH = 30_000;
+    /** knowledge_law_article flush 1회당 조문 수 */
+    private static final int ARTICLE_CHUNK_SIZE = 200;
+
+    /**
+     * 본문 병렬 조회 결과 (요청 건수, 성공 건수, 소요시간, MST별 조문 스풀: 저장은 호출부 트랜잭션에서 writeLawRows)
+     * 저장 후(또는 실패 시) close로 스풀 임시 파일 삭제
+     */
+    private record DetailEnrichResult(int requested, int enriched, long elapsedMs,
+                                      Map<String, LawArticleSpool> spoolByMst) implements AutoCloseable {
+        int failed() { return requested - enriched; }
+
+        @Override
+        public void close() {
+            spoolByMst.values().forEach(LawArticleSpool::close);
+        }
+    }
+
+    /**
+     * 여러 법령의 본문(조문)을 가상 스레드로 병렬 조회
+     *
+     * - 동시 요청 수는 detailConcurrency로 제한 (API 서버 부하 고려)
+     * - 각 작업은 자기 Knowledge만 수정하므로 결과 순서는 입력 순서 그대로
+     * - 항목별 실패는 해당 항목만 본문 없이 남기고 나머지는 계속 진행
+     */
+    private DetailEnrichResult enrichLawDetails(List<Knowledge> laws) {
+        if (laws == null || laws.isEmpty()) return new DetailEnrichResult(0, 0, 0L, Map.of());
+
+        Semaphore permits = new Semaphore(Math.max(1, detailConcurrency));
+        Map<String, LawArticleSpool> spoolByMst = new ConcurrentHashMap<>();
+        long startNanos = System.nanoTime();
+        List<Future<Boolean>> futures = new ArrayList<>(laws.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Knowledge law : laws) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return enrichLawDetail(law, spoolByMst);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        } // close()가 모든 작업 완료까지 대기
+
+        int enriched = 0;
+        for (Future<Boolean> future : futures) {
+            try {
+                if (Boolean.TRUE.equals(future.get())) enriched++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                log.warn("법령 본문 병렬 조회 작업 실패: {}",
+                        e.getCause() != null ? e.getCause().getMessage() : "알 수 없음");
+            }
+        }
+        long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("법령 본문 병렬 조회: 대상 {}건, 성공 {}건, {}ms (동시 {}개)",
+                laws.size(), enriched, elapsedMs, Math.max(1, detailConcurrency));
+        return new DetailEnrichResult(laws.size(), enriched, elapsedMs, spoolByMst);
+    }
+
+    /** 본문 조회 처리량을 히스토리에 누적 (저장은 호출부에서) */
+    private void recordDetailStats(KnowledgeFetchHistory history, DetailEnrichResult detail) {
+        if (history == null || detail == null) return;
+        history.setDetailCount((history.getDetailCount() != null ? history.getDetailCount() : 0) + detail.enriched());
+        history.setDetailFailedCount((history.getDetailFailedCount() != null ? history.getDetailFailedCount() : 0) + detail.failed());
+        history.setDetailElapsedMs((history.getDetailElapsedMs() != null ? history.getDetailElapsedMs() : 0L) + detail.elapsedMs());
+    }
 
     /**
      * 개별 법령의 상세 내용(조문) 조회하여 Knowledge의 content를 본문까지 저장
      *
      * API: http://www.law.go.kr/DRF/lawService.do?OC={OC}&target=law&MST={법령일련번호}&type=JSON
+     *
+     * @param spoolByMst 조회한 조문 스풀을 MST별로 담을 곳 (본문을 받은 경우만)
+     * @return 본문이 저장되었으면 true
      */
-    private void enrichLawDetail(Knowledge law) {
-        if (law == null) return;
+    private boolean enrichLawDetail(Knowledge law, Map<String, LawArticleSpool> spoolByMst) {
+        if (law == null) return false;
 
         String mst = law.getExternalId();
         if (mst == null || mst.isBlank()) {
@@ -685,115 +1079,252 @@ public class LawApiService {
                 mst = content.substring(startIdx, endIdx).trim();
             }
         }
-        if (mst == null || mst.isEmpty()) return;
+        if (mst == null || mst.isEmpty()) return false;
 
+        LawArticleSpool spool = null;
         try {
-            String articleBody = fetchLawDetailContent(mst);
+            spool = LawArticleSpool.create(mst);
+            String articleBody = fetchLawDetailContent(mst, spool);
             if (articleBody != null && !articleBody.isEmpty()) {
+                spool.finish();
                 law.setArticleBody(articleBody);
+                LawArticleSpool previous = spoolByMst.put(mst, spool);
+                if (previous != null) previous.close();
+                spool = null;
                 log.debug("법령 본문 저장 완료: {} ({}자)", law.getTitle(), articleBody.length());
+                return true;
             }
         } catch (Exception e) {
             log.warn("법령 상세 조회 실패: {} - {}",
                     (law.getTitle() != null ? law.getTitle() : "unknown"),
                     e.getMessage() != null ? e.getMessage() : "알 수 없음");
+        } finally {
+            if (spool != null) spool.close();
         }
+        return false;
     }
 
     /**
      * lawService.do API로 MST에 해당하는 법령 본문(조문) 전체 조회
      *
-     * @return 메타정보 + 조문 본문 (최대 MAX_CONTENT_LENGTH자), 실패 시 null
+     * 응답(수 MB 조문단위)을 스트리밍으로 읽으며 조문 1건마다 knowledge_law_article 행을 만든다 (상한 없음).
+     * 조문은 스풀(임시 파일)에 기록만 하고, 저장은 법령 행과 같은 트랜잭션(writeLawRows)에서 스풀을 다시 읽어 한다.
+     * 반환값은 knowledge_base·knowledge_law.article_body용 미리보기 (앞에서부터 MAX_CONTENT_LENGTH자).
+     * MST별 응답은 디스크 캐시에서 먼저 찾는다 (streamLawDetail).
+     *
+     * @param spool 조문 행을 기록할 스풀 (재시도 시 비움)
+     * @return 메타정보 + 조문 본문 미리보기 (최대 MAX_CONTENT_LENGTH자), 실패 시 null
      */
-    private String fetchLawDetailContent(String mst) {
+    private String fetchLawDetailContent(String mst, LawArticleSpool spool) {
         if (mst == null || mst.isBlank()) return null;
 
         String url = String.format("%s?OC=%s&target=law&MST=%s&type=JSON",
                 LAW_SERVICE_URL, lawApiOc, mst);
-        String response = callExternalApi(url);
-        if (response.isBlank()) return null;
 
         try {
-            JsonNode root = objectMapper.readTree(response);
-            if (root == null) return null;
+            StringBuilder header = new StringBuilder(128);
+            StringBuilder body = new StringBuilder(2048);
+            int[] count = {0};
+            int[] seq = {0};
+            JsonRecordStreamReader.Result parsed = streamLawDetail(mst, url,
+                    () -> { header.setLength(0); body.setLength(0); spool.reset(); count[0] = 0; seq[0] = 0; },
+                    (path, node) -> {
+                        if (path.endsWith(DETAIL_BASIC_INFO)) {
+                            header.setLength(0);
+                            header.append(formatLawDetailHeader(node, mst));
+                            return true;
+                        }
+                        KnowledgeLawArticle article = toLawArticle(node, mst, seq[0]);
+                        if (article != null) {
+                            spool.add(article);
+                            seq[0]++;
+                        }
+                        if (body.length() < MAX_CONTENT_LENGTH && appendArticle(body, node)) {
+                            count[0]++;
+                        }
+                        return true;
+                    });
+            if (parsed.recordCount() == 0) return null;
+
+            StringBuilder sb = new StringBuilder(header.length() + body.length() + 16);
+            sb.append(header.length() > 0 ? header : "[법령] (MST: " + mst + ")");
+            if (count[0] > 0) {
+                sb.append("\n\n[조문 본문]\n").append(body);
+            }
 
-            JsonNode lawInfo = root.path("법령");
-            if (lawInfo.isMissingNode()) {
-                lawInfo = root.path("Law");
+            String result = sb.toString();
+            return result.length() > MAX_CONTENT_LENGTH
+                    ? result.substring(0, MAX_CONTENT_LENGTH) + "..."
+                    : result;
+        } catch (Exception e) {
+            log.warn("법령 상세 파싱 실패 MST={}: {}", mst, e.getMessage());
+            return null;
+        }
+    }
+
+    /** 조문단위 레코드 → knowledge_law_article 행 (내용 없는 조문은 null) */
+    private KnowledgeLawArticle toLawArticle(JsonNode node, String mst, int seq) {
+        StringBuilder sb = new StringBuilder(getNodeText(node, "조문내용", "articleContent").trim());
+        appendSubUnits(sb, node.path("항"), "항내용", "호");
+        String text = sb.toString().trim();
+        if (text.isEmpty()) return null;
+        String key = getNodeText(node, "조문키", "articleKey");
+        KnowledgeLawArticle a = new KnowledgeLawArticle();
+        a.setMst(mst);
+        a.setArticleKey(key.isEmpty() ? String.format("%06d", seq) : key);
+        a.setSeq(seq);
+        a.setArticleNo(emptyToNull(getNodeText(node, "조문번호", "articleNo")));
+        a.setArticleTitle(emptyToNull(getNodeText(node, "조문제목", "articleTitle")));
+        a.setArticleType(emptyToNull(getNodeText(node, "조문여부", "articleType")));
+        a.setArticleText(text);
+        a.setContentHash(contentHash(text));
+        return a;
+    }
+
+    /** 항 → 호 → 목 하위 단위 본문을 줄 단위로 이어 붙임 (단일 객체·배열 모두 처리) */
+    private static void appendSubUnits(StringBuilder sb, JsonNode units, String contentKey, String childKey) {
+        if (units == null || units.isMissingNode() || units.isNull()) return;
+        Iterable<JsonNode> list = units.isArray() ? units : List.of(units);
+        for (JsonNode unit : list) {
+            String content = unit.path(contentKey).asText("").trim();
+            if (!content.isEmpty()) {
+                if (sb.length() > 0) sb.append('\n');
+                sb.append(content);
             }
-            if (lawInfo.isMissingNode()) return null;
-
-            StringBuilder sb = new StringBuilder(2048);
-            JsonNode basicInfo = lawInfo.path("기본정보");
-            if (!basicInfo.isMissingNode()) {
-                String lawName = getNodeText(basicInfo, "법령명_한글", "lawNm");
-                String pubDate = getNodeText(basicInfo, "공포일자", "proclamationDate");
-                String enforceDate = getNodeText(basicInfo, "시행일자", "enforceDate");
-                String lawType = "법률";
-                JsonNode ltNode = basicInfo.path("법종구분");
-                if (!ltNode.isMissingNode()) {
-                    String fromContent = ltNode.path("content").asText("");
-                    if (!fromContent.isEmpty()) lawType = fromContent;
-                }
-                sb.append(String.format("[%s] %s (공포: %s, 시행: %s, MST: %s)",
-                        lawType,
-                        lawName.isEmpty() ? "법령" : lawName,
-                        pubDate, enforceDate, mst));
-            } else {
-                sb.append("[법령] (MST: ").append(mst).append(")");
+            if ("호".equals(childKey)) {
+                appendSubUnits(sb, unit.path("호"), "호내용", "목");
+            } else if ("목".equals(childKey)) {
+                appendSubUnits(sb, unit.path("목"), "목내용", null);
             }
+        }
+    }
 
-            JsonNode articles = lawInfo.path("조문").path("조문단위");
-            if (articles.isMissingNode()) {
-                articles = lawInfo.path("article").path("articleUnit");
-            }
+    /**
+     * 법령 본문 응답 파싱 (MST 기준 디스크 캐시 우선)
+     *
+     * 공포된 MST(법령일련번호)의 본문은 바뀌지 않으므로 응답 전체를 캐시한다.
+     * 캐시 미스 시 응답을 스트리밍 파싱하면서 같은 바이트를 캐시 임시 파일에 기록하고(ResponseDiskCache.tee),
+     * 레코드가 있으면 남은 본문까지 기록해 원자적으로 반영한다 (오류 응답은 버림).
+     * 캐시를 끄면 응답을 받는 대로 스트리밍 파싱만 한다.
+     */
+    private JsonRecordStreamReader.Result streamLawDetail(String mst, String url, Runnable beforeAttempt,
+                                                          JsonRecordStreamReader.RecordHandler handler) throws IOException {
+        if (!responseCache.isEnabled()) {
+            return streamExternalApi(url, DETAIL_RECORD_PATHS, null, beforeAttempt, handler);
+        }
 
-            if (articles.isArray() && articles.size() > 0) {
-                sb.append("\n\n[조문 본문]\n");
-                int count = 0;
-                for (JsonNode article : articles) {
-                    if (count >= MAX_ARTICLES_ENRICH || sb.length() >= MAX_CONTENT_LENGTH) break;
-                    if (article == null) continue;
+        try (InputStream cached = responseCache.open(DETAIL_CACHE_NAMESPACE, mst)) {
+            if (cached != null) {
+                beforeAttempt.run();
+                return streamReader.read(cached, DETAIL_RECORD_PATHS, null, handler);
+            }
+        } catch (IOException e) {
+            log.debug("법령 본문 캐시 파싱 실패, 원격 재조회: MST={} - {}", mst, e.getMessage());
+        }
 
-                    String articleNo = getNodeText(article, "조문번호", "articleNo");
-                    String articleTitle = getNodeText(article, "조문제목", "articleTitle");
-                    String articleContent = getNodeText(article, "조문내용", "articleContent");
-                    String articleType = getNodeText(article, "조문여부", "articleType");
+        JsonRecordStreamReader.Result parsed = apiGuard.execute(SOURCE_TYPE, () -> {
+            beforeAttempt.run();
+            return restTemplate.execute(url, HttpMethod.GET, null, response -> {
+                ResponseDiskCache.Tee tee = responseCache.tee(DETAIL_CACHE_NAMESPACE, mst, response.getBody());
+                if (tee == null) {
+                    return streamReader.read(response.getBody(), DETAIL_RECORD_PATHS, null, handler);
+                }
+                try {
+                    JsonRecordStreamReader.Result result = streamReader.read(tee, DETAIL_RECORD_PATHS, null, handler);
+                    if (result.recordCount() > 0) tee.commit();
+                    return result;
+                } finally {
+                    tee.discard();
+                }
+            });
+        });
+        return parsed != null ? parsed : new JsonRecordStreamReader.Result(Map.of(), 0, false, true);
+    }
 
-                    if (articleContent == null) articleContent = "";
-                    if (articleContent.isEmpty()) continue;
+    /** 기본정보 레코드 → "[법률] 법령명 (공포: .., 시행: .., MST: ..)" */
+    private String formatLawDetailHeader(JsonNode basicInfo, String mst) {
+        String lawName = getNodeText(basicInfo, "법령명_한글", "lawNm");
+        String pubDate = getNodeText(basicInfo, "공포일자", "proclamationDate");
+        String enforceDate = getNodeText(basicInfo, "시행일자", "enforceDate");
+        String lawType = "법률";
+        JsonNode ltNode = basicInfo.path("법종구분");
+        if (!ltNode.isMissingNode()) {
+            String fromContent = ltNode.path("content").asText("");
+            if (!fromContent.isEmpty()) lawType = fromContent;
+        }
+        return String.format("[%s] %s (공포: %s, 시행: %s, MST: %s)",
+                lawType,
+                lawName.isEmpty() ? "법령" : lawName,
+                pubDate, enforceDate, mst);
+    }
 
-                    int remaining = MAX_CONTENT_LENGTH - sb.length();
-                    if (remaining <= 0) break;
+    /**
+     * 조문단위 레코드 1건을 본문에 추가
+     *
+     * @return 추가되었으면 true (내용 없는 조문은 건너뜀)
+     */
+    private boolean appendArticle(StringBuilder sb, JsonNode article) {
+        String articleNo = getNodeText(article, "조문번호", "articleNo");
+        String articleTitle = getNodeText(article, "조문제목", "articleTitle");
+        String articleContent = getNodeText(article, "조문내용", "articleContent");
+        String articleType = getNodeText(article, "조문여부", "articleType");
+        if (articleContent.isEmpty()) return false;
+
+        int remaining = MAX_CONTENT_LENGTH - sb.length();
+        if (remaining <= 0) return false;
+
+        String toAppend = articleContent;
+        if (toAppend.length() > remaining) {
+            toAppend = toAppend.substring(0, remaining) + "...";
+        }
 
-                    String toAppend = articleContent;
-                    if (toAppend.length() > remaining) {
-                        toAppend = toAppend.substring(0, remaining) + "...";
-                    }
+        if ("조문".equals(articleType) && !articleNo.isEmpty()) {
+            sb.append(String.format("\n제%s조", articleNo));
+            if (!articleTitle.isEmpty()) sb.append("(").append(articleTitle).append(")");
+            sb.append(" ").append(toAppend.trim());
+        } else {
+            sb.append("\n").append(toAppend.trim());
+        }
+        return true;
+    }
 
-                    if ("조문".equals(articleType) && !articleNo.isEmpty()) {
-                        sb.append(String.format("\n제%s조", articleNo));
-                        if (!articleTitle.isEmpty()) sb.append("(").append(articleTitle).append(")");
-                        sb.append(" ").append(toAppend.trim());
-                    } else {
-                        sb.append("\n").append(toAppend.trim());
+    /**
+     * RestTemplate 스트리밍 호출: 응답 본문을 String으로 읽지 않고 JsonRecordStreamReader로 바로 파싱
+     *
+     * 소스별 속도 제한·재시도(ExternalApiGuard)를 적용한다. resultCode가 일시 오류(RETRYABLE_RESULT_CODES)면 재시도,
+     * 그 외 00이 아닌 코드(파라미터 오류·인증키 오류 등)는 재시도하지 않고 바로 실패.
+     *
+     * @param beforeAttempt 시도마다 먼저 실행 (재시도 시 handler가 모은 페이지 버퍼 초기화). 없으면 null
+     * @return 파싱 결과 (본문이 비어 있으면 empty=true)
+     */
+    private JsonRecordStreamReader.Result streamExternalApi(String url, Set<String> recordPaths, Set<String> scalarPaths,
+                                                            Runnable beforeAttempt,
+                                                            JsonRecordStreamReader.RecordHandler handler) {
+        try {
+            return apiGuard.execute(SOURCE_TYPE, () -> {
+                if (beforeAttempt != null) beforeAttempt.run();
+                JsonRecordStreamReader.Result result = restTemplate.execute(url, HttpMethod.GET, null,
+                        response -> streamReader.read(response.getBody(), recordPaths, scalarPaths, handler));
+                if (result == null) return new JsonRecordStreamReader.Result(Map.of(), 0, false, true);
+                String resultCode = result.firstScalar(RESULT_CODE_PATHS);
+                if (!resultCode.isEmpty() && !"00".equals(resultCode)) {
+                    if (RETRYABLE_RESULT_CODES.contains(resultCode)) {
+                        throw new RetryableApiException(SOURCE_TYPE, resultCode,
+                                "법령 API 오류: resultCode=" + resultCode, THROTTLED_RESULT_CODE.equals(resultCode));
                     }
-                    count++;
+                    throw new IllegalStateException("법령 API 오류: resultCode=" + resultCode);
                 }
-            }
-
-            String result = sb.toString();
-            return result.length() > MAX_CONTENT_LENGTH
-                    ? result.substring(0, MAX_CONTENT_LENGTH) + "..."
-                    : result;
+                return result;
+            });
         } catch (Exception e) {
-            log.warn("법령 상세 파싱 실패 MST={}: {}", mst, e.getMessage());
-            return null;
+            log.error("법령 API HTTP 호출 실패: url={} | error={}", maskApiKeyInUrl(url),
+                e.getMessage() != null ? e.getMessage() : "알 수 없음", e);
+            throw e;
         }
     }
 
     /**
-     * RestTemplate API 호출 (null-safe)
+     * RestTemplate API 호출 (null-safe, 속도 제한·재시도 적용)
      * 
      * restTemplate.getForObject()의 반환 타입이 @Nullable이므로
      * 이 메서드에서 null을 빈 문자열로 변환하여 호출부의 null safety를 보장합니다.
@@ -804,7 +1335,7 @@ public class LawApiService {
     @SuppressWarnings("null")
     private String callExternalApi(String url) {
         try {
-            String result = restTemplate.getForObject(url, String.class);
+            String result = apiGuard.execute(SOURCE_TYPE, () -> restTemplate.getForObject(url, String.class));
             return result != null ? result : "";
         } catch (Exception e) {
             log.error("법령 API HTTP 호출 실패: url={} | error={}", maskApiKeyInUrl(url),
@@ -840,25 +1371,18 @@ public class LawApiService {
     }
 
     /**
-     * Knowledge 목록을 저장/업데이트
+     * Knowledge 목록을 저장/업데이트 (source_type + external_id 기준 일괄 upsert)
+     * 트랜잭션은 KnowledgeService.saveOrUpdateAll(또는 호출부 transactionTemplate)이 담당
      */
-    @Transactional
     private List<Knowledge> saveOrUpdateLaws(List<Knowledge> laws) {
         if (laws == null || laws.isEmpty()) {
             return Collections.emptyList();
         }
 
-        List<Knowledge> saved = new ArrayList<>();
+        knowledgeService.saveOrUpdateAll(laws);
+        List<Knowledge> saved = new ArrayList<>(laws.size());
         for (Knowledge law : laws) {
-            if (law == null) continue;
-            try {
-                Knowledge savedLaw = knowledgeService.saveOrUpdateKnowledge(law);
-                if (savedLaw != null) saved.add(savedLaw);
-            } catch (Exception e) {
-                log.error("법령 지식 저장 실패: {} - {}",
-                        (law.getTitle() != null ? law.getTitle() : "unknown"),
-                        e.getMessage() != null ? e.getMessage() : "알 수 없음");
-            }
+            if (law != null && law.getId() != null) saved.add(law);
         }
         return saved;
     }
@@ -0,0 +1,157 @@
+package com.virtualtryon.admin.service;
+
+import com.virtualtryon.core.entity.KnowledgeLawArticle;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 법령 1건의 파싱된 조문을 임시 파일(gzip)에 순서대로 기록해 두는 스풀
+ *
+ * - 본문 조회(트랜잭션 밖)에서 조문 1건씩 add, 저장(페이지 트랜잭션)에서 drainTo로 다시 읽어 writer에 넘김
+ *   → 힙에는 조문 목록을 모아 두지 않음 (writer 청크 크기만큼만)
+ * - 재시도 시 reset으로 비움, close 시 파일 삭제
+ * - 스레드 안전하지 않음 (법령 1건당 조회 작업 1개)
+ */
+final class LawArticleSpool implements Closeable {
+
+    private final String mst;
+    private final Path file;
+    private DataOutputStream out;
+    private int size;
+
+    private LawArticleSpool(String mst, Path file) {
+        this.mst = mst;
+        this.file = file;
+    }
+
+    static LawArticleSpool create(String mst) throws IOException {
+        LawArticleSpool spool = new LawArticleSpool(mst, Files.createTempFile("law-articles-", ".bin.gz"));
+        try {
+            spool.openWriter();
+        } catch (IOException e) {
+            Files.deleteIfExists(spool.file);
+            throw e;
+        }
+        return spool;
+    }
+
+    String mst() {
+        return mst;
+    }
+
+    /** 기록한 조문 수 */
+    int size() {
+        return size;
+    }
+
+    /** 조문 1건 기록 (파서 콜백에서 호출하므로 입출력 오류는 UncheckedIOException) */
+    void add(KnowledgeLawArticle a) {
+        try {
+            writeString(a.getArticleKey());
+            out.writeInt(a.getSeq());
+            writeString(a.getArticleNo());
+            writeString(a.getArticleTitle());
+            writeString(a.getArticleType());
+            writeString(a.getArticleText());
+            writeString(a.getContentHash());
+            size++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("법령 조문 임시 기록 실패: MST=" + mst, e);
+        }
+    }
+
+    /** 처음부터 다시 기록 (조회 재시도 전) */
+    void reset() {
+        try {
+            closeWriter();
+            openWriter();
+            size = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("법령 조문 임시 파일 초기화 실패: MST=" + mst, e);
+        }
+    }
+
+    /** 기록 종료 (이후 drainTo 가능) */
+    void finish() throws IOException {
+        closeWriter();
+    }
+
+    /** 기록 순서대로 조문을 하나씩 읽어 전달 */
+    void drainTo(Consumer<KnowledgeLawArticle> sink) throws IOException {
+        finish();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), 8192), 1 << 16))) {
+            for (int i = 0; i < size; i++) {
+                KnowledgeLawArticle a = new KnowledgeLawArticle();
+                a.setMst(mst);
+                a.setArticleKey(readString(in));
+                a.setSeq(in.readInt());
+                a.setArticleNo(readString(in));
+                a.setArticleTitle(readString(in));
+                a.setArticleType(readString(in));
+                a.setArticleText(readString(in));
+                a.setContentHash(readString(in));
+                sink.accept(a);
+            }
+        } catch (EOFException e) {
+            throw new IOException("법령 조문 임시 파일이 잘렸습니다: MST=" + mst, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            closeWriter();
+        } catch (IOException ignored) {
+            // 삭제할 파일이므로 무시
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // 임시 디렉터리 정리에 맡김
+        }
+    }
+
+    private void openWriter() throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(file), 8192), 1 << 16));
+    }
+
+    private void closeWriter() throws IOException {
+        if (out == null) return;
+        DataOutputStream w = out;
+        out = null;
+        w.close();
+    }
+
+    /** null은 -1, 그 외 UTF-8 길이 + 바이트 (writeUTF의 64KB 한도 없음) */
+    private void writeString(String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int len = in.readInt();
+        if (len < 0) return null;
+        byte[] bytes = new byte[len];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
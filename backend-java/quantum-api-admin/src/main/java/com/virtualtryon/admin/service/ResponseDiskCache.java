@@ -0,0 +1,401 @@
+package com.virtualtryon.admin.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 외부 API 응답 디스크 캐시 (내용 불변 응답 전용: 예) 법령 본문 lawService.do?MST=…)
+ *
+ * - 키: namespace + key(MST 등) → SHA-256 파일명 ({dir}/{ns}/{hash 앞 2자리}/{hash}.gz)
+ * - 저장: gzip 압축, 임시 파일에 쓴 뒤 원자적 이동 (tee: 응답을 파싱하며 읽는 대로 임시 파일에 기록)
+ * - 읽기: 메모리 매핑(FileChannel.map) → gzip 해제 스트림
+ * - 용량 상한 초과 시 가장 오래 읽지 않은 항목부터 삭제 (LRU, 재시작 시 파일 수정 시각으로 복원)
+ */
+@Component
+public class ResponseDiskCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseDiskCache.class);
+
+    @Value("${external.response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${external.response-cache.dir:${java.io.tmpdir}/quantum-response-cache}")
+    private String dir;
+
+    /** 압축 후 전체 용량 상한 (기본 512MB) */
+    @Value("${external.response-cache.max-bytes:536870912}")
+    private long maxBytes;
+
+    private Path root;
+    /** 파일 경로 → 압축 크기 (접근 순서 = LRU) */
+    private final LinkedHashMap<Path, Long> index = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            log.info("외부 API 응답 디스크 캐시 비활성화");
+            return;
+        }
+        try {
+            root = Paths.get(dir).toAbsolutePath();
+            Files.createDirectories(root);
+            loadIndex();
+            log.info("외부 API 응답 디스크 캐시: dir={}, {}건, {}MB / 상한 {}MB",
+                    root, index.size(), totalBytes / (1024 * 1024), maxBytes / (1024 * 1024));
+        } catch (IOException e) {
+            log.warn("응답 캐시 디렉터리 초기화 실패, 캐시 비활성화: {}", e.getMessage());
+            enabled = false;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 캐시된 응답 열기 (호출부가 닫아야 함)
+     *
+     * @return 압축 해제된 응답 스트림, 없으면 null
+     */
+    public InputStream open(String namespace, String key) {
+        if (!enabled) return null;
+        Path file = pathOf(namespace, key);
+        synchronized (this) {
+            if (index.get(file) == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            touch(file);
+            hits.incrementAndGet();
+            return new GZIPInputStream(new ByteBufferInputStream(mapped));
+        } catch (IOException e) {
+            log.debug("응답 캐시 읽기 실패, 항목 제거: {} - {}", file, e.getMessage());
+            remove(file);
+            misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    /** 응답 저장 (이미 있으면 덮어씀). 실패는 로그만 남기고 무시 */
+    public void put(String namespace, String key, byte[] body) {
+        if (!enabled || body == null || body.length == 0) return;
+        Path file = pathOf(namespace, key);
+        try {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+            try (GZIPOutputStream gz = new GZIPOutputStream(compressed)) {
+                gz.write(body);
+            }
+            byte[] bytes = compressed.toByteArray();
+            if (bytes.length > maxBytes) return;
+
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), "put-", ".tmp");
+            Files.write(tmp, bytes);
+            admit(tmp, file, bytes.length);
+        } catch (IOException e) {
+            log.warn("응답 캐시 저장 실패: {}/{} - {}", namespace, key, e.getMessage());
+        }
+    }
+
+    /**
+     * 응답 본문을 읽는 대로 캐시 임시 파일에 함께 기록하는 스트림 (본문 전체를 메모리에 모으지 않음)
+     *
+     * 파싱이 끝나면 commit()으로 남은 본문까지 기록해 캐시에 반영하고, 반영하지 않을 응답은 discard().
+     * 스트림을 닫아도 원본(body)은 닫지 않는다 (응답 객체가 닫음).
+     *
+     * @return 캐시가 꺼져 있거나 임시 파일을 만들 수 없으면 null (호출부는 body를 그대로 사용)
+     */
+    public Tee tee(String namespace, String key, InputStream body) {
+        if (!enabled || body == null) return null;
+        Path file = pathOf(namespace, key);
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), "put-", ".tmp");
+            return new Tee(body, file, tmp);
+        } catch (IOException e) {
+            log.warn("응답 캐시 임시 파일 생성 실패: {}/{} - {}", namespace, key, e.getMessage());
+            return null;
+        }
+    }
+
+    /** 임시 파일을 캐시 파일로 원자적 이동 후 인덱스 반영 (상한 초과 항목 제거) */
+    private void admit(Path tmp, Path file, long size) throws IOException {
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        writes.incrementAndGet();
+
+        List<Path> evicted;
+        synchronized (this) {
+            Long previous = index.put(file, size);
+            totalBytes += size - (previous != null ? previous : 0L);
+            evicted = evictOverLimit();
+        }
+        for (Path p : evicted) deleteQuietly(p);
+    }
+
+    /** 캐시 통계 (관리자 조회용) */
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("entries", index.size());
+        stats.put("bytes", totalBytes);
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("writes", writes.get());
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+
+    /** 용량 상한까지 LRU 순으로 인덱스에서 제거 (파일 삭제는 락 밖에서) */
+    private List<Path> evictOverLimit() {
+        List<Path> evicted = new ArrayList<>();
+        Iterator<Map.Entry<Path, Long>> it = index.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<Path, Long> eldest = it.next();
+            totalBytes -= eldest.getValue();
+            evicted.add(eldest.getKey());
+            it.remove();
+            evictions.incrementAndGet();
+        }
+        return evicted;
+    }
+
+    private void remove(Path file) {
+        synchronized (this) {
+            Long size = index.remove(file);
+            if (size != null) totalBytes -= size;
+        }
+        deleteQuietly(file);
+    }
+
+    /** 접근 순서 갱신 + 수정 시각 기록 (재시작 후 LRU 순서 복원용) */
+    private void touch(Path file) {
+        synchronized (this) {
+            index.get(file);
+        }
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // 매핑 중인 파일은 OS에 따라 즉시 삭제되지 않음 → 다음 기동 시 인덱스에 다시 잡혀 재평가
+            log.debug("응답 캐시 파일 삭제 실패: {} - {}", file, e.getMessage());
+        }
+    }
+
+    /** 기동 시 디스크의 캐시 파일을 수정 시각 순으로 인덱스에 적재 */
+    private void loadIndex() throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile).toList();
+        }
+        List<Map.Entry<Path, FileTime>> dated = new ArrayList<>(files.size());
+        for (Path f : files) {
+            if (f.getFileName().toString().endsWith(".tmp")) {
+                deleteQuietly(f); // 중단된 저장
+                continue;
+            }
+            dated.add(Map.entry(f, Files.getLastModifiedTime(f)));
+        }
+        dated.sort(Map.Entry.comparingByValue());
+        List<Path> evicted;
+        synchronized (this) {
+            for (Map.Entry<Path, FileTime> e : dated) {
+                long size = Files.size(e.getKey());
+                index.put(e.getKey(), size);
+                totalBytes += size;
+            }
+            evicted = evictOverLimit();
+        }
+        for (Path p : evicted) deleteQuietly(p);
+    }
+
+    private Path pathOf(String namespace, String key) {
+        String hash = sha256(namespace + '\u0000' + key);
+        return root.resolve(namespace).resolve(hash.substring(0, 2)).resolve(hash + ".gz");
+    }
+
+    private static String sha256(String s) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(s.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /** 읽은 바이트를 gzip 임시 파일에 복사하는 스트림 (기록 실패 시 읽기는 계속, 캐시만 포기) */
+    public final class Tee extends InputStream {
+        private final InputStream source;
+        private final Path file;
+        private final Path tmp;
+        private final GZIPOutputStream out;
+        private boolean failed;
+        private boolean done;
+
+        private Tee(InputStream source, Path file, Path tmp) throws IOException {
+            this.source = source;
+            this.file = file;
+            this.tmp = tmp;
+            try {
+                this.out = new GZIPOutputStream(Files.newOutputStream(tmp), 8192);
+            } catch (IOException e) {
+                deleteQuietly(tmp);
+                throw e;
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = source.read();
+            if (b >= 0 && !failed) {
+                try {
+                    out.write(b);
+                } catch (IOException e) {
+                    fail(e);
+                }
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = source.read(b, off, len);
+            if (n > 0 && !failed) {
+                try {
+                    out.write(b, off, n);
+                } catch (IOException e) {
+                    fail(e);
+                }
+            }
+            return n;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return source.available();
+        }
+
+        /** 원본은 닫지 않음 (파서가 닫아도 commit에서 남은 본문을 이어 읽음) */
+        @Override
+        public void close() {
+        }
+
+        /**
+         * 남은 본문까지 기록하고 캐시에 반영
+         *
+         * @return 반영 여부 (기록 실패·용량 초과면 false, 임시 파일은 삭제)
+         */
+        public boolean commit() throws IOException {
+            if (done) return false;
+            byte[] buf = new byte[8192];
+            while (!failed && read(buf, 0, buf.length) != -1) {
+                // read가 임시 파일에 기록
+            }
+            done = true;
+            try {
+                out.close();
+            } catch (IOException e) {
+                fail(e);
+            }
+            if (failed) {
+                deleteQuietly(tmp);
+                return false;
+            }
+            long size = Files.size(tmp);
+            if (size > maxBytes) {
+                deleteQuietly(tmp);
+                return false;
+            }
+            admit(tmp, file, size);
+            return true;
+        }
+
+        /** 반영하지 않고 임시 파일 삭제 (commit 후에는 무시) */
+        public void discard() {
+            if (done) return;
+            done = true;
+            try {
+                out.close();
+            } catch (IOException ignored) {
+            }
+            deleteQuietly(tmp);
+        }
+
+        private void fail(IOException e) {
+            failed = true;
+            log.warn("응답 캐시 기록 실패, 이번 응답은 캐시하지 않음: {} - {}", file, e.getMessage());
+        }
+    }
+
+    /** 메모리 매핑 버퍼 → InputStream */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) return 0;
+            if (!buffer.hasRemaining()) return -1;
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.virtualtryon.admin.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * ResultSet 행을 CSV / NDJSON으로 바로 쓰는 내보내기 writer (행을 모아 두지 않음)
+ *
+ * - CSV: UTF-8 BOM(엑셀 한글) + 헤더 1줄, 쉼표·따옴표·줄바꿈이 있는 값만 따옴표로 감쌈
+ *        =, +, -, @, 탭, CR로 시작하는 문자열 값은 앞에 '를 붙여 수식으로 실행되지 않게 함 (숫자 컬럼은 그대로)
+ * - NDJSON: 행마다 JSON 객체 1줄 (키 = 컬럼 라벨)
+ * - 출력 스트림은 닫지 않고 flush만 (gzip 마무리는 호출자)
+ */
+final class TabularExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final AdminExportService.Format format;
+    private final Writer writer;
+    private final JsonGenerator json;
+    private String[] labels;
+    private long rows;
+
+    TabularExportWriter(OutputStream out, AdminExportService.Format format) throws IOException {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == AdminExportService.Format.NDJSON) {
+            this.json = JSON_FACTORY.createGenerator(writer);
+            this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.json.setRootValueSeparator(null); // 행 구분은 row()의 줄바꿈만 (기본 구분자 공백 제거)
+        } else {
+            this.json = null;
+            writer.write('\uFEFF');
+        }
+    }
+
+    /** 컬럼 라벨 확정 (CSV는 헤더 출력). 결과가 0건이어도 호출 */
+    void header(ResultSetMetaData meta) throws SQLException, IOException {
+        labels = new String[meta.getColumnCount()];
+        for (int i = 0; i < labels.length; i++) labels[i] = meta.getColumnLabel(i + 1);
+        if (format == AdminExportService.Format.CSV) {
+            for (int i = 0; i < labels.length; i++) {
+                if (i > 0) writer.write(',');
+                writeCsvValue(labels[i]);
+            }
+            writer.write("\r\n");
+        }
+    }
+
+    /** 현재 행 1건 출력 */
+    void row(ResultSet rs) throws SQLException, IOException {
+        if (format == AdminExportService.Format.NDJSON) {
+            json.writeStartObject();
+            for (int i = 0; i < labels.length; i++) {
+                json.writeFieldName(labels[i]);
+                Object v = rs.getObject(i + 1);
+                if (v == null) json.writeNull();
+                else if (v instanceof Boolean b) json.writeBoolean(b);
+                else if (v instanceof Integer n) json.writeNumber(n);
+                else if (v instanceof Long n) json.writeNumber(n);
+                else if (v instanceof Number n) json.writeNumber(n.toString());
+                else json.writeString(text(v));
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        } else {
+            for (int i = 0; i < labels.length; i++) {
+                if (i > 0) writer.write(',');
+                Object v = rs.getObject(i + 1);
+                if (v != null) writeCsvValue(v instanceof Number ? text(v) : escapeFormula(text(v)));
+            }
+            writer.write("\r\n");
+        }
+        rows++;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    void flush() throws IOException {
+        if (json != null) json.flush();
+        writer.flush();
+    }
+
+    private static String text(Object v) {
+        return v instanceof Timestamp ts ? ts.toLocalDateTime().toString() : v.toString();
+    }
+
+    /** 스프레드시트 수식 주입 방지: 수식 시작 문자로 시작하면 ' 접두 */
+    private static String escapeFormula(String s) {
+        if (s.isEmpty()) return s;
+        char c = s.charAt(0);
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r' ? "'" + s : s;
+    }
+
+    private void writeCsvValue(String s) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < s.length() && !quote; i++) {
+            char c = s.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(s);
+            return;
+        }
+        writer.write('"');
+        writer.write(s.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,236 @@
+package com.virtualtryon.service.service;
+
+import com.virtualtryon.core.entity.Payment;
+import com.virtualtryon.core.repository.RevenueLiveRepository;
+import com.virtualtryon.core.repository.RevenueLiveRepository.MinuteRevenue;
+import com.virtualtryon.core.repository.RevenueRollupRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 실시간 매출 카운터 (분·플랜별, 잠금 없음)
+ *
+ * - 결제 완료 커밋 시 현재 분 버킷의 LongAdder에 가산 (결제 요청 스레드는 DB·락 대기 없음)
+ * - 완료였던 결제가 실패 처리되면 커밋 후 완료 시각 분에 음수 증분 (관리자 취소는 관리자 서버가 DB에 직접 반영)
+ * - 버킷은 분 단위 링 버퍼 (슬롯이 다음 회전 분으로 바뀌면 이전 버킷은 스냅샷 대기열로)
+ * - 전용 스레드가 주기적으로 미반영 증분(sumThenReset)을 revenue_live_minute에 누적 → 재시작해도 반영분 유지
+ * - 종료 시 마지막 스냅샷. 비정상 종료 시 최대 한 주기 분량 유실
+ */
+@Service
+public class LiveRevenueCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveRevenueCounter.class);
+    /** 링 버퍼 슬롯 수 (분). 스냅샷이 실패해도 이 시간 동안은 증분을 버킷에 보존 */
+    private static final int SLOTS = 120;
+
+    private final RevenueLiveRepository revenueLiveRepository;
+    private final AtomicReferenceArray<MinuteBucket> ring = new AtomicReferenceArray<>(SLOTS);
+    /** 링에서 밀려났거나 반영 실패로 되돌린 버킷 (스냅샷 스레드만 소비) */
+    private final Queue<MinuteBucket> retired = new ConcurrentLinkedQueue<>();
+    private ScheduledExecutorService scheduler;
+
+    /** DB 스냅샷 주기 (초) */
+    @Value("${revenue.live.snapshot-interval-seconds:10}")
+    private long snapshotIntervalSeconds;
+
+    /** revenue_live_minute 보존 일수 */
+    @Value("${revenue.live.retention-days:2}")
+    private int retentionDays;
+
+    public LiveRevenueCounter(RevenueLiveRepository revenueLiveRepository) {
+        this.revenueLiveRepository = revenueLiveRepository;
+    }
+
+    @PostConstruct
+    void init() {
+        long interval = Math.max(1, snapshotIntervalSeconds);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "revenue-live-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, interval, interval, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(this::purgeQuietly, 1, 60, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshotQuietly();
+    }
+
+    /**
+     * 결제 완료 1건 가산. 트랜잭션 안이면 커밋 후에만 (롤백된 결제는 세지 않음)
+     * 이미 완료였던 결제를 다시 완료 처리하는 경우는 호출하지 않음
+     */
+    public void recordCompleted(Payment payment) {
+        if (payment == null || payment.getAmount() == null) return;
+        long amount = payment.getAmount();
+        String planId = payment.getPlanId() != null ? payment.getPlanId() : RevenueRollupRepository.UNKNOWN_PLAN;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(planId, amount);
+                }
+            });
+        } else {
+            add(planId, amount);
+        }
+    }
+
+    /**
+     * 완료였던 결제 1건 차감 (강제 실패 등). 트랜잭션 안이면 커밋 후에만
+     * 완료 시각이 속한 분에서 빼도록 별도 버킷으로 스냅샷 대기열에 넣음
+     */
+    public void recordReversed(Payment payment) {
+        if (payment == null || payment.getAmount() == null) return;
+        long amount = payment.getAmount();
+        String planId = payment.getPlanId() != null ? payment.getPlanId() : RevenueRollupRepository.UNKNOWN_PLAN;
+        LocalDateTime completedAt = payment.getCompletedAt() != null ? payment.getCompletedAt() : LocalDateTime.now();
+        long minute = completedAt.toEpochSecond(ZoneOffset.UTC) / 60;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    subtract(minute, planId, amount);
+                }
+            });
+        } else {
+            subtract(minute, planId, amount);
+        }
+    }
+
+    private void subtract(long minute, String planId, long amount) {
+        MinuteBucket reversal = new MinuteBucket(minute);
+        reversal.counter(planId).restore(-amount, -1);
+        retired.add(reversal);
+    }
+
+    private void add(String planId, long amount) {
+        long minute = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC) / 60;
+        bucket(minute).counter(planId).add(amount);
+    }
+
+    /** 현재 분 버킷 (슬롯이 이전 분이면 새 버킷으로 교체, 이전 버킷은 스냅샷 대기열로) */
+    private MinuteBucket bucket(long minute) {
+        int slot = (int) Math.floorMod(minute, (long) SLOTS);
+        while (true) {
+            MinuteBucket current = ring.get(slot);
+            if (current != null && current.minute >= minute) return current; // 시계가 뒤로 간 경우 최신 버킷에 합산
+            MinuteBucket next = new MinuteBucket(minute);
+            if (ring.compareAndSet(slot, current, next)) {
+                if (current != null) retired.add(current);
+                return next;
+            }
+        }
+    }
+
+    /** 미반영 증분을 DB에 누적 (스냅샷 스레드·종료 시에만 호출) */
+    synchronized void snapshot() {
+        List<MinuteBucket> drained = new ArrayList<>();
+        MinuteBucket b;
+        while ((b = retired.poll()) != null) drained.add(b);
+        for (int i = 0; i < SLOTS; i++) {
+            b = ring.get(i);
+            if (b != null) drained.add(b);
+        }
+
+        List<MinuteRevenue> deltas = new ArrayList<>();
+        for (MinuteBucket bucket : drained) bucket.drainTo(deltas);
+        if (deltas.isEmpty()) return;
+        try {
+            revenueLiveRepository.addAll(deltas);
+        } catch (RuntimeException e) {
+            // 반영 실패분은 되돌려 두고 다음 주기에 재시도
+            for (MinuteRevenue d : deltas) {
+                MinuteBucket restore = new MinuteBucket(d.minute().toEpochSecond(ZoneOffset.UTC) / 60);
+                restore.counter(d.planId()).restore(d.revenue(), d.paymentCount());
+                retired.add(restore);
+            }
+            throw e;
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (Exception e) {
+            log.warn("실시간 매출 스냅샷 실패 (다음 주기 재시도): {}", e.getMessage());
+        }
+    }
+
+    private void purgeQuietly() {
+        try {
+            int deleted = revenueLiveRepository.deleteBefore(LocalDate.now().minusDays(Math.max(1, retentionDays)).atStartOfDay());
+            if (deleted > 0) log.info("실시간 매출 스냅샷 보존 기간 경과 {}건 삭제", deleted);
+        } catch (Exception e) {
+            log.warn("실시간 매출 스냅샷 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    /** 1분 버킷 (플랜별 카운터) */
+    private static final class MinuteBucket {
+        final long minute;
+        final Map<String, Counter> byPlan = new ConcurrentHashMap<>();
+
+        MinuteBucket(long minute) {
+            this.minute = minute;
+        }
+
+        Counter counter(String planId) {
+            return byPlan.computeIfAbsent(planId, k -> new Counter());
+        }
+
+        /** 미반영 증분을 꺼내고 0으로 (동시 가산분은 다음 스냅샷에 반영) */
+        void drainTo(List<MinuteRevenue> out) {
+            LocalDateTime at = LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+            byPlan.forEach((planId, c) -> {
+                long count = c.count.sumThenReset();
+                long revenue = c.revenue.sumThenReset();
+                if (count != 0 || revenue != 0) out.add(new MinuteRevenue(at, planId, revenue, count));
+            });
+        }
+    }
+
+    private static final class Counter {
+        final LongAdder revenue = new LongAdder();
+        final LongAdder count = new LongAdder();
+
+        void add(long amount) {
+            revenue.add(amount);
+            count.increment();
+        }
+
+        void restore(long amount, long payments) {
+            revenue.add(amount);
+            count.add(payments);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.virtualtryon.service.service;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.virtualtryon.core.dto.terms.TermsSummaryDto;
 import com.virtualtryon.core.entity.User;
+import com.virtualtryon.core.http.ExternalHttpClient;
 import com.virtualtryon.core.repository.UserRepository;
 import com.virtualtryon.core.service.JwtService;
 import org.slf4j.Logger;
@@ -28,7 +29,7 @@ public class NaverAuthService {
     private final UserRepository userRepository;
     private final JwtService jwtService;
     private final TermsService termsService;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
 
     @Value("${naver.client-id}")
     private String clientId;
@@ -42,10 +43,12 @@ public class NaverAuthService {
     private static final String NAVER_TOKEN_URL = "https://nid.naver.com/oauth2.0/token";
     private static final String NAVER_PROFILE_URL = "https://openapi.naver.com/v1/nid/me";
 
-    public NaverAuthService(UserRepository userRepository, JwtService jwtService, TermsService termsService) {
+    public NaverAuthService(UserRepository userRepository, JwtService jwtService, TermsService termsService,
+                            ExternalHttpClient externalHttpClient) {
         this.userRepository = userRepository;
         this.jwtService = jwtService;
         this.termsService = termsService;
+        this.restTemplate = externalHttpClient.restTemplate();
     }
 
     /** 설정 로드 후 초기화 로그 출력 */
@@ -10,6 +10,7 @@ import com.virtualtryon.core.payment.PgClient;
 import com.virtualtryon.core.entity.Subscription;
 import com.virtualtryon.core.repository.PaymentRepository;
 import com.virtualtryon.core.repository.PlanConfigRepository;
+import com.virtualtryon.core.repository.RevenueRollupRepository;
 import com.virtualtryon.core.repository.SubscriptionRepository;
 import com.virtualtryon.core.repository.UserRepository;
 import org.slf4j.Logger;
@@ -33,16 +34,21 @@ public class PaymentService {
     private final UserRepository userRepository;
     private final PlanConfigRepository planConfigRepository;
     private final SubscriptionRepository subscriptionRepository;
+    private final RevenueRollupRepository revenueRollupRepository;
+    private final LiveRevenueCounter liveRevenueCounter;
     private final PgClient pgClient;
     private final TermsService termsService;
 
     public PaymentService(PaymentRepository paymentRepository, UserRepository userRepository,
                           PlanConfigRepository planConfigRepository, SubscriptionRepository subscriptionRepository,
+                          RevenueRollupRepository revenueRollupRepository, LiveRevenueCounter liveRevenueCounter,
                           PgClient pgClient, TermsService termsService) {
         this.paymentRepository = paymentRepository;
         this.userRepository = userRepository;
         this.planConfigRepository = planConfigRepository;
         this.subscriptionRepository = subscriptionRepository;
+        this.revenueRollupRepository = revenueRollupRepository;
+        this.liveRevenueCounter = liveRevenueCounter;
         this.pgClient = pgClient;
         this.termsService = termsService;
     }
@@ -126,6 +132,8 @@ public class PaymentService {
                 payment.setPgResponse(pgResponse.rawResponse());
                 payment.setSubscriptionId(subscription.getId());
                 paymentRepository.save(payment);
+                revenueRollupRepository.addCompleted(payment);
+                liveRevenueCounter.recordCompleted(payment);
 
                 user.setSubscription(planCode);
                 userRepository.save(user);
@@ -150,9 +158,18 @@ public class PaymentService {
     public Payment forceSuccess(UUID paymentId) {
         Payment payment = paymentRepository.findById(Objects.requireNonNull(paymentId, "paymentId must not be null"))
                 .orElseThrow(() -> new RuntimeException("결제를 찾을 수 없습니다."));
+        // 이미 완료된 결제를 다시 성공 처리하면 완료일이 바뀌므로 이전 완료일 집계에서 뺌
+        boolean wasCompleted = "completed".equals(payment.getStatus());
+        if (wasCompleted) {
+            revenueRollupRepository.removeCompleted(payment);
+        }
         payment.setStatus("completed");
         LocalDateTime completedAt = LocalDateTime.now();
         payment.setCompletedAt(completedAt);
+        revenueRollupRepository.addCompleted(payment);
+        if (!wasCompleted) {
+            liveRevenueCounter.recordCompleted(payment);
+        }
         payment.setPgResponse(String.format(
                 "{\"status\":\"success\",\"message\":\"결제가 강제로 성공 처리되었습니다.\",\"transaction_id\":\"%s\"}",
                 payment.getPgTransactionId()));
@@ -186,6 +203,10 @@ public class PaymentService {
     public Payment forceFailure(UUID paymentId) {
         Payment payment = paymentRepository.findById(Objects.requireNonNull(paymentId, "paymentId must not be null"))
                 .orElseThrow(() -> new RuntimeException("결제를 찾을 수 없습니다."));
+        if ("completed".equals(payment.getStatus())) {
+            revenueRollupRepository.removeCompleted(payment);
+            liveRevenueCounter.recordReversed(payment);
+        }
         payment.setStatus("failed");
         payment.setPgResponse(String.format(
                 "{\"status\":\"failed\",\"message\":\"결제가 강제로 실패 처리되었습니다.\",\"transaction_id\":\"%s\"}",
@@ -0,0 +1,12 @@
+-- ============================================
+-- V21: knowledge_fetch_history에 상세(본문) 조회 처리량 컬럼 추가
+-- ============================================
+-- 법령 본문(lawService.do) 병렬 조회 시 건수·소요시간 기록 → 동시성 설정 튜닝용
+
+ALTER TABLE knowledge_fetch_history ADD COLUMN IF NOT EXISTS detail_count INTEGER DEFAULT 0;
+ALTER TABLE knowledge_fetch_history ADD COLUMN IF NOT EXISTS detail_failed_count INTEGER DEFAULT 0;
+ALTER TABLE knowledge_fetch_history ADD COLUMN IF NOT EXISTS detail_elapsed_ms BIGINT;
+
+COMMENT ON COLUMN knowledge_fetch_history.detail_count IS '본문(상세) 조회 성공 건수';
+COMMENT ON COLUMN knowledge_fetch_history.detail_failed_count IS '본문(상세) 조회 실패 건수';
+COMMENT ON COLUMN knowledge_fetch_history.detail_elapsed_ms IS '본문(상세) 조회 전체 소요시간(ms)';
@@ -0,0 +1,18 @@
+-- ============================================
+-- V22: knowledge_fetch_history에 전체 수집 체크포인트 컬럼 추가
+-- ============================================
+-- 법령 전체 수집(lsStmd)을 페이지 단위로 커밋하고, 실패·중단 시 마지막 커밋 페이지 다음부터 재개
+
+ALTER TABLE knowledge_fetch_history ADD COLUMN IF NOT EXISTS checkpoint_page INTEGER;
+ALTER TABLE knowledge_fetch_history ADD COLUMN IF NOT EXISTS checkpoint_mst VARCHAR(50);
+ALTER TABLE knowledge_fetch_history ADD COLUMN IF NOT EXISTS checkpoint_at TIMESTAMP;
+ALTER TABLE knowledge_fetch_history ADD COLUMN IF NOT EXISTS resumed_from_id UUID;
+
+CREATE INDEX IF NOT EXISTS idx_fetch_history_checkpoint
+  ON knowledge_fetch_history (source_type, fetched_at DESC)
+  WHERE checkpoint_page IS NOT NULL;
+
+COMMENT ON COLUMN knowledge_fetch_history.checkpoint_page IS '마지막으로 커밋된 페이지 번호 (전체 수집만)';
+COMMENT ON COLUMN knowledge_fetch_history.checkpoint_mst IS '마지막으로 커밋된 페이지의 마지막 법령일련번호(MST)';
+COMMENT ON COLUMN knowledge_fetch_history.checkpoint_at IS '체크포인트 기록 시각';
+COMMENT ON COLUMN knowledge_fetch_history.resumed_from_id IS '체크포인트 재개 시 원본 히스토리 id';
@@ -0,0 +1,21 @@
+-- ============================================
+-- V23: knowledge_fetch_history를 비동기 수집 작업(job) 레코드로 사용
+-- ============================================
+-- fetch-* 요청은 작업 id만 즉시 반환하고, 진행률·시작/종료 시각·취소 요청을 이 테이블에 기록
+-- status: QUEUED → RUNNING → SUCCESS / FAILED / CANCELLED
+
+ALTER TABLE knowledge_fetch_history ADD COLUMN IF NOT EXISTS progress_current INTEGER DEFAULT 0;
+ALTER TABLE knowledge_fetch_history ADD COLUMN IF NOT EXISTS progress_total INTEGER;
+ALTER TABLE knowledge_fetch_history ADD COLUMN IF NOT EXISTS cancel_requested BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE knowledge_fetch_history ADD COLUMN IF NOT EXISTS started_at TIMESTAMP;
+ALTER TABLE knowledge_fetch_history ADD COLUMN IF NOT EXISTS finished_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_fetch_history_active
+  ON knowledge_fetch_history (status)
+  WHERE status IN ('QUEUED', 'RUNNING');
+
+COMMENT ON COLUMN knowledge_fetch_history.progress_current IS '작업 진행 건수 (페이지/레코드 단위, 소스별 상이)';
+COMMENT ON COLUMN knowledge_fetch_history.progress_total IS '작업 전체 건수 (알 수 없으면 NULL)';
+COMMENT ON COLUMN knowledge_fetch_history.cancel_requested IS '관리자 취소 요청 여부';
+COMMENT ON COLUMN knowledge_fetch_history.started_at IS '작업 실행 시작 시각 (fetched_at = 접수 시각)';
+COMMENT ON COLUMN knowledge_fetch_history.finished_at IS '작업 종료 시각';
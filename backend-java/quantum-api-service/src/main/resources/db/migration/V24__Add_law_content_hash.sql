@@ -0,0 +1,11 @@
+-- ============================================
+-- V24: 법령 증분 동기화용 content_hash
+-- ============================================
+-- 주간 배치는 MST·공포일자·시행일자가 같고 content_hash가 있는 법령은 본문(lawService.do)을 다시 받지 않음
+-- 본문을 다시 받은 경우에도 hash가 같으면 knowledge_base 갱신을 건너뜀
+
+ALTER TABLE knowledge_law ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+ALTER TABLE knowledge_fetch_history ADD COLUMN IF NOT EXISTS skipped_count INTEGER;
+
+COMMENT ON COLUMN knowledge_law.content_hash IS 'article_body SHA-256 (hex). NULL이면 본문 미조회 → 다음 동기화 때 조회';
+COMMENT ON COLUMN knowledge_fetch_history.skipped_count IS '증분 동기화에서 변경 없음으로 건너뛴 법령 수';
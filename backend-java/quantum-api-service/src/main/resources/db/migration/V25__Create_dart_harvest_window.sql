@@ -0,0 +1,26 @@
+-- ============================================
+-- V25: DART 공시 수집 구간(회사 × 기간) 단위 진행 기록
+-- ============================================
+-- 공시 수집 작업(knowledge_fetch_history)을 (corp_code, bgn_de~end_de) 구간으로 나눠 병렬 실행하고,
+-- 구간별 완료 여부를 남겨 일부 구간만 실패한 수집을 실패 구간만 다시 실행할 수 있게 함
+-- status: PENDING → RUNNING → SUCCESS / FAILED
+
+CREATE TABLE IF NOT EXISTS dart_harvest_window (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    harvest_id UUID NOT NULL,                 -- 최초 수집 작업 (knowledge_fetch_history.id)
+    corp_code VARCHAR(8),                     -- NULL이면 회사 지정 없음 (검색기간 3개월 제한)
+    corp_name VARCHAR(255),
+    bgn_de VARCHAR(8) NOT NULL,               -- 구간 시작일 YYYYMMDD
+    end_de VARCHAR(8) NOT NULL,               -- 구간 종료일 YYYYMMDD
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    page_count INTEGER DEFAULT 0,             -- 받은 페이지 수
+    item_count INTEGER DEFAULT 0,             -- 저장한 공시 수 (같은 수집 내 rcept_no 중복 제외)
+    attempts INTEGER DEFAULT 0,
+    error_message TEXT,
+    created_at TIMESTAMP DEFAULT NOW(),
+    updated_at TIMESTAMP DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_dart_harvest_window_harvest ON dart_harvest_window(harvest_id, status);
+
+COMMENT ON TABLE dart_harvest_window IS 'DART 공시 병렬 수집의 (회사, 기간) 구간별 진행 상태. 실패 구간 재시도 기준.';
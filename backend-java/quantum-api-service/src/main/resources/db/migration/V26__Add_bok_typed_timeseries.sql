@@ -0,0 +1,41 @@
+-- ============================================
+-- V26: knowledge_bok 시계열 타입 컬럼
+-- ============================================
+-- data_value·time이 문자열이라 조회할 때마다 다시 파싱하던 것을 적재 시 한 번만 변환
+-- numeric_value: data_value 숫자 (쉼표 제거, 숫자가 아니면 NULL)
+-- period_start : 시점의 시작일 (D=그날, M=1일, Q/S=분기·반기 첫날, A=1월 1일)
+-- period_cycle : 시점 형식에서 판별한 주기 (D, M, Q, S, A)
+
+ALTER TABLE knowledge_bok ADD COLUMN IF NOT EXISTS numeric_value DOUBLE PRECISION;
+ALTER TABLE knowledge_bok ADD COLUMN IF NOT EXISTS period_start DATE;
+ALTER TABLE knowledge_bok ADD COLUMN IF NOT EXISTS period_cycle VARCHAR(1);
+
+-- 기존 행 변환
+UPDATE knowledge_bok SET
+    numeric_value = CASE
+        WHEN replace(data_value, ',', '') ~ '^\s*-?[0-9]+(\.[0-9]+)?\s*$'
+        THEN trim(replace(data_value, ',', ''))::DOUBLE PRECISION
+    END,
+    period_cycle = CASE
+        WHEN time ~ '^[0-9]{8}$' THEN 'D'
+        WHEN time ~ '^[0-9]{6}$' THEN 'M'
+        WHEN time ~ '^[0-9]{4}Q[1-4]$' THEN 'Q'
+        WHEN time ~ '^[0-9]{4}S[12]$' THEN 'S'
+        WHEN time ~ '^[0-9]{4}$' THEN 'A'
+    END,
+    period_start = CASE
+        WHEN time ~ '^[0-9]{8}$' THEN to_date(time, 'YYYYMMDD')
+        WHEN time ~ '^[0-9]{6}$' THEN to_date(time || '01', 'YYYYMMDD')
+        WHEN time ~ '^[0-9]{4}Q[1-4]$' THEN make_date(substr(time, 1, 4)::INT, (substr(time, 6, 1)::INT - 1) * 3 + 1, 1)
+        WHEN time ~ '^[0-9]{4}S[12]$' THEN make_date(substr(time, 1, 4)::INT, (substr(time, 6, 1)::INT - 1) * 6 + 1, 1)
+        WHEN time ~ '^[0-9]{4}$' THEN make_date(time::INT, 1, 1)
+    END
+WHERE period_start IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_knowledge_bok_series
+  ON knowledge_bok (stat_code, item_code1, period_cycle, period_start)
+  WHERE period_start IS NOT NULL AND numeric_value IS NOT NULL;
+
+COMMENT ON COLUMN knowledge_bok.numeric_value IS 'data_value 숫자 변환값 (숫자가 아니면 NULL)';
+COMMENT ON COLUMN knowledge_bok.period_start IS '시점(time)의 시작일';
+COMMENT ON COLUMN knowledge_bok.period_cycle IS '주기 D/M/Q/S/A (time 형식에서 판별)';
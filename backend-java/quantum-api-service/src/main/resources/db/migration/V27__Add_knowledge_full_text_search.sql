@@ -0,0 +1,18 @@
+-- ============================================
+-- V27: knowledge_base 전문 검색 (tsvector + GIN)
+-- ============================================
+-- 검색이 LOWER(title/content) LIKE '%q%' 로 전체 행을 순차 스캔하던 것을 GIN 인덱스 조회로 대체
+-- 가중치: title(A) > content(B) > article_body(C)
+-- 'simple' 사전: 한국어 형태소 분석 없이 공백 단위 토큰 + 소문자화 (검색은 접두사 매칭 token:* 사용)
+-- tsvector 크기 상한(1MB) 때문에 조문 본문은 앞 200,000자만 색인
+
+ALTER TABLE knowledge_base ADD COLUMN IF NOT EXISTS search_tsv tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(content, '')), 'B') ||
+        setweight(to_tsvector('simple', left(coalesce(article_body, ''), 200000)), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_knowledge_search_tsv ON knowledge_base USING GIN (search_tsv);
+
+COMMENT ON COLUMN knowledge_base.search_tsv IS '전문 검색용 tsvector (title A, content B, article_body 앞 200,000자 C). 자동 생성 컬럼';
@@ -0,0 +1,32 @@
+-- ============================================
+-- V28: 법령 조문 단위 청크 테이블
+-- ============================================
+-- knowledge_law.article_body / knowledge_base.article_body 는 조문 80개·30,000자에서 잘린 미리보기라
+-- 큰 법령은 뒤쪽 조문이 빠지고, 조문 하나만 필요해도 본문 전체를 읽어야 했음
+-- 조문(조문단위) 1건 = 1행, 상한 없이 본문 응답을 스트리밍하며 적재
+-- (mst, article_key): MST(법령일련번호)는 공포 버전마다 새로 부여되므로 같은 키의 조문 내용은 바뀌지 않음
+
+CREATE TABLE IF NOT EXISTS knowledge_law_article (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    mst VARCHAR(20) NOT NULL,                 -- knowledge_law.mst
+    article_key VARCHAR(20) NOT NULL,         -- 응답의 조문키 (없으면 순번 6자리)
+    seq INTEGER NOT NULL,                     -- 응답 내 순서 (0부터)
+    article_no VARCHAR(20),                   -- 조문번호 (제N조의 N)
+    article_title VARCHAR(500),               -- 조문제목
+    article_type VARCHAR(20),                 -- 조문여부 (조문 / 전문)
+    article_text TEXT NOT NULL,               -- 조문내용 (항·호 포함 원문)
+    content_hash VARCHAR(64),                 -- article_text SHA-256
+    search_tsv tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(article_title, '')), 'A') ||
+        setweight(to_tsvector('simple', left(article_text, 200000)), 'B')
+    ) STORED,
+    created_at TIMESTAMP DEFAULT NOW(),
+    updated_at TIMESTAMP DEFAULT NOW()
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_knowledge_law_article_key ON knowledge_law_article(mst, article_key);
+CREATE INDEX IF NOT EXISTS idx_knowledge_law_article_seq ON knowledge_law_article(mst, seq);
+CREATE INDEX IF NOT EXISTS idx_knowledge_law_article_tsv ON knowledge_law_article USING GIN (search_tsv);
+
+COMMENT ON TABLE knowledge_law_article IS '법령 조문 단위 청크 (조문 1건 = 1행, 상한 없음). 검색·RAG는 일치 조문만 조회';
+COMMENT ON COLUMN knowledge_law.article_body IS '조문 본문 미리보기 (앞부분만, 전체는 knowledge_law_article)';
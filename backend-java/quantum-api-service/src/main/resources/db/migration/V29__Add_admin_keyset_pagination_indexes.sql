@@ -0,0 +1,15 @@
+-- ============================================
+-- V29: 관리자 목록 keyset(커서) 페이지네이션 인덱스
+-- ============================================
+-- 결제·구독·회원 목록을 (created_at, id) < (커서) 조건 + ORDER BY created_at DESC, id DESC LIMIT n 으로 조회
+-- OFFSET처럼 앞 페이지 행을 읽고 버리지 않으므로 페이지 깊이와 관계없이 인덱스 범위 스캔 1회
+-- id는 created_at이 같은 행 사이의 순서를 고정하는 보조 키
+
+CREATE INDEX IF NOT EXISTS idx_payments_created_id ON payments(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_payments_user_created_id ON payments(user_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_subscriptions_created_id ON subscriptions(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_subscriptions_user_created_id ON subscriptions(user_id, created_at DESC, id DESC);
+
+-- 회원 목록은 탈퇴하지 않은 회원만 조회
+CREATE INDEX IF NOT EXISTS idx_users_active_created_id ON users(created_at DESC, id DESC) WHERE deleted_at IS NULL;
@@ -0,0 +1,29 @@
+-- ============================================
+-- V30: 일별·플랜별 매출 집계 테이블 (대시보드용)
+-- ============================================
+-- 대시보드가 완료된 결제 전체를 매 요청마다 읽어 집계하던 것을 (일, 플랜) 집계 행 조회로 대체
+-- 결제 완료/취소(완료 → 취소·실패) 시 같은 트랜잭션에서 증감 (INSERT ... ON CONFLICT DO UPDATE)
+-- 일자는 completed_at 기준, plan_id가 없으면 'unknown'
+
+CREATE TABLE IF NOT EXISTS revenue_daily_rollup (
+    day DATE NOT NULL,
+    plan_id VARCHAR(20) NOT NULL,
+    revenue BIGINT NOT NULL DEFAULT 0,
+    payment_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT NOW(),
+    PRIMARY KEY (day, plan_id)
+);
+
+COMMENT ON TABLE revenue_daily_rollup IS '완료 결제 일별·플랜별 매출 집계 (결제 완료/취소 시 증분 갱신)';
+COMMENT ON COLUMN revenue_daily_rollup.day IS '결제 완료일 (completed_at::date)';
+COMMENT ON COLUMN revenue_daily_rollup.plan_id IS '플랜 코드 (없으면 unknown)';
+COMMENT ON COLUMN revenue_daily_rollup.revenue IS '완료 결제 금액 합계 (원)';
+COMMENT ON COLUMN revenue_daily_rollup.payment_count IS '완료 결제 건수';
+
+-- 기존 완료 결제로 초기 적재
+INSERT INTO revenue_daily_rollup (day, plan_id, revenue, payment_count)
+SELECT completed_at::date, COALESCE(plan_id, 'unknown'), SUM(amount), COUNT(*)
+FROM payments
+WHERE status = 'completed' AND completed_at IS NOT NULL
+GROUP BY completed_at::date, COALESCE(plan_id, 'unknown')
+ON CONFLICT (day, plan_id) DO NOTHING;
@@ -0,0 +1,7 @@
+-- ============================================
+-- V31: 완료 결제 기간 조회 인덱스
+-- ============================================
+-- 대시보드 매출 버킷 집계(status = 'completed' AND completed_at 범위)와 거래내역 날짜별 조회가
+-- 전체 결제를 읽지 않고 인덱스 범위 스캔만 하도록 (status, completed_at) 복합 인덱스 추가
+
+CREATE INDEX IF NOT EXISTS idx_payments_status_completed_at ON payments(status, completed_at);
@@ -0,0 +1,21 @@
+-- ============================================
+-- V32: 분 단위 실시간 매출 스냅샷 (대시보드 "오늘" 타일용)
+-- ============================================
+-- API 서버가 메모리 카운터(분·플랜별)를 주기적으로 증분 반영 (INSERT ... ON CONFLICT DO UPDATE)
+-- 재시작해도 반영된 값은 유지되고, 관리자 API는 payments 대신 이 테이블만 읽음
+-- 보존 기간이 지난 행은 API 서버가 삭제
+
+CREATE TABLE IF NOT EXISTS revenue_live_minute (
+    minute TIMESTAMP NOT NULL,
+    plan_id VARCHAR(20) NOT NULL,
+    revenue BIGINT NOT NULL DEFAULT 0,
+    payment_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT NOW(),
+    PRIMARY KEY (minute, plan_id)
+);
+
+COMMENT ON TABLE revenue_live_minute IS '결제 완료 분·플랜별 실시간 매출 (메모리 카운터 주기 스냅샷)';
+COMMENT ON COLUMN revenue_live_minute.minute IS '결제 완료 시각 (분 단위 절삭)';
+COMMENT ON COLUMN revenue_live_minute.plan_id IS '플랜 코드 (없으면 unknown)';
+COMMENT ON COLUMN revenue_live_minute.revenue IS '완료 결제 금액 합계 (원)';
+COMMENT ON COLUMN revenue_live_minute.payment_count IS '완료 결제 건수';
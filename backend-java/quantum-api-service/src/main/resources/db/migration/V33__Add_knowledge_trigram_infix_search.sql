@@ -0,0 +1,15 @@
+-- ============================================
+-- V33: 지식·조문 중간 일치 검색 (pg_trgm GIN)
+-- ============================================
+-- search_tsv('simple')의 접두사 매칭(token:*)은 토큰 앞부분만 비교하므로
+-- 한국어 복합어 중간 일치("공제" → "소득공제")를 찾지 못함
+-- 검색은 tsquery 일치 OR 토큰별 ILIKE '%토큰%' 로 하고, ILIKE는 트라이그램 GIN 인덱스로 조회
+-- 2자 이하 토큰은 트라이그램을 뽑을 수 없어 인덱스 후보 축소 없이 재검사되므로 3자 이상에서 효과가 큼
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_knowledge_title_trgm ON knowledge_base USING GIN (title gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_knowledge_content_trgm ON knowledge_base USING GIN (content gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_knowledge_law_article_title_trgm ON knowledge_law_article USING GIN (article_title gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_knowledge_law_article_text_trgm ON knowledge_law_article USING GIN (article_text gin_trgm_ops);
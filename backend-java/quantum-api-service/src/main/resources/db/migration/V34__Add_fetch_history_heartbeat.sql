@@ -0,0 +1,12 @@
+-- ============================================
+-- V34: 수집 작업 소유 인스턴스·하트비트
+-- ============================================
+-- 관리자 서버가 여러 대이거나 롤링 배포 중이면, 기동한 인스턴스가 다른 인스턴스에서 실행 중인 작업까지
+-- FAILED로 정리하던 문제 방지: 작업을 접수한 인스턴스가 주기적으로 heartbeat_at을 갱신하고,
+-- 미완료 정리는 자기 소유이거나 하트비트가 끊긴(오래된) 작업만 대상으로 함
+
+ALTER TABLE knowledge_fetch_history ADD COLUMN IF NOT EXISTS owner_instance VARCHAR(100);
+ALTER TABLE knowledge_fetch_history ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMP;
+
+COMMENT ON COLUMN knowledge_fetch_history.owner_instance IS '작업을 접수·실행하는 관리자 서버 인스턴스 id';
+COMMENT ON COLUMN knowledge_fetch_history.heartbeat_at IS '실행 인스턴스의 마지막 하트비트 (DB 시각). 오래되면 중단된 작업으로 정리';
@@ -0,0 +1,26 @@
+package com.virtualtryon.core.config;
+
+import com.virtualtryon.core.vector.EmbeddingFunction;
+import com.virtualtryon.core.vector.HashedNgramEmbedding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 벡터 색인용 임베딩 함수 (기본: 해시 n-gram, 외부 호출 없음)
+ * 다른 모델을 쓰려면 EmbeddingFunction 구현을 @Primary 빈으로 등록
+ */
+@Configuration
+public class EmbeddingConfig {
+
+    @Value("${knowledge.embedding.dimension:256}")
+    private int dimension;
+
+    @Value("${knowledge.embedding.max-chars:8000}")
+    private int maxChars;
+
+    @Bean
+    public EmbeddingFunction embeddingFunction() {
+        return new HashedNgramEmbedding(dimension, maxChars);
+    }
+}
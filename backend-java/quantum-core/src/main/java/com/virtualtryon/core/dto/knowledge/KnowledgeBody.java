@@ -0,0 +1,6 @@
+package com.virtualtryon.core.dto.knowledge;
+
+import java.util.UUID;
+
+/** 지식·법령 본문 (목록에서 뺀 TEXT 컬럼만 단건으로 조회) */
+public record KnowledgeBody(UUID id, String content, String articleBody) {}
@@ -0,0 +1,24 @@
+package com.virtualtryon.core.dto.knowledge;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 법령 목록 행 (content·article_body 제외)
+ * 본문은 GET /api/admin/knowledge/law/{id}/body, 조문 단위는 /law/{mst}/articles
+ */
+public record KnowledgeLawSummary(
+        UUID id,
+        String mst,
+        String lawNameKo,
+        String lawType,
+        String deptName,
+        String proclamationNo,
+        String proclamationDate,
+        String enforceDate,
+        String lawId,
+        String sourceUrl,
+        String contentHash,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
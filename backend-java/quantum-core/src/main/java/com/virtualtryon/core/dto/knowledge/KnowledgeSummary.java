@@ -0,0 +1,35 @@
+package com.virtualtryon.core.dto.knowledge;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 지식 목록 행 (content·article_body 전문 대신 content 앞부분 미리보기만)
+ * 본문 전체는 GET /api/admin/knowledge/{id}/body
+ *
+ * @param highlight 전문 검색 시 일치 구간 발췌 (검색어 없는 목록이면 null)
+ */
+public record KnowledgeSummary(
+        UUID id,
+        String category,
+        String title,
+        String preview,
+        String sourceUrl,
+        String sourceType,
+        String externalId,
+        boolean active,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String highlight
+) {
+
+    /** 목록 미리보기 최대 길이 */
+    public static final int PREVIEW_CHARS = 300;
+
+    /** JPQL 생성자 식용 (발췌 없음) */
+    public KnowledgeSummary(UUID id, String category, String title, String preview, String sourceUrl,
+                            String sourceType, String externalId, boolean active,
+                            LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, category, title, preview, sourceUrl, sourceType, externalId, active, createdAt, updatedAt, null);
+    }
+}
@@ -0,0 +1,99 @@
+package com.virtualtryon.core.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DART 공시 병렬 수집 구간 (회사 × 기간)
+ *
+ * 수집 작업 하나를 구간 단위로 나눠 실행하고 구간별 완료 여부를 기록 (실패 구간만 재시도)
+ */
+@Entity
+@Table(name = "dart_harvest_window")
+public class DartHarvestWindow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    /** 최초 수집 작업 id (knowledge_fetch_history.id) */
+    @Column(name = "harvest_id", nullable = false)
+    private UUID harvestId;
+
+    /** null이면 회사 지정 없음 */
+    @Column(name = "corp_code", length = 8)
+    private String corpCode;
+
+    @Column(name = "corp_name")
+    private String corpName;
+
+    @Column(name = "bgn_de", nullable = false, length = 8)
+    private String bgnDe;
+
+    @Column(name = "end_de", nullable = false, length = 8)
+    private String endDe;
+
+    /** PENDING, RUNNING, SUCCESS, FAILED */
+    @Column(nullable = false, length = 20)
+    private String status = "PENDING";
+
+    @Column(name = "page_count")
+    private Integer pageCount = 0;
+
+    @Column(name = "item_count")
+    private Integer itemCount = 0;
+
+    @Column(name = "attempts")
+    private Integer attempts = 0;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public UUID getHarvestId() { return harvestId; }
+    public void setHarvestId(UUID harvestId) { this.harvestId = harvestId; }
+
+    public String getCorpCode() { return corpCode; }
+    public void setCorpCode(String corpCode) { this.corpCode = corpCode; }
+
+    public String getCorpName() { return corpName; }
+    public void setCorpName(String corpName) { this.corpName = corpName; }
+
+    public String getBgnDe() { return bgnDe; }
+    public void setBgnDe(String bgnDe) { this.bgnDe = bgnDe; }
+
+    public String getEndDe() { return endDe; }
+    public void setEndDe(String endDe) { this.endDe = endDe; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Integer getPageCount() { return pageCount; }
+    public void setPageCount(Integer pageCount) { this.pageCount = pageCount; }
+
+    public Integer getItemCount() { return itemCount; }
+    public void setItemCount(Integer itemCount) { this.itemCount = itemCount; }
+
+    public Integer getAttempts() { return attempts; }
+    public void setAttempts(Integer attempts) { this.attempts = attempts; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -45,6 +46,18 @@ public class KnowledgeBok {
     @Column(name = "unit_name", length = 20)
     private String unitName;
 
+    /** data_value 숫자 변환값 (숫자가 아니면 null) */
+    @Column(name = "numeric_value")
+    private Double numericValue;
+
+    /** 시점(time)의 시작일 */
+    @Column(name = "period_start")
+    private LocalDate periodStart;
+
+    /** 주기 D/M/Q/S/A */
+    @Column(name = "period_cycle", length = 1)
+    private String periodCycle;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -83,6 +96,15 @@ public class KnowledgeBok {
     public String getUnitName() { return unitName; }
     public void setUnitName(String unitName) { this.unitName = unitName; }
 
+    public Double getNumericValue() { return numericValue; }
+    public void setNumericValue(Double numericValue) { this.numericValue = numericValue; }
+
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+
+    public String getPeriodCycle() { return periodCycle; }
+    public void setPeriodCycle(String periodCycle) { this.periodCycle = periodCycle; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
 }
@@ -22,6 +22,7 @@ public class KnowledgeFetchHistory {
     @Column(name = "source_type", nullable = false, length = 50)
     private String sourceType;
 
+    /** QUEUED, RUNNING, SUCCESS, FAILED, CANCELLED */
     @Column(nullable = false, length = 20)
     private String status = "RUNNING";
 
@@ -34,6 +35,62 @@ public class KnowledgeFetchHistory {
     @Column(name = "params_json", columnDefinition = "TEXT")
     private String paramsJson;
 
+    /** 본문(상세) 조회 성공 건수 */
+    @Column(name = "detail_count")
+    private Integer detailCount = 0;
+
+    /** 본문(상세) 조회 실패 건수 */
+    @Column(name = "detail_failed_count")
+    private Integer detailFailedCount = 0;
+
+    /** 본문(상세) 조회 전체 소요시간(ms) */
+    @Column(name = "detail_elapsed_ms")
+    private Long detailElapsedMs;
+
+    /** 증분 동기화에서 버전·본문이 같아 건너뛴 건수 */
+    @Column(name = "skipped_count")
+    private Integer skippedCount;
+
+    /** 마지막으로 커밋된 페이지 (전체 수집 재개 기준) */
+    @Column(name = "checkpoint_page")
+    private Integer checkpointPage;
+
+    /** 마지막으로 커밋된 페이지의 마지막 MST */
+    @Column(name = "checkpoint_mst", length = 50)
+    private String checkpointMst;
+
+    @Column(name = "checkpoint_at")
+    private LocalDateTime checkpointAt;
+
+    /** 체크포인트 재개 시 원본 히스토리 id */
+    @Column(name = "resumed_from_id")
+    private UUID resumedFromId;
+
+    /** 작업 진행 건수 (소스별 단위: 법령 페이지·DART 페이지·ECOS 행) */
+    @Column(name = "progress_current")
+    private Integer progressCurrent = 0;
+
+    /** 작업 전체 건수 (알 수 없으면 null) */
+    @Column(name = "progress_total")
+    private Integer progressTotal;
+
+    @Column(name = "cancel_requested", nullable = false)
+    private boolean cancelRequested = false;
+
+    /** 작업을 접수·실행하는 관리자 서버 인스턴스 (접수 시에만 기록) */
+    @Column(name = "owner_instance", length = 100, updatable = false)
+    private String ownerInstance;
+
+    /** 실행 인스턴스의 마지막 하트비트 (DB 시각, 하트비트 쿼리로만 갱신) */
+    @Column(name = "heartbeat_at", insertable = false, updatable = false)
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
     @CreationTimestamp
     @Column(name = "fetched_at", nullable = false, updatable = false)
     private LocalDateTime fetchedAt;
@@ -58,6 +115,56 @@ public class KnowledgeFetchHistory {
     public String getParamsJson() { return paramsJson; }
     public void setParamsJson(String paramsJson) { this.paramsJson = paramsJson; }
 
+    public Integer getDetailCount() { return detailCount; }
+    public void setDetailCount(Integer detailCount) { this.detailCount = detailCount; }
+
+    public Integer getDetailFailedCount() { return detailFailedCount; }
+    public void setDetailFailedCount(Integer detailFailedCount) { this.detailFailedCount = detailFailedCount; }
+
+    public Long getDetailElapsedMs() { return detailElapsedMs; }
+    public void setDetailElapsedMs(Long detailElapsedMs) { this.detailElapsedMs = detailElapsedMs; }
+
+    /** 본문 조회 처리량 (건/초). 소요시간 기록이 없으면 null */
+    public Double getDetailPerSecond() {
+        if (detailElapsedMs == null || detailElapsedMs <= 0 || detailCount == null) return null;
+        return detailCount * 1000.0 / detailElapsedMs;
+    }
+
+    public Integer getSkippedCount() { return skippedCount; }
+    public void setSkippedCount(Integer skippedCount) { this.skippedCount = skippedCount; }
+
+    public Integer getCheckpointPage() { return checkpointPage; }
+    public void setCheckpointPage(Integer checkpointPage) { this.checkpointPage = checkpointPage; }
+
+    public String getCheckpointMst() { return checkpointMst; }
+    public void setCheckpointMst(String checkpointMst) { this.checkpointMst = checkpointMst; }
+
+    public LocalDateTime getCheckpointAt() { return checkpointAt; }
+    public void setCheckpointAt(LocalDateTime checkpointAt) { this.checkpointAt = checkpointAt; }
+
+    public UUID getResumedFromId() { return resumedFromId; }
+    public void setResumedFromId(UUID resumedFromId) { this.resumedFromId = resumedFromId; }
+
+    public Integer getProgressCurrent() { return progressCurrent; }
+    public void setProgressCurrent(Integer progressCurrent) { this.progressCurrent = progressCurrent; }
+
+    public Integer getProgressTotal() { return progressTotal; }
+    public void setProgressTotal(Integer progressTotal) { this.progressTotal = progressTotal; }
+
+    public boolean isCancelRequested() { return cancelRequested; }
+    public void setCancelRequested(boolean cancelRequested) { this.cancelRequested = cancelRequested; }
+
+    public String getOwnerInstance() { return ownerInstance; }
+    public void setOwnerInstance(String ownerInstance) { this.ownerInstance = ownerInstance; }
+
+    public LocalDateTime getHeartbeatAt() { return heartbeatAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
     public LocalDateTime getFetchedAt() { return fetchedAt; }
     public void setFetchedAt(LocalDateTime fetchedAt) { this.fetchedAt = fetchedAt; }
 }
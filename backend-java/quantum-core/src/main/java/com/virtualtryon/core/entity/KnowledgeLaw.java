@@ -52,6 +52,10 @@ public class KnowledgeLaw {
     @Column(name = "source_url", length = 500)
     private String sourceUrl;
 
+    /** article_body의 SHA-256 (증분 동기화 시 변경 여부 판단) */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -96,6 +100,9 @@ public class KnowledgeLaw {
     public String getSourceUrl() { return sourceUrl; }
     public void setSourceUrl(String sourceUrl) { this.sourceUrl = sourceUrl; }
 
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
 }
@@ -0,0 +1,86 @@
+package com.virtualtryon.core.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 법령 조문 단위 청크 (lawService.do 조문단위 1건 = 1행)
+ */
+@Entity
+@Table(name = "knowledge_law_article")
+public class KnowledgeLawArticle {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "mst", nullable = false, length = 20)
+    private String mst;
+
+    /** 응답의 조문키 (없으면 순번 6자리) */
+    @Column(name = "article_key", nullable = false, length = 20)
+    private String articleKey;
+
+    /** 응답 내 순서 (0부터) */
+    @Column(name = "seq", nullable = false)
+    private int seq;
+
+    @Column(name = "article_no", length = 20)
+    private String articleNo;
+
+    @Column(name = "article_title", length = 500)
+    private String articleTitle;
+
+    /** 조문여부 (조문 / 전문) */
+    @Column(name = "article_type", length = 20)
+    private String articleType;
+
+    @Column(name = "article_text", nullable = false, columnDefinition = "TEXT")
+    private String articleText;
+
+    /** article_text의 SHA-256 */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public String getMst() { return mst; }
+    public void setMst(String mst) { this.mst = mst; }
+
+    public String getArticleKey() { return articleKey; }
+    public void setArticleKey(String articleKey) { this.articleKey = articleKey; }
+
+    public int getSeq() { return seq; }
+    public void setSeq(int seq) { this.seq = seq; }
+
+    public String getArticleNo() { return articleNo; }
+    public void setArticleNo(String articleNo) { this.articleNo = articleNo; }
+
+    public String getArticleTitle() { return articleTitle; }
+    public void setArticleTitle(String articleTitle) { this.articleTitle = articleTitle; }
+
+    public String getArticleType() { return articleType; }
+    public void setArticleType(String articleType) { this.articleType = articleType; }
+
+    public String getArticleText() { return articleText; }
+    public void setArticleText(String articleText) { this.articleText = articleText; }
+
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
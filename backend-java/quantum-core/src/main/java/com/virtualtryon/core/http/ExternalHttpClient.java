@@ -0,0 +1,255 @@
+package com.virtualtryon.core.http;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 외부 데이터 소스(법령·DART·ECOS·네이버) 공용 HTTP 클라이언트
+ *
+ * - JDK HttpClient를 공유 (커넥션 keep-alive 재사용). 기본 HTTP/1.1,
+ *   external.http.http2-hosts에 지정한 https 호스트만 HTTP/2 (http:// 요청은 h2c 업그레이드를 보내지 않도록 항상 1.1)
+ * - 연결/응답 타임아웃 설정
+ * - 호스트별 동시 요청 상한 (응답 본문을 닫을 때까지 점유)
+ * - gzip 요청·해제
+ * - 호스트별 지연 통계 (관리자 조회용)
+ *
+ * 서비스는 restTemplate()을 그대로 사용한다.
+ */
+@Component
+public class ExternalHttpClient {
+
+    private static final Logger log = LoggerFactory.getLogger(ExternalHttpClient.class);
+
+    @Value("${external.http.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${external.http.read-timeout-ms:30000}")
+    private long readTimeoutMs;
+
+    /** 호스트별 동시 요청 상한 */
+    @Value("${external.http.max-connections-per-host:8}")
+    private int maxConnectionsPerHost;
+
+    /** 호스트별 상한에 걸렸을 때 대기 시간 */
+    @Value("${external.http.acquire-timeout-ms:30000}")
+    private long acquireTimeoutMs;
+
+    /** HTTP/2로 호출할 https 호스트 (쉼표 구분). 그 외는 HTTP/1.1 */
+    @Value("${external.http.http2-hosts:}")
+    private Set<String> http2Hosts;
+
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final Map<String, HostMetrics> hostMetrics = new ConcurrentHashMap<>();
+    private RestTemplate restTemplate;
+
+    @PostConstruct
+    void init() {
+        Set<String> h2 = new HashSet<>();
+        if (http2Hosts != null) {
+            for (String host : http2Hosts) {
+                if (host != null && !host.isBlank()) h2.add(host.trim().toLowerCase());
+            }
+        }
+        ClientHttpRequestFactory http11 = requestFactory(HttpClient.Version.HTTP_1_1);
+        ClientHttpRequestFactory http2 = h2.isEmpty() ? http11 : requestFactory(HttpClient.Version.HTTP_2);
+        ClientHttpRequestFactory routing = (uri, method) -> {
+            boolean useHttp2 = "https".equalsIgnoreCase(uri.getScheme())
+                    && uri.getHost() != null && h2.contains(uri.getHost().toLowerCase());
+            return (useHttp2 ? http2 : http11).createRequest(uri, method);
+        };
+        this.restTemplate = new RestTemplate(routing);
+        this.restTemplate.getInterceptors().add(new HostLimitInterceptor());
+        log.info("외부 HTTP 클라이언트 초기화: connect={}ms, read={}ms, 호스트별 동시 {}개, HTTP/2 호스트 {}",
+                connectTimeoutMs, readTimeoutMs, maxConnectionsPerHost, h2.isEmpty() ? "없음" : h2);
+    }
+
+    private ClientHttpRequestFactory requestFactory(HttpClient.Version version) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return requestFactory;
+    }
+
+    /** 공용 RestTemplate (스레드 안전, 서비스 간 공유) */
+    public RestTemplate restTemplate() {
+        return restTemplate;
+    }
+
+    /** 호스트별 호출 통계 */
+    public Map<String, HostLatencyStats> getHostStats() {
+        Map<String, HostLatencyStats> result = new TreeMap<>();
+        hostMetrics.forEach((host, m) -> result.put(host, m.snapshot(host)));
+        return result;
+    }
+
+    /** 호스트별 동시 요청 제한 + gzip + 지연 측정 */
+    private class HostLimitInterceptor implements ClientHttpRequestInterceptor {
+        @Override
+        public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+                throws IOException {
+            String host = request.getURI().getHost() != null ? request.getURI().getHost() : "unknown";
+            Semaphore permits = hostPermits.computeIfAbsent(host, k -> new Semaphore(Math.max(1, maxConnectionsPerHost)));
+            HostMetrics metrics = hostMetrics.computeIfAbsent(host, k -> new HostMetrics());
+            try {
+                if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new IOException("외부 API 호스트별 동시 요청 상한 대기 시간 초과: " + host);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("외부 API 요청 대기 중 인터럽트: " + host, e);
+            }
+
+            long startNanos = System.nanoTime();
+            metrics.inFlight.incrementAndGet();
+            if (!request.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+                request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+            }
+            try {
+                ClientHttpResponse response = execution.execute(request, body);
+                return new MeteredResponse(response, permits, metrics, startNanos);
+            } catch (IOException | RuntimeException e) {
+                metrics.record(startNanos, true);
+                permits.release();
+                throw e;
+            }
+        }
+    }
+
+    /** 본문을 닫을 때 지연 기록·permit 반환, gzip 본문은 해제해서 전달 */
+    private static final class MeteredResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final Semaphore permits;
+        private final HostMetrics metrics;
+        private final long startNanos;
+        private final boolean gzip;
+        private InputStream body;
+        private boolean closed;
+
+        MeteredResponse(ClientHttpResponse delegate, Semaphore permits, HostMetrics metrics, long startNanos) {
+            this.delegate = delegate;
+            this.permits = permits;
+            this.metrics = metrics;
+            this.startNanos = startNanos;
+            String encoding = delegate.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+            this.gzip = encoding != null && encoding.toLowerCase().contains("gzip");
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            if (!gzip) return delegate.getHeaders();
+            // 해제된 본문 기준 헤더 (길이·인코딩 제거)
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(delegate.getHeaders());
+            headers.remove(HttpHeaders.CONTENT_ENCODING);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                InputStream raw = delegate.getBody();
+                if (gzip) {
+                    PushbackInputStream in = new PushbackInputStream(raw, 1);
+                    int first = in.read();
+                    if (first == -1) {
+                        body = InputStream.nullInputStream();
+                    } else {
+                        in.unread(first);
+                        body = new GZIPInputStream(in);
+                    }
+                } else {
+                    body = raw;
+                }
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            boolean error;
+            try {
+                error = delegate.getStatusCode().isError();
+            } catch (IOException e) {
+                error = true;
+            }
+            try {
+                delegate.close();
+            } finally {
+                metrics.record(startNanos, error);
+                permits.release();
+            }
+        }
+    }
+
+    private static final class HostMetrics {
+        final AtomicLong requests = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong totalNanos = new AtomicLong();
+        final AtomicLong maxNanos = new AtomicLong();
+        final AtomicLong lastNanos = new AtomicLong();
+        final AtomicInteger inFlight = new AtomicInteger();
+
+        void record(long startNanos, boolean error) {
+            long elapsed = System.nanoTime() - startNanos;
+            inFlight.decrementAndGet();
+            requests.incrementAndGet();
+            if (error) errors.incrementAndGet();
+            totalNanos.addAndGet(elapsed);
+            maxNanos.accumulateAndGet(elapsed, Math::max);
+            lastNanos.set(elapsed);
+        }
+
+        HostLatencyStats snapshot(String host) {
+            long n = requests.get();
+            return new HostLatencyStats(host, n, errors.get(), inFlight.get(),
+                    n > 0 ? totalNanos.get() / 1_000_000.0 / n : 0.0,
+                    maxNanos.get() / 1_000_000.0,
+                    lastNanos.get() / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.virtualtryon.core.http;
+
+/**
+ * 외부 API 호스트별 호출 통계 (응답 본문을 다 읽고 닫을 때까지를 1회 지연으로 측정)
+ *
+ * @param inFlight 현재 실행 중인 요청 수 (호스트별 동시 요청 상한 이내)
+ */
+public record HostLatencyStats(
+        String host,
+        long requests,
+        long errors,
+        int inFlight,
+        double avgMs,
+        double maxMs,
+        double lastMs
+) {
+}
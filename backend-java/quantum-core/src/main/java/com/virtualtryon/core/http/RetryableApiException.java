@@ -0,0 +1,27 @@
+package com.virtualtryon.core.http;
+
+/**
+ * 외부 API가 HTTP 200으로 응답했지만 결과 코드가 일시 오류인 경우 (재시도 대상)
+ *
+ * 예: DART status=020(요청 제한 초과), ECOS ERROR-602(과도한 호출), 법령 resultCode=99(기타 오류)
+ */
+public class RetryableApiException extends RuntimeException {
+
+    private final String source;
+    private final String code;
+    private final boolean throttled;
+
+    /**
+     * @param throttled 호출 한도 초과 응답이면 true (해당 소스 호출 속도를 낮춤)
+     */
+    public RetryableApiException(String source, String code, String message, boolean throttled) {
+        super(message);
+        this.source = source;
+        this.code = code;
+        this.throttled = throttled;
+    }
+
+    public String getSource() { return source; }
+    public String getCode() { return code; }
+    public boolean isThrottled() { return throttled; }
+}
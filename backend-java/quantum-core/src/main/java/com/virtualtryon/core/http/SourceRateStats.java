@@ -0,0 +1,18 @@
+package com.virtualtryon.core.http;
+
+/**
+ * 소스별 호출 속도·재시도 통계
+ *
+ * @param currentPermitsPerSecond 한도 초과 응답에 따라 조정된 현재 호출 속도
+ * @param gaveUp                  재시도를 모두 소진하고 실패한 호출 수
+ */
+public record SourceRateStats(
+        String source,
+        double configuredPermitsPerSecond,
+        double currentPermitsPerSecond,
+        long calls,
+        long retries,
+        long throttled,
+        long gaveUp
+) {
+}
@@ -0,0 +1,20 @@
+package com.virtualtryon.core.ingest;
+
+/**
+ * 일괄 저장 통계 (청크 크기 튜닝용)
+ *
+ * @param rowsPerSecond DB flush 시간 기준 처리량 (행/초)
+ */
+public record BatchWriterStats(
+        String table,
+        int chunkSize,
+        long rowsWritten,
+        long inserted,
+        long updated,
+        long flushCount,
+        double avgFlushMs,
+        double maxFlushMs,
+        double lastFlushMs,
+        double rowsPerSecond
+) {
+}
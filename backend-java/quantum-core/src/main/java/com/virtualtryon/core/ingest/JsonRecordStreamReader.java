@@ -0,0 +1,167 @@
+package com.virtualtryon.core.ingest;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 토큰 단위 JSON 스트리밍 리더 (외부 API 응답 수집용)
+ *
+ * 응답 InputStream을 JsonParser로 직접 읽어, 지정한 경로의 객체만 레코드 단위 JsonNode로 만들어 넘긴다.
+ * - 전체 응답 String / 전체 트리를 만들지 않음 (메모리 = 레코드 1건 크기)
+ * - 경로는 필드명을 '.'으로 연결 (예: "LawSearch.law"), 배열은 경로에 나타나지 않음
+ * - 레코드 경로가 배열이면 원소마다, 단일 객체면 1건으로 전달
+ * - 레코드/스칼라 경로와 무관한 하위 트리는 토큰만 건너뜀 (부칙·별표 등)
+ * - handler가 false를 반환하면 즉시 중단 (나머지 응답은 읽지 않음)
+ */
+public class JsonRecordStreamReader {
+
+    /** 레코드 콜백. false 반환 시 파싱 중단 */
+    @FunctionalInterface
+    public interface RecordHandler {
+        boolean onRecord(String path, JsonNode record);
+    }
+
+    /**
+     * 스트리밍 결과
+     *
+     * @param scalars      요청한 스칼라 경로 → 값 (없으면 미포함)
+     * @param recordCount  handler에 전달된 레코드 수
+     * @param stoppedEarly handler 요청으로 중단했는지
+     * @param empty        응답 본문이 비어 있었는지
+     */
+    public record Result(Map<String, String> scalars, int recordCount, boolean stoppedEarly, boolean empty) {
+
+        /** 스칼라 값 (없으면 빈 문자열) */
+        public String scalar(String path) {
+            String v = scalars.get(path);
+            return v != null ? v : "";
+        }
+
+        /** 후보 경로 중 처음으로 값이 있는 스칼라 (응답 루트명이 API마다 다른 경우) */
+        public String firstScalar(String... paths) {
+            for (String path : paths) {
+                String v = scalars.get(path);
+                if (v != null && !v.isEmpty()) return v;
+            }
+            return "";
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+
+    public JsonRecordStreamReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 응답 스트림을 끝까지(또는 handler 중단 시까지) 읽는다. 스트림은 호출 후 닫힌다.
+     *
+     * @param in          HTTP 응답 본문
+     * @param recordPaths 레코드로 넘길 경로
+     * @param scalarPaths 값만 모을 경로 (resultCode, totalCnt 등)
+     */
+    public Result read(InputStream in, Set<String> recordPaths, Set<String> scalarPaths,
+                       RecordHandler handler) throws IOException {
+        Walk walk = new Walk(recordPaths, scalarPaths, handler);
+        if (in == null) return new Result(Collections.emptyMap(), 0, false, true);
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() == null) {
+                return new Result(Collections.emptyMap(), 0, false, true);
+            }
+            walk.value(parser, "");
+        }
+        return new Result(walk.scalars, walk.recordCount, walk.stopped, false);
+    }
+
+    /** 파싱 상태 (read 1회당 1개) */
+    private final class Walk {
+        private final Set<String> recordPaths;
+        private final Set<String> scalarPaths;
+        private final RecordHandler handler;
+        private final Map<String, String> scalars = new HashMap<>();
+        private int recordCount;
+        private boolean stopped;
+
+        Walk(Set<String> recordPaths, Set<String> scalarPaths, RecordHandler handler) {
+            this.recordPaths = recordPaths != null ? recordPaths : Collections.emptySet();
+            this.scalarPaths = scalarPaths != null ? scalarPaths : Collections.emptySet();
+            this.handler = handler;
+        }
+
+        /** 현재 토큰(값 시작)에서 하나의 값을 소비 */
+        void value(JsonParser parser, String path) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (recordPaths.contains(path)) {
+                records(parser, path);
+                return;
+            }
+            if (token == JsonToken.START_OBJECT) {
+                if (!leadsToTarget(path)) {
+                    parser.skipChildren();
+                    return;
+                }
+                while (!stopped && parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    parser.nextToken();
+                    value(parser, path.isEmpty() ? name : path + "." + name);
+                }
+            } else if (token == JsonToken.START_ARRAY) {
+                if (!leadsToTarget(path)) {
+                    parser.skipChildren();
+                    return;
+                }
+                while (!stopped && parser.nextToken() != JsonToken.END_ARRAY) {
+                    value(parser, path);
+                }
+            } else if (token != null && token.isScalarValue() && scalarPaths.contains(path)) {
+                scalars.put(path, token == JsonToken.VALUE_NULL ? "" : parser.getText());
+            }
+        }
+
+        /** 레코드 경로: 배열이면 원소별, 객체면 1건 */
+        private void records(JsonParser parser, String path) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.START_ARRAY) {
+                while (!stopped && parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (parser.currentToken() == JsonToken.START_OBJECT) {
+                        emit(parser, path);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else if (token == JsonToken.START_OBJECT) {
+                emit(parser, path);
+            }
+        }
+
+        private void emit(JsonParser parser, String path) throws IOException {
+            JsonNode record = parser.readValueAsTree();
+            recordCount++;
+            if (handler != null && !handler.onRecord(path, record)) {
+                stopped = true;
+            }
+        }
+
+        /** path 하위에 레코드/스칼라 경로가 있는지 (루트는 항상 true) */
+        private boolean leadsToTarget(String path) {
+            if (path.isEmpty()) return true;
+            String prefix = path + ".";
+            for (String p : recordPaths) {
+                if (p.startsWith(prefix)) return true;
+            }
+            for (String p : scalarPaths) {
+                if (p.startsWith(prefix)) return true;
+            }
+            return false;
+        }
+    }
+}
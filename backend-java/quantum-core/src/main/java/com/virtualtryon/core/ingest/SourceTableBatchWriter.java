@@ -0,0 +1,157 @@
+package com.virtualtryon.core.ingest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * 소스 테이블 일괄 writer
+ *
+ * 파싱된 행을 모아 chunkSize마다 flush:
+ * 1) 청크 내 자연키 중복 제거 (마지막 값 우선)
+ * 2) IN (...) 쿼리로 기존 행 id 조회 (NULL 키 구성별, 바인드 파라미터 상한 단위)
+ * 3) 신규는 JDBC batch insert, 기존은 JDBC batch update
+ *
+ * 스레드 안전하지 않음 (수집 1건당 writer 1개). 호출부 트랜잭션에 참여한다.
+ */
+public class SourceTableBatchWriter<T> implements AutoCloseable {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SourceTableMapping<T> mapping;
+    private final int chunkSize;
+    private final Consumer<BatchWriterStats> statsListener;
+    private final List<T> buffer;
+
+    private long rowsWritten;
+    private long inserted;
+    private long updated;
+    private long flushCount;
+    private long totalFlushNanos;
+    private long maxFlushNanos;
+    private long lastFlushNanos;
+
+    SourceTableBatchWriter(JdbcTemplate jdbcTemplate, SourceTableMapping<T> mapping, int chunkSize,
+                           Consumer<BatchWriterStats> statsListener) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mapping = mapping;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.statsListener = statsListener;
+        this.buffer = new ArrayList<>(this.chunkSize);
+    }
+
+    /** 행 추가. 버퍼가 chunkSize에 도달하면 즉시 flush */
+    public void add(T row) {
+        if (row == null) return;
+        buffer.add(row);
+        if (buffer.size() >= chunkSize) flush();
+    }
+
+    public void addAll(Iterable<? extends T> rows) {
+        if (rows == null) return;
+        for (T row : rows) add(row);
+    }
+
+    /** 버퍼에 남은 행 저장 */
+    public void flush() {
+        if (buffer.isEmpty()) return;
+        List<T> chunk = new ArrayList<>(buffer);
+        buffer.clear();
+        flushChunk(chunk);
+        if (statsListener != null) statsListener.accept(getStats());
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    public BatchWriterStats getStats() {
+        double totalMs = totalFlushNanos / 1_000_000.0;
+        return new BatchWriterStats(
+                mapping.getTable(),
+                chunkSize,
+                rowsWritten,
+                inserted,
+                updated,
+                flushCount,
+                flushCount > 0 ? totalMs / flushCount : 0.0,
+                maxFlushNanos / 1_000_000.0,
+                lastFlushNanos / 1_000_000.0,
+                totalFlushNanos > 0 ? rowsWritten * 1_000_000_000.0 / totalFlushNanos : 0.0
+        );
+    }
+
+    private void flushChunk(List<T> chunk) {
+        long start = System.nanoTime();
+
+        Map<String, T> byKey = new LinkedHashMap<>();
+        for (T row : chunk) byKey.put(mapping.keyOf(row), row);
+
+        Map<String, UUID> existingIds = lookupExisting(byKey);
+
+        Map<String, UUID> assignedIds = new HashMap<>(existingIds);
+        List<Object[]> insertParams = new ArrayList<>();
+        List<Object[]> updateParams = new ArrayList<>();
+        for (Map.Entry<String, T> e : byKey.entrySet()) {
+            T row = e.getValue();
+            UUID id = existingIds.get(e.getKey());
+            if (id == null) {
+                id = UUID.randomUUID();
+                assignedIds.put(e.getKey(), id);
+                insertParams.add(mapping.insertParams(row, id));
+            } else {
+                updateParams.add(mapping.updateParams(row, id));
+            }
+        }
+        // 중복 제거로 빠진 행까지 포함해 최종 id 반영
+        for (T row : chunk) mapping.assignId(row, assignedIds.get(mapping.keyOf(row)));
+
+        if (!insertParams.isEmpty()) jdbcTemplate.batchUpdate(mapping.insertSql(), insertParams);
+        if (!updateParams.isEmpty()) jdbcTemplate.batchUpdate(mapping.updateSql(), updateParams);
+
+        long elapsed = System.nanoTime() - start;
+        rowsWritten += byKey.size();
+        inserted += insertParams.size();
+        updated += updateParams.size();
+        flushCount++;
+        totalFlushNanos += elapsed;
+        lastFlushNanos = elapsed;
+        maxFlushNanos = Math.max(maxFlushNanos, elapsed);
+    }
+
+    private Map<String, UUID> lookupExisting(Map<String, T> byKey) {
+        // NULL 키 구성이 같은 행끼리 묶고, 바인드 파라미터 상한을 넘지 않게 나눠 조회
+        Map<Integer, List<T>> byNullMask = new LinkedHashMap<>();
+        for (T row : byKey.values()) {
+            byNullMask.computeIfAbsent(mapping.nullMask(row), m -> new ArrayList<>()).add(row);
+        }
+
+        Map<String, UUID> ids = new HashMap<>();
+        List<SourceTableMapping.KeyColumn<T>> keys = mapping.getKeyColumns();
+        int maxRows = mapping.maxLookupRows();
+        for (Map.Entry<Integer, List<T>> group : byNullMask.entrySet()) {
+            List<T> rows = group.getValue();
+            for (int from = 0; from < rows.size(); from += maxRows) {
+                List<T> part = rows.subList(from, Math.min(from + maxRows, rows.size()));
+                List<Object> params = new ArrayList<>(part.size() * keys.size());
+                for (T row : part) mapping.appendKeyParams(row, params);
+                jdbcTemplate.query(mapping.lookupSql(group.getKey(), part.size()), rs -> {
+                    StringBuilder key = new StringBuilder();
+                    for (int i = 0; i < keys.size(); i++) {
+                        if (i > 0) key.append('\u0000');
+                        String v = rs.getString(keys.get(i).name());
+                        key.append(v != null ? v : "");
+                    }
+                    ids.put(key.toString(), rs.getObject("id", UUID.class));
+                }, params.toArray());
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,41 @@
+package com.virtualtryon.core.ingest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SourceTableBatchWriter 생성 + 테이블별 최근 통계 보관 (관리자 조회용)
+ */
+@Component
+public class SourceTableBatchWriterFactory {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, BatchWriterStats> lastStats = new ConcurrentHashMap<>();
+
+    /** flush 1회당 최대 행 수 */
+    @Value("${knowledge.batch-writer.chunk-size:500}")
+    private int defaultChunkSize;
+
+    public SourceTableBatchWriterFactory(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public <T> SourceTableBatchWriter<T> open(SourceTableMapping<T> mapping) {
+        return open(mapping, defaultChunkSize);
+    }
+
+    public <T> SourceTableBatchWriter<T> open(SourceTableMapping<T> mapping, int chunkSize) {
+        return new SourceTableBatchWriter<>(jdbcTemplate, mapping, chunkSize,
+                stats -> lastStats.put(stats.table(), stats));
+    }
+
+    /** 테이블별 마지막 writer 통계 (rows/sec, flush 지연) */
+    public Map<String, BatchWriterStats> getLastStats() {
+        return new TreeMap<>(lastStats);
+    }
+}
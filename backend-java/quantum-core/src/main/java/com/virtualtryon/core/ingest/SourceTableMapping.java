@@ -0,0 +1,188 @@
+package com.virtualtryon.core.ingest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 소스 테이블(knowledge_law, knowledge_dart, knowledge_bok 등) 일괄 저장용 매핑 정의
+ *
+ * - 모든 대상 테이블은 id(UUID) PK, created_at, updated_at 컬럼을 가진다고 가정
+ * - keyColumns: 항목 식별용 자연키 (기존 행 조회·중복 제거 기준)
+ * - dataColumns: insert/update 대상 컬럼
+ */
+public final class SourceTableMapping<T> {
+
+    /** 자연키 컬럼. nullable이면 NULL 값은 IS NULL로 조회 (UNIQUE 제약의 NULL 허용 컬럼 대응) */
+    public record KeyColumn<T>(String name, Function<T, String> getter, boolean nullable) {
+        public static <T> KeyColumn<T> of(String name, Function<T, String> getter) {
+            return new KeyColumn<>(name, getter, false);
+        }
+        public static <T> KeyColumn<T> nullable(String name, Function<T, String> getter) {
+            return new KeyColumn<>(name, getter, true);
+        }
+    }
+
+    /** 데이터 컬럼. keepExistingWhenNull이면 새 값이 NULL일 때 기존 값을 유지 (본문 등 선택적 보강 컬럼) */
+    public record DataColumn<T>(String name, Function<T, Object> getter, boolean keepExistingWhenNull) {
+        public static <T> DataColumn<T> of(String name, Function<T, Object> getter) {
+            return new DataColumn<>(name, getter, false);
+        }
+        public static <T> DataColumn<T> keepExisting(String name, Function<T, Object> getter) {
+            return new DataColumn<>(name, getter, true);
+        }
+    }
+
+    private final String table;
+    private final List<KeyColumn<T>> keyColumns;
+    private final List<DataColumn<T>> dataColumns;
+    private final BiConsumer<T, UUID> idSetter;
+
+    private final String insertSql;
+    private final String updateSql;
+
+    public SourceTableMapping(String table, List<KeyColumn<T>> keyColumns, List<DataColumn<T>> dataColumns,
+                              BiConsumer<T, UUID> idSetter) {
+        this.table = Objects.requireNonNull(table, "table must not be null");
+        this.keyColumns = List.copyOf(keyColumns);
+        this.dataColumns = List.copyOf(dataColumns);
+        this.idSetter = idSetter;
+        if (this.keyColumns.isEmpty()) {
+            throw new IllegalArgumentException("keyColumns must not be empty: " + table);
+        }
+        this.insertSql = buildInsertSql();
+        this.updateSql = buildUpdateSql();
+    }
+
+    public String getTable() { return table; }
+    public List<KeyColumn<T>> getKeyColumns() { return keyColumns; }
+    public List<DataColumn<T>> getDataColumns() { return dataColumns; }
+
+    String insertSql() { return insertSql; }
+    String updateSql() { return updateSql; }
+
+    /** 메모리 내 중복 제거·조회 결과 매칭용 키 문자열 */
+    String keyOf(T row) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < keyColumns.size(); i++) {
+            if (i > 0) sb.append('\u0000');
+            String v = keyColumns.get(i).getter().apply(row);
+            sb.append(v != null ? v : "");
+        }
+        return sb.toString();
+    }
+
+    /** PostgreSQL 바인드 파라미터 상한 */
+    private static final int MAX_BIND_PARAMS = 65535;
+
+    /** lookupSql 1회에 넣을 수 있는 최대 행 수 (바인드 파라미터 상한 / 키 컬럼 수) */
+    int maxLookupRows() {
+        return MAX_BIND_PARAMS / keyColumns.size();
+    }
+
+    /** nullable 키 중 값이 NULL인 컬럼 비트마스크 (같은 마스크끼리 한 조회로 묶음) */
+    int nullMask(T row) {
+        int mask = 0;
+        for (int i = 0; i < keyColumns.size(); i++) {
+            KeyColumn<T> k = keyColumns.get(i);
+            if (k.nullable() && k.getter().apply(row) == null) mask |= 1 << i;
+        }
+        return mask;
+    }
+
+    /**
+     * 기존 행 조회 SQL: 같은 nullMask인 키 rowCount개를 IN (...) 한 번으로 조회
+     * NULL 키는 "컬럼 IS NULL"로, 나머지는 컬럼 그대로 비교해 UNIQUE 인덱스를 탈 수 있게 함
+     */
+    String lookupSql(int nullMask, int rowCount) {
+        StringBuilder sql = new StringBuilder("SELECT id");
+        for (KeyColumn<T> k : keyColumns) sql.append(", ").append(k.name());
+        sql.append(" FROM ").append(table).append(" WHERE ");
+        List<String> tupleColumns = new ArrayList<>(keyColumns.size());
+        for (int i = 0; i < keyColumns.size(); i++) {
+            String name = keyColumns.get(i).name();
+            if ((nullMask & (1 << i)) != 0) {
+                sql.append(name).append(" IS NULL AND ");
+            } else {
+                tupleColumns.add(name);
+            }
+        }
+        if (tupleColumns.isEmpty()) {
+            return sql.append("TRUE").toString();
+        }
+        String tuple;
+        if (tupleColumns.size() == 1) {
+            sql.append(tupleColumns.get(0));
+            tuple = "?";
+        } else {
+            sql.append('(').append(String.join(", ", tupleColumns)).append(')');
+            tuple = "(" + String.join(", ", Collections.nCopies(tupleColumns.size(), "?")) + ")";
+        }
+        sql.append(" IN (");
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(tuple);
+        }
+        return sql.append(')').toString();
+    }
+
+    /** lookupSql 바인드 값 (NULL인 nullable 키는 IS NULL 조건이므로 제외) */
+    void appendKeyParams(T row, List<Object> params) {
+        for (KeyColumn<T> k : keyColumns) {
+            String v = k.getter().apply(row);
+            if (v == null && k.nullable()) continue;
+            params.add(v);
+        }
+    }
+
+    Object[] insertParams(T row, UUID id) {
+        Object[] params = new Object[1 + keyColumns.size() + dataColumns.size()];
+        int i = 0;
+        params[i++] = id;
+        for (KeyColumn<T> k : keyColumns) params[i++] = k.getter().apply(row);
+        for (DataColumn<T> d : dataColumns) params[i++] = d.getter().apply(row);
+        return params;
+    }
+
+    Object[] updateParams(T row, UUID id) {
+        Object[] params = new Object[dataColumns.size() + 1];
+        int i = 0;
+        for (DataColumn<T> d : dataColumns) params[i++] = d.getter().apply(row);
+        params[i] = id;
+        return params;
+    }
+
+    void assignId(T row, UUID id) {
+        if (idSetter != null) idSetter.accept(row, id);
+    }
+
+    private String buildInsertSql() {
+        StringBuilder cols = new StringBuilder("id");
+        StringBuilder values = new StringBuilder("?");
+        for (KeyColumn<T> k : keyColumns) {
+            cols.append(", ").append(k.name());
+            values.append(", ?");
+        }
+        for (DataColumn<T> d : dataColumns) {
+            cols.append(", ").append(d.name());
+            values.append(", ?");
+        }
+        return "INSERT INTO " + table + " (" + cols + ", created_at, updated_at) VALUES (" + values + ", NOW(), NOW())";
+    }
+
+    private String buildUpdateSql() {
+        StringBuilder sql = new StringBuilder("UPDATE ").append(table).append(" SET ");
+        for (DataColumn<T> d : dataColumns) {
+            if (d.keepExistingWhenNull()) {
+                sql.append(d.name()).append(" = COALESCE(?, ").append(d.name()).append("), ");
+            } else {
+                sql.append(d.name()).append(" = ?, ");
+            }
+        }
+        return sql.append("updated_at = NOW() WHERE id = ?").toString();
+    }
+}
@@ -0,0 +1,89 @@
+package com.virtualtryon.core.ingest;
+
+import com.virtualtryon.core.entity.KnowledgeBok;
+import com.virtualtryon.core.entity.KnowledgeDart;
+import com.virtualtryon.core.entity.KnowledgeLaw;
+import com.virtualtryon.core.entity.KnowledgeLawArticle;
+import com.virtualtryon.core.ingest.SourceTableMapping.DataColumn;
+import com.virtualtryon.core.ingest.SourceTableMapping.KeyColumn;
+
+import java.util.List;
+
+/**
+ * 지식 소스 테이블별 매핑 (V10 스키마 기준)
+ */
+public final class SourceTableMappings {
+
+    private SourceTableMappings() {}
+
+    /** knowledge_law: mst(법령일련번호) 기준. article_body·content_hash는 본문 조회된 경우에만 갱신 */
+    public static final SourceTableMapping<KnowledgeLaw> LAW = new SourceTableMapping<>(
+            "knowledge_law",
+            List.of(KeyColumn.of("mst", KnowledgeLaw::getMst)),
+            List.of(
+                    DataColumn.of("law_name_ko", KnowledgeLaw::getLawNameKo),
+                    DataColumn.of("law_type", KnowledgeLaw::getLawType),
+                    DataColumn.of("dept_name", KnowledgeLaw::getDeptName),
+                    DataColumn.of("proclamation_no", KnowledgeLaw::getProclamationNo),
+                    DataColumn.of("proclamation_date", KnowledgeLaw::getProclamationDate),
+                    DataColumn.of("enforce_date", KnowledgeLaw::getEnforceDate),
+                    DataColumn.of("law_id", KnowledgeLaw::getLawId),
+                    DataColumn.of("content", KnowledgeLaw::getContent),
+                    DataColumn.of("source_url", KnowledgeLaw::getSourceUrl),
+                    DataColumn.keepExisting("article_body", KnowledgeLaw::getArticleBody),
+                    DataColumn.keepExisting("content_hash", KnowledgeLaw::getContentHash)
+            ),
+            KnowledgeLaw::setId);
+
+    /** knowledge_law_article: (mst, article_key) 기준. 조문 본문 스트리밍 적재 */
+    public static final SourceTableMapping<KnowledgeLawArticle> LAW_ARTICLE = new SourceTableMapping<>(
+            "knowledge_law_article",
+            List.of(
+                    KeyColumn.of("mst", KnowledgeLawArticle::getMst),
+                    KeyColumn.of("article_key", KnowledgeLawArticle::getArticleKey)
+            ),
+            List.of(
+                    DataColumn.of("seq", KnowledgeLawArticle::getSeq),
+                    DataColumn.of("article_no", KnowledgeLawArticle::getArticleNo),
+                    DataColumn.of("article_title", KnowledgeLawArticle::getArticleTitle),
+                    DataColumn.of("article_type", KnowledgeLawArticle::getArticleType),
+                    DataColumn.of("article_text", KnowledgeLawArticle::getArticleText),
+                    DataColumn.of("content_hash", KnowledgeLawArticle::getContentHash)
+            ),
+            KnowledgeLawArticle::setId);
+
+    /** knowledge_dart: rcept_no(접수번호) 기준 */
+    public static final SourceTableMapping<KnowledgeDart> DART = new SourceTableMapping<>(
+            "knowledge_dart",
+            List.of(KeyColumn.of("rcept_no", KnowledgeDart::getRceptNo)),
+            List.of(
+                    DataColumn.of("corp_code", KnowledgeDart::getCorpCode),
+                    DataColumn.of("corp_name", KnowledgeDart::getCorpName),
+                    DataColumn.of("rcept_dt", KnowledgeDart::getRceptDt),
+                    DataColumn.of("report_nm", KnowledgeDart::getReportNm),
+                    DataColumn.of("flr_nm", KnowledgeDart::getFlrNm),
+                    DataColumn.of("rm", KnowledgeDart::getRm)
+            ),
+            KnowledgeDart::setId);
+
+    /** knowledge_bok: (stat_code, item_code1, time) 기준. item_code1은 NULL 허용 */
+    public static final SourceTableMapping<KnowledgeBok> BOK = new SourceTableMapping<>(
+            "knowledge_bok",
+            List.of(
+                    KeyColumn.of("stat_code", KnowledgeBok::getStatCode),
+                    KeyColumn.nullable("item_code1", KnowledgeBok::getItemCode1),
+                    KeyColumn.of("time", KnowledgeBok::getTime)
+            ),
+            List.of(
+                    DataColumn.of("stat_name", KnowledgeBok::getStatName),
+                    DataColumn.of("item_name1", KnowledgeBok::getItemName1),
+                    DataColumn.of("item_code2", KnowledgeBok::getItemCode2),
+                    DataColumn.of("item_name2", KnowledgeBok::getItemName2),
+                    DataColumn.of("data_value", KnowledgeBok::getDataValue),
+                    DataColumn.of("unit_name", KnowledgeBok::getUnitName),
+                    DataColumn.of("numeric_value", KnowledgeBok::getNumericValue),
+                    DataColumn.of("period_start", KnowledgeBok::getPeriodStart),
+                    DataColumn.of("period_cycle", KnowledgeBok::getPeriodCycle)
+            ),
+            KnowledgeBok::setId);
+}
@@ -0,0 +1,16 @@
+package com.virtualtryon.core.repository;
+
+import com.virtualtryon.core.entity.DartHarvestWindow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DartHarvestWindowRepository extends JpaRepository<DartHarvestWindow, UUID> {
+    List<DartHarvestWindow> findByHarvestIdOrderByCorpCodeAscBgnDeAsc(UUID harvestId);
+
+    /** 재시도 대상 (SUCCESS가 아닌 구간) */
+    List<DartHarvestWindow> findByHarvestIdAndStatusNot(UUID harvestId, String status);
+}
@@ -3,6 +3,8 @@ package com.virtualtryon.core.repository;
 import com.virtualtryon.core.entity.KnowledgeBok;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +16,24 @@ public interface KnowledgeBokRepository extends JpaRepository<KnowledgeBok, UUID
     List<KnowledgeBok> findAllByOrderByTimeDesc(Pageable pageable);
     List<KnowledgeBok> findByStatCodeOrderByTimeDesc(String statCode, Pageable pageable);
     Optional<KnowledgeBok> findByStatCodeAndItemCode1AndTime(String statCode, String itemCode1, String time);
+
+    /** 항목별 마지막 저장 시점 */
+    interface ItemLatestTime {
+        String getItemCode1();
+        String getLatestTime();
+    }
+
+    /**
+     * 계열의 항목별 마지막 저장 시점 (증분 수집 기준)
+     *
+     * 주기는 time 형식이 아니라 period_cycle로 거른다 (M의 YYYYMM과 Q·S의 YYYYQn·YYYYSn이 길이가 같아 섞이지 않게).
+     *
+     * @param itemCode1   null이면 통계표 전체 항목 (항목마다 한 행)
+     * @param periodCycle 주기 D/M/Q/S/A
+     */
+    @Query("SELECT b.itemCode1 AS itemCode1, MAX(b.time) AS latestTime FROM KnowledgeBok b " +
+           "WHERE b.statCode = :statCode AND (:itemCode1 IS NULL OR b.itemCode1 = :itemCode1) " +
+           "AND b.periodCycle = :periodCycle GROUP BY b.itemCode1")
+    List<ItemLatestTime> findLatestTimes(@Param("statCode") String statCode, @Param("itemCode1") String itemCode1,
+                                         @Param("periodCycle") String periodCycle);
 }
@@ -3,9 +3,15 @@ package com.virtualtryon.core.repository;
 import com.virtualtryon.core.entity.KnowledgeFetchHistory;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -14,4 +20,36 @@ public interface KnowledgeFetchHistoryRepository extends JpaRepository<Knowledge
 
     /** 어디서·무엇을·언제 받아왔는지 상세 로우 목록 (최신순) */
     List<KnowledgeFetchHistory> findAllByOrderByFetchedAtDesc();
+
+    /** 체크포인트가 기록된 가장 최근 전체 수집 (재개 대상) */
+    Optional<KnowledgeFetchHistory> findFirstBySourceTypeAndCheckpointPageIsNotNullOrderByFetchedAtDesc(String sourceType);
+
+    /**
+     * 끝나지 못한 작업(QUEUED/RUNNING)을 FAILED로 정리
+     * 대상: owner 인스턴스 소유(이전 실행의 잔여) 또는 하트비트가 staleSeconds초 이상 끊긴 작업
+     * (다른 인스턴스에서 실행 중인 작업은 하트비트가 갱신되므로 제외)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE knowledge_fetch_history SET status = 'FAILED', error_message = :message, finished_at = LOCALTIMESTAMP " +
+           "WHERE status IN ('QUEUED', 'RUNNING') AND (owner_instance = :owner " +
+           "OR COALESCE(heartbeat_at, started_at, fetched_at) < LOCALTIMESTAMP - make_interval(secs => :staleSeconds))",
+           nativeQuery = true)
+    int failUnfinished(@Param("message") String message, @Param("owner") String owner, @Param("staleSeconds") long staleSeconds);
+
+    /** 실행·대기 중인 작업의 하트비트 갱신 (DB 시각 기준, 인스턴스 간 시계 차이 무관) */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE knowledge_fetch_history SET heartbeat_at = LOCALTIMESTAMP " +
+           "WHERE id IN (:ids) AND status IN ('QUEUED', 'RUNNING')", nativeQuery = true)
+    int touchHeartbeat(@Param("ids") Collection<UUID> ids);
+
+    /** 하트비트가 끊긴 미완료 작업만 취소 처리 (다른 인스턴스에서 실행 중이면 0) */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE knowledge_fetch_history SET status = 'CANCELLED', cancel_requested = TRUE, finished_at = LOCALTIMESTAMP " +
+           "WHERE id = :id AND status IN ('QUEUED', 'RUNNING') " +
+           "AND COALESCE(heartbeat_at, started_at, fetched_at) < LOCALTIMESTAMP - make_interval(secs => :staleSeconds)",
+           nativeQuery = true)
+    int cancelIfStale(@Param("id") UUID id, @Param("staleSeconds") long staleSeconds);
 }
@@ -0,0 +1,48 @@
+package com.virtualtryon.core.repository;
+
+import com.virtualtryon.core.entity.KnowledgeLawArticle;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface KnowledgeLawArticleRepository extends JpaRepository<KnowledgeLawArticle, UUID> {
+
+    /** 법령 1건의 조문 (응답 순서) */
+    List<KnowledgeLawArticle> findByMstOrderBySeqAsc(String mst);
+
+    long countByMst(String mst);
+
+    /**
+     * 조문 전문 검색 (search_tsv GIN 접두사 일치 OR 조문제목·내용 중간 일치(트라이그램 GIN), 관련도순)
+     *
+     * @param tsQuery      to_tsquery('simple', …) 식 (예: 소득세:* & 공제:*)
+     * @param infixPattern 토큰을 입력 순서대로 이은 ILIKE 패턴 (예: %소득%공제%)
+     */
+    @Query(value = "SELECT a.* FROM knowledge_law_article a, to_tsquery('simple', :tsQuery) q " +
+            "WHERE (a.search_tsv @@ q OR a.article_title ILIKE :infixPattern OR a.article_text ILIKE :infixPattern) " +
+            "ORDER BY ts_rank_cd(a.search_tsv, q) DESC, a.mst, a.seq LIMIT :limit",
+            nativeQuery = true)
+    List<KnowledgeLawArticle> searchArticles(@Param("tsQuery") String tsQuery, @Param("infixPattern") String infixPattern,
+                                             @Param("limit") int limit);
+
+    /** 법령 1건 안에서 조문 전문 검색 */
+    @Query(value = "SELECT a.* FROM knowledge_law_article a, to_tsquery('simple', :tsQuery) q " +
+            "WHERE a.mst = :mst AND (a.search_tsv @@ q OR a.article_title ILIKE :infixPattern OR a.article_text ILIKE :infixPattern) " +
+            "ORDER BY ts_rank_cd(a.search_tsv, q) DESC, a.seq LIMIT :limit",
+            nativeQuery = true)
+    List<KnowledgeLawArticle> searchArticlesInLaw(@Param("mst") String mst, @Param("tsQuery") String tsQuery,
+                                                  @Param("infixPattern") String infixPattern, @Param("limit") int limit);
+
+    /** 다시 받은 본문보다 뒤에 남은 조문 정리 (seq >= 이번 조문 수) */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM KnowledgeLawArticle a WHERE a.mst = :mst AND a.seq >= :seq")
+    int deleteByMstAndSeqFrom(@Param("mst") String mst, @Param("seq") int seq);
+}
@@ -1,16 +1,33 @@
 package com.virtualtryon.core.repository;
 
+import com.virtualtryon.core.dto.knowledge.KnowledgeBody;
+import com.virtualtryon.core.dto.knowledge.KnowledgeLawSummary;
 import com.virtualtryon.core.entity.KnowledgeLaw;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface KnowledgeLawRepository extends JpaRepository<KnowledgeLaw, UUID> {
-    List<KnowledgeLaw> findAllByOrderByProclamationDateDesc(org.springframework.data.domain.Pageable pageable);
+    /** 목록 (공포일자 내림차순, content·article_body 제외) */
+    @Query("SELECT new com.virtualtryon.core.dto.knowledge.KnowledgeLawSummary(l.id, l.mst, l.lawNameKo, l.lawType, " +
+           "l.deptName, l.proclamationNo, l.proclamationDate, l.enforceDate, l.lawId, l.sourceUrl, l.contentHash, " +
+           "l.createdAt, l.updatedAt) FROM KnowledgeLaw l ORDER BY l.proclamationDate DESC")
+    List<KnowledgeLawSummary> findSummaries(Pageable pageable);
+
+    /** 본문만 단건 조회 */
+    @Query("SELECT new com.virtualtryon.core.dto.knowledge.KnowledgeBody(l.id, l.content, l.articleBody) FROM KnowledgeLaw l WHERE l.id = :id")
+    Optional<KnowledgeBody> findBodyById(@Param("id") UUID id);
     List<KnowledgeLaw> findByLawNameKoContaining(String lawNameKo);
     Optional<KnowledgeLaw> findByMst(String mst);
+
+    /** 증분 동기화: 검색 결과 MST들의 저장된 버전(공포일자·시행일자·content_hash)을 한 번에 조회 */
+    List<KnowledgeLaw> findByMstIn(Collection<String> msts);
 }
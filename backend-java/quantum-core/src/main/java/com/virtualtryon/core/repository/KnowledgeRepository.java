@@ -1,5 +1,7 @@
 package com.virtualtryon.core.repository;
 
+import com.virtualtryon.core.dto.knowledge.KnowledgeBody;
+import com.virtualtryon.core.dto.knowledge.KnowledgeSummary;
 import com.virtualtryon.core.entity.Knowledge;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,26 +15,38 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface KnowledgeRepository extends JpaRepository<Knowledge, UUID> {
+public interface KnowledgeRepository extends JpaRepository<Knowledge, UUID>, KnowledgeRepositoryCustom {
     List<Knowledge> findByCategoryAndIsActiveTrueOrderByUpdatedAtDesc(String category);
     List<Knowledge> findByIsActiveTrueOrderByUpdatedAtDesc();
 
     /** 항목별 upsert: source_type + external_id 로 동일 항목 조회 (카테고리별 저장 시 사용) */
     Optional<Knowledge> findBySourceTypeAndExternalId(String sourceType, String externalId);
 
+    /** 활성 법령 지식의 법령명 목록 (증분 동기화 검색어, 본문 컬럼은 읽지 않음) */
+    @Query("SELECT DISTINCT k.title FROM Knowledge k WHERE k.isActive = true " +
+            "AND (k.category = 'LAW' OR k.category LIKE 'LAW!_%' ESCAPE '!') AND k.title IS NOT NULL")
+    List<String> findDistinctActiveLawTitles();
+
     /** 카테고리 목록 (필터용) */
     @Query("SELECT DISTINCT k.category FROM Knowledge k WHERE k.isActive = true ORDER BY k.category")
     List<String> findDistinctCategories();
 
-    /** 검색 + 페이징 (카테고리 필터 없음) */
-    @Query("SELECT k FROM Knowledge k WHERE k.isActive = true " +
-            "AND (COALESCE(:q, '') = '' OR LOWER(k.title) LIKE LOWER(CONCAT('%', :q, '%')) OR LOWER(k.content) LIKE LOWER(CONCAT('%', :q, '%'))) " +
-            "ORDER BY k.updatedAt DESC")
-    Page<Knowledge> searchActiveByQuery(@Param("q") String q, Pageable pageable);
-
-    /** 검색 + 카테고리 필터 + 페이징 */
-    @Query("SELECT k FROM Knowledge k WHERE k.isActive = true AND k.category IN :categories " +
-            "AND (COALESCE(:q, '') = '' OR LOWER(k.title) LIKE LOWER(CONCAT('%', :q, '%')) OR LOWER(k.content) LIKE LOWER(CONCAT('%', :q, '%'))) " +
-            "ORDER BY k.updatedAt DESC")
-    Page<Knowledge> searchActiveByCategoriesAndQuery(@Param("categories") List<String> categories, @Param("q") String q, Pageable pageable);
+    /** 목록 프로젝션 SELECT 절 (content는 앞부분만, article_body는 읽지 않음) */
+    String SUMMARY_SELECT = "SELECT new com.virtualtryon.core.dto.knowledge.KnowledgeSummary(" +
+            "k.id, k.category, k.title, SUBSTRING(k.content, 1, " + KnowledgeSummary.PREVIEW_CHARS + "), " +
+            "k.sourceUrl, k.sourceType, k.externalId, k.isActive, k.createdAt, k.updatedAt) ";
+
+    /** 활성 지식 목록 + 페이징 (검색어 없음, 수정일 내림차순, 본문 컬럼 제외). 검색어가 있으면 searchActiveFullText */
+    @Query(value = SUMMARY_SELECT + "FROM Knowledge k WHERE k.isActive = true ORDER BY k.updatedAt DESC",
+           countQuery = "SELECT COUNT(k) FROM Knowledge k WHERE k.isActive = true")
+    Page<KnowledgeSummary> findActivePage(Pageable pageable);
+
+    /** 활성 지식 목록 + 카테고리 필터 + 페이징 (검색어 없음, 본문 컬럼 제외) */
+    @Query(value = SUMMARY_SELECT + "FROM Knowledge k WHERE k.isActive = true AND k.category IN :categories ORDER BY k.updatedAt DESC",
+           countQuery = "SELECT COUNT(k) FROM Knowledge k WHERE k.isActive = true AND k.category IN :categories")
+    Page<KnowledgeSummary> findActivePageByCategories(@Param("categories") List<String> categories, Pageable pageable);
+
+    /** 본문만 단건 조회 (목록에서 뺀 content·article_body) */
+    @Query("SELECT new com.virtualtryon.core.dto.knowledge.KnowledgeBody(k.id, k.content, k.articleBody) FROM Knowledge k WHERE k.id = :id")
+    Optional<KnowledgeBody> findBodyById(@Param("id") UUID id);
 }
@@ -0,0 +1,48 @@
+package com.virtualtryon.core.repository;
+
+import com.virtualtryon.core.dto.knowledge.KnowledgeSummary;
+import com.virtualtryon.core.entity.Knowledge;
+import com.virtualtryon.core.search.SearchHit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Knowledge 일괄 저장용 커스텀 리포지토리 (JPA 기본 메서드로 표현하기 어려운 집합 연산)
+ */
+public interface KnowledgeRepositoryCustom {
+
+    /**
+     * source_type + external_id 기준 일괄 upsert.
+     * INSERT ... ON CONFLICT (idx_knowledge_source_external) DO UPDATE 를 chunkSize 단위 다건 VALUES로 실행.
+     * 저장된(또는 갱신된) 행의 id를 각 Knowledge에 채워 넣는다.
+     *
+     * @param items     source_type, external_id가 모두 있는 항목만 전달
+     * @param chunkSize 한 번의 INSERT 문에 담을 최대 행 수
+     * @return 갱신/삽입된 행 수
+     */
+    int upsertAllBySourceTypeAndExternalId(List<Knowledge> items, int chunkSize);
+
+    /**
+     * 활성 지식 전문 검색 (search_tsv GIN 인덱스, 관련도순)
+     * tsquery 접두사 일치 또는 모든 토큰이 제목·내용에 중간 일치(트라이그램 GIN)하는 행.
+     * 중간 일치로만 걸린 행은 관련도 0이라 tsquery 일치 행 뒤에 온다.
+     * 페이지 행에만 ts_headline으로 일치 구간 발췌를 만들어 highlight에 채운다.
+     * 본문 컬럼은 응답에 싣지 않고 content 앞부분 미리보기만 반환한다.
+     *
+     * @param categories     null·빈 목록이면 전체 카테고리
+     * @param tsQuery        to_tsquery('simple', …) 식 (예: 소득세:* & 공제:*)
+     * @param infixPatterns  토큰별 ILIKE 패턴 (예: %공제%). 비어 있으면 tsquery만
+     */
+    Page<KnowledgeSummary> searchActiveFullText(List<String> categories, String tsQuery, List<String> infixPatterns,
+                                                Pageable pageable);
+
+    /**
+     * 색인 검색 결과에 제목·카테고리를 붙인다 (점수 순서 유지, 그사이 삭제된 지식은 제외)
+     *
+     * @return id, score, title, category
+     */
+    List<Map<String, Object>> describeHits(List<SearchHit> hits);
+}
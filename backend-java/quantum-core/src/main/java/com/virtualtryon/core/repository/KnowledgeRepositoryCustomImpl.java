@@ -0,0 +1,206 @@
+package com.virtualtryon.core.repository;
+
+import com.virtualtryon.core.dto.knowledge.KnowledgeSummary;
+import com.virtualtryon.core.entity.Knowledge;
+import com.virtualtryon.core.search.SearchHit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * KnowledgeRepositoryCustom 구현 (JDBC)
+ *
+ * - upsert: 항목마다 findBySourceTypeAndExternalId + save 로 2회 왕복하던 것을 청크당 INSERT ... ON CONFLICT 1회로 줄인다.
+ * - 전문 검색: search_tsv(GIN) @@ to_tsquery 또는 토큰별 ILIKE(트라이그램 GIN, 복합어 중간 일치)로 후보를 찾고
+ *   ts_rank_cd 순 정렬, 발췌(ts_headline)는 페이지 행에만 계산.
+ */
+public class KnowledgeRepositoryCustomImpl implements KnowledgeRepositoryCustom {
+
+    /** PostgreSQL 바인드 파라미터 상한 (65535) / 행당 파라미터 수 */
+    private static final int PARAMS_PER_ROW = 9;
+    private static final int MAX_ROWS_PER_STATEMENT = 65535 / PARAMS_PER_ROW;
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO knowledge_base (id, category, title, content, article_body, source_url, source_type, external_id, is_active, created_at, updated_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?, ?, NOW(), NOW())";
+    private static final String ON_CONFLICT =
+            " ON CONFLICT (source_type, external_id) WHERE external_id IS NOT NULL AND source_type IS NOT NULL" +
+            " DO UPDATE SET category = EXCLUDED.category, title = EXCLUDED.title, content = EXCLUDED.content," +
+            " article_body = EXCLUDED.article_body, source_url = EXCLUDED.source_url, updated_at = NOW()" +
+            " RETURNING id, source_type, external_id";
+
+    /** 일치 구간 표시 + 발췌 옵션 (표시 기호는 HTML이 아닌 텍스트: 화면에서 그대로 출력해도 안전) */
+    private static final String HEADLINE_OPTIONS =
+            "StartSel=«, StopSel=», MaxFragments=2, MaxWords=30, MinWords=8, FragmentDelimiter=\" … \"";
+    /** 발췌 계산 대상 본문 길이 상한 (ts_headline은 본문 전체를 다시 파싱) */
+    private static final int HEADLINE_SOURCE_CHARS = 100_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public KnowledgeRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int upsertAllBySourceTypeAndExternalId(List<Knowledge> items, int chunkSize) {
+        if (items == null || items.isEmpty()) return 0;
+        int size = Math.min(Math.max(1, chunkSize), MAX_ROWS_PER_STATEMENT);
+
+        int affected = 0;
+        for (int from = 0; from < items.size(); from += size) {
+            affected += upsertChunk(items.subList(from, Math.min(from + size, items.size())));
+        }
+        return affected;
+    }
+
+    private int upsertChunk(List<Knowledge> chunk) {
+        // 같은 문장 안에서 동일 키가 두 번 나오면 ON CONFLICT가 실패하므로 마지막 값만 남긴다
+        Map<String, Knowledge> byKey = new LinkedHashMap<>();
+        for (Knowledge k : chunk) {
+            if (k == null || k.getSourceType() == null || k.getExternalId() == null || k.getExternalId().isBlank()) {
+                continue;
+            }
+            byKey.put(key(k.getSourceType(), k.getExternalId()), k);
+        }
+        if (byKey.isEmpty()) return 0;
+
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + byKey.size() * (ROW_PLACEHOLDER.length() + 2) + ON_CONFLICT.length());
+        sql.append(INSERT_PREFIX);
+        List<Object> params = new ArrayList<>(byKey.size() * PARAMS_PER_ROW);
+        boolean first = true;
+        for (Knowledge k : byKey.values()) {
+            if (!first) sql.append(", ");
+            sql.append(ROW_PLACEHOLDER);
+            first = false;
+            params.add(UUID.randomUUID());
+            params.add(k.getCategory());
+            params.add(k.getTitle());
+            params.add(k.getContent());
+            params.add(k.getArticleBody());
+            params.add(k.getSourceUrl());
+            params.add(k.getSourceType());
+            params.add(k.getExternalId());
+            params.add(k.isActive());
+        }
+        sql.append(ON_CONFLICT);
+
+        Map<String, UUID> idsByKey = new HashMap<>();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            idsByKey.put(key(rs.getString("source_type"), rs.getString("external_id")), rs.getObject("id", UUID.class));
+        }, params.toArray());
+
+        for (Knowledge k : chunk) {
+            if (k == null || k.getSourceType() == null || k.getExternalId() == null) continue;
+            UUID id = idsByKey.get(key(k.getSourceType(), k.getExternalId()));
+            if (id != null) k.setId(id);
+        }
+        return idsByKey.size();
+    }
+
+    @Override
+    public Page<KnowledgeSummary> searchActiveFullText(List<String> categories, String tsQuery, List<String> infixPatterns,
+                                                       Pageable pageable) {
+        boolean filtered = categories != null && !categories.isEmpty();
+        String categoryFilter = filtered
+                ? " AND k.category IN (" + String.join(", ", Collections.nCopies(categories.size(), "?")) + ")"
+                : "";
+        List<String> patterns = infixPatterns != null ? infixPatterns : List.of();
+        // tsquery 일치 OR 모든 토큰 중간 일치 (각 갈래가 GIN 인덱스라 BitmapOr로 조회)
+        String match = patterns.isEmpty()
+                ? "k.search_tsv @@ q"
+                : "(k.search_tsv @@ q OR (" + String.join(" AND ",
+                        Collections.nCopies(patterns.size(), "(k.title ILIKE ? OR k.content ILIKE ?)")) + "))";
+        List<Object> filterParams = new ArrayList<>();
+        filterParams.add(tsQuery);
+        for (String p : patterns) {
+            filterParams.add(p);
+            filterParams.add(p);
+        }
+        if (filtered) filterParams.addAll(categories);
+
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM knowledge_base k, to_tsquery('simple', ?) q " +
+                "WHERE k.is_active = TRUE AND " + match + categoryFilter,
+                Long.class, filterParams.toArray());
+        if (total == null || total == 0 || pageable.getOffset() >= total) {
+            return new PageImpl<>(List.of(), pageable, total != null ? total : 0);
+        }
+
+        // 1) 인덱스로 페이지 id만 정렬·절단  2) 그 행들에만 발췌 계산
+        List<Object> params = new ArrayList<>(filterParams);
+        params.add(pageable.getPageSize());
+        params.add(pageable.getOffset());
+        params.add(tsQuery);
+        params.add(HEADLINE_OPTIONS);
+        List<KnowledgeSummary> content = jdbcTemplate.query(
+                "WITH hits AS (" +
+                "  SELECT k.id, ts_rank_cd(k.search_tsv, q) AS rank, k.updated_at" +
+                "  FROM knowledge_base k, to_tsquery('simple', ?) q" +
+                "  WHERE k.is_active = TRUE AND " + match + categoryFilter +
+                "  ORDER BY rank DESC, k.updated_at DESC NULLS LAST LIMIT ? OFFSET ?" +
+                ") " +
+                "SELECT k.id, k.category, k.title, left(k.content, " + KnowledgeSummary.PREVIEW_CHARS + ") AS preview," +
+                " k.source_url, k.source_type, k.external_id, k.is_active, k.created_at, k.updated_at," +
+                " ts_headline('simple', left(coalesce(nullif(k.article_body, ''), k.content), " + HEADLINE_SOURCE_CHARS + ")," +
+                " to_tsquery('simple', ?), ?) AS highlight " +
+                "FROM hits h JOIN knowledge_base k ON k.id = h.id " +
+                "ORDER BY h.rank DESC, h.updated_at DESC NULLS LAST",
+                (rs, rowNum) -> {
+                    Timestamp created = rs.getTimestamp("created_at");
+                    Timestamp updated = rs.getTimestamp("updated_at");
+                    return new KnowledgeSummary(
+                            rs.getObject("id", UUID.class),
+                            rs.getString("category"),
+                            rs.getString("title"),
+                            rs.getString("preview"),
+                            rs.getString("source_url"),
+                            rs.getString("source_type"),
+                            rs.getString("external_id"),
+                            rs.getBoolean("is_active"),
+                            created != null ? created.toLocalDateTime() : null,
+                            updated != null ? updated.toLocalDateTime() : null,
+                            rs.getString("highlight"));
+                },
+                params.toArray());
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public List<Map<String, Object>> describeHits(List<SearchHit> hits) {
+        if (hits == null || hits.isEmpty()) return List.of();
+        Map<UUID, String[]> meta = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT id, title, category FROM knowledge_base WHERE id IN (" +
+                String.join(", ", Collections.nCopies(hits.size(), "?")) + ")",
+                rs -> {
+                    meta.put(rs.getObject("id", UUID.class), new String[]{rs.getString("title"), rs.getString("category")});
+                },
+                hits.stream().map(SearchHit::id).toArray());
+        List<Map<String, Object>> out = new ArrayList<>(hits.size());
+        for (SearchHit h : hits) {
+            String[] m = meta.get(h.id());
+            if (m == null) continue;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", h.id());
+            row.put("score", h.score());
+            row.put("title", m[0]);
+            row.put("category", m[1]);
+            out.add(row);
+        }
+        return out;
+    }
+
+    private static String key(String sourceType, String externalId) {
+        return sourceType + '\u0000' + externalId;
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -28,6 +29,35 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
      */
     Page<Payment> findAllByOrderByCreatedAtDesc(Pageable pageable);
     
+    /**
+     * 전체 결제 목록 keyset 첫 페이지 (created_at DESC, id DESC, COUNT 없음)
+     */
+    @Query(value = "SELECT * FROM payments ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Payment> findFirstKeysetPage(@Param("limit") int limit);
+
+    /**
+     * 전체 결제 목록 keyset 다음 페이지: (created_at, id)가 커서보다 앞선(오래된) 행
+     */
+    @Query(value = "SELECT * FROM payments WHERE (created_at, id) < (:createdAt, :id) " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Payment> findKeysetPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id,
+                                      @Param("limit") int limit);
+
+    /**
+     * 사용자별 결제 keyset 첫 페이지
+     */
+    @Query(value = "SELECT * FROM payments WHERE user_id = :userId ORDER BY created_at DESC, id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Payment> findFirstKeysetPageByUserId(@Param("userId") UUID userId, @Param("limit") int limit);
+
+    /**
+     * 사용자별 결제 keyset 다음 페이지
+     */
+    @Query(value = "SELECT * FROM payments WHERE user_id = :userId AND (created_at, id) < (:createdAt, :id) " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Payment> findKeysetPageByUserIdAfter(@Param("userId") UUID userId, @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") UUID id, @Param("limit") int limit);
+
     /**
      * 사용자별 결제 이력 조회 (최신순)
      * 
@@ -69,9 +99,40 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
     @Query("SELECT p FROM Payment p WHERE p.userId = :userId AND p.status = 'completed' AND p.completedAt BETWEEN :from AND :to ORDER BY p.completedAt DESC")
     Page<Payment> findCompletedByUserIdAndCompletedAtBetween(@Param("userId") UUID userId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, org.springframework.data.domain.Pageable pageable);
 
-    /** 완료된 결제 전체 (날짜 필터 없이, 대시보드 집계용) */
-    @Query("SELECT p FROM Payment p WHERE p.status = 'completed' AND p.completedAt IS NOT NULL")
-    List<Payment> findAllCompletedWithCompletedAt();
+    /** 매출 집계 행 (버킷 시작일·플랜별). 집계 축이 아닌 값은 null */
+    interface RevenueBucket {
+        LocalDate getBucket();
+        String getPlanId();
+        Long getRevenue();
+        Long getPaymentCount();
+    }
+
+    /**
+     * 완료 매출 기간 버킷 집계 (버킷·플랜별, 버킷 오름차순)
+     *
+     * @param unit date_trunc 단위: week(ISO, 월요일 시작), month, quarter
+     * @param from 포함
+     * @param to   미포함
+     */
+    @Query(value = "SELECT CAST(date_trunc(:unit, completed_at) AS date) AS \"bucket\", COALESCE(plan_id, 'unknown') AS \"planId\", " +
+                   "SUM(amount) AS \"revenue\", COUNT(*) AS \"paymentCount\" FROM payments " +
+                   "WHERE status = 'completed' AND completed_at >= :from AND completed_at < :to " +
+                   "GROUP BY 1, 2 ORDER BY 1", nativeQuery = true)
+    List<RevenueBucket> sumCompletedByBucket(@Param("unit") String unit, @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to);
+
+    /** 완료 매출 플랜별 누적 (매출 내림차순) */
+    @Query(value = "SELECT CAST(NULL AS date) AS \"bucket\", COALESCE(plan_id, 'unknown') AS \"planId\", " +
+                   "SUM(amount) AS \"revenue\", COUNT(*) AS \"paymentCount\" FROM payments " +
+                   "WHERE status = 'completed' AND completed_at IS NOT NULL GROUP BY 2 ORDER BY 3 DESC", nativeQuery = true)
+    List<RevenueBucket> sumCompletedByPlan();
+
+    /** 완료 매출 월별 최근 limit개월 (매출이 있는 달만, 최신순) */
+    @Query(value = "SELECT CAST(date_trunc('month', completed_at) AS date) AS \"bucket\", CAST(NULL AS varchar) AS \"planId\", " +
+                   "SUM(amount) AS \"revenue\", COUNT(*) AS \"paymentCount\" FROM payments " +
+                   "WHERE status = 'completed' AND completed_at IS NOT NULL GROUP BY 1 ORDER BY 1 DESC LIMIT :limit",
+           nativeQuery = true)
+    List<RevenueBucket> sumCompletedByMonth(@Param("limit") int limit);
 }
 
 
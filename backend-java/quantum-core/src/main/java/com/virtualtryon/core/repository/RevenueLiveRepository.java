@@ -0,0 +1,74 @@
+package com.virtualtryon.core.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * revenue_live_minute (분·플랜별 실시간 매출 스냅샷) 접근 (JDBC)
+ *
+ * - 반영: API 서버 메모리 카운터의 증분을 INSERT ... ON CONFLICT DO UPDATE로 누적 (서버가 여러 대여도 합산)
+ * - 조회: 관리자 실시간 타일 (payments 미조회)
+ */
+@Repository
+public class RevenueLiveRepository {
+
+    private static final String UPSERT =
+            "INSERT INTO revenue_live_minute (minute, plan_id, revenue, payment_count, updated_at) VALUES (?, ?, ?, ?, NOW()) " +
+            "ON CONFLICT (minute, plan_id) DO UPDATE SET revenue = revenue_live_minute.revenue + EXCLUDED.revenue, " +
+            "payment_count = revenue_live_minute.payment_count + EXCLUDED.payment_count, updated_at = NOW()";
+
+    /** 분·플랜별 매출 1건 (planId = null이면 플랜 합계) */
+    public record MinuteRevenue(LocalDateTime minute, String planId, long revenue, long paymentCount) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RevenueLiveRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** 증분 일괄 반영 (전부 반영되거나 전부 롤백 → 실패 시 호출자가 그대로 재시도 가능) */
+    @Transactional
+    public void addAll(List<MinuteRevenue> deltas) {
+        if (deltas.isEmpty()) return;
+        jdbcTemplate.batchUpdate(UPSERT, deltas, deltas.size(), (ps, d) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(d.minute()));
+            ps.setString(2, d.planId());
+            ps.setLong(3, d.revenue());
+            ps.setLong(4, d.paymentCount());
+        });
+    }
+
+    /** from 이후 분별 합계 (플랜 합산, 분 오름차순) */
+    public List<MinuteRevenue> sumByMinuteSince(LocalDateTime from) {
+        return jdbcTemplate.query(
+                "SELECT minute, SUM(revenue), SUM(payment_count) FROM revenue_live_minute " +
+                "WHERE minute >= ? GROUP BY minute ORDER BY minute",
+                (rs, i) -> new MinuteRevenue(rs.getTimestamp(1).toLocalDateTime(), null, rs.getLong(2), rs.getLong(3)),
+                Timestamp.valueOf(from));
+    }
+
+    /** from 이후 플랜별 합계 (매출 내림차순, minute = null) */
+    public List<MinuteRevenue> sumByPlanSince(LocalDateTime from) {
+        return jdbcTemplate.query(
+                "SELECT plan_id, SUM(revenue), SUM(payment_count) FROM revenue_live_minute " +
+                "WHERE minute >= ? GROUP BY plan_id ORDER BY SUM(revenue) DESC",
+                (rs, i) -> new MinuteRevenue(null, rs.getString(1), rs.getLong(2), rs.getLong(3)),
+                Timestamp.valueOf(from));
+    }
+
+    /** 마지막 반영 시각 (없으면 null) */
+    public LocalDateTime findLastUpdatedAt() {
+        Timestamp ts = jdbcTemplate.queryForObject("SELECT MAX(updated_at) FROM revenue_live_minute", Timestamp.class);
+        return ts != null ? ts.toLocalDateTime() : null;
+    }
+
+    /** 보존 기간이 지난 행 삭제 */
+    public int deleteBefore(LocalDateTime before) {
+        return jdbcTemplate.update("DELETE FROM revenue_live_minute WHERE minute < ?", Timestamp.valueOf(before));
+    }
+}
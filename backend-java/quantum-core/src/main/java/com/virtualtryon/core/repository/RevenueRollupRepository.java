@@ -0,0 +1,113 @@
+package com.virtualtryon.core.repository;
+
+import com.virtualtryon.core.entity.Payment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * revenue_daily_rollup (일별·플랜별 완료 매출) 접근 (JDBC)
+ *
+ * - 증감: 결제 완료/완료 취소 시 호출하는 쪽 트랜잭션 안에서 INSERT ... ON CONFLICT DO UPDATE
+ * - 재구축: 테이블 잠금 후 payments 전체로 다시 적재 (동시 증감은 재구축 커밋 뒤에 반영)
+ */
+@Repository
+public class RevenueRollupRepository {
+
+    /** plan_id가 없는 결제의 집계 키 */
+    public static final String UNKNOWN_PLAN = "unknown";
+
+    private static final String UPSERT =
+            "INSERT INTO revenue_daily_rollup (day, plan_id, revenue, payment_count, updated_at) VALUES (?, ?, ?, ?, NOW()) " +
+            "ON CONFLICT (day, plan_id) DO UPDATE SET revenue = revenue_daily_rollup.revenue + EXCLUDED.revenue, " +
+            "payment_count = revenue_daily_rollup.payment_count + EXCLUDED.payment_count, updated_at = NOW()";
+
+    /** 집계 행 1건 (일별 또는 버킷별) */
+    public record DailyRevenue(LocalDate day, String planId, long revenue, long paymentCount) {}
+
+    /** 플랜별 누적 */
+    public record PlanRevenue(String planId, long revenue, long paymentCount) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RevenueRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** 완료된 결제 1건 가산 (completedAt·amount가 없으면 무시) */
+    public void addCompleted(Payment payment) {
+        apply(payment, 1);
+    }
+
+    /** 완료였던 결제 1건 차감 (취소·실패 전환, 완료일 변경 전) */
+    public void removeCompleted(Payment payment) {
+        apply(payment, -1);
+    }
+
+    private void apply(Payment payment, int sign) {
+        if (payment == null || payment.getCompletedAt() == null || payment.getAmount() == null) return;
+        String planId = payment.getPlanId() != null ? payment.getPlanId() : UNKNOWN_PLAN;
+        jdbcTemplate.update(UPSERT, Date.valueOf(payment.getCompletedAt().toLocalDate()), planId,
+                sign * payment.getAmount(), sign);
+    }
+
+    /**
+     * 기간 버킷 집계 (버킷·플랜별, 버킷 오름차순, from·to 포함)
+     *
+     * @param unit date_trunc 단위: week(ISO, 월요일 시작), month, quarter
+     * @return day = 버킷 시작일
+     */
+    public List<DailyRevenue> sumByBucket(String unit, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+                "SELECT date_trunc(?, day)::date AS bucket, plan_id, SUM(revenue), SUM(payment_count) " +
+                "FROM revenue_daily_rollup WHERE day BETWEEN ? AND ? GROUP BY 1, 2 HAVING SUM(payment_count) > 0 ORDER BY 1",
+                (rs, i) -> new DailyRevenue(rs.getDate(1).toLocalDate(), rs.getString(2), rs.getLong(3), rs.getLong(4)),
+                unit, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /** 전체 누적 매출 */
+    public long sumRevenue() {
+        Long total = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(revenue), 0) FROM revenue_daily_rollup", Long.class);
+        return total != null ? total : 0L;
+    }
+
+    /** 플랜별 누적 (매출 내림차순) */
+    public List<PlanRevenue> sumByPlan() {
+        return jdbcTemplate.query(
+                "SELECT plan_id, SUM(revenue), SUM(payment_count) FROM revenue_daily_rollup " +
+                "GROUP BY plan_id HAVING SUM(payment_count) > 0 ORDER BY SUM(revenue) DESC",
+                (rs, i) -> new PlanRevenue(rs.getString(1), rs.getLong(2), rs.getLong(3)));
+    }
+
+    /**
+     * 월별 매출 최근 limit개월 (매출이 있는 달만, 최신순)
+     *
+     * @return day = 해당 월 1일, planId = null
+     */
+    public List<DailyRevenue> sumByMonth(int limit) {
+        return jdbcTemplate.query(
+                "SELECT date_trunc('month', day)::date AS month, SUM(revenue), SUM(payment_count) FROM revenue_daily_rollup " +
+                "GROUP BY 1 HAVING SUM(payment_count) > 0 ORDER BY 1 DESC LIMIT ?",
+                (rs, i) -> new DailyRevenue(rs.getDate(1).toLocalDate(), null, rs.getLong(2), rs.getLong(3)),
+                limit);
+    }
+
+    /**
+     * payments 전체로 재구축 (호출하는 쪽 트랜잭션 안에서 실행)
+     *
+     * @return 적재된 집계 행 수
+     */
+    public int rebuildFromPayments() {
+        // 재구축 중 결제 완료 증감은 잠금 해제(커밋) 후 반영 → 누락·중복 없음
+        jdbcTemplate.execute("LOCK TABLE revenue_daily_rollup IN EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM revenue_daily_rollup");
+        return jdbcTemplate.update(
+                "INSERT INTO revenue_daily_rollup (day, plan_id, revenue, payment_count, updated_at) " +
+                "SELECT completed_at::date, COALESCE(plan_id, ?), SUM(amount), COUNT(*), NOW() FROM payments " +
+                "WHERE status = 'completed' AND completed_at IS NOT NULL GROUP BY 1, 2",
+                UNKNOWN_PLAN);
+    }
+}
@@ -4,8 +4,11 @@ import com.virtualtryon.core.entity.Subscription;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,6 +24,27 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, UUID
     /** 전체 구독 목록 (최신순, 페이징) */
     Page<Subscription> findAllByOrderByCreatedAtDesc(Pageable pageable);
 
+    /** 전체 구독 keyset 첫 페이지 (created_at DESC, id DESC, COUNT 없음) */
+    @Query(value = "SELECT * FROM subscriptions ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Subscription> findFirstKeysetPage(@Param("limit") int limit);
+
+    /** 전체 구독 keyset 다음 페이지: (created_at, id)가 커서보다 앞선 행 */
+    @Query(value = "SELECT * FROM subscriptions WHERE (created_at, id) < (:createdAt, :id) " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Subscription> findKeysetPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id,
+                                           @Param("limit") int limit);
+
+    /** 사용자별 구독 keyset 첫 페이지 */
+    @Query(value = "SELECT * FROM subscriptions WHERE user_id = :userId ORDER BY created_at DESC, id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Subscription> findFirstKeysetPageByUserId(@Param("userId") UUID userId, @Param("limit") int limit);
+
+    /** 사용자별 구독 keyset 다음 페이지 */
+    @Query(value = "SELECT * FROM subscriptions WHERE user_id = :userId AND (created_at, id) < (:createdAt, :id) " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Subscription> findKeysetPageByUserIdAfter(@Param("userId") UUID userId, @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") UUID id, @Param("limit") int limit);
+
     /** 사용자별 구독 목록 (최신순) */
     List<Subscription> findByUserIdOrderByCreatedAtDesc(UUID userId);
 
@@ -4,8 +4,12 @@ import com.virtualtryon.core.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -51,5 +55,16 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     /** 탈퇴하지 않은 사용자 페이징 (관리자용) */
     Page<User> findByDeletedAtIsNullOrderByCreatedAtDesc(Pageable pageable);
+
+    /** 탈퇴하지 않은 사용자 keyset 첫 페이지 (created_at DESC, id DESC, COUNT 없음) */
+    @Query(value = "SELECT * FROM users WHERE deleted_at IS NULL ORDER BY created_at DESC, id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<User> findFirstActiveKeysetPage(@Param("limit") int limit);
+
+    /** 탈퇴하지 않은 사용자 keyset 다음 페이지: (created_at, id)가 커서보다 앞선 행 */
+    @Query(value = "SELECT * FROM users WHERE deleted_at IS NULL AND (created_at, id) < (:createdAt, :id) " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<User> findActiveKeysetPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id,
+                                         @Param("limit") int limit);
 }
 
@@ -0,0 +1,262 @@
+package com.virtualtryon.core.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 메모리 역색인 + BM25 점수 (문서 = UUID, 내부 번호 = 증가하는 int)
+ *
+ * - 포스팅: 용어마다 (docId 간격, tf)를 varint로 이어 붙인 byte[] (docId는 항상 증가 → 간격이 작음)
+ * - 갱신: 새 내부 번호로 다시 추가하고 이전 번호는 삭제 표시, 삭제 비율이 커지면 번호를 다시 매겨 압축
+ * - 검색: 용어 단위 누적(term-at-a-time) 후 상위 k개만 힙으로 선별
+ * - 읽기는 동시 실행, 추가·삭제·압축은 쓰기 잠금
+ */
+public class Bm25Index {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    /** 삭제 표시 문서가 이 비율을 넘으면 압축 */
+    private static final double COMPACT_RATIO = 0.3;
+    private static final int COMPACT_MIN_DELETED = 1000;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<UUID, Integer> ordinalById = new HashMap<>();
+    private final List<UUID> idByOrdinal = new ArrayList<>();
+    private int[] docLength = new int[1024];
+    private final BitSet deleted = new BitSet();
+    private int liveDocs;
+    private long liveLength;
+
+    /** 용어별 빈도 누적 (weight배로 더함) */
+    public static void addTerms(Map<String, Integer> into, String text, int weight, int maxChars) {
+        if (weight <= 0) return;
+        KoreanNgramTokenizer.tokenize(text, maxChars, t -> into.merge(t, weight, Integer::sum));
+    }
+
+    /** 문서 추가·교체 (용어가 없으면 삭제와 같음) */
+    public void upsert(UUID id, Map<String, Integer> termFreqs) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (termFreqs.isEmpty()) return;
+            int doc = idByOrdinal.size();
+            idByOrdinal.add(id);
+            ordinalById.put(id, doc);
+            if (doc >= docLength.length) docLength = Arrays.copyOf(docLength, docLength.length * 2);
+            int len = 0;
+            for (Map.Entry<String, Integer> e : termFreqs.entrySet()) {
+                postings.computeIfAbsent(e.getKey(), k -> new Postings()).append(doc, e.getValue());
+                len += e.getValue();
+            }
+            docLength[doc] = len;
+            liveDocs++;
+            liveLength += len;
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** 전체 비우기 (재구축 전) */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            ordinalById.clear();
+            idByOrdinal.clear();
+            docLength = new int[1024];
+            deleted.clear();
+            liveDocs = 0;
+            liveLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * BM25 상위 k건
+     *
+     * @param queryTerms 질의 용어별 빈도 (addTerms로 생성)
+     */
+    public List<SearchHit> search(Map<String, Integer> queryTerms, int k) {
+        if (queryTerms.isEmpty() || k <= 0) return List.of();
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) return List.of();
+            int maxDoc = idByOrdinal.size();
+            float avgLen = (float) liveLength / liveDocs;
+            float[] scores = new float[maxDoc];
+            int[] touched = new int[Math.min(maxDoc, 1 << 16)];
+            int touchedCount = 0;
+
+            for (Map.Entry<String, Integer> q : queryTerms.entrySet()) {
+                Postings p = postings.get(q.getKey());
+                if (p == null) continue;
+                double idf = Math.log(1.0 + (liveDocs - p.docFreq + 0.5) / (p.docFreq + 0.5));
+                float weight = (float) (idf * q.getValue());
+                byte[] buf = p.bytes;
+                int pos = 0;
+                int doc = -1;
+                while (pos < p.size) {
+                    int gap = 0, shift = 0, b;
+                    do { b = buf[pos++]; gap |= (b & 0x7F) << shift; shift += 7; } while (b < 0);
+                    int tf = 0;
+                    shift = 0;
+                    do { b = buf[pos++]; tf |= (b & 0x7F) << shift; shift += 7; } while (b < 0);
+                    doc += gap;
+                    if (deleted.get(doc)) continue;
+                    float norm = tf + K1 * (1 - B + B * docLength[doc] / avgLen);
+                    if (scores[doc] == 0f) {
+                        if (touchedCount == touched.length) touched = Arrays.copyOf(touched, Math.min(maxDoc, touched.length * 2));
+                        touched[touchedCount++] = doc;
+                    }
+                    scores[doc] += weight * tf * (K1 + 1) / norm;
+                }
+            }
+
+            PriorityQueue<Integer> top = new PriorityQueue<>(k + 1, (a, c) -> Float.compare(scores[a], scores[c]));
+            for (int i = 0; i < touchedCount; i++) {
+                int doc = touched[i];
+                if (top.size() < k) {
+                    top.add(doc);
+                } else if (scores[doc] > scores[top.peek()]) {
+                    top.poll();
+                    top.add(doc);
+                }
+            }
+            SearchHit[] hits = new SearchHit[top.size()];
+            for (int i = hits.length - 1; i >= 0; i--) {
+                int doc = top.poll();
+                hits[i] = new SearchHit(idByOrdinal.get(doc), scores[doc]);
+            }
+            return Arrays.asList(hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 색인 통계 (관리자 조회용) */
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            long postingBytes = 0;
+            for (Postings p : postings.values()) postingBytes += p.size;
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("documents", liveDocs);
+            stats.put("deletedSlots", deleted.cardinality());
+            stats.put("terms", postings.size());
+            stats.put("postingBytes", postingBytes);
+            stats.put("avgDocLength", liveDocs > 0 ? liveLength / liveDocs : 0);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(UUID id) {
+        Integer old = ordinalById.remove(id);
+        if (old == null) return;
+        deleted.set(old);
+        liveDocs--;
+        liveLength -= docLength[old];
+    }
+
+    /** 삭제 표시가 많으면 살아 있는 문서만 0부터 다시 번호를 매겨 포스팅을 새로 씀 (번호 순서 유지 → 간격 인코딩 유지) */
+    private void compactIfNeeded() {
+        int dead = deleted.cardinality();
+        if (dead < COMPACT_MIN_DELETED || dead < idByOrdinal.size() * COMPACT_RATIO) return;
+
+        int maxDoc = idByOrdinal.size();
+        int[] remap = new int[maxDoc];
+        List<UUID> newIds = new ArrayList<>(liveDocs);
+        int[] newLength = new int[Math.max(1024, liveDocs)];
+        for (int doc = 0; doc < maxDoc; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+                continue;
+            }
+            int n = newIds.size();
+            remap[doc] = n;
+            newIds.add(idByOrdinal.get(doc));
+            newLength[n] = docLength[doc];
+        }
+
+        Iterator<Map.Entry<String, Postings>> it = postings.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Postings> e = it.next();
+            Postings compacted = e.getValue().remap(remap);
+            if (compacted.docFreq == 0) it.remove(); else e.setValue(compacted);
+        }
+        idByOrdinal.clear();
+        idByOrdinal.addAll(newIds);
+        ordinalById.clear();
+        for (int i = 0; i < newIds.size(); i++) ordinalById.put(newIds.get(i), i);
+        docLength = newLength;
+        deleted.clear();
+    }
+
+    /** 용어 1개의 포스팅 (varint 간격 + tf, 증가 순서로만 추가) */
+    private static final class Postings {
+        byte[] bytes = new byte[8];
+        int size;
+        int lastDoc = -1;
+        int docFreq;
+
+        void append(int doc, int tf) {
+            ensure(10);
+            writeVarint(doc - lastDoc);
+            writeVarint(tf);
+            lastDoc = doc;
+            docFreq++;
+        }
+
+        Postings remap(int[] remap) {
+            Postings out = new Postings();
+            int pos = 0;
+            int doc = -1;
+            while (pos < size) {
+                int gap = 0, shift = 0, b;
+                do { b = bytes[pos++]; gap |= (b & 0x7F) << shift; shift += 7; } while (b < 0);
+                int tf = 0;
+                shift = 0;
+                do { b = bytes[pos++]; tf |= (b & 0x7F) << shift; shift += 7; } while (b < 0);
+                doc += gap;
+                if (remap[doc] >= 0) out.append(remap[doc], tf);
+            }
+            out.bytes = Arrays.copyOf(out.bytes, Math.max(1, out.size));
+            return out;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+
+        private void writeVarint(int v) {
+            while ((v & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            bytes[size++] = (byte) v;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.virtualtryon.core.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * 한국어 문자 n-gram 토크나이저 (형태소 분석기 없이 조사·어미가 붙은 어절도 부분 일치)
+ *
+ * - NFKC 정규화 + 소문자화 후 글자·숫자 연속 구간(run) 단위로 분리
+ * - 한글 구간: 글자 bigram ("소득세법" → 소득, 득세, 세법). 한 글자 구간은 unigram
+ * - 그 외(영문·숫자): 구간 전체를 한 토큰으로 ("article", "2024")
+ */
+public final class KoreanNgramTokenizer {
+
+    private KoreanNgramTokenizer() {
+    }
+
+    /**
+     * 토큰을 차례로 전달 (중복 포함, 순서 유지)
+     *
+     * @param maxChars 앞에서부터 이 길이까지만 토큰화 (0 이하면 전체)
+     */
+    public static void tokenize(String text, int maxChars, Consumer<String> sink) {
+        if (text == null || text.isEmpty()) return;
+        String s = maxChars > 0 && text.length() > maxChars ? text.substring(0, maxChars) : text;
+        s = Normalizer.normalize(s, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+        int n = s.length();
+        int i = 0;
+        while (i < n) {
+            char c = s.charAt(i);
+            if (isHangul(c)) {
+                int start = i;
+                while (i < n && isHangul(s.charAt(i))) i++;
+                if (i - start == 1) {
+                    sink.accept(s.substring(start, i));
+                } else {
+                    for (int j = start; j + 2 <= i; j++) sink.accept(s.substring(j, j + 2));
+                }
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < n && !isHangul(s.charAt(i)) && Character.isLetterOrDigit(s.charAt(i))) i++;
+                sink.accept(s.substring(start, i));
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private static boolean isHangul(char c) {
+        return (c >= '가' && c <= '힣') || (c >= 'ㄱ' && c <= 'ㆎ');
+    }
+}
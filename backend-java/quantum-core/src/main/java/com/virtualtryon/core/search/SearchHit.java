@@ -0,0 +1,8 @@
+package com.virtualtryon.core.search;
+
+import java.util.UUID;
+
+/**
+ * 색인 검색 결과 1건 (지식 id + 점수, 점수가 클수록 관련도 높음)
+ */
+public record SearchHit(UUID id, double score) {}
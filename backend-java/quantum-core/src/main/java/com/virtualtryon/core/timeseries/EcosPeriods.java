@@ -0,0 +1,67 @@
+package com.virtualtryon.core.timeseries;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * ECOS 시점·값 문자열 변환 (적재 시 한 번만 파싱해 knowledge_bok 타입 컬럼에 저장)
+ *
+ * 시점 형식: D=YYYYMMDD, M=YYYYMM, Q=YYYYQn, S=YYYYSn, A=YYYY
+ */
+public final class EcosPeriods {
+
+    private EcosPeriods() {
+    }
+
+    /** 시점 형식 → 주기 (D/M/Q/S/A), 알 수 없으면 null */
+    public static String cycleOf(String time) {
+        if (time == null) return null;
+        int len = time.length();
+        if (len == 8 && isDigits(time, 0, 8)) return "D";
+        if (len == 6 && isDigits(time, 0, 6)) return "M";
+        if (len == 6 && isDigits(time, 0, 4) && time.charAt(4) == 'Q' && time.charAt(5) >= '1' && time.charAt(5) <= '4') return "Q";
+        if (len == 6 && isDigits(time, 0, 4) && time.charAt(4) == 'S' && (time.charAt(5) == '1' || time.charAt(5) == '2')) return "S";
+        if (len == 4 && isDigits(time, 0, 4)) return "A";
+        return null;
+    }
+
+    /** 시점의 시작일, 형식 오류면 null */
+    public static LocalDate periodStart(String time) {
+        String cycle = cycleOf(time);
+        if (cycle == null) return null;
+        try {
+            int year = Integer.parseInt(time.substring(0, 4));
+            return switch (cycle) {
+                case "D" -> LocalDate.parse(time, DateTimeFormatter.BASIC_ISO_DATE);
+                case "M" -> LocalDate.of(year, Integer.parseInt(time.substring(4, 6)), 1);
+                case "Q" -> LocalDate.of(year, (time.charAt(5) - '1') * 3 + 1, 1);
+                case "S" -> LocalDate.of(year, (time.charAt(5) - '1') * 6 + 1, 1);
+                default -> LocalDate.of(year, 1, 1);
+            };
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /** data_value → 숫자 (쉼표 제거), 숫자가 아니면 null ("-", 빈 값 등) */
+    public static Double numericValue(String dataValue) {
+        if (dataValue == null) return null;
+        String v = dataValue.replace(",", "").trim();
+        if (v.isEmpty()) return null;
+        try {
+            double d = Double.parseDouble(v);
+            return Double.isFinite(d) ? d : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isDigits(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+}
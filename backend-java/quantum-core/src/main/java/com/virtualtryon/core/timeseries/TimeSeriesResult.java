@@ -0,0 +1,26 @@
+package com.virtualtryon.core.timeseries;
+
+/**
+ * 시계열 구간 조회 결과 (열 단위 배열: 차트가 엔티티 목록 대신 숫자 배열만 받도록)
+ *
+ * points가 버킷 수 이하면 원본 그대로(min=max=avg, count=1), 넘으면 버킷별 집계
+ *
+ * @param time        버킷 시작 (epoch ms, UTC 자정 기준). 원본이면 각 시점의 시작일
+ * @param totalPoints 조회 범위 안의 원본 점 수
+ * @param downsampled 버킷 집계 여부
+ */
+public record TimeSeriesResult(
+        String statCode,
+        String itemCode1,
+        String cycle,
+        String itemName,
+        String unitName,
+        int totalPoints,
+        boolean downsampled,
+        long[] time,
+        double[] min,
+        double[] max,
+        double[] avg,
+        int[] count
+) {
+}
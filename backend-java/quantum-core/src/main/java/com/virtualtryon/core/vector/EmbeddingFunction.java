@@ -0,0 +1,18 @@
+package com.virtualtryon.core.vector;
+
+/**
+ * 텍스트 → 고정 차원 임베딩 (벡터 색인용)
+ *
+ * 구현체를 @Primary 빈으로 등록하면 기본(HashedNgramEmbedding) 대신 사용된다.
+ * name()이 바뀌면 저장된 색인은 호환되지 않는 것으로 보고 다시 구축한다.
+ */
+public interface EmbeddingFunction {
+
+    /** 모델·설정 식별자 (색인 파일 헤더에 기록) */
+    String name();
+
+    int dimension();
+
+    /** L2 정규화된 벡터 (내적 = 코사인 유사도). 토큰이 없으면 영벡터 */
+    float[] embed(String text);
+}
@@ -0,0 +1,73 @@
+package com.virtualtryon.core.vector;
+
+import com.virtualtryon.core.search.KoreanNgramTokenizer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 해시 n-gram 임베딩 (외부 모델 없이 결정적으로 동작하는 기본 구현)
+ *
+ * - 토큰: KoreanNgramTokenizer (한글 bigram, 영문·숫자 단어)
+ * - 토큰마다 64비트 FNV-1a 해시 → 차원 번호 + 부호 (feature hashing), 가중치 1 + ln(tf)
+ * - 마지막에 L2 정규화
+ */
+public class HashedNgramEmbedding implements EmbeddingFunction {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int dimension;
+    private final int maxChars;
+
+    /**
+     * @param maxChars 텍스트 앞에서부터 이 길이까지만 사용 (0 이하면 전체)
+     */
+    public HashedNgramEmbedding(int dimension, int maxChars) {
+        if (dimension < 8) throw new IllegalArgumentException("임베딩 차원은 8 이상이어야 합니다: " + dimension);
+        this.dimension = dimension;
+        this.maxChars = maxChars;
+    }
+
+    @Override
+    public String name() {
+        return "hashed-ngram-v1/" + dimension;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        Map<String, Integer> tf = new HashMap<>();
+        KoreanNgramTokenizer.tokenize(text, maxChars, t -> tf.merge(t, 1, Integer::sum));
+        float[] v = new float[dimension];
+        for (Map.Entry<String, Integer> e : tf.entrySet()) {
+            long h = fnv1a(e.getKey());
+            int slot = (int) Long.remainderUnsigned(h >>> 1, dimension);
+            float w = (float) (1.0 + Math.log(e.getValue()));
+            v[slot] += (h & 1L) == 0 ? w : -w;
+        }
+        double norm = 0;
+        for (float x : v) norm += x * x;
+        if (norm > 0) {
+            float inv = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < dimension; i++) v[i] *= inv;
+        }
+        return v;
+    }
+
+    private static long fnv1a(String s) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            h ^= c & 0xFF;
+            h *= FNV_PRIME;
+            h ^= c >>> 8;
+            h *= FNV_PRIME;
+        }
+        return h;
+    }
+}
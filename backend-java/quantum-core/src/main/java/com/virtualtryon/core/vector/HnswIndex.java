@@ -0,0 +1,586 @@
+package com.virtualtryon.core.vector;
+
+import com.virtualtryon.core.search.SearchHit;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * HNSW 근사 최근접 이웃 색인 (정규화 벡터 내적 = 코사인 유사도)
+ *
+ * - 벡터: {dir}/vectors.f32 메모리 매핑 파일 (off-heap, 헤더 뒤에 노드 번호 순 float × dimension, little-endian)
+ * - 그래프: 노드별 층마다 이웃 int 배열, save() 시 {dir}/graph.bin에 기록 (임시 파일 → 원자적 이동)
+ * - 세대 번호: 저장된 노드 자리를 덮어쓰기(압축·비우기) 전에 벡터 파일 헤더의 세대를 올려 디스크에 먼저 반영.
+ *   graph.bin에는 저장 시점 세대를 기록하고, 열 때 두 세대가 다르면(저장 전 비정상 종료) 빈 색인으로 열어 재구축
+ * - 체크포인트: 호출부가 save(checkpoint)로 넘긴 값(예: 원본 갱신 시각)을 그래프와 함께 기록 → 열 때 그 이후분만 다시 반영
+ * - 갱신: 새 노드로 추가하고 이전 노드는 삭제 표시 (탐색 경로로는 쓰고 결과에서만 제외), 벡터가 같으면 그대로 둠
+ * - 삭제 표시 노드가 많아지면 살아 있는 벡터를 앞으로 당겨 쓰고 그래프를 다시 연결 (파일·그래프 무한 증가 방지)
+ * - 읽기(검색)는 동시 실행, 추가·삭제·압축은 쓰기 잠금
+ */
+public class HnswIndex implements Closeable {
+
+    private static final int MAGIC = 0x484E5357; // "HNSW"
+    private static final int VERSION = 3;
+    private static final int VECTOR_MAGIC = 0x48564543; // "HVEC"
+    /** 벡터 파일 헤더 (magic, version, 세대). 벡터 정렬을 위해 64바이트 */
+    private static final int HEADER_BYTES = 64;
+    private static final String VECTOR_FILE = "vectors.f32";
+    private static final String GRAPH_FILE = "graph.bin";
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_LEVEL = 16;
+    /** 삭제 표시 노드가 이 비율을 넘으면 압축 */
+    private static final double COMPACT_RATIO = 0.3;
+    private static final int COMPACT_MIN_DELETED = 1000;
+
+    private final Path dir;
+    private final String embeddingName;
+    private final int dimension;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final FileChannel channel;
+
+    private MappedByteBuffer vectors;
+    private int capacity;
+    /** 벡터 파일 세대 (저장된 노드 자리를 덮어쓸 때마다 증가) */
+    private long generation;
+    /** 마지막 save(checkpoint) 값 (저장된 적 없으면 0) */
+    private volatile long checkpoint;
+
+    private final List<UUID> ids = new ArrayList<>();
+    private final Map<UUID, Integer> nodeById = new HashMap<>();
+    /** links.get(node)[level] = {이웃 수, 이웃1, 이웃2, ...} */
+    private final List<int[][]> links = new ArrayList<>();
+    private final BitSet deleted = new BitSet();
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    private record Candidate(int node, float sim) {}
+
+    private static final Comparator<Candidate> BY_SIM = Comparator.comparingDouble(Candidate::sim);
+
+    private HnswIndex(Path dir, String embeddingName, int dimension, int m, int efConstruction) throws IOException {
+        if (m < 2) throw new IllegalArgumentException("HNSW M은 2 이상이어야 합니다: " + m);
+        this.dir = dir;
+        this.embeddingName = embeddingName;
+        this.dimension = dimension;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.levelMultiplier = 1.0 / Math.log(m);
+        Files.createDirectories(dir);
+        this.channel = FileChannel.open(dir.resolve(VECTOR_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * 저장된 색인 열기. 그래프 파일이 없거나 설정(임베딩·차원·M)·세대가 다르면 빈 색인
+     */
+    public static HnswIndex open(Path dir, String embeddingName, int dimension, int m, int efConstruction) throws IOException {
+        HnswIndex index = new HnswIndex(dir, embeddingName, dimension, m, efConstruction);
+        Path graph = dir.resolve(GRAPH_FILE);
+        if (!Files.exists(graph) || !index.readGraph(graph)) {
+            // 맞지 않는 그래프는 지우고 세대를 올려 시작 (이후 같은 그래프를 다시 읽지 않도록)
+            Files.deleteIfExists(graph);
+            index.resetState();
+            index.mapVectors(INITIAL_CAPACITY);
+            index.generation = index.storedGeneration();
+            index.bumpGeneration();
+        }
+        return index;
+    }
+
+    /** 지식 벡터 추가·교체 (저장된 벡터와 같으면 아무것도 하지 않음) */
+    public void add(UUID id, float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("벡터 차원 불일치: " + vector.length + " != " + dimension);
+        }
+        lock.writeLock().lock();
+        try {
+            Integer old = nodeById.get(id);
+            if (old != null && sameVector(old, vector)) return;
+
+            int node = ids.size();
+            if (node == capacity) mapVectors(capacity * 2);
+            if (old != null) {
+                nodeById.remove(id);
+                deleted.set(old);
+            }
+            writeVector(node, vector);
+            ids.add(id);
+            nodeById.put(id, node);
+            link(node, vector);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            Integer old = nodeById.remove(id);
+            if (old != null) {
+                deleted.set(old);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** 전체 비우기 (재구축 전) */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            bumpGeneration();
+            resetState();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 상위 k건 (점수 = 코사인 유사도)
+     *
+     * @param ef 탐색 후보 수 (클수록 정확·느림, k보다 작으면 k)
+     */
+    public List<SearchHit> search(float[] query, int k, int ef) {
+        if (query.length != dimension || k <= 0) return List.of();
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || nodeById.isEmpty()) return List.of();
+            Candidate ep = new Candidate(entryPoint, sim(query, entryPoint));
+            for (int l = maxLevel; l > 0; l--) ep = greedy(query, ep, l);
+            List<Candidate> found = searchLayer(query, ep, Math.max(ef, k), 0, true);
+            List<SearchHit> hits = new ArrayList<>(Math.min(k, found.size()));
+            for (int i = 0; i < found.size() && hits.size() < k; i++) {
+                Candidate c = found.get(i);
+                hits.add(new SearchHit(ids.get(c.node()), c.sim()));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 벡터 파일 동기화 + 그래프 기록 (체크포인트는 이전 값 유지) */
+    public void save() throws IOException {
+        save(checkpoint());
+    }
+
+    /**
+     * 벡터 파일 동기화 + 그래프 기록
+     *
+     * @param checkpoint 이 시점까지의 변경이 모두 반영되었다는 호출부 기준값 (다시 열 때 checkpoint()로 조회)
+     */
+    public void save(long checkpoint) throws IOException {
+        lock.readLock().lock();
+        try {
+            vectors.force();
+            Path tmp = Files.createTempFile(dir, "graph-", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(embeddingName);
+                out.writeInt(dimension);
+                out.writeInt(m);
+                out.writeLong(generation);
+                out.writeLong(checkpoint);
+                out.writeInt(ids.size());
+                out.writeInt(entryPoint);
+                out.writeInt(maxLevel);
+                for (int node = 0; node < ids.size(); node++) {
+                    UUID id = ids.get(node);
+                    out.writeLong(id.getMostSignificantBits());
+                    out.writeLong(id.getLeastSignificantBits());
+                    out.writeBoolean(deleted.get(node));
+                    int[][] nodeLinks = links.get(node);
+                    out.writeByte(nodeLinks.length);
+                    for (int[] nb : nodeLinks) {
+                        out.writeShort(nb[0]);
+                        for (int i = 1; i <= nb[0]; i++) out.writeInt(nb[i]);
+                    }
+                }
+            }
+            Files.move(tmp, dir.resolve(GRAPH_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            this.checkpoint = checkpoint;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 마지막으로 저장(또는 열 때 읽은) 체크포인트, 없으면 0 */
+    public long checkpoint() {
+        return checkpoint;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodeById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int deletedCount() {
+        lock.readLock().lock();
+        try {
+            return deleted.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 색인 통계 (관리자 조회용) */
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            long edges = 0;
+            for (int[][] nodeLinks : links) for (int[] nb : nodeLinks) edges += nb[0];
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("embedding", embeddingName);
+            stats.put("dimension", dimension);
+            stats.put("m", m);
+            stats.put("efConstruction", efConstruction);
+            stats.put("vectors", nodeById.size());
+            stats.put("deletedNodes", deleted.cardinality());
+            stats.put("maxLevel", maxLevel);
+            stats.put("edges", edges);
+            stats.put("generation", generation);
+            stats.put("checkpoint", checkpoint);
+            stats.put("mappedBytes", HEADER_BYTES + (long) capacity * dimension * Float.BYTES);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (vectors != null) vectors.force();
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** 벡터가 기록된 node를 그래프에 연결 (ids·nodeById는 호출부가 채움) */
+    private void link(int node, float[] vector) {
+        int level = randomLevel();
+        int[][] nodeLinks = new int[level + 1][];
+        for (int l = 0; l <= level; l++) nodeLinks[l] = new int[1 + (l == 0 ? maxM0 : m)];
+        links.add(nodeLinks);
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        Candidate ep = new Candidate(entryPoint, sim(vector, entryPoint));
+        for (int l = maxLevel; l > level; l--) ep = greedy(vector, ep, l);
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            List<Candidate> found = searchLayer(vector, ep, efConstruction, l, false);
+            int[] selected = selectNeighbors(found, m);
+            int[] own = nodeLinks[l];
+            own[0] = selected.length;
+            System.arraycopy(selected, 0, own, 1, selected.length);
+            for (int s : selected) connect(s, node, l);
+            ep = found.get(0);
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    /**
+     * 삭제 표시가 많으면 살아 있는 노드만 0부터 다시 번호를 매기고 그래프를 새로 연결
+     * (번호가 줄기만 하므로 벡터는 같은 파일 안에서 앞으로 복사, 이후 추가는 비워진 뒤쪽 자리를 재사용)
+     * 덮어쓰기 전에 세대를 올리므로 다음 save() 전에 종료되면 이전 graph.bin은 열 때 거부됨
+     */
+    private void compactIfNeeded() {
+        int dead = deleted.cardinality();
+        if (dead < COMPACT_MIN_DELETED || dead < ids.size() * COMPACT_RATIO) return;
+
+        bumpGeneration();
+        List<UUID> live = new ArrayList<>(ids.size() - dead);
+        for (int node = 0; node < ids.size(); node++) {
+            if (deleted.get(node)) continue;
+            int target = live.size();
+            if (target != node) copyVector(node, target);
+            live.add(ids.get(node));
+        }
+        resetState();
+        float[] vector = new float[dimension];
+        for (int node = 0; node < live.size(); node++) {
+            readVector(node, vector);
+            ids.add(live.get(node));
+            nodeById.put(live.get(node), node);
+            link(node, vector);
+        }
+    }
+
+    private int offset(int node) {
+        return HEADER_BYTES + node * dimension * Float.BYTES;
+    }
+
+    private void writeVector(int node, float[] vector) {
+        int base = offset(node);
+        for (int i = 0; i < dimension; i++) vectors.putFloat(base + i * Float.BYTES, vector[i]);
+    }
+
+    private void readVector(int node, float[] into) {
+        int base = offset(node);
+        for (int i = 0; i < dimension; i++) into[i] = vectors.getFloat(base + i * Float.BYTES);
+    }
+
+    private void copyVector(int from, int to) {
+        int src = offset(from);
+        int dst = offset(to);
+        for (int i = 0; i < dimension * Float.BYTES; i += Float.BYTES) vectors.putFloat(dst + i, vectors.getFloat(src + i));
+    }
+
+    private boolean sameVector(int node, float[] vector) {
+        int base = offset(node);
+        for (int i = 0; i < dimension; i++) {
+            if (Float.compare(vectors.getFloat(base + i * Float.BYTES), vector[i]) != 0) return false;
+        }
+        return true;
+    }
+
+    /** 한 층에서 더 가까운 이웃이 없을 때까지 이동 */
+    private Candidate greedy(float[] q, Candidate ep, int level) {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int[] nb = links.get(ep.node())[level];
+            for (int i = 1; i <= nb[0]; i++) {
+                float s = sim(q, nb[i]);
+                if (s > ep.sim()) {
+                    ep = new Candidate(nb[i], s);
+                    changed = true;
+                }
+            }
+        }
+        return ep;
+    }
+
+    /**
+     * 한 층 탐색 (ef개 후보 유지)
+     *
+     * @param skipDeleted 삭제 표시 노드는 경로로만 쓰고 결과에서 제외
+     * @return 유사도 내림차순
+     */
+    private List<Candidate> searchLayer(float[] q, Candidate ep, int ef, int level, boolean skipDeleted) {
+        BitSet visited = new BitSet(ids.size());
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(BY_SIM.reversed());
+        PriorityQueue<Candidate> results = new PriorityQueue<>(ef + 1, BY_SIM);
+        visited.set(ep.node());
+        candidates.add(ep);
+        if (!skipDeleted || !deleted.get(ep.node())) results.add(ep);
+
+        while (!candidates.isEmpty()) {
+            Candidate c = candidates.poll();
+            if (results.size() >= ef && c.sim() < results.peek().sim()) break;
+            int[] nb = links.get(c.node())[level];
+            for (int i = 1; i <= nb[0]; i++) {
+                int n = nb[i];
+                if (visited.get(n)) continue;
+                visited.set(n);
+                float s = sim(q, n);
+                if (results.size() < ef || s > results.peek().sim()) {
+                    Candidate next = new Candidate(n, s);
+                    candidates.add(next);
+                    if (!skipDeleted || !deleted.get(n)) {
+                        results.add(next);
+                        if (results.size() > ef) results.poll();
+                    }
+                }
+            }
+        }
+
+        List<Candidate> sorted = new ArrayList<>(results);
+        sorted.sort(BY_SIM.reversed());
+        return sorted;
+    }
+
+    /**
+     * 이웃 선택 휴리스틱: 이미 고른 이웃보다 기준점에 더 가까운 후보만 우선 채택 (방향 다양성),
+     * 자리가 남으면 제외했던 후보로 채움
+     */
+    private int[] selectNeighbors(List<Candidate> sortedDesc, int max) {
+        int[] selected = new int[Math.min(max, sortedDesc.size())];
+        int count = 0;
+        List<Candidate> pruned = new ArrayList<>();
+        for (Candidate c : sortedDesc) {
+            if (count == selected.length) break;
+            boolean diverse = true;
+            for (int i = 0; i < count; i++) {
+                if (simNodes(c.node(), selected[i]) > c.sim()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) selected[count++] = c.node(); else pruned.add(c);
+        }
+        for (int i = 0; i < pruned.size() && count < selected.length; i++) selected[count++] = pruned.get(i).node();
+        return selected;
+    }
+
+    /** target의 level 층 이웃에 node 추가 (가득 차면 기존 이웃 + node 중에서 다시 선택) */
+    private void connect(int target, int node, int level) {
+        int[] nb = links.get(target)[level];
+        int maxConn = nb.length - 1;
+        if (nb[0] < maxConn) {
+            nb[++nb[0]] = node;
+            return;
+        }
+        List<Candidate> pool = new ArrayList<>(maxConn + 1);
+        for (int i = 1; i <= nb[0]; i++) pool.add(new Candidate(nb[i], simNodes(target, nb[i])));
+        pool.add(new Candidate(node, simNodes(target, node)));
+        pool.sort(BY_SIM.reversed());
+        int[] selected = selectNeighbors(pool, maxConn);
+        nb[0] = selected.length;
+        System.arraycopy(selected, 0, nb, 1, selected.length);
+    }
+
+    private float sim(float[] q, int node) {
+        int base = offset(node);
+        float s = 0f;
+        for (int i = 0; i < dimension; i++) s += q[i] * vectors.getFloat(base + i * Float.BYTES);
+        return s;
+    }
+
+    private float simNodes(int a, int b) {
+        int baseA = offset(a);
+        int baseB = offset(b);
+        float s = 0f;
+        for (int i = 0; i < dimension; i++) {
+            int off = i * Float.BYTES;
+            s += vectors.getFloat(baseA + off) * vectors.getFloat(baseB + off);
+        }
+        return s;
+    }
+
+    private int randomLevel() {
+        double r = -Math.log(1.0 - random.nextDouble()) * levelMultiplier;
+        return (int) Math.min(MAX_LEVEL, Math.floor(r));
+    }
+
+    /** 벡터 파일을 cap개 노드 크기로 (다시) 매핑. 매핑 1개 한도(2GB) 안에서만 확장 */
+    private void mapVectors(int cap) {
+        long bytes = HEADER_BYTES + (long) cap * dimension * Float.BYTES;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("벡터 파일 매핑 한도 초과: 노드 " + cap + "개 × " + dimension + "차원");
+        }
+        try {
+            if (vectors != null) vectors.force();
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            vectors = mapped;
+            capacity = cap;
+        } catch (IOException e) {
+            throw new IllegalStateException("벡터 파일 매핑 실패: " + dir.resolve(VECTOR_FILE), e);
+        }
+    }
+
+    /** 벡터 파일 헤더의 세대 (헤더가 없거나 형식이 다르면 0) */
+    private long storedGeneration() {
+        if (vectors.getInt(0) != VECTOR_MAGIC || vectors.getInt(4) != VERSION) return 0L;
+        return vectors.getLong(8);
+    }
+
+    /** 세대를 올려 헤더에 기록하고 디스크에 먼저 반영 (이후 덮어쓰기보다 앞서도록) */
+    private void bumpGeneration() {
+        generation++;
+        vectors.putInt(0, VECTOR_MAGIC);
+        vectors.putInt(4, VERSION);
+        vectors.putLong(8, generation);
+        vectors.force();
+    }
+
+    private void resetState() {
+        checkpoint = 0L;
+        ids.clear();
+        nodeById.clear();
+        links.clear();
+        deleted.clear();
+        entryPoint = -1;
+        maxLevel = -1;
+    }
+
+    /** graph.bin 읽기 (헤더·설정·세대가 다르거나 벡터 파일이 짧으면 false) */
+    private boolean readGraph(Path graph) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(graph), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return false;
+            if (!embeddingName.equals(in.readUTF()) || in.readInt() != dimension || in.readInt() != m) return false;
+            long graphGeneration = in.readLong();
+            long graphCheckpoint = in.readLong();
+            int count = in.readInt();
+            int ep = in.readInt();
+            int top = in.readInt();
+            if (HEADER_BYTES + (long) count * dimension * Float.BYTES > channel.size()) return false;
+
+            for (int node = 0; node < count; node++) {
+                UUID id = new UUID(in.readLong(), in.readLong());
+                boolean isDeleted = in.readBoolean();
+                int levels = in.readUnsignedByte();
+                int[][] nodeLinks = new int[levels][];
+                for (int l = 0; l < levels; l++) {
+                    int[] nb = new int[1 + (l == 0 ? maxM0 : m)];
+                    int n = in.readUnsignedShort();
+                    if (n > nb.length - 1) return false;
+                    nb[0] = n;
+                    for (int i = 1; i <= n; i++) nb[i] = in.readInt();
+                    nodeLinks[l] = nb;
+                }
+                ids.add(id);
+                links.add(nodeLinks);
+                if (isDeleted) deleted.set(node); else nodeById.put(id, node);
+            }
+            entryPoint = ep;
+            maxLevel = top;
+            mapVectors(Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, count)) * 2));
+            if (storedGeneration() != graphGeneration) {
+                resetState();
+                return false;
+            }
+            generation = graphGeneration;
+            checkpoint = graphCheckpoint;
+            return true;
+        } catch (IOException | RuntimeException e) {
+            resetState();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.virtualtryon.core.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class Bm25IndexTest {
+
+    @Test
+    @DisplayName("용어 빈도가 높고 짧은 문서가 먼저, 용어가 없는 문서는 결과에 없다")
+    void ranksByTermFrequencyAndLength() {
+        Bm25Index index = new Bm25Index();
+        UUID frequent = UUID.randomUUID();
+        UUID once = UUID.randomUUID();
+        UUID onceLong = UUID.randomUUID();
+        UUID unrelated = UUID.randomUUID();
+        index.upsert(frequent, Map.of("공제", 3, "소득", 1));
+        index.upsert(once, Map.of("공제", 1, "소득", 1));
+        index.upsert(onceLong, Map.of("공제", 1, "소득", 1, "세액", 5, "신고", 5));
+        index.upsert(unrelated, Map.of("환율", 2));
+
+        List<SearchHit> hits = index.search(Map.of("공제", 1), 10);
+
+        assertThat(hits).extracting(SearchHit::id).containsExactly(frequent, once, onceLong);
+    }
+
+    @Test
+    @DisplayName("드문 용어가 흔한 용어보다 점수에 크게 기여한다")
+    void rareTermsWeighMore() {
+        Bm25Index index = new Bm25Index();
+        UUID rare = UUID.randomUUID();
+        UUID common = UUID.randomUUID();
+        index.upsert(rare, Map.of("법인세", 1));
+        index.upsert(common, Map.of("세금", 1));
+        for (int i = 0; i < 20; i++) index.upsert(UUID.randomUUID(), Map.of("세금", 1, "기타", 1));
+
+        List<SearchHit> hits = index.search(Map.of("법인세", 1, "세금", 1), 1);
+
+        assertThat(hits).extracting(SearchHit::id).containsExactly(rare);
+    }
+
+    @Test
+    @DisplayName("압축 후에도 남은 문서만으로 만든 색인과 같은 점수·순서를 돌려준다")
+    void searchAfterCompaction() {
+        Bm25Index index = new Bm25Index();
+        Bm25Index fresh = new Bm25Index();
+        List<UUID> removed = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            UUID id = UUID.randomUUID();
+            Map<String, Integer> terms = Map.of("용어" + (i % 7), 1 + i % 3, "공통", 1);
+            index.upsert(id, terms);
+            if (i % 3 == 0) {
+                fresh.upsert(id, terms);
+            } else {
+                removed.add(id);
+            }
+        }
+        for (UUID id : removed) index.remove(id);
+
+        assertThat(index.getStats().get("deletedSlots")).isEqualTo(0);
+        assertThat(index.getStats().get("documents")).isEqualTo(1000);
+
+        Map<String, Integer> query = Map.of("용어3", 1, "공통", 1);
+        List<SearchHit> actual = index.search(query, 20);
+        List<SearchHit> expected = fresh.search(query, 20);
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i).score()).isCloseTo(expected.get(i).score(), within(1e-4));
+        }
+        assertThat(actual).extracting(SearchHit::id).doesNotContainAnyElementsOf(removed);
+    }
+}
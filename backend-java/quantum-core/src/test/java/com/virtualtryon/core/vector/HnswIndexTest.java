@@ -0,0 +1,192 @@
+package com.virtualtryon.core.vector;
+
+import com.virtualtryon.core.search.SearchHit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HnswIndexTest {
+
+    private static final int DIM = 32;
+    private static final int M = 16;
+    private static final int EF_CONSTRUCTION = 100;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("상위 k건이 전수 비교 결과와 대부분 일치한다")
+    void recallAgainstBruteForce() throws Exception {
+        SplittableRandom random = new SplittableRandom(7);
+        List<UUID> ids = new ArrayList<>();
+        List<float[]> vectors = new ArrayList<>();
+        try (HnswIndex index = HnswIndex.open(dir, "test", DIM, M, EF_CONSTRUCTION)) {
+            for (int i = 0; i < 2000; i++) {
+                UUID id = UUID.randomUUID();
+                float[] v = randomUnit(random);
+                ids.add(id);
+                vectors.add(v);
+                index.add(id, v);
+            }
+
+            int k = 10;
+            int found = 0;
+            int queries = 50;
+            for (int q = 0; q < queries; q++) {
+                float[] query = randomUnit(random);
+                Set<UUID> expected = new HashSet<>(bruteForce(ids, vectors, query, k));
+                for (SearchHit hit : index.search(query, k, 64)) {
+                    if (expected.contains(hit.id())) found++;
+                }
+            }
+            assertThat((double) found / (queries * k)).isGreaterThanOrEqualTo(0.9);
+        }
+    }
+
+    @Test
+    @DisplayName("저장 후 다시 열면 같은 결과·체크포인트를 돌려준다 (삭제 표시 포함)")
+    void saveAndReopen() throws Exception {
+        SplittableRandom random = new SplittableRandom(11);
+        List<UUID> ids = new ArrayList<>();
+        float[] query = randomUnit(random);
+        List<SearchHit> before;
+        try (HnswIndex index = HnswIndex.open(dir, "test", DIM, M, EF_CONSTRUCTION)) {
+            for (int i = 0; i < 300; i++) {
+                UUID id = UUID.randomUUID();
+                ids.add(id);
+                index.add(id, randomUnit(random));
+            }
+            for (int i = 0; i < 30; i++) index.remove(ids.get(i));
+            before = index.search(query, 10, 64);
+            index.save(1234L);
+        }
+
+        try (HnswIndex reopened = HnswIndex.open(dir, "test", DIM, M, EF_CONSTRUCTION)) {
+            assertThat(reopened.checkpoint()).isEqualTo(1234L);
+            assertThat(reopened.size()).isEqualTo(270);
+            assertThat(reopened.deletedCount()).isEqualTo(30);
+            assertThat(reopened.search(query, 10, 64)).containsExactlyElementsOf(before);
+        }
+    }
+
+    @Test
+    @DisplayName("임베딩·차원이 다른 색인 파일은 빈 색인으로 열린다 (재구축 대상)")
+    void headerMismatchStartsEmpty() throws Exception {
+        SplittableRandom random = new SplittableRandom(13);
+        try (HnswIndex index = HnswIndex.open(dir, "old-embedding", DIM, M, EF_CONSTRUCTION)) {
+            for (int i = 0; i < 50; i++) index.add(UUID.randomUUID(), randomUnit(random));
+            index.save();
+        }
+
+        try (HnswIndex otherName = HnswIndex.open(dir, "new-embedding", DIM, M, EF_CONSTRUCTION)) {
+            assertThat(otherName.size()).isZero();
+        }
+        try (HnswIndex otherDim = HnswIndex.open(dir, "old-embedding", DIM * 2, M, EF_CONSTRUCTION)) {
+            assertThat(otherDim.size()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("같은 벡터로 다시 추가하면 삭제 표시가 생기지 않는다")
+    void unchangedVectorIsNotReAdded() throws Exception {
+        SplittableRandom random = new SplittableRandom(17);
+        try (HnswIndex index = HnswIndex.open(dir, "test", DIM, M, EF_CONSTRUCTION)) {
+            UUID id = UUID.randomUUID();
+            float[] v = randomUnit(random);
+            index.add(id, v);
+            index.add(id, v.clone());
+            assertThat(index.deletedCount()).isZero();
+
+            index.add(id, randomUnit(random));
+            assertThat(index.deletedCount()).isEqualTo(1);
+            assertThat(index.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("삭제 표시가 쌓이면 압축되고, 압축 후에도 최신 벡터로 검색된다")
+    void compactsTombstones() throws Exception {
+        SplittableRandom random = new SplittableRandom(19);
+        int n = 1500;
+        List<UUID> ids = IntStream.range(0, n).mapToObj(i -> UUID.randomUUID()).toList();
+        List<float[]> latest = new ArrayList<>();
+        try (HnswIndex index = HnswIndex.open(dir, "test", DIM, M, EF_CONSTRUCTION)) {
+            for (UUID id : ids) index.add(id, randomUnit(random));
+            for (UUID id : ids) {
+                float[] v = randomUnit(random);
+                latest.add(v);
+                index.add(id, v);
+            }
+
+            assertThat(index.size()).isEqualTo(n);
+            assertThat(index.deletedCount()).isLessThan(n);
+            for (int i = 0; i < n; i += 100) {
+                List<SearchHit> hits = index.search(latest.get(i), 1, 64);
+                assertThat(hits).extracting(SearchHit::id).containsExactly(ids.get(i));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("압축·비우기 후 저장 전에 닫히면 이전 그래프를 쓰지 않고 빈 색인으로 열린다")
+    void staleGraphAfterRewriteIsRejected() throws Exception {
+        SplittableRandom random = new SplittableRandom(23);
+        List<UUID> ids = IntStream.range(0, 1500).mapToObj(i -> UUID.randomUUID()).toList();
+        try (HnswIndex index = HnswIndex.open(dir, "test", DIM, M, EF_CONSTRUCTION)) {
+            for (UUID id : ids) index.add(id, randomUnit(random));
+            index.save();
+            for (UUID id : ids) index.add(id, randomUnit(random)); // 압축 발생, 저장 안 함
+        }
+        try (HnswIndex reopened = HnswIndex.open(dir, "test", DIM, M, EF_CONSTRUCTION)) {
+            assertThat(reopened.size()).isZero();
+            for (int i = 0; i < 100; i++) reopened.add(ids.get(i), randomUnit(random));
+            reopened.save();
+        }
+
+        try (HnswIndex index = HnswIndex.open(dir, "test", DIM, M, EF_CONSTRUCTION)) {
+            assertThat(index.size()).isEqualTo(100);
+            index.clear();
+        }
+        try (HnswIndex reopened = HnswIndex.open(dir, "test", DIM, M, EF_CONSTRUCTION)) {
+            assertThat(reopened.size()).isZero();
+        }
+    }
+
+    private static List<UUID> bruteForce(List<UUID> ids, List<float[]> vectors, float[] query, int k) {
+        return IntStream.range(0, ids.size()).boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> dot(vectors.get(i), query)).reversed())
+                .limit(k)
+                .map(ids::get)
+                .toList();
+    }
+
+    private static float dot(float[] a, float[] b) {
+        float s = 0f;
+        for (int i = 0; i < a.length; i++) s += a[i] * b[i];
+        return s;
+    }
+
+    private static float[] randomUnit(SplittableRandom random) {
+        float[] v = new float[DIM];
+        double norm = 0;
+        for (int i = 0; i < DIM; i++) {
+            v[i] = (float) (random.nextDouble() * 2 - 1);
+            norm += v[i] * v[i];
+        }
+        float inv = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < DIM; i++) v[i] *= inv;
+        return v;
+    }
+}
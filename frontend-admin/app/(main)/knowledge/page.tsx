@@ -12,7 +12,8 @@ interface Knowledge {
   id: string;
   category: string;
   title: string;
-  content: string;
+  /** content 앞부분 (목록 응답은 본문 전체를 싣지 않음) */
+  preview: string;
   sourceUrl: string;
   updatedAt: string;
 }
@@ -28,6 +29,38 @@ interface FetchHistoryRow {
   fetchedAt: string;
 }
 
+/** 수집 작업 상태 (POST /fetch-* 응답, GET /jobs/{id}) */
+interface IngestionJob {
+  id: string;
+  sourceType: string;
+  status: "QUEUED" | "RUNNING" | "SUCCESS" | "FAILED" | "CANCELLED";
+  itemCount: number | null;
+  progressCurrent: number | null;
+  progressTotal: number | null;
+  errorMessage: string | null;
+}
+
+const JOB_POLL_INTERVAL_MS = 2000;
+
+/** 수집 작업 접수 후 종료(SUCCESS/FAILED/CANCELLED)까지 폴링 */
+async function runIngestionJob(url: string): Promise<IngestionJob> {
+  let { data: job } = await adminApi.post<IngestionJob>(url, null);
+  while (job.status === "QUEUED" || job.status === "RUNNING") {
+    await new Promise((r) => setTimeout(r, JOB_POLL_INTERVAL_MS));
+    ({ data: job } = await adminApi.get<IngestionJob>(`/api/admin/knowledge/jobs/${job.id}`));
+  }
+  if (job.status !== "SUCCESS") {
+    throw new Error(job.errorMessage || (job.status === "CANCELLED" ? "수집 작업이 취소되었습니다." : "수집 작업 실패"));
+  }
+  return job;
+}
+
+/** axios 응답 error 또는 작업 실패 메시지 */
+function collectErrorMessage(err: unknown, fallback: string): string {
+  if (axios.isAxiosError(err)) return err.response?.data?.error ? String(err.response.data.error) : fallback;
+  return err instanceof Error && err.message ? err.message : fallback;
+}
+
 export default function AdminKnowledgePage() {
   useRequireAdminAuth();
   const [knowledgeList, setKnowledgeList] = useState<Knowledge[]>([]);
@@ -141,12 +174,12 @@ export default function AdminKnowledgePage() {
     setLastCollectResult(null);
     try {
       setLoading(true);
-      const { data } = await adminApi.post<Knowledge[]>(url, null);
-      const list = Array.isArray(data) ? data : [];
-      setLastCollectResult({ source: "법령", count: list.length, titles: list.map((k) => k.title) });
+      const job = await runIngestionJob(url);
+      const count = job.itemCount ?? 0;
+      setLastCollectResult({ source: "법령", count, titles: [] });
       setLawSearchTerm("");
       refreshAfterCollect();
-      if (list.length === 0) {
+      if (count === 0) {
         alert(
           query
             ? `"${query}" 검색 결과가 없습니다. .env에 LAW_API_OC가 설정되어 있는지 확인하세요.`
@@ -154,10 +187,10 @@ export default function AdminKnowledgePage() {
         );
       } else {
         const mode = query ? `"${query}" ` : "전체 ";
-        alert(`법령 ${mode}${list.length}건 수집됨: ${list.map((k) => k.title).slice(0, 5).join(", ")}${list.length > 5 ? " 외 " + (list.length - 5) + "건" : ""}`);
+        alert(`법령 ${mode}${count}건 수집됨`);
       }
     } catch (err: unknown) {
-      const msg = axios.isAxiosError(err) && err.response?.data?.error ? String(err.response.data.error) : "법령 수집 실패";
+      const msg = collectErrorMessage(err, "법령 수집 실패");
       setLastCollectResult({ source: "법령", count: 0, titles: [], error: msg });
       alert(msg);
     } finally {
@@ -172,13 +205,13 @@ export default function AdminKnowledgePage() {
     try {
       setLoading(true);
       try {
-        await adminApi.post("/api/admin/knowledge/fetch-dart", null);
+        await runIngestionJob("/api/admin/knowledge/fetch-dart");
         results.dart = true;
       } catch (e) {
         console.error("DART 수집 실패", e);
       }
       try {
-        await adminApi.post("/api/admin/knowledge/fetch-bok", null);
+        await runIngestionJob("/api/admin/knowledge/fetch-bok");
         results.bok = true;
       } catch (e) {
         console.error("BOK 수집 실패", e);
@@ -187,13 +220,12 @@ export default function AdminKnowledgePage() {
         const lawUrl = lawSearchTerm.trim()
           ? `/api/admin/knowledge/fetch-law?lawName=${encodeURIComponent(lawSearchTerm.trim())}`
           : "/api/admin/knowledge/fetch-law";
-        const { data } = await adminApi.post<Knowledge[]>(lawUrl, null);
+        const job = await runIngestionJob(lawUrl);
         results.law = true;
-        const list = Array.isArray(data) ? data : [];
-        setLastCollectResult({ source: "법령", count: list.length, titles: list.map((k) => k.title) });
+        setLastCollectResult({ source: "법령", count: job.itemCount ?? 0, titles: [] });
         setLawSearchTerm("");
       } catch (e) {
-        lawError = axios.isAxiosError(e) && e.response?.data?.error ? String(e.response.data.error) : "법령 수집 실패";
+        lawError = collectErrorMessage(e, "법령 수집 실패");
         setLastCollectResult({ source: "법령", count: 0, titles: [], error: lawError });
         console.error("법령 수집 실패", e);
       }
@@ -236,13 +268,13 @@ export default function AdminKnowledgePage() {
               setLastCollectResult(null);
               try {
                 setLoading(true);
-                const { data } = await adminApi.post<Knowledge[]>("/api/admin/knowledge/fetch-dart", null);
-                const list = Array.isArray(data) ? data : [];
-                setLastCollectResult({ source: "DART", count: list.length, titles: list.map((k) => k.title) });
+                const job = await runIngestionJob("/api/admin/knowledge/fetch-dart");
+                const count = job.itemCount ?? 0;
+                setLastCollectResult({ source: "DART", count, titles: [] });
                 refreshAfterCollect();
-                alert(list.length ? `DART ${list.length}건 수집됨` : "DART 수집 완료 (저장된 항목 없음)");
+                alert(count ? `DART ${count}건 수집됨` : "DART 수집 완료 (저장된 항목 없음)");
               } catch (e) {
-                const msg = axios.isAxiosError(e) && e.response?.data?.error ? String(e.response.data.error) : "수집 실패";
+                const msg = collectErrorMessage(e, "수집 실패");
                 setLastCollectResult({ source: "DART", count: 0, titles: [], error: msg });
                 alert(msg);
               } finally { setLoading(false); }
@@ -251,13 +283,13 @@ export default function AdminKnowledgePage() {
               setLastCollectResult(null);
               try {
                 setLoading(true);
-                const { data } = await adminApi.post<Knowledge[]>("/api/admin/knowledge/fetch-bok", null);
-                const list = Array.isArray(data) ? data : [];
-                setLastCollectResult({ source: "한국은행(ECOS)", count: list.length, titles: list.map((k) => k.title) });
+                const job = await runIngestionJob("/api/admin/knowledge/fetch-bok");
+                const count = job.itemCount ?? 0;
+                setLastCollectResult({ source: "한국은행(ECOS)", count, titles: [] });
                 refreshAfterCollect();
-                alert(list.length ? `한국은행 ${list.length}건 수집됨` : "한국은행 수집 완료 (저장된 항목 없음)");
+                alert(count ? `한국은행 ${count}건 수집됨` : "한국은행 수집 완료 (저장된 항목 없음)");
               } catch (e) {
-                const msg = axios.isAxiosError(e) && e.response?.data?.error ? String(e.response.data.error) : "수집 실패";
+                const msg = collectErrorMessage(e, "수집 실패");
                 setLastCollectResult({ source: "한국은행(ECOS)", count: 0, titles: [], error: msg });
                 alert(msg);
               } finally { setLoading(false); }
@@ -464,7 +496,7 @@ export default function AdminKnowledgePage() {
                 <Link href={`/knowledge/${k.id}`} className="block p-5">
                   <span className="text-[9px] font-black bg-blue-100 text-blue-600 px-2 py-0.5 rounded-full uppercase tracking-widest">{k.category}</span>
                   <h3 className="text-base font-black mt-2 line-clamp-2 hover:text-indigo-600 transition-colors">{k.title}</h3>
-                  <p className="text-sm text-slate-600 mt-2 line-clamp-2 leading-relaxed">{k.content}</p>
+                  <p className="text-sm text-slate-600 mt-2 line-clamp-2 leading-relaxed">{k.preview}</p>
                 </Link>
                     <button
                       type="button"